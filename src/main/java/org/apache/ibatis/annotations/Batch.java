@@ -0,0 +1,55 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotation that executes an insert, update or delete method once for each element of its only parameter, an
+ * {@link Iterable} or an array, as JDBC batches whatever the executor type of the session.
+ * <p>
+ * The method can return the {@code List<BatchResult>} of the batches, the {@code int[]} update counts of the elements,
+ * or their sum as an {@code int}, a {@code long} or a {@code boolean}. Generated keys are assigned to the elements.
+ * <p>
+ * <b>How to use:</b>
+ *
+ * <pre>
+ * public interface UserMapper {
+ *   &#064;Batch(size = 500)
+ *   &#064;Insert("INSERT INTO users (name) VALUES (#{name})")
+ *   &#064;Options(useGeneratedKeys = true, keyProperty = "id")
+ *   int[] insertAll(List&lt;User&gt; users);
+ * }
+ * </pre>
+ *
+ * @since 3.6.0
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Batch {
+  /**
+   * Returns the maximum number of elements executed by a JDBC batch.
+   *
+   * @return the maximum number of elements executed by a JDBC batch, 0 to use the {@code batchSize} of the statement or
+   *         the {@code defaultBatchSize} setting
+   */
+  int size() default 0;
+}
@@ -0,0 +1,55 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.annotations;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotation that runs a select when the session factory is built, so its results are in the second level cache
+ * before the first request.
+ * <p>
+ * <b>How to use:</b>
+ *
+ * <pre>
+ * public interface UserMapper {
+ *   &#064;CacheWarmup(parameters = "selectActiveUserIds")
+ *   &#064;Select("SELECT * FROM users WHERE id = #{id}")
+ *   User selectById(int id);
+ *
+ *   &#064;Select("SELECT id FROM users WHERE active = true")
+ *   List&lt;Integer&gt; selectActiveUserIds();
+ * }
+ * </pre>
+ *
+ * @since 3.6.0
+ *
+ * @see org.apache.ibatis.session.Configuration#setCacheWarmupAsync(boolean)
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CacheWarmup {
+  /**
+   * Returns the select whose results are the parameters of the annotated select.
+   *
+   * @return the statement id, qualified or not; the annotated select runs once without parameter if empty
+   */
+  String parameters() default "";
+}
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -140,6 +140,43 @@ public @interface Options {
    */
   String databaseId() default "";
 
+  /**
+   * Returns whether the select fetches a single entity by its id, so it can be answered from the entity cache.
+   *
+   * @return {@code true} if the select is an entity lookup; {@code false} if otherwise
+   *
+   * @since 3.6.0
+   */
+  boolean entityLookup() default false;
+
+  /**
+   * Returns the milliseconds an empty result of the select is remembered by the negative cache.
+   *
+   * @return the time to live of empty results; 0 if they are not cached
+   *
+   * @since 3.6.0
+   */
+  long negativeCacheTtl() default 0;
+
+  /**
+   * Returns whether the select may be sent a second time on another connection when the first attempt is slower than
+   * usual.
+   *
+   * @return {@code true} if the select is hedged; {@code false} if otherwise
+   *
+   * @since 3.6.0
+   */
+  boolean hedged() default false;
+
+  /**
+   * Returns the milliseconds after which an execution of the statement is reported by the slow statement log.
+   *
+   * @return the threshold of the statement; a negative value to use the {@code slowStatementThreshold} setting
+   *
+   * @since 3.6.0
+   */
+  long slowThreshold() default -1;
+
   /**
    * The container annotation for {@link Options}.
    *
@@ -0,0 +1,220 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.binding;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javassist.ClassClassPath;
+import javassist.ClassPool;
+import javassist.CtClass;
+import javassist.CtConstructor;
+import javassist.CtField;
+import javassist.CtNewConstructor;
+import javassist.CtNewMethod;
+import javassist.LoaderClassPath;
+import javassist.NotFoundException;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+
+/**
+ * Generates, for a mapper interface, a class implementing each of its abstract methods by a direct call to the
+ * {@link MapperMethod} bound to it, instead of going through a {@link java.lang.reflect.Proxy} and a method lookup. The
+ * class only depends on the interface, so it is generated once and shared by all the configurations using it; the
+ * mapper methods are bound per configuration.
+ *
+ * @since 3.6.0
+ */
+final class MapperClassGenerator {
+
+  private static final Log log = LogFactory.getLog(MapperClassGenerator.class);
+
+  private static final String CLASS_NAME_SUFFIX = "$$MapperImpl";
+
+  private static final ClassValue<MapperClass> mapperClasses = new ClassValue<>() {
+    @Override
+    protected MapperClass computeValue(Class<?> type) {
+      try {
+        return generate(type);
+      } catch (Exception | LinkageError e) {
+        if (log.isDebugEnabled()) {
+          log.debug(
+              "Could not generate a mapper class for " + type.getName() + ", a proxy is used instead. Cause: " + e);
+        }
+        return MapperClass.UNAVAILABLE;
+      }
+    }
+  };
+
+  private MapperClassGenerator() {
+    // Prevent Instantiation of Static Class
+  }
+
+  /**
+   * Binds the generated class of a mapper interface to the statements of a configuration.
+   *
+   * @return the binding, or <code>null</code> if no class could be generated or a method could not be bound, in which
+   *         case the mapper keeps being served by a proxy
+   */
+  static <T> Binding<T> bind(Class<T> mapperInterface, Configuration configuration) {
+    MapperClass mapperClass = mapperClasses.get(mapperInterface);
+    if (mapperClass == MapperClass.UNAVAILABLE) {
+      return null;
+    }
+    MapperMethod[] mapperMethods = new MapperMethod[mapperClass.methods.length];
+    for (int i = 0; i < mapperMethods.length; i++) {
+      try {
+        mapperMethods[i] = new MapperMethod(mapperInterface, mapperClass.methods[i], configuration);
+      } catch (BindingException e) {
+        if (log.isDebugEnabled()) {
+          log.debug("Could not bind the mapper class of " + mapperInterface.getName()
+              + ", a proxy is used instead. Cause: " + e);
+        }
+        return null;
+      }
+    }
+    return new Binding<>(mapperClass.constructor, mapperMethods);
+  }
+
+  private static MapperClass generate(Class<?> mapperInterface) throws Exception {
+    if (!mapperInterface.isInterface()) {
+      return MapperClass.UNAVAILABLE;
+    }
+    List<Method> methods = abstractMethods(mapperInterface);
+
+    ClassPool pool = new ClassPool(true);
+    pool.appendClassPath(new ClassClassPath(MapperClassGenerator.class));
+    if (mapperInterface.getClassLoader() != null) {
+      pool.appendClassPath(new LoaderClassPath(mapperInterface.getClassLoader()));
+    }
+    CtClass ctClass = pool.makeClass(mapperInterface.getName() + CLASS_NAME_SUFFIX);
+    ctClass.setModifiers(Modifier.PUBLIC | Modifier.FINAL);
+    ctClass.addInterface(pool.get(mapperInterface.getName()));
+    ctClass.addField(CtField.make("private final " + SqlSession.class.getName() + " sqlSession;", ctClass));
+    ctClass.addField(CtField.make("private final " + MapperMethod.class.getName() + "[] mapperMethods;", ctClass));
+    CtConstructor constructor = CtNewConstructor.make(
+        new CtClass[] { pool.get(SqlSession.class.getName()), pool.get(MapperMethod.class.getName() + "[]") }, null,
+        "{ this.sqlSession = $1; this.mapperMethods = $2; }", ctClass);
+    ctClass.addConstructor(constructor);
+    for (int i = 0; i < methods.size(); i++) {
+      Method method = methods.get(i);
+      String call = "this.mapperMethods[" + i + "].execute(this.sqlSession, $args)";
+      String body = void.class.equals(method.getReturnType()) ? "{ " + call + "; }" : "{ return ($r) " + call + "; }";
+      ctClass.addMethod(CtNewMethod.make(Modifier.PUBLIC, toCtClass(pool, method.getReturnType()), method.getName(),
+          toCtClasses(pool, method.getParameterTypes()), toCtClasses(pool, method.getExceptionTypes()), body, ctClass));
+    }
+    Class<?> generated = ctClass.toClass(mapperInterface);
+    ctClass.detach();
+    MethodHandle handle = MethodHandles.lookup()
+        .unreflectConstructor(generated.getConstructor(SqlSession.class, MapperMethod[].class));
+    return new MapperClass(handle, methods.toArray(new Method[0]));
+  }
+
+  /**
+   * The methods a proxy would hand to a {@link MapperMethod}: the abstract ones, but the ones implemented by
+   * {@link Object} or by a default method of a sub interface.
+   */
+  private static List<Method> abstractMethods(Class<?> mapperInterface) {
+    Set<String> implemented = new HashSet<>();
+    for (Method method : mapperInterface.getMethods()) {
+      if (method.isDefault()) {
+        implemented.add(method.getName() + Arrays.toString(method.getParameterTypes()));
+      }
+    }
+    List<Method> methods = new ArrayList<>();
+    Set<String> signatures = new HashSet<>();
+    for (Method method : mapperInterface.getMethods()) {
+      if (!Modifier.isAbstract(method.getModifiers()) || isObjectMethod(method)
+          || implemented.contains(method.getName() + Arrays.toString(method.getParameterTypes()))) {
+        continue;
+      }
+      if (signatures.add(method.getName() + Arrays.toString(method.getParameterTypes()) + method.getReturnType())) {
+        methods.add(method);
+      }
+    }
+    return methods;
+  }
+
+  private static boolean isObjectMethod(Method method) {
+    try {
+      Object.class.getMethod(method.getName(), method.getParameterTypes());
+      return true;
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  private static CtClass[] toCtClasses(ClassPool pool, Class<?>[] types) throws NotFoundException {
+    CtClass[] ctClasses = new CtClass[types.length];
+    for (int i = 0; i < types.length; i++) {
+      ctClasses[i] = toCtClass(pool, types[i]);
+    }
+    return ctClasses;
+  }
+
+  private static CtClass toCtClass(ClassPool pool, Class<?> type) throws NotFoundException {
+    return pool.get(type.getTypeName());
+  }
+
+  private static final class MapperClass {
+
+    static final MapperClass UNAVAILABLE = new MapperClass(null, null);
+
+    private final MethodHandle constructor;
+    private final Method[] methods;
+
+    MapperClass(MethodHandle constructor, Method[] methods) {
+      this.constructor = constructor;
+      this.methods = methods;
+    }
+  }
+
+  /**
+   * The generated class of a mapper interface with the mapper methods of a configuration.
+   */
+  static final class Binding<T> {
+
+    private final MethodHandle constructor;
+    private final MapperMethod[] mapperMethods;
+
+    Binding(MethodHandle constructor, MapperMethod[] mapperMethods) {
+      this.constructor = constructor;
+      this.mapperMethods = mapperMethods;
+    }
+
+    @SuppressWarnings("unchecked")
+    T newInstance(SqlSession sqlSession) {
+      try {
+        return (T) constructor.invoke(sqlSession, mapperMethods);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new BindingException("Error creating the mapper instance. Cause: " + t, t);
+      }
+    }
+  }
+
+}
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -19,14 +19,21 @@ import java.lang.reflect.Array;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+import org.apache.ibatis.annotations.Batch;
 import org.apache.ibatis.annotations.Flush;
 import org.apache.ibatis.annotations.MapKey;
 import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.BatchResult;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.mapping.StatementType;
@@ -48,76 +55,131 @@ public class MapperMethod {
 
   private final SqlCommand command;
   private final MethodSignature method;
+  private final Execution execution;
 
   public MapperMethod(Class<?> mapperInterface, Method method, Configuration config) {
     this.command = new SqlCommand(config, mapperInterface, method);
     this.method = new MethodSignature(config, mapperInterface, method);
+    this.execution = resolveExecution();
   }
 
   public Object execute(SqlSession sqlSession, Object[] args) {
-    Object result;
+    Object result = execution.execute(sqlSession, args);
+    if (result == null && method.getReturnType().isPrimitive() && !method.returnsVoid()) {
+      throw new BindingException("Mapper method '" + command.getName()
+          + "' attempted to return null from a method with a primitive return type (" + method.getReturnType() + ").");
+    }
+    return result;
+  }
+
+  /**
+   * Chooses, once per method, how its calls are executed, so that a call does not have to inspect the command type and
+   * the method signature again.
+   */
+  private Execution resolveExecution() {
+    final String name = command.getName();
+    if (command.isBatch()) {
+      return batchExecution(name);
+    }
     switch (command.getType()) {
       case INSERT: {
-        Object param = method.convertArgsToSqlCommandParam(args);
-        result = rowCountResult(sqlSession.insert(command.getName(), param));
-        break;
+        final IntFunction<Object> rowCountResult = rowCountResult();
+        return (sqlSession, args) -> rowCountResult
+            .apply(sqlSession.insert(name, method.convertArgsToSqlCommandParam(args)));
       }
       case UPDATE: {
-        Object param = method.convertArgsToSqlCommandParam(args);
-        result = rowCountResult(sqlSession.update(command.getName(), param));
-        break;
+        final IntFunction<Object> rowCountResult = rowCountResult();
+        return (sqlSession, args) -> rowCountResult
+            .apply(sqlSession.update(name, method.convertArgsToSqlCommandParam(args)));
       }
       case DELETE: {
-        Object param = method.convertArgsToSqlCommandParam(args);
-        result = rowCountResult(sqlSession.delete(command.getName(), param));
-        break;
+        final IntFunction<Object> rowCountResult = rowCountResult();
+        return (sqlSession, args) -> rowCountResult
+            .apply(sqlSession.delete(name, method.convertArgsToSqlCommandParam(args)));
       }
       case SELECT:
         if (method.returnsVoid() && method.hasResultHandler()) {
-          executeWithResultHandler(sqlSession, args);
-          result = null;
-        } else if (method.returnsMany()) {
-          result = executeForMany(sqlSession, args);
-        } else if (method.returnsMap()) {
-          result = executeForMap(sqlSession, args);
-        } else if (method.returnsCursor()) {
-          result = executeForCursor(sqlSession, args);
-        } else {
-          Object param = method.convertArgsToSqlCommandParam(args);
-          result = sqlSession.selectOne(command.getName(), param);
-          if (method.returnsOptional() && (result == null || !method.getReturnType().equals(result.getClass()))) {
-            result = Optional.ofNullable(result);
-          }
+          return (sqlSession, args) -> {
+            executeWithResultHandler(sqlSession, args);
+            return null;
+          };
+        }
+        if (method.returnsMany()) {
+          return this::executeForMany;
+        }
+        if (method.returnsMap()) {
+          return this::executeForMap;
+        }
+        if (method.returnsCursor()) {
+          return this::executeForCursor;
+        }
+        if (method.returnsStream()) {
+          return (sqlSession, args) -> executeForCursor(sqlSession, args).stream();
         }
-        break;
+        if (method.returnsOptional()) {
+          return (sqlSession, args) -> {
+            Object result = sqlSession.selectOne(name, method.convertArgsToSqlCommandParam(args));
+            if (result == null || !method.getReturnType().equals(result.getClass())) {
+              result = Optional.ofNullable(result);
+            }
+            return result;
+          };
+        }
+        return (sqlSession, args) -> sqlSession.selectOne(name, method.convertArgsToSqlCommandParam(args));
       case FLUSH:
-        result = sqlSession.flushStatements();
-        break;
+        return (sqlSession, args) -> sqlSession.flushStatements();
       default:
-        throw new BindingException("Unknown execution method for: " + command.getName());
+        return (sqlSession, args) -> {
+          throw new BindingException("Unknown execution method for: " + name);
+        };
     }
-    if (result == null && method.getReturnType().isPrimitive() && !method.returnsVoid()) {
-      throw new BindingException("Mapper method '" + command.getName()
-          + "' attempted to return null from a method with a primitive return type (" + method.getReturnType() + ").");
+  }
+
+  private Execution batchExecution(String name) {
+    final int batchSize = command.getBatchSize();
+    final Function<List<BatchResult>, Object> batchResult = batchResult();
+    return (sqlSession, args) -> {
+      Object parameters = args == null || args.length != 1 ? null : args[0];
+      if (parameters instanceof Object[]) {
+        parameters = Arrays.asList((Object[]) parameters);
+      } else if (!(parameters instanceof Iterable)) {
+        throw new BindingException(
+            "Batch mapper method '" + name + "' must take a single Iterable or array of parameter objects.");
+      }
+      return batchResult.apply(sqlSession.batch(name, (Iterable<?>) parameters, batchSize));
+    };
+  }
+
+  private Function<List<BatchResult>, Object> batchResult() {
+    if (List.class.equals(method.getReturnType())) {
+      return results -> results;
     }
-    return result;
+    if (int[].class.equals(method.getReturnType())) {
+      return results -> results.stream().map(BatchResult::getUpdateCounts).flatMapToInt(IntStream::of).toArray();
+    }
+    // the counts of the rows whose count is unknown, like Statement.SUCCESS_NO_INFO, are not added
+    final IntFunction<Object> rowCountResult = rowCountResult();
+    return results -> rowCountResult.apply(results.stream().map(BatchResult::getUpdateCounts)
+        .flatMapToInt(IntStream::of).filter(count -> count > 0).sum());
   }
 
-  private Object rowCountResult(int rowCount) {
-    final Object result;
+  private IntFunction<Object> rowCountResult() {
     if (method.returnsVoid()) {
-      result = null;
-    } else if (Integer.class.equals(method.getReturnType()) || Integer.TYPE.equals(method.getReturnType())) {
-      result = rowCount;
-    } else if (Long.class.equals(method.getReturnType()) || Long.TYPE.equals(method.getReturnType())) {
-      result = (long) rowCount;
-    } else if (Boolean.class.equals(method.getReturnType()) || Boolean.TYPE.equals(method.getReturnType())) {
-      result = rowCount > 0;
-    } else {
+      return rowCount -> null;
+    }
+    if (Integer.class.equals(method.getReturnType()) || Integer.TYPE.equals(method.getReturnType())) {
+      return rowCount -> rowCount;
+    }
+    if (Long.class.equals(method.getReturnType()) || Long.TYPE.equals(method.getReturnType())) {
+      return rowCount -> (long) rowCount;
+    }
+    if (Boolean.class.equals(method.getReturnType()) || Boolean.TYPE.equals(method.getReturnType())) {
+      return rowCount -> rowCount > 0;
+    }
+    return rowCount -> {
       throw new BindingException(
           "Mapper method '" + command.getName() + "' has an unsupported return type: " + method.getReturnType());
-    }
-    return result;
+    };
   }
 
   private void executeWithResultHandler(SqlSession sqlSession, Object[] args) {
@@ -200,6 +262,11 @@ public class MapperMethod {
     return result;
   }
 
+  @FunctionalInterface
+  private interface Execution {
+    Object execute(SqlSession sqlSession, Object[] args);
+  }
+
   public static class ParamMap<V> extends HashMap<String, V> {
 
     private static final long serialVersionUID = -2212268410512043556L;
@@ -218,6 +285,8 @@ public class MapperMethod {
 
     private final String name;
     private final SqlCommandType type;
+    private final boolean batch;
+    private final int batchSize;
 
     public SqlCommand(Configuration configuration, Class<?> mapperInterface, Method method) {
       final String methodName = method.getName();
@@ -230,12 +299,20 @@ public class MapperMethod {
         }
         name = null;
         type = SqlCommandType.FLUSH;
+        batch = false;
+        batchSize = 0;
       } else {
         name = ms.getId();
         type = ms.getSqlCommandType();
         if (type == SqlCommandType.UNKNOWN) {
           throw new BindingException("Unknown execution method for: " + name);
         }
+        Batch batchAnnotation = method.getAnnotation(Batch.class);
+        batch = ms.isBatch() || batchAnnotation != null;
+        batchSize = batchAnnotation != null ? batchAnnotation.size() : 0;
+        if (batch && type == SqlCommandType.SELECT) {
+          throw new BindingException("Batch mapper method '" + name + "' must execute an insert, update or delete.");
+        }
       }
     }
 
@@ -247,6 +324,24 @@ public class MapperMethod {
       return type;
     }
 
+    /**
+     * @return <code>true</code> if the method executes a collection of parameter objects as JDBC batches
+     *
+     * @since 3.6.0
+     */
+    public boolean isBatch() {
+      return batch;
+    }
+
+    /**
+     * @return the maximum number of parameter objects executed by a JDBC batch, 0 if the size of the statement applies
+     *
+     * @since 3.6.0
+     */
+    public int getBatchSize() {
+      return batchSize;
+    }
+
     private MappedStatement resolveMappedStatement(Class<?> mapperInterface, String methodName, Class<?> declaringClass,
         Configuration configuration) {
       String statementId = mapperInterface.getName() + "." + methodName;
@@ -274,6 +369,7 @@ public class MapperMethod {
     private final boolean returnsMap;
     private final boolean returnsVoid;
     private final boolean returnsCursor;
+    private final boolean returnsStream;
     private final boolean returnsOptional;
     private final Class<?> returnType;
     private final String mapKey;
@@ -293,6 +389,7 @@ public class MapperMethod {
       this.returnsVoid = void.class.equals(this.returnType);
       this.returnsMany = configuration.getObjectFactory().isCollection(this.returnType) || this.returnType.isArray();
       this.returnsCursor = Cursor.class.equals(this.returnType);
+      this.returnsStream = Stream.class.equals(this.returnType);
       this.returnsOptional = Optional.class.equals(this.returnType);
       this.mapKey = getMapKey(method);
       this.returnsMap = this.mapKey != null;
@@ -341,6 +438,17 @@ public class MapperMethod {
       return returnsCursor;
     }
 
+    /**
+     * return whether return type is {@code java.util.stream.Stream}.
+     *
+     * @return return {@code true}, if return type is {@code java.util.stream.Stream}
+     *
+     * @since 3.6.0
+     */
+    public boolean returnsStream() {
+      return returnsStream;
+    }
+
     /**
      * return whether return type is {@code java.util.Optional}.
      *
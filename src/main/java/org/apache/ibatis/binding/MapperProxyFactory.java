@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2025 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -29,6 +29,8 @@ public class MapperProxyFactory<T> {
 
   private final Class<T> mapperInterface;
   private final Map<Method, MapperMethodInvoker> methodCache = new ConcurrentHashMap<>();
+  private volatile MapperClassGenerator.Binding<T> generatedBinding;
+  private volatile boolean generatedBindingResolved;
 
   public MapperProxyFactory(Class<T> mapperInterface) {
     this.mapperInterface = mapperInterface;
@@ -48,8 +50,26 @@ public class MapperProxyFactory<T> {
   }
 
   public T newInstance(SqlSession sqlSession) {
+    if (sqlSession.getConfiguration().isGenerateMapperClasses()) {
+      MapperClassGenerator.Binding<T> binding = generatedBinding(sqlSession);
+      if (binding != null) {
+        return binding.newInstance(sqlSession);
+      }
+    }
     final MapperProxy<T> mapperProxy = new MapperProxy<>(sqlSession, mapperInterface, methodCache);
     return newInstance(mapperProxy);
   }
 
+  private MapperClassGenerator.Binding<T> generatedBinding(SqlSession sqlSession) {
+    if (!generatedBindingResolved) {
+      synchronized (this) {
+        if (!generatedBindingResolved) {
+          generatedBinding = MapperClassGenerator.bind(mapperInterface, sqlSession.getConfiguration());
+          generatedBindingResolved = true;
+        }
+      }
+    }
+    return generatedBinding;
+  }
+
 }
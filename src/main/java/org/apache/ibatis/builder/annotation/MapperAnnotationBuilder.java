@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2025 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -36,8 +36,10 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.apache.ibatis.annotations.Arg;
+import org.apache.ibatis.annotations.Batch;
 import org.apache.ibatis.annotations.CacheNamespace;
 import org.apache.ibatis.annotations.CacheNamespaceRef;
+import org.apache.ibatis.annotations.CacheWarmup;
 import org.apache.ibatis.annotations.Case;
 import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.DeleteProvider;
@@ -281,7 +283,8 @@ public class MapperAnnotationBuilder {
   }
 
   void parseStatement(Method method) {
-    final Class<?> parameterTypeClass = getParameterType(method);
+    final Batch batch = method.getAnnotation(Batch.class);
+    final Class<?> parameterTypeClass = batch == null ? getParameterType(method) : getBatchParameterType(method);
     final LanguageDriver languageDriver = getLanguageDriver(method);
 
     getAnnotationWrapper(method, true, statementAnnotationTypes).ifPresent(statementAnnotation -> {
@@ -353,7 +356,15 @@ public class MapperAnnotationBuilder {
           // TODO gcode issue #577
           false, keyGenerator, keyProperty, keyColumn, statementAnnotation.getDatabaseId(), languageDriver,
           // ResultSets
-          options != null ? nullOrEmpty(options.resultSets()) : null, statementAnnotation.isDirtySelect());
+          options != null ? nullOrEmpty(options.resultSets()) : null, statementAnnotation.isDirtySelect(),
+          options != null && options.entityLookup(), options != null ? options.negativeCacheTtl() : 0,
+          options != null && options.hedged(), options != null ? options.slowThreshold() : -1, batch != null,
+          batch != null ? batch.size() : 0);
+
+      CacheWarmup cacheWarmup = method.getAnnotation(CacheWarmup.class);
+      if (cacheWarmup != null) {
+        assistant.addWarmupStatement(mappedStatementId, nullOrEmpty(cacheWarmup.parameters()));
+      }
     });
   }
 
@@ -383,6 +394,27 @@ public class MapperAnnotationBuilder {
     return parameterType;
   }
 
+  /**
+   * The type of the elements of the only parameter of a batch method, each element being the parameter of a statement
+   * execution.
+   */
+  private Class<?> getBatchParameterType(Method method) {
+    Type[] parameterTypes = TypeParameterResolver.resolveParamTypes(method, type);
+    if (parameterTypes.length == 1) {
+      Type parameterType = parameterTypes[0];
+      if (parameterType instanceof Class && ((Class<?>) parameterType).isArray()) {
+        return ((Class<?>) parameterType).getComponentType();
+      }
+      if (parameterType instanceof ParameterizedType) {
+        Type[] typeArguments = ((ParameterizedType) parameterType).getActualTypeArguments();
+        if (typeArguments.length == 1 && typeArguments[0] instanceof Class) {
+          return (Class<?>) typeArguments[0];
+        }
+      }
+    }
+    return getParameterType(method);
+  }
+
   private static Class<?> getReturnType(Method method, Class<?> type) {
     Class<?> returnType = method.getReturnType();
     Type resolvedReturnType = TypeParameterResolver.resolveReturnType(method, type);
@@ -401,7 +433,8 @@ public class MapperAnnotationBuilder {
     } else if (resolvedReturnType instanceof ParameterizedType) {
       ParameterizedType parameterizedType = (ParameterizedType) resolvedReturnType;
       Class<?> rawType = (Class<?>) parameterizedType.getRawType();
-      if (Collection.class.isAssignableFrom(rawType) || Cursor.class.isAssignableFrom(rawType)) {
+      if (Collection.class.isAssignableFrom(rawType) || Cursor.class.isAssignableFrom(rawType)
+          || Stream.class.isAssignableFrom(rawType)) {
         Type[] actualTypeArguments = parameterizedType.getActualTypeArguments();
         if (actualTypeArguments != null && actualTypeArguments.length == 1) {
           Type returnTypeParameter = actualTypeArguments[0];
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import javax.sql.DataSource;
 
 import org.apache.ibatis.builder.BaseBuilder;
 import org.apache.ibatis.builder.BuilderException;
+import org.apache.ibatis.cache.invalidation.CacheInvalidationBus;
 import org.apache.ibatis.datasource.DataSourceFactory;
 import org.apache.ibatis.executor.ErrorContext;
 import org.apache.ibatis.executor.loader.ProxyFactory;
@@ -31,6 +32,7 @@ import org.apache.ibatis.io.VFS;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.mapping.DatabaseIdProvider;
 import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.parsing.XNode;
 import org.apache.ibatis.parsing.XPathParser;
 import org.apache.ibatis.plugin.Interceptor;
@@ -203,11 +205,23 @@ public class XMLConfigBuilder extends BaseBuilder {
         Interceptor interceptorInstance = (Interceptor) resolveClass(interceptor).getDeclaredConstructor()
             .newInstance();
         interceptorInstance.setProperties(properties);
-        configuration.addInterceptor(interceptorInstance);
+        String statements = child.getStringAttribute("statements");
+        String commandTypes = child.getStringAttribute("commandTypes");
+        configuration.addInterceptor(interceptorInstance, statements == null ? null : statements.split(","),
+            commandTypes == null ? null : commandTypesValueOf(commandTypes));
       }
     }
   }
 
+  private SqlCommandType[] commandTypesValueOf(String value) {
+    String[] names = value.split(",");
+    SqlCommandType[] commandTypes = new SqlCommandType[names.length];
+    for (int i = 0; i < names.length; i++) {
+      commandTypes[i] = SqlCommandType.valueOf(names[i].trim());
+    }
+    return commandTypes;
+  }
+
   private void objectFactoryElement(XNode context) throws Exception {
     if (context != null) {
       String type = context.getStringAttribute("type");
@@ -292,6 +306,24 @@ public class XMLConfigBuilder extends BaseBuilder {
         booleanValueOf(props.getProperty("argNameBasedConstructorAutoMapping"), false));
     configuration.setDefaultSqlProviderType(resolveClass(props.getProperty("defaultSqlProviderType")));
     configuration.setNullableOnForEach(booleanValueOf(props.getProperty("nullableOnForEach"), false));
+    configuration.setEntityCacheSize(integerValueOf(props.getProperty("entityCacheSize"), 1024));
+    configuration.setEntityCacheEviction(resolveClass(props.getProperty("entityCacheEviction")));
+    configuration.setEntityCacheEnabled(booleanValueOf(props.getProperty("entityCacheEnabled"), false));
+    configuration.setCacheStatisticsEnabled(booleanValueOf(props.getProperty("cacheStatisticsEnabled"), false));
+    configuration.setCacheStatisticsJmxEnabled(booleanValueOf(props.getProperty("cacheStatisticsJmxEnabled"), false));
+    configuration.setCacheWarmupThreads(integerValueOf(props.getProperty("cacheWarmupThreads"), 4));
+    configuration.setCacheWarmupAsync(booleanValueOf(props.getProperty("cacheWarmupAsync"), false));
+    configuration.setNegativeCacheSize(integerValueOf(props.getProperty("negativeCacheSize"), 1024));
+    configuration.setNegativeCacheBloomFilterSize(integerValueOf(props.getProperty("negativeCacheBloomFilterSize"), 0));
+    configuration.setHedgeDelayPercentile(Double.parseDouble(props.getProperty("hedgeDelayPercentile", "95")));
+    configuration.setSlowStatementThreshold(Long.parseLong(props.getProperty("slowStatementThreshold", "0")));
+    configuration.setSlowStatementLogRate(integerValueOf(props.getProperty("slowStatementLogRate"), 10));
+    configuration.setSlowStatementExplain(booleanValueOf(props.getProperty("slowStatementExplain"), false));
+    configuration.setDefaultBatchSize(integerValueOf(props.getProperty("defaultBatchSize"), 1000));
+    configuration.setRewriteBatchedInserts(booleanValueOf(props.getProperty("rewriteBatchedInserts"), false));
+    configuration.setGenerateMapperClasses(booleanValueOf(props.getProperty("generateMapperClasses"), false));
+    configuration
+        .setCacheInvalidationBus((CacheInvalidationBus) createInstance(props.getProperty("cacheInvalidationBus")));
   }
 
   private void environmentsElement(XNode context) throws Exception {
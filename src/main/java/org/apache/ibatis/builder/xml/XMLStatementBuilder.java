@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -116,10 +116,17 @@ public class XMLStatementBuilder extends BaseBuilder {
     String keyColumn = context.getStringAttribute("keyColumn");
     String resultSets = context.getStringAttribute("resultSets");
     boolean dirtySelect = context.getBooleanAttribute("affectData", Boolean.FALSE);
+    boolean entityLookup = context.getBooleanAttribute("entityLookup", Boolean.FALSE);
+    long negativeCacheTtl = context.getLongAttribute("negativeCacheTtl", 0L);
+    boolean hedged = context.getBooleanAttribute("hedged", Boolean.FALSE);
+    long slowThreshold = context.getLongAttribute("slowThreshold", -1L);
+    boolean batch = context.getBooleanAttribute("batch", Boolean.FALSE);
+    int batchSize = context.getIntAttribute("batchSize", 0);
 
     builderAssistant.addMappedStatement(id, sqlSource, statementType, sqlCommandType, fetchSize, timeout, parameterMap,
         parameterTypeClass, resultMap, resultTypeClass, resultSetTypeEnum, flushCache, useCache, resultOrdered,
-        keyGenerator, keyProperty, keyColumn, databaseId, langDriver, resultSets, dirtySelect);
+        keyGenerator, keyProperty, keyColumn, databaseId, langDriver, resultSets, dirtySelect, entityLookup,
+        negativeCacheTtl, hedged, slowThreshold, batch, batchSize);
   }
 
   private void processSelectKeyNodes(String id, Class<?> parameterTypeClass, LanguageDriver langDriver) {
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2025 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -15,10 +15,14 @@
  */
 package org.apache.ibatis.cache;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.ibatis.cache.decorators.TransactionalCache;
+import org.apache.ibatis.cache.invalidation.CacheInvalidation;
+import org.apache.ibatis.cache.invalidation.CacheInvalidationService;
 
 /**
  * @author Clinton Begin
@@ -26,6 +30,21 @@ import org.apache.ibatis.cache.decorators.TransactionalCache;
 public class TransactionalCacheManager {
 
   private final Map<Cache, TransactionalCache> transactionalCaches = new HashMap<>();
+  private final CacheInvalidationService invalidationService;
+
+  public TransactionalCacheManager() {
+    this(null);
+  }
+
+  /**
+   * @param invalidationService
+   *          publishes the caches cleared by a commit to the other nodes, may be <code>null</code>
+   *
+   * @since 3.6.0
+   */
+  public TransactionalCacheManager(CacheInvalidationService invalidationService) {
+    this.invalidationService = invalidationService;
+  }
 
   public void clear(Cache cache) {
     getTransactionalCache(cache).clear();
@@ -40,9 +59,19 @@ public class TransactionalCacheManager {
   }
 
   public void commit() {
+    List<CacheInvalidation> invalidations = null;
     for (TransactionalCache txCache : transactionalCaches.values()) {
+      if (invalidationService != null && txCache.isClearOnCommit()) {
+        if (invalidations == null) {
+          invalidations = new ArrayList<>();
+        }
+        invalidations.add(CacheInvalidation.ofCache(txCache.getId()));
+      }
       txCache.commit();
     }
+    if (invalidations != null) {
+      invalidationService.publish(invalidations);
+    }
   }
 
   public void rollback() {
@@ -0,0 +1,227 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.entity;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.mapping.CacheBuilder;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ResultFlag;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * Identity map of the objects mapped by result maps that declare <code>&lt;id&gt;</code> mappings.
+ * <p>
+ * Entities are keyed by the result map that created them and the values of its id columns, so a row is mapped only once
+ * regardless of the statement that returned it. Keying by result map rather than by result type guarantees that a
+ * narrower result map of the same type never serves a partially mapped object. For the same reason, only the entities
+ * mapped from a row that holds every column of their result map, and no other column automatic mapping could apply to,
+ * are cached.
+ * <p>
+ * Cached entities are shared between sessions and must be treated as read-only. A session neither reads nor caches
+ * entities between its first update and the end of its transaction. They are evicted when a statement of a namespace
+ * that declares a result map of the same type is executed as an update, and once more when its transaction ends.
+ *
+ * @since 3.6.0
+ */
+public class EntityCache {
+
+  private final Configuration configuration;
+  private final Map<String, EntityStore> stores = new ConcurrentHashMap<>();
+  private final Map<ResultMap, List<ResultMapping>> idMappings = new ConcurrentHashMap<>();
+  private final Map<String, Set<Class<?>>> namespaceTypes = new ConcurrentHashMap<>();
+
+  public EntityCache(Configuration configuration) {
+    this.configuration = configuration;
+  }
+
+  /**
+   * Only simple result maps with explicit id mappings can be cached. Objects built from nested result maps keep growing
+   * while rows are read and objects with nested selects may hold lazy loaders bound to a session.
+   *
+   * @param resultMap
+   *          the result map
+   *
+   * @return <code>true</code> if the objects created by this result map can be cached
+   */
+  public boolean isCacheable(ResultMap resultMap) {
+    return !resultMap.hasNestedResultMaps() && !resultMap.hasNestedQueries()
+        && !resultMap.hasResultMapsUsingConstructorCollection() && !getIdMappings(resultMap).isEmpty();
+  }
+
+  public List<ResultMapping> getIdMappings(ResultMap resultMap) {
+    return idMappings.computeIfAbsent(resultMap, EntityCache::findIdMappings);
+  }
+
+  private static List<ResultMapping> findIdMappings(ResultMap resultMap) {
+    List<ResultMapping> mappings = new ArrayList<>();
+    for (ResultMapping resultMapping : resultMap.getResultMappings()) {
+      if (resultMapping.getFlags().contains(ResultFlag.ID)) {
+        if (!resultMapping.isSimple() || resultMapping.getColumn() == null || resultMapping.getTypeHandler() == null) {
+          return Collections.emptyList();
+        }
+        mappings.add(resultMapping);
+      }
+    }
+    return Collections.unmodifiableList(mappings);
+  }
+
+  /**
+   * Creates an entity key. The caller must update it with the values of the id mappings, in order.
+   *
+   * @param resultMap
+   *          the result map that maps the entity
+   *
+   * @return a new key
+   */
+  public CacheKey createKey(ResultMap resultMap) {
+    CacheKey key = new CacheKey();
+    key.update(resultMap.getId());
+    return key;
+  }
+
+  public Object getObject(ResultMap resultMap, CacheKey key) {
+    EntityStore store = stores.get(resultMap.getId());
+    return store == null ? null : store.cache.getObject(key);
+  }
+
+  public void putObject(ResultMap resultMap, CacheKey key, Object entity) {
+    stores.computeIfAbsent(resultMap.getId(), id -> new EntityStore(resultMap.getType(), buildCache(id))).cache
+        .putObject(key, entity);
+  }
+
+  private Cache buildCache(String id) {
+    return new CacheBuilder(id).implementation(PerpetualCache.class)
+        .addDecorator(configuration.getEntityCacheEviction()).size(configuration.getEntityCacheSize()).build();
+  }
+
+  /**
+   * Looks an entity up by the id values held by the parameter object of a select.
+   *
+   * @param ms
+   *          a select statement flagged as entity lookup
+   * @param parameterObject
+   *          the id value, or an object or map holding the id properties
+   *
+   * @return a list holding the cached entity, or <code>null</code> if the database has to be queried
+   */
+  public <E> List<E> lookup(MappedStatement ms, Object parameterObject) {
+    if (parameterObject == null || ms.getResultMaps().size() != 1) {
+      return null;
+    }
+    ResultMap resultMap = ms.getResultMaps().get(0);
+    if (resultMap.getDiscriminator() != null || !stores.containsKey(resultMap.getId()) || !isCacheable(resultMap)) {
+      return null;
+    }
+    List<ResultMapping> ids = getIdMappings(resultMap);
+    CacheKey key = createKey(resultMap);
+    if (ids.size() == 1 && configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+      key.update(parameterObject);
+    } else {
+      MetaObject metaObject = configuration.newMetaObject(parameterObject);
+      for (ResultMapping id : ids) {
+        String property = id.getProperty();
+        if (property == null || !metaObject.hasGetter(property)) {
+          return null;
+        }
+        Object value = metaObject.getValue(property);
+        if (value == null) {
+          return null;
+        }
+        key.update(value);
+      }
+    }
+    @SuppressWarnings("unchecked")
+    E entity = (E) getObject(resultMap, key);
+    if (entity == null) {
+      return null;
+    }
+    List<E> list = new ArrayList<>(1);
+    list.add(entity);
+    return list;
+  }
+
+  /**
+   * Evicts the entities of every type mapped by a result map of the namespace of a statement.
+   *
+   * @param ms
+   *          an update statement
+   */
+  public void clear(MappedStatement ms) {
+    String id = ms.getId();
+    int lastPeriod = id.lastIndexOf('.');
+    clear(lastPeriod > 0 ? id.substring(0, lastPeriod) : id);
+  }
+
+  /**
+   * Evicts the entities of every type mapped by a result map of the given namespace.
+   *
+   * @param namespace
+   *          a mapper namespace
+   */
+  public void clear(String namespace) {
+    Set<Class<?>> types = namespaceTypes.computeIfAbsent(namespace, this::findNamespaceTypes);
+    if (types.isEmpty()) {
+      return;
+    }
+    for (EntityStore store : stores.values()) {
+      if (types.contains(store.type)) {
+        store.cache.clear();
+      }
+    }
+  }
+
+  private Set<Class<?>> findNamespaceTypes(String namespace) {
+    Set<Class<?>> types = new HashSet<>();
+    String prefix = namespace + ".";
+    for (Object value : configuration.getResultMaps()) {
+      // short names of ambiguous result maps hold a placeholder
+      if (value instanceof ResultMap && ((ResultMap) value).getId().startsWith(prefix)) {
+        types.add(((ResultMap) value).getType());
+      }
+    }
+    return types;
+  }
+
+  public void clear() {
+    for (EntityStore store : stores.values()) {
+      store.cache.clear();
+    }
+  }
+
+  private static class EntityStore {
+    private final Class<?> type;
+    private final Cache cache;
+
+    EntityStore(Class<?> type, Cache cache) {
+      this.type = type;
+      this.cache = cache;
+    }
+  }
+
+}
@@ -0,0 +1,83 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.invalidation;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+/**
+ * An invalidation of a whole cache (namespace) or of a single entry of it.
+ *
+ * @since 3.6.0
+ */
+public final class CacheInvalidation implements Serializable {
+
+  private static final long serialVersionUID = 1L;
+
+  private final String cacheId;
+  private final Object key;
+
+  private CacheInvalidation(String cacheId, Object key) {
+    this.cacheId = Objects.requireNonNull(cacheId, "cacheId");
+    this.key = key;
+  }
+
+  public static CacheInvalidation ofCache(String cacheId) {
+    return new CacheInvalidation(cacheId, null);
+  }
+
+  public static CacheInvalidation ofKey(String cacheId, Object key) {
+    return new CacheInvalidation(cacheId, Objects.requireNonNull(key, "key"));
+  }
+
+  public String getCacheId() {
+    return cacheId;
+  }
+
+  /**
+   * @return the invalidated key or <code>null</code> when the whole cache is invalidated
+   */
+  public Object getKey() {
+    return key;
+  }
+
+  public boolean isWholeCache() {
+    return key == null;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof CacheInvalidation)) {
+      return false;
+    }
+    CacheInvalidation other = (CacheInvalidation) o;
+    return cacheId.equals(other.cacheId) && Objects.equals(key, other.key);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(cacheId, key);
+  }
+
+  @Override
+  public String toString() {
+    return isWholeCache() ? cacheId : cacheId + ":" + key;
+  }
+
+}
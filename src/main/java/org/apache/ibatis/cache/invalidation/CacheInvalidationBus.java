@@ -0,0 +1,56 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.invalidation;
+
+import java.util.List;
+
+/**
+ * SPI for transports that carry second level cache invalidations to the other nodes of a deployment.
+ * <p>
+ * A bus only moves messages. Coalescing and applying received invalidations to the local caches is done by
+ * {@link CacheInvalidationService}.
+ *
+ * @since 3.6.0
+ *
+ * @see LoopbackCacheInvalidationBus
+ * @see UdpCacheInvalidationBus
+ */
+public interface CacheInvalidationBus {
+
+  /**
+   * Starts receiving invalidations published by other nodes.
+   *
+   * @param listener
+   *          the listener to notify, possibly from a transport thread
+   */
+  void start(CacheInvalidationListener listener);
+
+  /**
+   * Sends invalidations to the other nodes. Called after the local transaction was committed.
+   *
+   * @param nodeId
+   *          the identifier of the publishing node
+   * @param invalidations
+   *          the invalidations to send
+   */
+  void publish(String nodeId, List<CacheInvalidation> invalidations);
+
+  /**
+   * Stops receiving and releases the transport resources.
+   */
+  void close();
+
+}
@@ -0,0 +1,159 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.invalidation;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * Publishes the invalidations of committed transactions and applies the ones received from other nodes.
+ * <p>
+ * Received invalidations are applied asynchronously on a single thread. Invalidations that arrive while a batch is
+ * being applied are coalesced: a whole cache invalidation supersedes key invalidations of the same cache and every key
+ * is removed only once.
+ *
+ * @since 3.6.0
+ */
+public class CacheInvalidationService {
+
+  private static final Log log = LogFactory.getLog(CacheInvalidationService.class);
+
+  private final Configuration configuration;
+  private final CacheInvalidationBus bus;
+  private final String nodeId = UUID.randomUUID().toString();
+  private final ExecutorService applier;
+
+  private final Lock lock = new ReentrantLock();
+  // a null key set means the whole cache is invalidated
+  private Map<String, Set<Object>> pending = new HashMap<>();
+  private boolean applyScheduled;
+
+  public CacheInvalidationService(Configuration configuration, CacheInvalidationBus bus) {
+    this.configuration = configuration;
+    this.bus = bus;
+    this.applier = Executors.newSingleThreadExecutor(runnable -> {
+      Thread thread = new Thread(runnable, "mybatis-cache-invalidation");
+      thread.setDaemon(true);
+      return thread;
+    });
+    bus.start(this::receive);
+  }
+
+  public String getNodeId() {
+    return nodeId;
+  }
+
+  public CacheInvalidationBus getBus() {
+    return bus;
+  }
+
+  public void publish(List<CacheInvalidation> invalidations) {
+    if (invalidations.isEmpty()) {
+      return;
+    }
+    try {
+      bus.publish(nodeId, invalidations);
+    } catch (RuntimeException e) {
+      // the local transaction is already committed, remote nodes will catch up on their flush interval
+      log.warn("Could not publish cache invalidations " + invalidations + ". Cause: " + e);
+    }
+  }
+
+  protected void receive(String originNodeId, List<CacheInvalidation> invalidations) {
+    if (nodeId.equals(originNodeId)) {
+      return;
+    }
+    lock.lock();
+    try {
+      for (CacheInvalidation invalidation : invalidations) {
+        String cacheId = invalidation.getCacheId();
+        if (invalidation.isWholeCache()) {
+          pending.put(cacheId, null);
+        } else if (!pending.containsKey(cacheId)) {
+          Set<Object> keys = new HashSet<>();
+          keys.add(invalidation.getKey());
+          pending.put(cacheId, keys);
+        } else {
+          Set<Object> keys = pending.get(cacheId);
+          if (keys != null) {
+            keys.add(invalidation.getKey());
+          }
+        }
+      }
+      if (!applyScheduled && !pending.isEmpty()) {
+        applyScheduled = true;
+        applier.execute(this::applyPending);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  private void applyPending() {
+    Map<String, Set<Object>> batch;
+    lock.lock();
+    try {
+      batch = pending;
+      pending = new HashMap<>();
+      applyScheduled = false;
+    } finally {
+      lock.unlock();
+    }
+    for (Map.Entry<String, Set<Object>> entry : batch.entrySet()) {
+      String cacheId = entry.getKey();
+      if (!configuration.hasCache(cacheId)) {
+        continue;
+      }
+      Cache cache = configuration.getCache(cacheId);
+      try {
+        if (entry.getValue() == null) {
+          cache.clear();
+        } else {
+          for (Object key : entry.getValue()) {
+            cache.removeObject(key);
+          }
+        }
+      } catch (RuntimeException e) {
+        log.warn("Could not apply remote invalidation of cache " + cacheId + ". Cause: " + e);
+      }
+    }
+    if (log.isDebugEnabled()) {
+      log.debug("Applied remote invalidations of caches " + batch.keySet());
+    }
+  }
+
+  public void close() {
+    try {
+      bus.close();
+    } finally {
+      applier.shutdown();
+    }
+  }
+
+}
@@ -0,0 +1,76 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.invalidation;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * In-process transport that connects every bus opened on the same channel name. Useful for tests and for several
+ * {@link org.apache.ibatis.session.SqlSessionFactory} instances living in the same JVM.
+ *
+ * @since 3.6.0
+ */
+public class LoopbackCacheInvalidationBus implements CacheInvalidationBus {
+
+  private static final Map<String, Set<LoopbackCacheInvalidationBus>> channels = new ConcurrentHashMap<>();
+
+  private final String channel;
+  private volatile CacheInvalidationListener listener;
+
+  public LoopbackCacheInvalidationBus() {
+    this("default");
+  }
+
+  public LoopbackCacheInvalidationBus(String channel) {
+    this.channel = channel;
+  }
+
+  public String getChannel() {
+    return channel;
+  }
+
+  @Override
+  public void start(CacheInvalidationListener listener) {
+    this.listener = listener;
+    channels.computeIfAbsent(channel, k -> new CopyOnWriteArraySet<>()).add(this);
+  }
+
+  @Override
+  public void publish(String nodeId, List<CacheInvalidation> invalidations) {
+    List<CacheInvalidation> message = Collections.unmodifiableList(invalidations);
+    for (LoopbackCacheInvalidationBus peer : channels.getOrDefault(channel, Collections.emptySet())) {
+      CacheInvalidationListener peerListener = peer.listener;
+      if (peer != this && peerListener != null) {
+        peerListener.onInvalidations(nodeId, message);
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    listener = null;
+    channels.computeIfPresent(channel, (k, peers) -> {
+      peers.remove(this);
+      return peers.isEmpty() ? null : peers;
+    });
+  }
+
+}
@@ -0,0 +1,199 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.invalidation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.MulticastSocket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+/**
+ * UDP transport. Each published batch is sent as one datagram to every target address. When a target is a multicast
+ * group, the bus joins it and receives the datagrams of all the nodes of the group; otherwise the nodes are listed
+ * explicitly as unicast peers, which also works on a single host.
+ * <p>
+ * Datagrams are neither acknowledged nor retransmitted. A lost invalidation is bounded by the flush interval of the
+ * cache. Keys are transferred with Java serialization restricted to JDK value types and MyBatis cache keys, still this
+ * transport must only be used on a trusted network.
+ *
+ * @since 3.6.0
+ */
+public class UdpCacheInvalidationBus implements CacheInvalidationBus {
+
+  public static final String DEFAULT_GROUP = "239.255.27.1";
+  public static final int DEFAULT_PORT = 45564;
+
+  private static final Log log = LogFactory.getLog(UdpCacheInvalidationBus.class);
+
+  private static final int MAX_DATAGRAM_SIZE = 65507;
+  private static final ObjectInputFilter filter = ObjectInputFilter.Config
+      .createFilter("java.lang.*;java.util.*;java.math.*;java.time.*;java.sql.*;org.apache.ibatis.cache.CacheKey;"
+          + "org.apache.ibatis.cache.NullCacheKey;org.apache.ibatis.cache.invalidation.CacheInvalidation;maxdepth=16;"
+          + "maxbytes=" + MAX_DATAGRAM_SIZE + ";!*");
+
+  private final int port;
+  private final List<InetSocketAddress> targets;
+  private DatagramSocket socket;
+  private Thread receiver;
+
+  /**
+   * Joins the default multicast group on the default port.
+   */
+  public UdpCacheInvalidationBus() {
+    this(DEFAULT_PORT, new InetSocketAddress(DEFAULT_GROUP, DEFAULT_PORT));
+  }
+
+  /**
+   * @param port
+   *          the local port to receive on
+   * @param targets
+   *          the multicast groups or unicast peers to send to
+   */
+  public UdpCacheInvalidationBus(int port, InetSocketAddress... targets) {
+    this.port = port;
+    this.targets = Arrays.asList(targets);
+  }
+
+  @Override
+  public synchronized void start(CacheInvalidationListener listener) {
+    if (socket != null) {
+      throw new CacheException("UdpCacheInvalidationBus is already started.");
+    }
+    try {
+      socket = openSocket();
+    } catch (IOException e) {
+      throw new CacheException("Could not open UDP socket on port " + port + ". Cause: " + e, e);
+    }
+    DatagramSocket receivingSocket = socket;
+    receiver = new Thread(() -> receive(receivingSocket, listener), "mybatis-cache-invalidation-udp-" + port);
+    receiver.setDaemon(true);
+    receiver.start();
+  }
+
+  private DatagramSocket openSocket() throws IOException {
+    List<InetSocketAddress> groups = new ArrayList<>();
+    for (InetSocketAddress target : targets) {
+      if (target.getAddress() != null && target.getAddress().isMulticastAddress()) {
+        groups.add(target);
+      }
+    }
+    if (groups.isEmpty()) {
+      return new DatagramSocket(port);
+    }
+    MulticastSocket multicastSocket = new MulticastSocket(port);
+    for (InetSocketAddress group : groups) {
+      multicastSocket.joinGroup(group, null);
+    }
+    return multicastSocket;
+  }
+
+  private void receive(DatagramSocket receivingSocket, CacheInvalidationListener listener) {
+    byte[] buffer = new byte[MAX_DATAGRAM_SIZE];
+    while (!receivingSocket.isClosed()) {
+      DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+      try {
+        receivingSocket.receive(packet);
+      } catch (SocketException e) {
+        // closed
+        break;
+      } catch (IOException e) {
+        log.warn("Could not receive cache invalidations. Cause: " + e);
+        continue;
+      }
+      try (ObjectInputStream in = new ObjectInputStream(
+          new ByteArrayInputStream(packet.getData(), packet.getOffset(), packet.getLength()))) {
+        in.setObjectInputFilter(filter);
+        String nodeId = in.readUTF();
+        @SuppressWarnings("unchecked")
+        List<CacheInvalidation> invalidations = (List<CacheInvalidation>) in.readObject();
+        listener.onInvalidations(nodeId, invalidations);
+      } catch (Exception e) {
+        log.warn(
+            "Discarded an unreadable cache invalidation datagram from " + packet.getSocketAddress() + ". Cause: " + e);
+      }
+    }
+  }
+
+  @Override
+  public void publish(String nodeId, List<CacheInvalidation> invalidations) {
+    DatagramSocket sendingSocket;
+    synchronized (this) {
+      sendingSocket = socket;
+    }
+    if (sendingSocket == null) {
+      throw new CacheException("UdpCacheInvalidationBus is not started.");
+    }
+    byte[] data = encode(nodeId, invalidations);
+    if (data == null) {
+      // keys are not serializable or too many of them, fall back to whole cache invalidations
+      Set<CacheInvalidation> wholeCaches = new LinkedHashSet<>();
+      for (CacheInvalidation invalidation : invalidations) {
+        wholeCaches.add(CacheInvalidation.ofCache(invalidation.getCacheId()));
+      }
+      data = encode(nodeId, new ArrayList<>(wholeCaches));
+      if (data == null) {
+        throw new CacheException("Too many caches to invalidate in a single datagram: " + wholeCaches);
+      }
+    }
+    for (InetSocketAddress target : targets) {
+      try {
+        sendingSocket.send(new DatagramPacket(data, data.length, target));
+      } catch (IOException e) {
+        throw new CacheException("Could not send cache invalidations to " + target + ". Cause: " + e, e);
+      }
+    }
+  }
+
+  private byte[] encode(String nodeId, List<CacheInvalidation> invalidations) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeUTF(nodeId);
+      out.writeObject(new ArrayList<>(invalidations));
+    } catch (IOException e) {
+      return null;
+    }
+    return bytes.size() > MAX_DATAGRAM_SIZE ? null : bytes.toByteArray();
+  }
+
+  @Override
+  public synchronized void close() {
+    if (socket != null) {
+      socket.close();
+      socket = null;
+    }
+    if (receiver != null) {
+      receiver.interrupt();
+      receiver = null;
+    }
+  }
+
+}
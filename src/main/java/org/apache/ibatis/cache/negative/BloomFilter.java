@@ -0,0 +1,86 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.negative;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock free Bloom filter sized for an expected number of keys and a false positive probability of one percent.
+ *
+ * @since 3.6.0
+ */
+public class BloomFilter {
+
+  private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+  private final AtomicLongArray bits;
+  private final long bitCount;
+  private final int hashCount;
+
+  public BloomFilter(int expectedKeys) {
+    if (expectedKeys <= 0) {
+      throw new IllegalArgumentException("Expected keys must be positive but was " + expectedKeys);
+    }
+    long optimalBits = (long) Math
+        .ceil(-expectedKeys * Math.log(FALSE_POSITIVE_PROBABILITY) / (Math.log(2) * Math.log(2)));
+    this.bits = new AtomicLongArray((int) ((optimalBits + 63) / 64));
+    this.bitCount = bits.length() * 64L;
+    this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedKeys * Math.log(2)));
+  }
+
+  public void put(Object key) {
+    long hash = mix(key == null ? 0 : key.hashCode());
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashCount; i++) {
+      long index = bitIndex(h1 + i * h2);
+      int word = (int) (index >>> 6);
+      long mask = 1L << index;
+      long value;
+      while (((value = bits.get(word)) & mask) == 0 && !bits.compareAndSet(word, value, value | mask)) {
+        // retry until the bit is set by this thread or another one
+      }
+    }
+  }
+
+  public boolean mightContain(Object key) {
+    long hash = mix(key == null ? 0 : key.hashCode());
+    int h1 = (int) hash;
+    int h2 = (int) (hash >>> 32);
+    for (int i = 1; i <= hashCount; i++) {
+      long index = bitIndex(h1 + i * h2);
+      if ((bits.get((int) (index >>> 6)) & 1L << index) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private long bitIndex(int combinedHash) {
+    return (combinedHash & Integer.MAX_VALUE) % bitCount;
+  }
+
+  private static long mix(long hash) {
+    // finalizer of MurmurHash3, spreads the bits of hashCode() over both halves
+    hash ^= hash >>> 33;
+    hash *= 0xff51afd7ed558ccdL;
+    hash ^= hash >>> 33;
+    hash *= 0xc4ceb9fe1a85ec53L;
+    hash ^= hash >>> 33;
+    return hash;
+  }
+
+}
@@ -0,0 +1,242 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.negative;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.type.TypeHandlerRegistry;
+
+/**
+ * Remembers the selects that returned no rows for the time to live of their statement, so repeated lookups of missing
+ * keys do not reach the database.
+ * <p>
+ * There is one negative cache per cache namespace, that is the namespace of the second level cache used by the
+ * statements or the namespace of the statements when they use none. It is cleared by the statements of that namespace
+ * that flush caches.
+ * <p>
+ * Optionally a Bloom filter of keys known to be present can be kept. Inserts that declare key properties add their keys
+ * to it instead of clearing the cache, and an empty result is only served while its key is definitely not in the
+ * filter. Lookup keys are the values of the parameters of the select and insert keys are the values of the key
+ * properties, so both must be listed in the same order and be of the same types.
+ *
+ * @since 3.6.0
+ */
+public class NegativeCache {
+
+  private final String id;
+  private final Map<CacheKey, Long> expirations;
+  private final BloomFilter presentKeys;
+
+  /**
+   * @param id
+   *          the cache namespace
+   * @param size
+   *          the maximum number of empty results remembered
+   * @param expectedKeys
+   *          the expected number of present keys the Bloom filter is sized for, 0 for no Bloom filter
+   */
+  public NegativeCache(String id, int size, int expectedKeys) {
+    this.id = id;
+    this.expirations = new LinkedHashMap<>(size, .75F, true) {
+      private static final long serialVersionUID = 1L;
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<CacheKey, Long> eldest) {
+        return size() > size;
+      }
+    };
+    this.presentKeys = expectedKeys > 0 ? new BloomFilter(expectedKeys) : null;
+  }
+
+  /**
+   * Returns the cache namespace of a statement.
+   *
+   * @param ms
+   *          the mapped statement
+   *
+   * @return the id of the negative cache the statement uses or flushes
+   */
+  public static String idOf(MappedStatement ms) {
+    if (ms.getCache() != null) {
+      return ms.getCache().getId();
+    }
+    String statementId = ms.getId();
+    int lastPeriod = statementId.lastIndexOf('.');
+    return lastPeriod < 0 ? statementId : statementId.substring(0, lastPeriod);
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public boolean hasBloomFilter() {
+    return presentKeys != null;
+  }
+
+  /**
+   * @param key
+   *          the cache key of the select
+   * @param lookupKey
+   *          the values of the parameters of the select, only used by the Bloom filter
+   *
+   * @return <code>true</code> if the select returned no rows and that result has not expired yet
+   */
+  public synchronized boolean isAbsent(CacheKey key, List<Object> lookupKey) {
+    Long expiration = expirations.get(key);
+    if (expiration == null) {
+      return false;
+    }
+    if (expiration < System.currentTimeMillis() || mightBePresent(lookupKey)) {
+      expirations.remove(key);
+      return false;
+    }
+    return true;
+  }
+
+  public synchronized void putAbsent(CacheKey key, List<Object> lookupKey, long timeToLive) {
+    if (!mightBePresent(lookupKey)) {
+      expirations.put(key, System.currentTimeMillis() + timeToLive);
+    }
+  }
+
+  public void addPresentKey(List<Object> key) {
+    if (presentKeys != null) {
+      presentKeys.put(key);
+    }
+  }
+
+  /**
+   * Adds the values of the key properties of the rows inserted by a statement to the Bloom filter.
+   *
+   * @param ms
+   *          an insert statement that declares key properties
+   * @param parameterObject
+   *          the parameter of the insert, after generated keys were assigned
+   *
+   * @return <code>false</code> if some key is not known yet, as happens when batched inserts generate them
+   */
+  public boolean addPresentKeys(MappedStatement ms, Object parameterObject) {
+    Configuration configuration = ms.getConfiguration();
+    List<List<Object>> keys = new ArrayList<>();
+    for (Object row : rowsOf(parameterObject)) {
+      MetaObject metaObject = configuration.newMetaObject(row);
+      List<Object> key = new ArrayList<>();
+      for (String keyProperty : ms.getKeyProperties()) {
+        Object value = metaObject.getValue(keyProperty);
+        if (value == null) {
+          return false;
+        }
+        key.add(value);
+      }
+      keys.add(key);
+    }
+    keys.forEach(this::addPresentKey);
+    return true;
+  }
+
+  public synchronized void clear() {
+    // the Bloom filter is kept, it still guards against results read by transactions that began before the insert
+    expirations.clear();
+  }
+
+  public synchronized int getSize() {
+    return expirations.size();
+  }
+
+  /**
+   * Returns the values of the parameters of a select the same way they are bound to the statement.
+   *
+   * @param ms
+   *          the mapped statement
+   * @param boundSql
+   *          the bound sql
+   * @param parameterObject
+   *          the parameter object
+   *
+   * @return the lookup key
+   */
+  public static List<Object> lookupKey(MappedStatement ms, BoundSql boundSql, Object parameterObject) {
+    Configuration configuration = ms.getConfiguration();
+    TypeHandlerRegistry typeHandlerRegistry = configuration.getTypeHandlerRegistry();
+    List<Object> key = new ArrayList<>();
+    MetaObject metaObject = null;
+    for (ParameterMapping parameterMapping : boundSql.getParameterMappings()) {
+      if (parameterMapping.getMode() != ParameterMode.OUT) {
+        Object value;
+        String propertyName = parameterMapping.getProperty();
+        if (parameterMapping.hasValue()) {
+          value = parameterMapping.getValue();
+        } else if (boundSql.hasAdditionalParameter(propertyName)) {
+          value = boundSql.getAdditionalParameter(propertyName);
+        } else if (parameterObject == null) {
+          value = null;
+        } else if (typeHandlerRegistry.hasTypeHandler(parameterObject.getClass())) {
+          value = parameterObject;
+        } else {
+          if (metaObject == null) {
+            metaObject = configuration.newMetaObject(parameterObject);
+          }
+          value = metaObject.getValue(propertyName);
+        }
+        key.add(value);
+      }
+    }
+    return key;
+  }
+
+  private boolean mightBePresent(List<Object> lookupKey) {
+    return presentKeys != null && lookupKey != null && presentKeys.mightContain(lookupKey);
+  }
+
+  private static Collection<?> rowsOf(Object parameterObject) {
+    Object rows = parameterObject;
+    if (parameterObject instanceof Map) {
+      // collections and arrays passed alone are wrapped by ParamNameResolver
+      Map<?, ?> parameterMap = (Map<?, ?>) parameterObject;
+      for (String name : new String[] { "collection", "list", "array" }) {
+        if (parameterMap.containsKey(name)) {
+          rows = parameterMap.get(name);
+          break;
+        }
+      }
+    }
+    if (rows instanceof Collection) {
+      return (Collection<?>) rows;
+    }
+    if (rows != null && rows.getClass().isArray()) {
+      List<Object> elements = new ArrayList<>();
+      for (int i = 0; i < Array.getLength(rows); i++) {
+        elements.add(Array.get(rows, i));
+      }
+      return elements;
+    }
+    return Collections.singletonList(parameterObject);
+  }
+
+}
@@ -0,0 +1,342 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.statistics;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.lang.management.ManagementFactory;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheException;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+/**
+ * Counters of a second level cache, updated by {@link StatisticsCache} and {@link EvictionStatisticsCache}.
+ * <p>
+ * Hottest keys and entry sizes are sampled, one request out of {@link #SAMPLE_RATE}, so keeping them costs little on
+ * the hit path. The estimated bytes of the cache is the average serialized size of the sampled entries times the number
+ * of entries, entries that are not serializable are not taken into account.
+ *
+ * @since 3.6.0
+ */
+public class CacheStatistics implements CacheStatisticsMXBean {
+
+  public static final int SAMPLE_RATE = 16;
+  private static final Log log = LogFactory.getLog(CacheStatistics.class);
+  private static final int HOT_KEY_CAPACITY = 64;
+  private static final int HOT_KEY_REPORTED = 10;
+
+  private final String id;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder puts = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+  private final LongAdder expirations = new LongAdder();
+  private final LongAdder loads = new LongAdder();
+  private final LongAdder loadNanos = new LongAdder();
+  private final AtomicLong maxLoadNanos = new AtomicLong();
+  private final LongAdder sampledEntries = new LongAdder();
+  private final LongAdder sampledBytes = new LongAdder();
+  private final Map<Object, Long> hotKeys = new HashMap<>();
+  private Cache cache;
+  private ObjectName objectName;
+  // set by StatisticsCache while a removal requested by the caller runs through the decorators
+  boolean requested;
+
+  public CacheStatistics(String id) {
+    this.id = id;
+  }
+
+  /**
+   * @param cache
+   *          the fully decorated cache, used to read its size
+   */
+  public void setCache(Cache cache) {
+    this.cache = cache;
+  }
+
+  public void recordHit(Object key) {
+    hits.increment();
+    sampleKey(key);
+  }
+
+  public void recordMiss(Object key) {
+    misses.increment();
+    sampleKey(key);
+  }
+
+  public void recordPut(Object value) {
+    puts.increment();
+    if (value instanceof Serializable && ThreadLocalRandom.current().nextInt(SAMPLE_RATE) == 0) {
+      long bytes = serializedSize(value);
+      if (bytes >= 0) {
+        sampledBytes.add(bytes);
+        sampledEntries.increment();
+      }
+    }
+  }
+
+  public void recordEvictions(int count) {
+    evictions.add(count);
+  }
+
+  public void recordExpirations(int count) {
+    expirations.add(count);
+  }
+
+  /**
+   * @param nanos
+   *          the time spent loading an entry from the database after a miss
+   */
+  public void recordLoad(long nanos) {
+    loads.increment();
+    loadNanos.add(nanos);
+    maxLoadNanos.accumulateAndGet(nanos, Math::max);
+  }
+
+  @Override
+  public String getId() {
+    return id;
+  }
+
+  @Override
+  public long getHits() {
+    return hits.sum();
+  }
+
+  @Override
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  @Override
+  public double getHitRatio() {
+    long requests = getHits() + getMisses();
+    return requests == 0 ? 0 : (double) getHits() / requests;
+  }
+
+  @Override
+  public long getPuts() {
+    return puts.sum();
+  }
+
+  @Override
+  public long getEvictions() {
+    return evictions.sum();
+  }
+
+  @Override
+  public long getExpirations() {
+    return expirations.sum();
+  }
+
+  @Override
+  public int getSize() {
+    return cache == null ? 0 : cache.getSize();
+  }
+
+  @Override
+  public long getEstimatedBytes() {
+    long entries = sampledEntries.sum();
+    return entries == 0 ? 0 : sampledBytes.sum() * getSize() / entries;
+  }
+
+  @Override
+  public long getLoads() {
+    return loads.sum();
+  }
+
+  @Override
+  public double getAverageLoadMillis() {
+    long count = getLoads();
+    return count == 0 ? 0 : toMillis(loadNanos.sum()) / count;
+  }
+
+  @Override
+  public double getMaxLoadMillis() {
+    return toMillis(maxLoadNanos.get());
+  }
+
+  @Override
+  public String[] getHottestKeys() {
+    return getHottestKeys(HOT_KEY_REPORTED).stream().map(e -> e.getKey() + " (" + e.getValue() + ")")
+        .toArray(String[]::new);
+  }
+
+  /**
+   * @param n
+   *          the number of keys to return
+   *
+   * @return the most requested keys among the sampled requests with their number of samples, most requested first
+   */
+  public List<Map.Entry<Object, Long>> getHottestKeys(int n) {
+    List<Map.Entry<Object, Long>> entries = new ArrayList<>();
+    synchronized (hotKeys) {
+      for (Map.Entry<Object, Long> entry : hotKeys.entrySet()) {
+        entries.add(new AbstractMap.SimpleImmutableEntry<>(entry));
+      }
+    }
+    entries.sort(Map.Entry.<Object, Long>comparingByValue().reversed());
+    return entries.size() > n ? entries.subList(0, n) : entries;
+  }
+
+  @Override
+  public void reset() {
+    hits.reset();
+    misses.reset();
+    puts.reset();
+    evictions.reset();
+    expirations.reset();
+    loads.reset();
+    loadNanos.reset();
+    maxLoadNanos.set(0);
+    sampledEntries.reset();
+    sampledBytes.reset();
+    synchronized (hotKeys) {
+      hotKeys.clear();
+    }
+  }
+
+  /**
+   * @return the name these statistics are registered under in the platform MBean server, <code>null</code> if they are
+   *         not registered
+   */
+  public ObjectName getObjectName() {
+    return objectName;
+  }
+
+  /**
+   * Registers these statistics in the platform MBean server, as
+   * <code>org.apache.ibatis:type=CacheStatistics,configuration="&lt;scope&gt;",id="&lt;cache id&gt;"</code>. When the
+   * name is already taken, a warning is logged and the registered MBean is left in place.
+   *
+   * @param scope
+   *          tells apart the caches of different configurations that have the same id
+   *
+   * @return <code>true</code> if the statistics were registered
+   */
+  public synchronized boolean registerMBean(String scope) {
+    if (objectName != null) {
+      return true;
+    }
+    ObjectName name;
+    try {
+      name = new ObjectName("org.apache.ibatis:type=CacheStatistics,configuration=" + ObjectName.quote(scope) + ",id="
+          + ObjectName.quote(id));
+    } catch (JMException e) {
+      throw new CacheException("Invalid MBean name for cache '" + id + "'. Cause: " + e, e);
+    }
+    try {
+      ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+    } catch (InstanceAlreadyExistsException e) {
+      log.warn("Statistics of cache '" + id + "' are not registered, an MBean named " + name + " already exists.");
+      return false;
+    } catch (JMException e) {
+      throw new CacheException("Error registering statistics of cache '" + id + "'. Cause: " + e, e);
+    }
+    objectName = name;
+    return true;
+  }
+
+  /**
+   * Removes these statistics from the platform MBean server, if they were registered.
+   */
+  public synchronized void unregisterMBean() {
+    if (objectName == null) {
+      return;
+    }
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+    } catch (InstanceNotFoundException e) {
+      // already unregistered by someone else
+    } catch (JMException e) {
+      throw new CacheException("Error unregistering statistics of cache '" + id + "'. Cause: " + e, e);
+    }
+    objectName = null;
+  }
+
+  private void sampleKey(Object key) {
+    if (ThreadLocalRandom.current().nextInt(SAMPLE_RATE) != 0) {
+      return;
+    }
+    synchronized (hotKeys) {
+      Long count = hotKeys.get(key);
+      if (count != null || hotKeys.size() < HOT_KEY_CAPACITY) {
+        hotKeys.put(key, count == null ? 1 : count + 1);
+        return;
+      }
+      // space saving: the new key takes over the least sampled one and inherits its count
+      Map.Entry<Object, Long> coldest = null;
+      for (Map.Entry<Object, Long> entry : hotKeys.entrySet()) {
+        if (coldest == null || entry.getValue() < coldest.getValue()) {
+          coldest = entry;
+        }
+      }
+      hotKeys.remove(coldest.getKey());
+      hotKeys.put(key, coldest.getValue() + 1);
+    }
+  }
+
+  private static long serializedSize(Object value) {
+    if (value instanceof byte[]) {
+      return ((byte[]) value).length;
+    }
+    CountingOutputStream counter = new CountingOutputStream();
+    try (ObjectOutputStream oos = new ObjectOutputStream(counter)) {
+      oos.writeObject(value);
+    } catch (IOException e) {
+      // some element is not serializable, the entry cannot be measured
+      return -1;
+    }
+    return counter.count;
+  }
+
+  private static double toMillis(long nanos) {
+    return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+  }
+
+  private static class CountingOutputStream extends OutputStream {
+    private long count;
+
+    @Override
+    public void write(int b) {
+      count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+      count += len;
+    }
+  }
+
+}
@@ -0,0 +1,86 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.statistics;
+
+import org.apache.ibatis.cache.Cache;
+
+/**
+ * Counts the entries that eviction and scheduled flushes drop from the base cache. It decorates the base cache, below
+ * the eviction decorators, and tells their removals apart from those requested through {@link StatisticsCache}.
+ * <p>
+ * Both decorators rely on the {@link org.apache.ibatis.cache.decorators.SynchronizedCache} above them to see the calls
+ * of one thread at a time.
+ *
+ * @since 3.6.0
+ */
+public class EvictionStatisticsCache implements Cache {
+
+  private final Cache delegate;
+  private final CacheStatistics statistics;
+
+  public EvictionStatisticsCache(Cache delegate, CacheStatistics statistics) {
+    this.delegate = delegate;
+    this.statistics = statistics;
+  }
+
+  @Override
+  public String getId() {
+    return delegate.getId();
+  }
+
+  @Override
+  public int getSize() {
+    return delegate.getSize();
+  }
+
+  @Override
+  public void putObject(Object key, Object value) {
+    delegate.putObject(key, value);
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    return delegate.getObject(key);
+  }
+
+  @Override
+  public Object removeObject(Object key) {
+    Object removed = delegate.removeObject(key);
+    if (removed != null && !statistics.requested) {
+      statistics.recordEvictions(1);
+    }
+    return removed;
+  }
+
+  @Override
+  public void clear() {
+    if (!statistics.requested) {
+      statistics.recordExpirations(delegate.getSize());
+    }
+    delegate.clear();
+  }
+
+  @Override
+  public int hashCode() {
+    return delegate.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return delegate.equals(obj);
+  }
+
+}
@@ -0,0 +1,98 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.statistics;
+
+import org.apache.ibatis.cache.Cache;
+
+/**
+ * Counts the requests made to a cache. It decorates the cache below
+ * {@link org.apache.ibatis.cache.decorators.LoggingCache} so its values are the objects stored, not their serialized
+ * form.
+ *
+ * @since 3.6.0
+ */
+public class StatisticsCache implements Cache {
+
+  private final Cache delegate;
+  private final CacheStatistics statistics;
+
+  public StatisticsCache(Cache delegate, CacheStatistics statistics) {
+    this.delegate = delegate;
+    this.statistics = statistics;
+  }
+
+  public CacheStatistics getStatistics() {
+    return statistics;
+  }
+
+  @Override
+  public String getId() {
+    return delegate.getId();
+  }
+
+  @Override
+  public int getSize() {
+    return delegate.getSize();
+  }
+
+  @Override
+  public void putObject(Object key, Object value) {
+    statistics.recordPut(value);
+    delegate.putObject(key, value);
+  }
+
+  @Override
+  public Object getObject(Object key) {
+    Object value = delegate.getObject(key);
+    if (value == null) {
+      statistics.recordMiss(key);
+    } else {
+      statistics.recordHit(key);
+    }
+    return value;
+  }
+
+  @Override
+  public Object removeObject(Object key) {
+    statistics.requested = true;
+    try {
+      return delegate.removeObject(key);
+    } finally {
+      statistics.requested = false;
+    }
+  }
+
+  @Override
+  public void clear() {
+    statistics.requested = true;
+    try {
+      delegate.clear();
+    } finally {
+      statistics.requested = false;
+    }
+  }
+
+  @Override
+  public int hashCode() {
+    return delegate.hashCode();
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    return delegate.equals(obj);
+  }
+
+}
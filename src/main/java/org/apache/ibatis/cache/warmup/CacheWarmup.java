@@ -0,0 +1,231 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.warmup;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.ibatis.builder.BuilderException;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+
+/**
+ * Runs the warm-up statements of a configuration on a bounded pool of daemon threads, each select in its own session so
+ * its results reach the second level cache when the session is closed.
+ * <p>
+ * Failures do not stop the warm-up, they are logged and counted. Progress and timing are logged at debug level and can
+ * be read from this object while it runs.
+ *
+ * @since 3.6.0
+ */
+public class CacheWarmup {
+
+  private static final Log log = LogFactory.getLog(CacheWarmup.class);
+
+  private final SqlSessionFactory sqlSessionFactory;
+  private final Configuration configuration;
+  private final AtomicInteger submitted = new AtomicInteger();
+  private final AtomicInteger completed = new AtomicInteger();
+  private final AtomicInteger failed = new AtomicInteger();
+  private final Map<String, LongAdder> statementNanos = new ConcurrentHashMap<>();
+  // the tasks not completed yet, and start() until all the statements are submitted
+  private final AtomicInteger pending = new AtomicInteger(1);
+  private final CountDownLatch done = new CountDownLatch(1);
+  private ExecutorService executor;
+  private volatile long startNanos;
+  private volatile long endNanos;
+
+  public CacheWarmup(SqlSessionFactory sqlSessionFactory) {
+    this.sqlSessionFactory = sqlSessionFactory;
+    this.configuration = sqlSessionFactory.getConfiguration();
+  }
+
+  /**
+   * Submits the warm-up statements of the configuration and returns without waiting for them.
+   *
+   * @return this warm-up
+   */
+  public synchronized CacheWarmup start() {
+    if (executor != null) {
+      throw new IllegalStateException("Cache warm-up already started");
+    }
+    List<WarmupStatement> statements = configuration.getWarmupStatements();
+    for (WarmupStatement statement : statements) {
+      checkStatement(statement.getStatementId());
+      if (statement.getParametersStatementId() != null) {
+        checkStatement(statement.getParametersStatementId());
+      }
+    }
+    AtomicInteger threadCount = new AtomicInteger();
+    executor = Executors.newFixedThreadPool(Math.max(1, configuration.getCacheWarmupThreads()), r -> {
+      Thread thread = new Thread(r, "mybatis-cache-warmup-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    startNanos = System.nanoTime();
+    for (WarmupStatement statement : statements) {
+      if (statement.getParametersStatementId() == null) {
+        submit(statement.getStatementId(), null);
+      } else {
+        submitParameters(statement);
+      }
+    }
+    arrive();
+    return this;
+  }
+
+  /**
+   * Waits until all the warm-up statements ran.
+   *
+   * @param timeout
+   *          the maximum time to wait
+   * @param unit
+   *          the unit of the timeout
+   *
+   * @return <code>true</code> if the warm-up completed in time
+   *
+   * @throws InterruptedException
+   *           if the current thread is interrupted while waiting
+   */
+  public boolean await(long timeout, TimeUnit unit) throws InterruptedException {
+    return done.await(timeout, unit);
+  }
+
+  public void await() {
+    boolean interrupted = false;
+    while (true) {
+      try {
+        done.await();
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public boolean isDone() {
+    return done.getCount() == 0;
+  }
+
+  /**
+   * @return the number of selects submitted so far, it grows while the parameters of warm-up statements are read
+   */
+  public int getSubmitted() {
+    return submitted.get();
+  }
+
+  public int getCompleted() {
+    return completed.get();
+  }
+
+  public int getFailed() {
+    return failed.get();
+  }
+
+  public long getElapsedMillis() {
+    if (startNanos == 0) {
+      return 0;
+    }
+    long end = isDone() ? endNanos : System.nanoTime();
+    return TimeUnit.NANOSECONDS.toMillis(end - startNanos);
+  }
+
+  /**
+   * @return the time spent running each warm-up statement, summed over its parameters, in milliseconds
+   */
+  public Map<String, Long> getStatementMillis() {
+    Map<String, Long> millis = new TreeMap<>();
+    statementNanos.forEach((id, nanos) -> millis.put(id, TimeUnit.NANOSECONDS.toMillis(nanos.sum())));
+    return Collections.unmodifiableMap(millis);
+  }
+
+  private void checkStatement(String id) {
+    if (!configuration.hasStatement(id)) {
+      throw new BuilderException("Cache warm-up statement '" + id + "' not found");
+    }
+  }
+
+  private void submitParameters(WarmupStatement statement) {
+    pending.incrementAndGet();
+    executor.execute(() -> {
+      try (SqlSession session = sqlSessionFactory.openSession()) {
+        List<Object> parameters = session.selectList(statement.getParametersStatementId());
+        for (Object parameter : parameters) {
+          submit(statement.getStatementId(), parameter);
+        }
+      } catch (RuntimeException e) {
+        failed.incrementAndGet();
+        log.warn("Cache warm-up could not read the parameters of '" + statement.getStatementId() + "' from '"
+            + statement.getParametersStatementId() + "'. Cause: " + e);
+      } finally {
+        arrive();
+      }
+    });
+  }
+
+  private void submit(String statementId, Object parameter) {
+    submitted.incrementAndGet();
+    pending.incrementAndGet();
+    executor.execute(() -> {
+      long start = System.nanoTime();
+      try (SqlSession session = sqlSessionFactory.openSession()) {
+        session.selectList(statementId, parameter);
+        int done = completed.incrementAndGet();
+        if (log.isDebugEnabled()) {
+          log.debug("Cache warm-up progress: " + done + "/" + submitted.get() + " ran '" + statementId + "'");
+        }
+      } catch (RuntimeException e) {
+        failed.incrementAndGet();
+        log.warn("Cache warm-up of '" + statementId + "' with parameter " + parameter + " failed. Cause: " + e);
+      } finally {
+        statementNanos.computeIfAbsent(statementId, k -> new LongAdder()).add(System.nanoTime() - start);
+        arrive();
+      }
+    });
+  }
+
+  private void arrive() {
+    if (pending.decrementAndGet() == 0) {
+      finish();
+    }
+  }
+
+  private void finish() {
+    endNanos = System.nanoTime();
+    executor.shutdown();
+    if (log.isDebugEnabled()) {
+      log.debug("Cache warm-up ran " + completed.get() + " selects in " + getElapsedMillis() + " ms, " + failed.get()
+          + " failed. Time per statement (ms): " + getStatementMillis());
+    }
+    done.countDown();
+  }
+
+}
@@ -0,0 +1,48 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.warmup;
+
+/**
+ * A select run to fill the caches, once without parameter or once for each result of another select.
+ *
+ * @since 3.6.0
+ */
+public class WarmupStatement {
+
+  private final String statementId;
+  private final String parametersStatementId;
+
+  /**
+   * @param statementId
+   *          the select to run
+   * @param parametersStatementId
+   *          the select whose results are the parameters of the warm-up select, <code>null</code> to run it once
+   *          without parameter
+   */
+  public WarmupStatement(String statementId, String parametersStatementId) {
+    this.statementId = statementId;
+    this.parametersStatementId = parametersStatementId;
+  }
+
+  public String getStatementId() {
+    return statementId;
+  }
+
+  public String getParametersStatementId() {
+    return parametersStatementId;
+  }
+
+}
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2025 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -15,6 +15,11 @@
  */
 package org.apache.ibatis.cursor;
 
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
 /**
  * Cursor contract to handle fetching items lazily using an Iterator. Cursors are a perfect fit to handle millions of
  * items queries that would not normally fit in memory. If you use collections in resultMaps then cursor SQL queries
@@ -46,4 +51,28 @@ public interface Cursor<T> extends AutoCloseable, Iterable<T> {
    */
   @Override
   void close();
+
+  /**
+   * Creates an ordered spliterator reading the items of this cursor. It splits by reading batches of items into arrays,
+   * so that they can be processed in parallel while a single thread fetches them.
+   *
+   * @return the spliterator
+   *
+   * @since 3.6.0
+   */
+  @Override
+  default Spliterator<T> spliterator() {
+    return Spliterators.spliteratorUnknownSize(iterator(), Spliterator.ORDERED);
+  }
+
+  /**
+   * Returns a stream of the items of this cursor, which closes the cursor when it is closed.
+   *
+   * @return the stream
+   *
+   * @since 3.6.0
+   */
+  default Stream<T> stream() {
+    return StreamSupport.stream(spliterator(), false).onClose(this::close);
+  }
 }
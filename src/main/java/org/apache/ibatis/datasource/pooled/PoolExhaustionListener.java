@@ -0,0 +1,38 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+/**
+ * Callback notified when a request for a connection finds the pool exhausted, before it starts waiting.
+ * <p>
+ * It is called outside the pool lock on the requesting thread, so it should return quickly.
+ *
+ * @since 3.6.0
+ *
+ * @see PooledDataSource#addExhaustionListener(PoolExhaustionListener)
+ */
+@FunctionalInterface
+public interface PoolExhaustionListener {
+
+  /**
+   * @param dataSource
+   *          the exhausted pool
+   * @param metrics
+   *          the metrics of the pool when it was exhausted
+   */
+  void poolExhausted(PooledDataSource dataSource, PoolMetrics metrics);
+
+}
@@ -0,0 +1,99 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+/**
+ * Periodic task running the housekeeping of a pool. A daemon thread shared by all pools schedules the runs, which are
+ * handed to a daemon thread of the pool, so a pool validating the connections of an unreachable database does not delay
+ * the housekeeping of the others. A run is skipped while the previous one is still running.
+ * <p>
+ * The task only holds a weak reference to its pool, so a pool that is no longer used can be collected and its task
+ * cancels itself. {@link PooledDataSource#close()} cancels it right away.
+ *
+ * @since 3.6.0
+ */
+class PoolHousekeeper implements Runnable {
+
+  private static final Log log = LogFactory.getLog(PoolHousekeeper.class);
+
+  private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+    Thread thread = new Thread(r, "mybatis-pool-housekeeper");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private static final AtomicInteger workerCount = new AtomicInteger();
+
+  private final WeakReference<PooledDataSource> dataSource;
+  private final ThreadPoolExecutor worker;
+  private volatile ScheduledFuture<?> future;
+
+  private PoolHousekeeper(PooledDataSource dataSource) {
+    this.dataSource = new WeakReference<>(dataSource);
+    this.worker = new ThreadPoolExecutor(1, 1, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), r -> {
+      Thread thread = new Thread(r, "mybatis-pool-housekeeper-" + workerCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }, new ThreadPoolExecutor.DiscardPolicy());
+    this.worker.allowCoreThreadTimeOut(true);
+  }
+
+  static PoolHousekeeper schedule(PooledDataSource dataSource, long intervalMillis) {
+    PoolHousekeeper housekeeper = new PoolHousekeeper(dataSource);
+    housekeeper.future = scheduler.scheduleWithFixedDelay(housekeeper, intervalMillis, intervalMillis,
+        TimeUnit.MILLISECONDS);
+    return housekeeper;
+  }
+
+  void cancel() {
+    future.cancel(false);
+    worker.shutdown();
+  }
+
+  @Override
+  public void run() {
+    if (dataSource.get() == null) {
+      cancel();
+      return;
+    }
+    worker.execute(this::houseKeep);
+  }
+
+  private void houseKeep() {
+    PooledDataSource pool = dataSource.get();
+    if (pool == null) {
+      return;
+    }
+    try {
+      pool.houseKeep();
+    } catch (Exception e) {
+      log.warn("Pool housekeeping failed. Cause: " + e);
+    }
+  }
+
+}
@@ -0,0 +1,289 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live metrics of a {@link PooledDataSource}.
+ * <p>
+ * Unlike {@link PoolState} they are read without taking the pool lock, so they can be polled by monitoring at any rate
+ * without slowing down the requests for connections. Gauges are updated by the pool when it changes state and
+ * distributions are kept in {@link Histogram}s of fixed buckets.
+ *
+ * @since 3.6.0
+ */
+public class PoolMetrics {
+
+  private volatile int activeConnections;
+  private volatile int idleConnections;
+  private final LongAdder pendingRequests = new LongAdder();
+  private final LongAdder requests = new LongAdder();
+  private final LongAdder createdConnections = new LongAdder();
+  private final LongAdder closedConnections = new LongAdder();
+  private final LongAdder badConnections = new LongAdder();
+  private final LongAdder claimedOverdueConnections = new LongAdder();
+  private final LongAdder exhaustions = new LongAdder();
+  private final LongAdder retiredConnections = new LongAdder();
+  private final LongAdder evictedConnections = new LongAdder();
+  private final LongAdder validationFailures = new LongAdder();
+  private final Histogram waitTime = new Histogram();
+  private final Histogram checkoutTime = new Histogram();
+
+  void updateConnectionCounts(int active, int idle) {
+    activeConnections = active;
+    idleConnections = idle;
+  }
+
+  void waitStarted() {
+    pendingRequests.increment();
+  }
+
+  void waitEnded() {
+    pendingRequests.decrement();
+  }
+
+  void connectionAcquired(long waitNanos) {
+    requests.increment();
+    waitTime.record(waitNanos);
+  }
+
+  void connectionReturned(long checkoutMillis) {
+    checkoutTime.record(TimeUnit.MILLISECONDS.toNanos(checkoutMillis));
+  }
+
+  void connectionCreated() {
+    createdConnections.increment();
+  }
+
+  void connectionClosed() {
+    closedConnections.increment();
+  }
+
+  void badConnection() {
+    badConnections.increment();
+  }
+
+  void overdueConnectionClaimed(long checkoutMillis) {
+    claimedOverdueConnections.increment();
+    connectionReturned(checkoutMillis);
+  }
+
+  void poolExhausted() {
+    exhaustions.increment();
+  }
+
+  void connectionRetired() {
+    retiredConnections.increment();
+  }
+
+  void connectionEvicted() {
+    evictedConnections.increment();
+  }
+
+  void validationFailed() {
+    validationFailures.increment();
+  }
+
+  public int getActiveConnections() {
+    return activeConnections;
+  }
+
+  public int getIdleConnections() {
+    return idleConnections;
+  }
+
+  /**
+   * @return the number of threads waiting for a connection
+   */
+  public int getPendingRequests() {
+    return pendingRequests.intValue();
+  }
+
+  /**
+   * @param maximumActiveConnections
+   *          the maximum number of active connections of the pool
+   *
+   * @return the share of the maximum active connections that are checked out, from 0 to 1
+   */
+  public double getUtilization(int maximumActiveConnections) {
+    return maximumActiveConnections <= 0 ? 0 : (double) activeConnections / maximumActiveConnections;
+  }
+
+  public long getRequests() {
+    return requests.sum();
+  }
+
+  public long getCreatedConnections() {
+    return createdConnections.sum();
+  }
+
+  public long getClosedConnections() {
+    return closedConnections.sum();
+  }
+
+  public long getBadConnections() {
+    return badConnections.sum();
+  }
+
+  public long getClaimedOverdueConnections() {
+    return claimedOverdueConnections.sum();
+  }
+
+  /**
+   * @return the number of times a request found no idle connection and no room to open one
+   */
+  public long getExhaustions() {
+    return exhaustions.sum();
+  }
+
+  /**
+   * @return the number of connections closed because they reached the maximum lifetime
+   */
+  public long getRetiredConnections() {
+    return retiredConnections.sum();
+  }
+
+  /**
+   * @return the number of connections closed by the housekeeping because they were idle for too long
+   */
+  public long getEvictedConnections() {
+    return evictedConnections.sum();
+  }
+
+  /**
+   * @return the number of idle connections found broken by the background validation
+   */
+  public long getValidationFailures() {
+    return validationFailures.sum();
+  }
+
+  /**
+   * @return the time from asking for a connection to getting it
+   */
+  public Histogram getWaitTime() {
+    return waitTime;
+  }
+
+  /**
+   * @return the time connections were checked out, up to their return or their claim as overdue
+   */
+  public Histogram getCheckoutTime() {
+    return checkoutTime;
+  }
+
+  @Override
+  public String toString() {
+    return "PoolMetrics [active=" + getActiveConnections() + ", idle=" + getIdleConnections() + ", pending="
+        + getPendingRequests() + ", requests=" + getRequests() + ", exhaustions=" + getExhaustions()
+        + ", claimedOverdue=" + getClaimedOverdueConnections() + ", waitTime=" + waitTime + ", checkoutTime="
+        + checkoutTime + "]";
+  }
+
+  /**
+   * Lock free distribution of durations over buckets of fixed upper bounds in milliseconds.
+   */
+  public static class Histogram {
+
+    private static final long[] BUCKET_BOUNDS = { 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000, 20000,
+        60000, Long.MAX_VALUE };
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_BOUNDS.length);
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    void record(long nanos) {
+      long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+      int bucket = 0;
+      while (millis >= BUCKET_BOUNDS[bucket]) {
+        bucket++;
+      }
+      buckets.incrementAndGet(bucket);
+      totalNanos.add(nanos);
+      maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * @return the exclusive upper bounds in milliseconds of the buckets, the last one is {@link Long#MAX_VALUE}
+     */
+    public long[] getBucketBounds() {
+      return BUCKET_BOUNDS.clone();
+    }
+
+    public long[] getBucketCounts() {
+      long[] counts = new long[buckets.length()];
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] = buckets.get(i);
+      }
+      return counts;
+    }
+
+    public long getCount() {
+      long count = 0;
+      for (int i = 0; i < buckets.length(); i++) {
+        count += buckets.get(i);
+      }
+      return count;
+    }
+
+    public double getMeanMillis() {
+      long count = getCount();
+      return count == 0 ? 0 : (double) totalNanos.sum() / count / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    public double getMaxMillis() {
+      return (double) maxNanos.get() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * Returns an upper estimate of a percentile, the bound of the bucket it falls in.
+     *
+     * @param percentile
+     *          the percentile, from 0 to 100
+     *
+     * @return the upper bound in milliseconds, or the maximum recorded duration for the last bucket
+     */
+    public double getPercentileMillis(double percentile) {
+      long[] counts = getBucketCounts();
+      long count = 0;
+      for (long c : counts) {
+        count += c;
+      }
+      if (count == 0) {
+        return 0;
+      }
+      long rank = (long) Math.ceil(percentile / 100 * count);
+      long seen = 0;
+      for (int i = 0; i < counts.length - 1; i++) {
+        seen += counts[i];
+        if (seen >= rank) {
+          return Math.min(BUCKET_BOUNDS[i], getMaxMillis());
+        }
+      }
+      return getMaxMillis();
+    }
+
+    @Override
+    public String toString() {
+      return "[count=" + getCount() + ", mean=" + getMeanMillis() + "ms, p99=" + getPercentileMillis(99) + "ms, max="
+          + getMaxMillis() + "ms]";
+    }
+  }
+
+}
@@ -0,0 +1,39 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.pooled;
+
+/**
+ * Specifies which idle connection a checkout reuses.
+ *
+ * @since 3.6.0
+ */
+public enum PoolReusePolicy {
+
+  /**
+   * Reuses the connection idle for the longest time, spreading the work over all idle connections.
+   */
+  FIFO,
+
+  /**
+   * Reuses the most recently returned connection, so that the least used connections stay idle and can be evicted.
+   */
+  LIFO,
+
+  /**
+   * Reuses the connection last used by the requesting thread if it is idle, the most recently returned one otherwise.
+   */
+  THREAD_AFFINITY
+}
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -16,14 +16,25 @@
 package org.apache.ibatis.datasource.pooled;
 
 import java.io.PrintWriter;
+import java.lang.ref.WeakReference;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
 import java.util.Properties;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -45,6 +56,8 @@ public class PooledDataSource implements DataSource {
   private static final Log log = LogFactory.getLog(PooledDataSource.class);
 
   private final PoolState state = new PoolState(this);
+  private final PoolMetrics metrics = new PoolMetrics();
+  private final List<PoolExhaustionListener> exhaustionListeners = new CopyOnWriteArrayList<>();
 
   private final UnpooledDataSource dataSource;
 
@@ -57,8 +70,27 @@ public class PooledDataSource implements DataSource {
   protected String poolPingQuery = "NO PING QUERY SET";
   protected boolean poolPingEnabled;
   protected int poolPingConnectionsNotUsedFor;
+  protected long poolHousekeepingInterval;
+  protected int poolMinimumIdleConnections;
+  protected long poolMaximumIdleTime;
+  protected long poolMaximumLifetime;
+  protected int poolValidationTimeout = 5;
+  protected int poolInitialSize;
+  protected String poolConnectionInitSql;
+  protected int poolMaximumActiveConnectionsPerPartition;
+  protected PoolReusePolicy poolReusePolicy = PoolReusePolicy.FIFO;
 
   private int expectedConnectionTypeCode;
+  // connections being validated or opened by the housekeeping, in neither list
+  private int pendingIdleConnections;
+  // type codes of the connections being opened for a checkout, outside the lock
+  private final List<Integer> openingConnections = new ArrayList<>();
+  // incremented by forceCloseAll so that pending connections of an older pool are discarded
+  private int generation;
+  private PoolHousekeeper housekeeper;
+  // set once a connection is requested with credentials other than the default ones
+  private boolean partitioned;
+  private final ThreadLocal<WeakReference<Connection>> lastUsedConnection = new ThreadLocal<>();
 
   private final Lock lock = new ReentrantLock();
   private final Condition condition = lock.newCondition();
@@ -265,6 +297,138 @@ public class PooledDataSource implements DataSource {
     forceCloseAll();
   }
 
+  /**
+   * Every this many milliseconds, a background task validates the idle connections, closes those idle for too long or
+   * past their lifetime and opens connections up to the minimum idle count. 0 (the default) disables the housekeeping.
+   *
+   * @param milliseconds
+   *          the interval between two runs of the housekeeping
+   *
+   * @since 3.6.0
+   */
+  public void setPoolHousekeepingInterval(long milliseconds) {
+    lock.lock();
+    try {
+      this.poolHousekeepingInterval = milliseconds;
+      if (housekeeper != null) {
+        housekeeper.cancel();
+        housekeeper = null;
+      }
+      if (milliseconds > 0) {
+        housekeeper = PoolHousekeeper.schedule(this, milliseconds);
+      }
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /**
+   * The number of idle connections the housekeeping keeps open, bounded by the maximum number of idle connections.
+   *
+   * @param poolMinimumIdleConnections
+   *          The minimum number of idle connections
+   *
+   * @since 3.6.0
+   */
+  public void setPoolMinimumIdleConnections(int poolMinimumIdleConnections) {
+    this.poolMinimumIdleConnections = poolMinimumIdleConnections;
+  }
+
+  /**
+   * The housekeeping closes connections that have not been used for this many milliseconds, as long as more than the
+   * minimum number of idle connections remain. 0 (the default) keeps idle connections open.
+   *
+   * @param milliseconds
+   *          the maximum idle time
+   *
+   * @since 3.6.0
+   */
+  public void setPoolMaximumIdleTime(long milliseconds) {
+    this.poolMaximumIdleTime = milliseconds;
+  }
+
+  /**
+   * Connections are closed instead of being reused once they have been open for this many milliseconds, less a jitter
+   * of up to a tenth of it so that connections opened together are not all closed together. 0 (the default) means no
+   * limit.
+   *
+   * @param milliseconds
+   *          the maximum lifetime of a connection
+   *
+   * @since 3.6.0
+   */
+  public void setPoolMaximumLifetime(long milliseconds) {
+    this.poolMaximumLifetime = milliseconds;
+  }
+
+  /**
+   * The seconds the housekeeping waits for {@link Connection#isValid(int)} when no ping query is enabled.
+   *
+   * @param seconds
+   *          the validation timeout
+   *
+   * @since 3.6.0
+   */
+  public void setPoolValidationTimeout(int seconds) {
+    this.poolValidationTimeout = seconds;
+  }
+
+  /**
+   * The number of idle connections opened by {@link #prefill()}. The {@link PooledDataSourceFactory} prefills the pool
+   * once its properties are set.
+   *
+   * @param poolInitialSize
+   *          The initial number of idle connections
+   *
+   * @since 3.6.0
+   */
+  public void setPoolInitialSize(int poolInitialSize) {
+    this.poolInitialSize = poolInitialSize;
+  }
+
+  /**
+   * A statement run on every new connection before it is pooled, e.g. to set session variables or warm up the server
+   * side caches.
+   *
+   * @param poolConnectionInitSql
+   *          The statement
+   *
+   * @since 3.6.0
+   */
+  public void setPoolConnectionInitSql(String poolConnectionInitSql) {
+    this.poolConnectionInitSql = poolConnectionInitSql;
+    forceCloseAll();
+  }
+
+  /**
+   * Connections requested through {@link #getConnection(String, String)} are pooled in one partition per credentials,
+   * all partitions sharing {@link #getPoolMaximumIdleConnections()}. When the idle connections are at that maximum, a
+   * returned connection takes the place of the least recently used idle connection of other credentials, and is only
+   * closed when every idle connection has its own credentials. This limits the number of active connections of each
+   * partition, so that one partition cannot take all {@link #getPoolMaximumActiveConnections()}. 0 (the default) means
+   * only the pool wide limit applies.
+   *
+   * @param poolMaximumActiveConnectionsPerPartition
+   *          The maximum number of active connections per credentials
+   *
+   * @since 3.6.0
+   */
+  public void setPoolMaximumActiveConnectionsPerPartition(int poolMaximumActiveConnectionsPerPartition) {
+    this.poolMaximumActiveConnectionsPerPartition = poolMaximumActiveConnectionsPerPartition;
+  }
+
+  /**
+   * Which idle connection a checkout reuses. Defaults to {@link PoolReusePolicy#FIFO}.
+   *
+   * @param poolReusePolicy
+   *          The reuse policy
+   *
+   * @since 3.6.0
+   */
+  public void setPoolReusePolicy(PoolReusePolicy poolReusePolicy) {
+    this.poolReusePolicy = poolReusePolicy == null ? PoolReusePolicy.FIFO : poolReusePolicy;
+  }
+
   public String getDriver() {
     return dataSource.getDriver();
   }
@@ -336,12 +500,60 @@ public class PooledDataSource implements DataSource {
     return poolPingConnectionsNotUsedFor;
   }
 
+  public long getPoolHousekeepingInterval() {
+    return poolHousekeepingInterval;
+  }
+
+  public int getPoolMinimumIdleConnections() {
+    return poolMinimumIdleConnections;
+  }
+
+  public long getPoolMaximumIdleTime() {
+    return poolMaximumIdleTime;
+  }
+
+  public long getPoolMaximumLifetime() {
+    return poolMaximumLifetime;
+  }
+
+  public int getPoolValidationTimeout() {
+    return poolValidationTimeout;
+  }
+
+  public int getPoolInitialSize() {
+    return poolInitialSize;
+  }
+
+  public String getPoolConnectionInitSql() {
+    return poolConnectionInitSql;
+  }
+
+  public int getPoolMaximumActiveConnectionsPerPartition() {
+    return poolMaximumActiveConnectionsPerPartition;
+  }
+
+  public PoolReusePolicy getPoolReusePolicy() {
+    return poolReusePolicy;
+  }
+
+  /**
+   * Stops the housekeeping of the pool and closes all its active and idle connections. The pool can still be used
+   * afterwards, without housekeeping until {@link #setPoolHousekeepingInterval(long)} is called again.
+   *
+   * @since 3.6.0
+   */
+  public void close() {
+    setPoolHousekeepingInterval(0);
+    forceCloseAll();
+  }
+
   /**
    * Closes all active and idle connections in the pool.
    */
   public void forceCloseAll() {
     lock.lock();
     try {
+      generation++;
       expectedConnectionTypeCode = assembleConnectionTypeCode(dataSource.getUrl(), dataSource.getUsername(),
           dataSource.getPassword());
       for (int i = state.activeConnections.size(); i > 0; i--) {
@@ -354,6 +566,7 @@ public class PooledDataSource implements DataSource {
             realConn.rollback();
           }
           realConn.close();
+          metrics.connectionClosed();
         } catch (Exception e) {
           // ignore
         }
@@ -368,10 +581,12 @@ public class PooledDataSource implements DataSource {
             realConn.rollback();
           }
           realConn.close();
+          metrics.connectionClosed();
         } catch (Exception e) {
           // ignore
         }
       }
+      updateConnectionCounts();
     } finally {
       lock.unlock();
     }
@@ -384,18 +599,446 @@ public class PooledDataSource implements DataSource {
     return state;
   }
 
+  /**
+   * @return the live metrics of this pool, readable without locking it
+   *
+   * @since 3.6.0
+   */
+  public PoolMetrics getPoolMetrics() {
+    return metrics;
+  }
+
+  /**
+   * @param listener
+   *          a callback notified each time a request finds the pool exhausted
+   *
+   * @since 3.6.0
+   */
+  public void addExhaustionListener(PoolExhaustionListener listener) {
+    exhaustionListeners.add(listener);
+  }
+
+  /**
+   * @param listener
+   *          a callback added by {@link #addExhaustionListener(PoolExhaustionListener)}
+   *
+   * @since 3.6.0
+   */
+  public void removeExhaustionListener(PoolExhaustionListener listener) {
+    exhaustionListeners.remove(listener);
+  }
+
+  private void updateConnectionCounts() {
+    metrics.updateConnectionCounts(state.activeConnections.size(), state.idleConnections.size());
+  }
+
+  private void fireExhausted() {
+    for (PoolExhaustionListener listener : exhaustionListeners) {
+      try {
+        listener.poolExhausted(this, metrics);
+      } catch (RuntimeException e) {
+        log.warn("Pool exhaustion listener " + listener + " failed. Cause: " + e);
+      }
+    }
+  }
+
+  /**
+   * Runs one pass of the housekeeping: closes the idle connections past their lifetime or idle for too long, validates
+   * the idle connections that were neither used nor validated during the last interval and opens connections up to the
+   * minimum idle count. Validation and opening happen outside the pool lock, so checkouts are not held up, and fewer
+   * connections than the maximum number of active connections are validated by one pass.
+   *
+   * @since 3.6.0
+   */
+  protected void houseKeep() {
+    long now = System.currentTimeMillis();
+    List<PooledConnection> expired = new ArrayList<>();
+    List<PooledConnection> toValidate = new ArrayList<>();
+    // connections being validated cannot be checked out, so some slots are always left to checkouts
+    int maxValidated = Math.max(1, poolMaximumActiveConnections - 1);
+    int currentGeneration;
+    lock.lock();
+    try {
+      currentGeneration = generation;
+      Iterator<PooledConnection> iterator = state.idleConnections.iterator();
+      while (iterator.hasNext()) {
+        PooledConnection conn = iterator.next();
+        if (isExpired(conn, now)) {
+          iterator.remove();
+          expired.add(conn);
+          metrics.connectionRetired();
+        } else if (poolMaximumIdleTime > 0 && conn.getTimeElapsedSinceLastUse() > poolMaximumIdleTime
+            && state.idleConnections.size() + toValidate.size() > poolMinimumIdleConnections) {
+          iterator.remove();
+          expired.add(conn);
+          metrics.connectionEvicted();
+        } else if (toValidate.size() < maxValidated && now
+            - Math.max(conn.getLastUsedTimestamp(), conn.getLastValidatedTimestamp()) >= poolHousekeepingInterval) {
+          iterator.remove();
+          toValidate.add(conn);
+        }
+      }
+      pendingIdleConnections += toValidate.size();
+      updateConnectionCounts();
+    } finally {
+      lock.unlock();
+    }
+    for (PooledConnection conn : expired) {
+      closeIdleConnection(conn);
+    }
+    for (PooledConnection conn : toValidate) {
+      boolean valid = validateConnection(conn);
+      boolean returned = false;
+      lock.lock();
+      try {
+        pendingIdleConnections--;
+        if (!valid) {
+          state.badConnectionCount++;
+          metrics.badConnection();
+          metrics.validationFailed();
+        } else if (currentGeneration == generation && state.idleConnections.size() < poolMaximumIdleConnections) {
+          conn.setLastValidatedTimestamp(System.currentTimeMillis());
+          state.idleConnections.add(conn);
+          returned = true;
+        }
+        // either the connection or its slot is available again
+        signalWaiters();
+        updateConnectionCounts();
+      } finally {
+        lock.unlock();
+      }
+      if (!returned) {
+        closeIdleConnection(conn);
+      }
+    }
+    fillIdleConnections(poolMinimumIdleConnections);
+  }
+
+  /**
+   * Opens connections one at a time until the pool holds the given number of idle connections, without exceeding the
+   * maximum number of idle or active connections.
+   *
+   * @param idleConnections
+   *          the number of idle connections wanted
+   *
+   * @since 3.6.0
+   */
+  protected void fillIdleConnections(int idleConnections) {
+    try {
+      while (openIdleConnection(idleConnections)) {
+        // until the pool is full
+      }
+    } catch (SQLException e) {
+      log.warn("Could not open an idle connection. Cause: " + e);
+    }
+  }
+
+  /**
+   * Opens {@link #getPoolInitialSize()} idle connections in parallel, each one running the
+   * {@link #getPoolConnectionInitSql() init SQL}, and returns once they are all in the pool.
+   *
+   * @throws SQLException
+   *           if a connection could not be opened
+   *
+   * @since 3.6.0
+   */
+  public void prefill() throws SQLException {
+    prefill(poolInitialSize);
+  }
+
+  /**
+   * Opens idle connections in parallel until the pool holds the given number of idle connections, without exceeding the
+   * maximum number of idle or active connections, and returns once they are all in the pool.
+   *
+   * @param idleConnections
+   *          the number of idle connections wanted
+   *
+   * @throws SQLException
+   *           if a connection could not be opened
+   *
+   * @since 3.6.0
+   */
+  public void prefill(int idleConnections) throws SQLException {
+    int count = Math.min(idleConnections, Math.min(poolMaximumIdleConnections, poolMaximumActiveConnections));
+    if (count <= 0) {
+      return;
+    }
+    long start = System.currentTimeMillis();
+    AtomicInteger threadCount = new AtomicInteger();
+    ExecutorService executor = Executors.newFixedThreadPool(count, r -> {
+      Thread thread = new Thread(r, "mybatis-pool-prefill-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    });
+    try {
+      List<Future<Boolean>> futures = new ArrayList<>();
+      for (int i = 0; i < count; i++) {
+        futures.add(executor.submit(() -> openIdleConnection(count)));
+      }
+      SQLException failure = null;
+      for (Future<Boolean> future : futures) {
+        try {
+          future.get();
+        } catch (ExecutionException e) {
+          SQLException cause = e.getCause() instanceof SQLException ? (SQLException) e.getCause()
+              : new SQLException("Could not open an idle connection.", e.getCause());
+          if (failure == null) {
+            failure = cause;
+          } else {
+            failure.addSuppressed(cause);
+          }
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new SQLException("Interrupted while prefilling the pool.", e);
+        }
+      }
+      if (failure != null) {
+        throw failure;
+      }
+    } finally {
+      executor.shutdown();
+    }
+    if (log.isDebugEnabled()) {
+      log.debug("Prefilled pool with " + state.getIdleConnectionCount() + " idle connections in "
+          + (System.currentTimeMillis() - start) + " ms.");
+    }
+  }
+
+  /**
+   * Opens one connection outside the pool lock and adds it to the idle connections, unless the pool already holds or is
+   * opening the given number of idle connections.
+   *
+   * @return true if a connection was added
+   */
+  private boolean openIdleConnection(int idleConnections) throws SQLException {
+    int currentGeneration;
+    lock.lock();
+    try {
+      int pooled = state.idleConnections.size() + pendingIdleConnections;
+      if (pooled >= Math.min(idleConnections, poolMaximumIdleConnections)
+          || pooled + state.activeConnections.size() + openingConnections.size() >= poolMaximumActiveConnections) {
+        return false;
+      }
+      pendingIdleConnections++;
+      currentGeneration = generation;
+    } finally {
+      lock.unlock();
+    }
+    PooledConnection conn = null;
+    boolean added = false;
+    try {
+      conn = new PooledConnection(openConnection(dataSource.getUsername(), dataSource.getPassword()), this);
+      conn.setConnectionTypeCode(expectedConnectionTypeCode);
+    } finally {
+      lock.lock();
+      try {
+        pendingIdleConnections--;
+        if (conn != null && currentGeneration == generation
+            && state.idleConnections.size() < poolMaximumIdleConnections) {
+          state.idleConnections.add(conn);
+          added = true;
+          if (log.isDebugEnabled()) {
+            log.debug("Opened idle connection " + conn.getRealHashCode() + ".");
+          }
+        }
+        // either the connection or its slot is available again
+        signalWaiters();
+        updateConnectionCounts();
+      } finally {
+        lock.unlock();
+      }
+    }
+    if (!added) {
+      closeIdleConnection(conn);
+    }
+    return added;
+  }
+
+  /**
+   * Opens a new physical connection with the given credentials and runs the init SQL on it.
+   */
+  private PooledConnection openReservedConnection(int connectionTypeCode, String username, String password)
+      throws SQLException {
+    boolean opened = false;
+    try {
+      PooledConnection conn = new PooledConnection(openConnection(username, password), this);
+      opened = true;
+      return conn;
+    } finally {
+      if (!opened) {
+        lock.lock();
+        try {
+          // the slot reserved for the connection is available again
+          openingConnections.remove(Integer.valueOf(connectionTypeCode));
+          signalWaiters();
+        } finally {
+          lock.unlock();
+        }
+      }
+    }
+  }
+
+  private Connection openConnection(String username, String password) throws SQLException {
+    Connection connection = dataSource.getConnection(username, password);
+    metrics.connectionCreated();
+    if (poolConnectionInitSql != null) {
+      try (Statement statement = connection.createStatement()) {
+        statement.execute(poolConnectionInitSql);
+        if (!connection.getAutoCommit()) {
+          connection.commit();
+        }
+      } catch (SQLException e) {
+        try {
+          connection.close();
+        } catch (SQLException e2) {
+          // ignore
+        }
+        metrics.connectionClosed();
+        throw e;
+      }
+    }
+    return connection;
+  }
+
+  private boolean isExpired(PooledConnection conn, long now) {
+    if (poolMaximumLifetime <= 0) {
+      return false;
+    }
+    // the jitter is derived from the connection so that it does not change between two checks
+    long jitter = (conn.getRealHashCode() & Integer.MAX_VALUE) % (poolMaximumLifetime / 10 + 1);
+    return now - conn.getCreatedTimestamp() >= poolMaximumLifetime - jitter;
+  }
+
+  private boolean validateConnection(PooledConnection conn) {
+    try {
+      Connection realConn = conn.getRealConnection();
+      if (realConn.isClosed()) {
+        return false;
+      }
+      if (poolPingEnabled) {
+        return executePingQuery(conn);
+      }
+      return realConn.isValid(poolValidationTimeout);
+    } catch (SQLException e) {
+      if (log.isDebugEnabled()) {
+        log.debug("Connection " + conn.getRealHashCode() + " is BAD: " + e.getMessage());
+      }
+      return false;
+    }
+  }
+
+  private void closeIdleConnection(PooledConnection conn) {
+    conn.invalidate();
+    try {
+      Connection realConn = conn.getRealConnection();
+      if (!realConn.isClosed()) {
+        if (!realConn.getAutoCommit()) {
+          realConn.rollback();
+        }
+        realConn.close();
+      }
+    } catch (SQLException e) {
+      // ignore
+    }
+    metrics.connectionClosed();
+    if (log.isDebugEnabled()) {
+      log.debug("Closed connection " + conn.getRealHashCode() + ".");
+    }
+  }
+
+  private void signalWaiters() {
+    // with partitions, the single thread woken up could be waiting for another partition
+    if (partitioned) {
+      condition.signalAll();
+    } else {
+      condition.signal();
+    }
+  }
+
+  private PooledConnection takeIdleConnection(int connectionTypeCode) {
+    List<PooledConnection> idleConnections = state.idleConnections;
+    if (poolReusePolicy == PoolReusePolicy.FIFO) {
+      for (Iterator<PooledConnection> iterator = idleConnections.iterator(); iterator.hasNext();) {
+        PooledConnection conn = iterator.next();
+        if (conn.getConnectionTypeCode() == connectionTypeCode) {
+          iterator.remove();
+          return conn;
+        }
+      }
+      return null;
+    }
+    if (poolReusePolicy == PoolReusePolicy.THREAD_AFFINITY) {
+      WeakReference<Connection> reference = lastUsedConnection.get();
+      Connection lastUsed = reference == null ? null : reference.get();
+      if (lastUsed != null) {
+        for (Iterator<PooledConnection> iterator = idleConnections.iterator(); iterator.hasNext();) {
+          PooledConnection conn = iterator.next();
+          if (conn.getRealConnection() == lastUsed && conn.getConnectionTypeCode() == connectionTypeCode) {
+            iterator.remove();
+            return conn;
+          }
+        }
+      }
+    }
+    // connections are returned at the end of the list
+    for (ListIterator<PooledConnection> iterator = idleConnections.listIterator(idleConnections.size()); iterator
+        .hasPrevious();) {
+      PooledConnection conn = iterator.previous();
+      if (conn.getConnectionTypeCode() == connectionTypeCode) {
+        iterator.remove();
+        return conn;
+      }
+    }
+    return null;
+  }
+
+  private int countActiveConnections(int connectionTypeCode) {
+    int count = 0;
+    for (PooledConnection conn : state.activeConnections) {
+      if (conn.getConnectionTypeCode() == connectionTypeCode) {
+        count++;
+      }
+    }
+    for (Integer opening : openingConnections) {
+      if (opening == connectionTypeCode) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private PooledConnection oldestActiveConnection(int connectionTypeCode, boolean partitionFull) {
+    if (!partitionFull) {
+      // every slot may be taken by connections being validated or opened
+      return state.activeConnections.isEmpty() ? null : state.activeConnections.get(0);
+    }
+    for (PooledConnection conn : state.activeConnections) {
+      if (conn.getConnectionTypeCode() == connectionTypeCode) {
+        return conn;
+      }
+    }
+    return null;
+  }
+
   private int assembleConnectionTypeCode(String url, String username, String password) {
     return ("" + url + username + password).hashCode();
   }
 
   protected void pushConnection(PooledConnection conn) throws SQLException {
-
+    PooledConnection evicted = null;
     lock.lock();
     try {
       state.activeConnections.remove(conn);
       if (conn.isValid()) {
-        if (state.idleConnections.size() < poolMaximumIdleConnections
-            && conn.getConnectionTypeCode() == expectedConnectionTypeCode) {
+        metrics.connectionReturned(conn.getCheckoutTime());
+        boolean expired = isExpired(conn, System.currentTimeMillis());
+        if (!expired && state.idleConnections.size() >= poolMaximumIdleConnections
+            && (evicted = leastRecentlyUsedIdleConnection(conn.getConnectionTypeCode())) != null) {
+          // the returned connection takes the place of an idle connection of other credentials
+          state.idleConnections.remove(evicted);
+          metrics.connectionEvicted();
+        }
+        if (state.idleConnections.size() < poolMaximumIdleConnections && !expired) {
           state.accumulatedCheckoutTime += conn.getCheckoutTime();
           if (!conn.getRealConnection().getAutoCommit()) {
             conn.getRealConnection().rollback();
@@ -404,17 +1047,23 @@ public class PooledDataSource implements DataSource {
           state.idleConnections.add(newConn);
           newConn.setCreatedTimestamp(conn.getCreatedTimestamp());
           newConn.setLastUsedTimestamp(conn.getLastUsedTimestamp());
+          newConn.setLastValidatedTimestamp(conn.getLastValidatedTimestamp());
+          newConn.setConnectionTypeCode(conn.getConnectionTypeCode());
           conn.invalidate();
           if (log.isDebugEnabled()) {
             log.debug("Returned connection " + newConn.getRealHashCode() + " to pool.");
           }
-          condition.signal();
+          signalWaiters();
         } else {
           state.accumulatedCheckoutTime += conn.getCheckoutTime();
           if (!conn.getRealConnection().getAutoCommit()) {
             conn.getRealConnection().rollback();
           }
           conn.getRealConnection().close();
+          metrics.connectionClosed();
+          if (expired) {
+            metrics.connectionRetired();
+          }
           if (log.isDebugEnabled()) {
             log.debug("Closed connection " + conn.getRealHashCode() + ".");
           }
@@ -426,40 +1075,94 @@ public class PooledDataSource implements DataSource {
               + ") attempted to return to the pool, discarding connection.");
         }
         state.badConnectionCount++;
+        metrics.badConnection();
       }
     } finally {
+      updateConnectionCounts();
       lock.unlock();
     }
+    if (evicted != null) {
+      closeIdleConnection(evicted);
+    }
+  }
+
+  private PooledConnection leastRecentlyUsedIdleConnection(int excludedConnectionTypeCode) {
+    PooledConnection leastRecentlyUsed = null;
+    for (PooledConnection conn : state.idleConnections) {
+      if (conn.getConnectionTypeCode() != excludedConnectionTypeCode
+          && (leastRecentlyUsed == null || conn.getLastUsedTimestamp() < leastRecentlyUsed.getLastUsedTimestamp())) {
+        leastRecentlyUsed = conn;
+      }
+    }
+    return leastRecentlyUsed;
   }
 
   private PooledConnection popConnection(String username, String password) throws SQLException {
     boolean countedWait = false;
     PooledConnection conn = null;
     long t = System.currentTimeMillis();
+    long requestStart = System.nanoTime();
     int localBadConnectionCount = 0;
+    boolean notifyExhausted = false;
+    int connectionTypeCode = assembleConnectionTypeCode(dataSource.getUrl(), username, password);
+    boolean reserved = false;
+    int reservedGeneration = 0;
+    PooledConnection opened = null;
 
     while (conn == null) {
+      if (notifyExhausted) {
+        notifyExhausted = false;
+        fireExhausted();
+      }
+      if (reserved) {
+        // the slot was reserved under the lock, the connection is opened and initialized outside of it
+        reserved = false;
+        opened = openReservedConnection(connectionTypeCode, username, password);
+      }
       lock.lock();
       try {
-        if (!state.idleConnections.isEmpty()) {
+        if (connectionTypeCode != expectedConnectionTypeCode) {
+          partitioned = true;
+        }
+        boolean partitionFull = poolMaximumActiveConnectionsPerPartition > 0
+            && countActiveConnections(connectionTypeCode) >= poolMaximumActiveConnectionsPerPartition;
+        if (opened != null) {
+          openingConnections.remove(Integer.valueOf(connectionTypeCode));
+          if (reservedGeneration == generation) {
+            conn = opened;
+            if (log.isDebugEnabled()) {
+              log.debug("Created connection " + conn.getRealHashCode() + ".");
+            }
+          } else {
+            // the pool was reset while the connection was opened
+            closeIdleConnection(opened);
+          }
+          opened = null;
+        } else if (!partitionFull && (conn = takeIdleConnection(connectionTypeCode)) != null) {
           // Pool has available connection
-          conn = state.idleConnections.remove(0);
+          if (isExpired(conn, System.currentTimeMillis())) {
+            metrics.connectionRetired();
+            closeIdleConnection(conn);
+            conn = null;
+            continue;
+          }
           if (log.isDebugEnabled()) {
             log.debug("Checked out connection " + conn.getRealHashCode() + " from pool.");
           }
-        } else if (state.activeConnections.size() < poolMaximumActiveConnections) {
+        } else if (!partitionFull && state.activeConnections.size() + pendingIdleConnections
+            + openingConnections.size() < poolMaximumActiveConnections) {
           // Pool does not have available connection and can create a new connection
-          conn = new PooledConnection(dataSource.getConnection(), this);
-          if (log.isDebugEnabled()) {
-            log.debug("Created connection " + conn.getRealHashCode() + ".");
-          }
+          openingConnections.add(connectionTypeCode);
+          reserved = true;
+          reservedGeneration = generation;
         } else {
           // Cannot create new connection
-          PooledConnection oldestActiveConnection = state.activeConnections.get(0);
-          long longestCheckoutTime = oldestActiveConnection.getCheckoutTime();
+          PooledConnection oldestActiveConnection = oldestActiveConnection(connectionTypeCode, partitionFull);
+          long longestCheckoutTime = oldestActiveConnection == null ? 0 : oldestActiveConnection.getCheckoutTime();
           if (longestCheckoutTime > poolMaximumCheckoutTime) {
             // Can claim overdue connection
             state.claimedOverdueConnectionCount++;
+            metrics.overdueConnectionClaimed(longestCheckoutTime);
             state.accumulatedCheckoutTimeOfOverdueConnections += longestCheckoutTime;
             state.accumulatedCheckoutTime += longestCheckoutTime;
             state.activeConnections.remove(oldestActiveConnection);
@@ -476,20 +1179,38 @@ public class PooledDataSource implements DataSource {
                 log.debug("Bad connection. Could not roll back");
               }
             }
-            conn = new PooledConnection(oldestActiveConnection.getRealConnection(), this);
-            conn.setCreatedTimestamp(oldestActiveConnection.getCreatedTimestamp());
-            conn.setLastUsedTimestamp(oldestActiveConnection.getLastUsedTimestamp());
-            oldestActiveConnection.invalidate();
-            if (log.isDebugEnabled()) {
-              log.debug("Claimed overdue connection " + conn.getRealHashCode() + ".");
+            if (oldestActiveConnection.getConnectionTypeCode() == connectionTypeCode) {
+              conn = new PooledConnection(oldestActiveConnection.getRealConnection(), this);
+              conn.setCreatedTimestamp(oldestActiveConnection.getCreatedTimestamp());
+              conn.setLastUsedTimestamp(oldestActiveConnection.getLastUsedTimestamp());
+              oldestActiveConnection.invalidate();
+              if (log.isDebugEnabled()) {
+                log.debug("Claimed overdue connection " + conn.getRealHashCode() + ".");
+              }
+            } else {
+              // the connection belongs to other credentials, its slot is reserved for a new one
+              closeIdleConnection(oldestActiveConnection);
+              openingConnections.add(connectionTypeCode);
+              reserved = true;
+              reservedGeneration = generation;
+              if (log.isDebugEnabled()) {
+                log.debug("Claimed overdue connection slot of " + oldestActiveConnection.getRealHashCode() + ".");
+              }
             }
           } else {
             // Must wait
-            try {
-              if (!countedWait) {
-                state.hadToWaitCount++;
-                countedWait = true;
+            if (!countedWait) {
+              state.hadToWaitCount++;
+              countedWait = true;
+              metrics.poolExhausted();
+              if (!exhaustionListeners.isEmpty()) {
+                // listeners are called outside the lock, the pool is checked again afterwards
+                notifyExhausted = true;
+                continue;
               }
+            }
+            metrics.waitStarted();
+            try {
               if (log.isDebugEnabled()) {
                 log.debug("Waiting as long as " + poolTimeToWait + " milliseconds for connection.");
               }
@@ -502,6 +1223,8 @@ public class PooledDataSource implements DataSource {
               // set interrupt flag
               Thread.currentThread().interrupt();
               break;
+            } finally {
+              metrics.waitEnded();
             }
           }
         }
@@ -511,18 +1234,23 @@ public class PooledDataSource implements DataSource {
             if (!conn.getRealConnection().getAutoCommit()) {
               conn.getRealConnection().rollback();
             }
-            conn.setConnectionTypeCode(assembleConnectionTypeCode(dataSource.getUrl(), username, password));
+            conn.setConnectionTypeCode(connectionTypeCode);
+            if (poolReusePolicy == PoolReusePolicy.THREAD_AFFINITY) {
+              lastUsedConnection.set(new WeakReference<>(conn.getRealConnection()));
+            }
             conn.setCheckoutTimestamp(System.currentTimeMillis());
             conn.setLastUsedTimestamp(System.currentTimeMillis());
             state.activeConnections.add(conn);
             state.requestCount++;
             state.accumulatedRequestTime += System.currentTimeMillis() - t;
+            metrics.connectionAcquired(System.nanoTime() - requestStart);
           } else {
             if (log.isDebugEnabled()) {
               log.debug("A bad connection (" + conn.getRealHashCode()
                   + ") was returned from the pool, getting another connection.");
             }
             state.badConnectionCount++;
+            metrics.badConnection();
             localBadConnectionCount++;
             conn = null;
             if (localBadConnectionCount > poolMaximumIdleConnections + poolMaximumLocalBadConnectionTolerance) {
@@ -534,6 +1262,7 @@ public class PooledDataSource implements DataSource {
           }
         }
       } finally {
+        updateConnectionCounts();
         lock.unlock();
       }
 
@@ -570,36 +1299,43 @@ public class PooledDataSource implements DataSource {
       result = false;
     }
 
+    // a connection validated by the housekeeping counts as recently used
     if (result && poolPingEnabled && poolPingConnectionsNotUsedFor >= 0
-        && conn.getTimeElapsedSinceLastUse() > poolPingConnectionsNotUsedFor) {
+        && conn.getTimeElapsedSinceLastUse() > poolPingConnectionsNotUsedFor
+        && System.currentTimeMillis() - conn.getLastValidatedTimestamp() > poolPingConnectionsNotUsedFor) {
+      result = executePingQuery(conn);
+    }
+    return result;
+  }
+
+  private boolean executePingQuery(PooledConnection conn) {
+    try {
+      if (log.isDebugEnabled()) {
+        log.debug("Testing connection " + conn.getRealHashCode() + " ...");
+      }
+      Connection realConn = conn.getRealConnection();
+      try (Statement statement = realConn.createStatement()) {
+        statement.executeQuery(poolPingQuery).close();
+      }
+      if (!realConn.getAutoCommit()) {
+        realConn.rollback();
+      }
+      if (log.isDebugEnabled()) {
+        log.debug("Connection " + conn.getRealHashCode() + " is GOOD!");
+      }
+      return true;
+    } catch (Exception e) {
+      log.warn("Execution of ping query '" + poolPingQuery + "' failed: " + e.getMessage());
       try {
-        if (log.isDebugEnabled()) {
-          log.debug("Testing connection " + conn.getRealHashCode() + " ...");
-        }
-        Connection realConn = conn.getRealConnection();
-        try (Statement statement = realConn.createStatement()) {
-          statement.executeQuery(poolPingQuery).close();
-        }
-        if (!realConn.getAutoCommit()) {
-          realConn.rollback();
-        }
-        if (log.isDebugEnabled()) {
-          log.debug("Connection " + conn.getRealHashCode() + " is GOOD!");
-        }
-      } catch (Exception e) {
-        log.warn("Execution of ping query '" + poolPingQuery + "' failed: " + e.getMessage());
-        try {
-          conn.getRealConnection().close();
-        } catch (Exception e2) {
-          // ignore
-        }
-        result = false;
-        if (log.isDebugEnabled()) {
-          log.debug("Connection " + conn.getRealHashCode() + " is BAD: " + e.getMessage());
-        }
+        conn.getRealConnection().close();
+      } catch (Exception e2) {
+        // ignore
       }
+      if (log.isDebugEnabled()) {
+        log.debug("Connection " + conn.getRealHashCode() + " is BAD: " + e.getMessage());
+      }
+      return false;
     }
-    return result;
   }
 
   /**
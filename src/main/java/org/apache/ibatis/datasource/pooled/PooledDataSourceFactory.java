@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2022 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -15,6 +15,10 @@
  */
 package org.apache.ibatis.datasource.pooled;
 
+import java.sql.SQLException;
+import java.util.Properties;
+
+import org.apache.ibatis.datasource.DataSourceException;
 import org.apache.ibatis.datasource.unpooled.UnpooledDataSourceFactory;
 
 /**
@@ -26,4 +30,17 @@ public class PooledDataSourceFactory extends UnpooledDataSourceFactory {
     this.dataSource = new PooledDataSource();
   }
 
+  @Override
+  public void setProperties(Properties properties) {
+    super.setProperties(properties);
+    PooledDataSource pooledDataSource = (PooledDataSource) dataSource;
+    if (pooledDataSource.getPoolInitialSize() > 0) {
+      try {
+        pooledDataSource.prefill();
+      } catch (SQLException e) {
+        throw new DataSourceException("Error prefilling the connection pool. Cause: " + e, e);
+      }
+    }
+  }
+
 }
@@ -0,0 +1,50 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.routing;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Chooses a replica at random, with a probability inversely proportional to its latency, so that slow replicas still
+ * receive some traffic and their latency keeps being measured.
+ *
+ * @since 3.6.0
+ */
+public class LatencyWeightedReplicaSelector implements ReplicaSelector {
+
+  // latency given to replicas not measured yet, and lower bound of the measured ones
+  private static final double MINIMUM_LATENCY_MILLIS = 0.1;
+
+  @Override
+  public Replica select(List<Replica> replicas) {
+    double[] weights = new double[replicas.size()];
+    double total = 0;
+    for (int i = 0; i < weights.length; i++) {
+      weights[i] = 1 / Math.max(replicas.get(i).getLatencyMillis(), MINIMUM_LATENCY_MILLIS);
+      total += weights[i];
+    }
+    double random = ThreadLocalRandom.current().nextDouble(total);
+    for (int i = 0; i < weights.length; i++) {
+      random -= weights[i];
+      if (random < 0) {
+        return replicas.get(i);
+      }
+    }
+    return replicas.get(weights.length - 1);
+  }
+
+}
@@ -0,0 +1,38 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.routing;
+
+import java.util.List;
+
+/**
+ * Chooses the replica with the fewest connections in use, the first one on ties.
+ *
+ * @since 3.6.0
+ */
+public class LeastActiveReplicaSelector implements ReplicaSelector {
+
+  @Override
+  public Replica select(List<Replica> replicas) {
+    Replica selected = replicas.get(0);
+    for (Replica replica : replicas) {
+      if (replica.getActiveConnections() < selected.getActiveConnections()) {
+        selected = replica;
+      }
+    }
+    return selected;
+  }
+
+}
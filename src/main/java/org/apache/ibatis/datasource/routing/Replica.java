@@ -0,0 +1,111 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.routing;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+/**
+ * A read replica of a {@link RoutingDataSource}, with the state the {@link ReplicaSelector}s choose from.
+ *
+ * @since 3.6.0
+ */
+public class Replica {
+
+  // weight of the last sample in the moving average of the latency
+  private static final double LATENCY_SMOOTHING = 0.2;
+
+  private final String name;
+  private final DataSource dataSource;
+  private final AtomicInteger activeConnections = new AtomicInteger();
+  private volatile boolean healthy = true;
+  private volatile double latencyMillis;
+
+  public Replica(String name, DataSource dataSource) {
+    this.name = name;
+    this.dataSource = dataSource;
+  }
+
+  /**
+   * Opens a connection, counted as active until {@link #release()} is called.
+   *
+   * @return the connection
+   *
+   * @throws SQLException
+   *           if the replica could not be reached, in which case it is marked unhealthy
+   */
+  public Connection getConnection() throws SQLException {
+    long start = System.nanoTime();
+    try {
+      Connection connection = dataSource.getConnection();
+      activeConnections.incrementAndGet();
+      recordLatency(System.nanoTime() - start);
+      return connection;
+    } catch (SQLException e) {
+      healthy = false;
+      throw e;
+    }
+  }
+
+  /**
+   * Records that a connection opened by {@link #getConnection()} was closed.
+   */
+  public void release() {
+    activeConnections.decrementAndGet();
+  }
+
+  void recordLatency(long nanos) {
+    double millis = nanos / 1_000_000d;
+    double current = latencyMillis;
+    latencyMillis = current == 0 ? millis : current + LATENCY_SMOOTHING * (millis - current);
+  }
+
+  void setHealthy(boolean healthy) {
+    this.healthy = healthy;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public DataSource getDataSource() {
+    return dataSource;
+  }
+
+  public int getActiveConnections() {
+    return activeConnections.get();
+  }
+
+  public boolean isHealthy() {
+    return healthy;
+  }
+
+  /**
+   * @return the moving average of the milliseconds taken to open a connection or answer a health check
+   */
+  public double getLatencyMillis() {
+    return latencyMillis;
+  }
+
+  @Override
+  public String toString() {
+    return "Replica " + name;
+  }
+
+}
@@ -0,0 +1,76 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.routing;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+/**
+ * Periodic task checking the replicas of a routing data source on a daemon thread shared by all of them.
+ * <p>
+ * The task only holds a weak reference to its data source, so a data source that is no longer used can be collected and
+ * its task cancels itself.
+ *
+ * @since 3.6.0
+ */
+class ReplicaHealthChecker implements Runnable {
+
+  private static final Log log = LogFactory.getLog(ReplicaHealthChecker.class);
+
+  private static final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+    Thread thread = new Thread(r, "mybatis-replica-health-check");
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final WeakReference<RoutingDataSource> dataSource;
+  private volatile ScheduledFuture<?> future;
+
+  private ReplicaHealthChecker(RoutingDataSource dataSource) {
+    this.dataSource = new WeakReference<>(dataSource);
+  }
+
+  static ReplicaHealthChecker schedule(RoutingDataSource dataSource, long intervalMillis) {
+    ReplicaHealthChecker checker = new ReplicaHealthChecker(dataSource);
+    checker.future = scheduler.scheduleWithFixedDelay(checker, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    return checker;
+  }
+
+  void cancel() {
+    future.cancel(false);
+  }
+
+  @Override
+  public void run() {
+    RoutingDataSource routingDataSource = dataSource.get();
+    if (routingDataSource == null) {
+      cancel();
+      return;
+    }
+    try {
+      routingDataSource.checkHealth();
+    } catch (Exception e) {
+      log.warn("Replica health check failed. Cause: " + e);
+    }
+  }
+
+}
@@ -0,0 +1,40 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.routing;
+
+import java.util.List;
+
+/**
+ * Chooses the replica a read is routed to.
+ *
+ * @since 3.6.0
+ *
+ * @see RoundRobinReplicaSelector
+ * @see LeastActiveReplicaSelector
+ * @see LatencyWeightedReplicaSelector
+ */
+@FunctionalInterface
+public interface ReplicaSelector {
+
+  /**
+   * @param replicas
+   *          the healthy replicas, never empty
+   *
+   * @return one of the replicas
+   */
+  Replica select(List<Replica> replicas);
+
+}
@@ -0,0 +1,35 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.routing;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Chooses the replicas in turn.
+ *
+ * @since 3.6.0
+ */
+public class RoundRobinReplicaSelector implements ReplicaSelector {
+
+  private final AtomicInteger next = new AtomicInteger();
+
+  @Override
+  public Replica select(List<Replica> replicas) {
+    return replicas.get((next.getAndIncrement() & Integer.MAX_VALUE) % replicas.size());
+  }
+
+}
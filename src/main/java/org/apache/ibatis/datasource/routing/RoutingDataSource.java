@@ -0,0 +1,211 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.routing;
+
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Logger;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+/**
+ * A data source made of a primary database and its read replicas.
+ * <p>
+ * Used on its own, it hands out connections to the primary database. The transactions created for it by the
+ * {@link org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory} route each statement: selects go to a healthy
+ * replica chosen by the {@link ReplicaSelector}, everything else goes to the primary database, and so does every
+ * statement once the transaction has written. {@link RoutingHints} overrides the routing for the current thread.
+ *
+ * @since 3.6.0
+ *
+ * @see org.apache.ibatis.transaction.routing.RoutingTransaction
+ */
+public class RoutingDataSource implements DataSource {
+
+  private static final Log log = LogFactory.getLog(RoutingDataSource.class);
+
+  private final DataSource primary;
+  private final List<Replica> replicas;
+  private ReplicaSelector replicaSelector = new RoundRobinReplicaSelector();
+  private long healthCheckInterval;
+  private int healthCheckTimeout = 5;
+  private ReplicaHealthChecker healthChecker;
+
+  public RoutingDataSource(DataSource primary, List<Replica> replicas) {
+    this.primary = primary;
+    this.replicas = Collections.unmodifiableList(new ArrayList<>(replicas));
+  }
+
+  /**
+   * @return a healthy replica chosen by the selector, <code>null</code> if there is none
+   */
+  public Replica selectReplica() {
+    return selectReplica(null);
+  }
+
+  /**
+   * @param excluded
+   *          a replica to avoid, e.g. the one a hedged read is already waiting for, may be <code>null</code>
+   *
+   * @return a healthy replica other than the excluded one chosen by the selector, the excluded replica if it is the
+   *         only healthy one, <code>null</code> if there is none
+   */
+  public Replica selectReplica(Replica excluded) {
+    List<Replica> healthy = new ArrayList<>(replicas.size());
+    boolean excludedHealthy = false;
+    for (Replica replica : replicas) {
+      if (replica.isHealthy()) {
+        if (replica == excluded) {
+          excludedHealthy = true;
+        } else {
+          healthy.add(replica);
+        }
+      }
+    }
+    if (healthy.isEmpty()) {
+      return excludedHealthy ? excluded : null;
+    }
+    return replicaSelector.select(healthy);
+  }
+
+  /**
+   * Checks every replica with {@link Connection#isValid(int)}, marking those that fail unhealthy until they pass a
+   * later check, and records their latency.
+   */
+  public void checkHealth() {
+    for (Replica replica : replicas) {
+      long start = System.nanoTime();
+      boolean valid;
+      try (Connection connection = replica.getDataSource().getConnection()) {
+        valid = connection.isValid(healthCheckTimeout);
+      } catch (SQLException e) {
+        valid = false;
+      }
+      if (valid) {
+        replica.recordLatency(System.nanoTime() - start);
+      }
+      if (valid != replica.isHealthy()) {
+        log.warn(replica + (valid ? " is healthy again." : " failed its health check."));
+      }
+      replica.setHealthy(valid);
+    }
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    return primary.getConnection();
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    return primary.getConnection(username, password);
+  }
+
+  public DataSource getPrimary() {
+    return primary;
+  }
+
+  public List<Replica> getReplicas() {
+    return replicas;
+  }
+
+  public ReplicaSelector getReplicaSelector() {
+    return replicaSelector;
+  }
+
+  public void setReplicaSelector(ReplicaSelector replicaSelector) {
+    this.replicaSelector = replicaSelector;
+  }
+
+  public long getHealthCheckInterval() {
+    return healthCheckInterval;
+  }
+
+  /**
+   * @param milliseconds
+   *          the interval between two health checks of the replicas, 0 (the default) disables them. Without health
+   *          checks, a replica that failed to open a connection is not used anymore.
+   */
+  public synchronized void setHealthCheckInterval(long milliseconds) {
+    this.healthCheckInterval = milliseconds;
+    if (healthChecker != null) {
+      healthChecker.cancel();
+      healthChecker = null;
+    }
+    if (milliseconds > 0) {
+      healthChecker = ReplicaHealthChecker.schedule(this, milliseconds);
+    }
+  }
+
+  public int getHealthCheckTimeout() {
+    return healthCheckTimeout;
+  }
+
+  /**
+   * @param seconds
+   *          the seconds a health check waits for a replica, 5 by default
+   */
+  public void setHealthCheckTimeout(int seconds) {
+    this.healthCheckTimeout = seconds;
+  }
+
+  @Override
+  public PrintWriter getLogWriter() throws SQLException {
+    return primary.getLogWriter();
+  }
+
+  @Override
+  public void setLogWriter(PrintWriter out) throws SQLException {
+    primary.setLogWriter(out);
+  }
+
+  @Override
+  public void setLoginTimeout(int seconds) throws SQLException {
+    primary.setLoginTimeout(seconds);
+  }
+
+  @Override
+  public int getLoginTimeout() throws SQLException {
+    return primary.getLoginTimeout();
+  }
+
+  @Override
+  public Logger getParentLogger() throws SQLFeatureNotSupportedException {
+    return primary.getParentLogger();
+  }
+
+  @Override
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    if (iface.isInstance(this)) {
+      return iface.cast(this);
+    }
+    return primary.unwrap(iface);
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    return iface.isInstance(this) || primary.isWrapperFor(iface);
+  }
+
+}
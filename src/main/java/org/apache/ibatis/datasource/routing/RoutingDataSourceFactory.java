@@ -0,0 +1,119 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.routing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.datasource.DataSourceException;
+import org.apache.ibatis.datasource.DataSourceFactory;
+import org.apache.ibatis.datasource.pooled.PooledDataSourceFactory;
+import org.apache.ibatis.io.Resources;
+
+/**
+ * Creates a {@link RoutingDataSource} whose primary database and replicas are pooled data sources.
+ * <p>
+ * The properties prefixed with <code>primary.</code> configure the primary database and those prefixed with
+ * <code>replica.&lt;name&gt;.</code> configure one replica each, as the properties of a <code>POOLED</code> data source
+ * would. <code>replicaSelector</code> is <code>ROUND_ROBIN</code> (the default), <code>LEAST_ACTIVE</code>,
+ * <code>LATENCY_WEIGHTED</code> or the class name of a {@link ReplicaSelector}. <code>healthCheckInterval</code> and
+ * <code>healthCheckTimeout</code> configure the health checks of the replicas.
+ *
+ * @since 3.6.0
+ */
+public class RoutingDataSourceFactory implements DataSourceFactory {
+
+  private static final String PRIMARY_PREFIX = "primary.";
+  private static final String REPLICA_PREFIX = "replica.";
+
+  private RoutingDataSource dataSource;
+
+  @Override
+  public void setProperties(Properties properties) {
+    Properties primaryProperties = new Properties();
+    Map<String, Properties> replicaProperties = new TreeMap<>();
+    for (String key : properties.stringPropertyNames()) {
+      String value = properties.getProperty(key);
+      if (key.startsWith(PRIMARY_PREFIX)) {
+        primaryProperties.setProperty(key.substring(PRIMARY_PREFIX.length()), value);
+      } else if (key.startsWith(REPLICA_PREFIX)) {
+        int dot = key.indexOf('.', REPLICA_PREFIX.length());
+        if (dot < 0) {
+          throw new DataSourceException("Replica property '" + key + "' must be named replica.<name>.<property>");
+        }
+        replicaProperties.computeIfAbsent(key.substring(REPLICA_PREFIX.length(), dot), k -> new Properties())
+            .setProperty(key.substring(dot + 1), value);
+      } else if (!"replicaSelector".equals(key) && !"healthCheckInterval".equals(key)
+          && !"healthCheckTimeout".equals(key)) {
+        throw new DataSourceException("Unknown DataSource property: " + key);
+      }
+    }
+    if (primaryProperties.isEmpty()) {
+      throw new DataSourceException("A routing data source requires primary.* properties");
+    }
+    List<Replica> replicas = new ArrayList<>();
+    for (Map.Entry<String, Properties> entry : replicaProperties.entrySet()) {
+      replicas.add(new Replica(entry.getKey(), newPooledDataSource(entry.getValue())));
+    }
+    dataSource = new RoutingDataSource(newPooledDataSource(primaryProperties), replicas);
+    String selector = properties.getProperty("replicaSelector");
+    if (selector != null) {
+      dataSource.setReplicaSelector(newReplicaSelector(selector));
+    }
+    String timeout = properties.getProperty("healthCheckTimeout");
+    if (timeout != null) {
+      dataSource.setHealthCheckTimeout(Integer.parseInt(timeout));
+    }
+    String interval = properties.getProperty("healthCheckInterval");
+    if (interval != null) {
+      dataSource.setHealthCheckInterval(Long.parseLong(interval));
+    }
+  }
+
+  @Override
+  public DataSource getDataSource() {
+    return dataSource;
+  }
+
+  private static DataSource newPooledDataSource(Properties properties) {
+    PooledDataSourceFactory factory = new PooledDataSourceFactory();
+    factory.setProperties(properties);
+    return factory.getDataSource();
+  }
+
+  private static ReplicaSelector newReplicaSelector(String selector) {
+    switch (selector) {
+      case "ROUND_ROBIN":
+        return new RoundRobinReplicaSelector();
+      case "LEAST_ACTIVE":
+        return new LeastActiveReplicaSelector();
+      case "LATENCY_WEIGHTED":
+        return new LatencyWeightedReplicaSelector();
+      default:
+        try {
+          return (ReplicaSelector) Resources.classForName(selector).getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+          throw new DataSourceException("Error creating replica selector '" + selector + "'. Cause: " + e, e);
+        }
+    }
+  }
+
+}
@@ -0,0 +1,59 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.datasource.routing;
+
+/**
+ * Overrides the routing of the statements executed by the current thread.
+ * <p>
+ * For example, to read from the primary database a row that was just written by another session:
+ *
+ * <pre>
+ * RoutingHints.force(DataSourceRole.PRIMARY);
+ * try {
+ *   mapper.selectOrder(id);
+ * } finally {
+ *   RoutingHints.clear();
+ * }
+ * </pre>
+ *
+ * A transaction that has written keeps using the primary database whatever the hint.
+ *
+ * @since 3.6.0
+ */
+public final class RoutingHints {
+
+  private static final ThreadLocal<DataSourceRole> hint = new ThreadLocal<>();
+
+  private RoutingHints() {
+    // Prevent Instantiation
+  }
+
+  public static void force(DataSourceRole role) {
+    hint.set(role);
+  }
+
+  public static void clear() {
+    hint.remove();
+  }
+
+  /**
+   * @return the role forced for the current thread, <code>null</code> if the statement type decides
+   */
+  public static DataSourceRole current() {
+    return hint.get();
+  }
+
+}
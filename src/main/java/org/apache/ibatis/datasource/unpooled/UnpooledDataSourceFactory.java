@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -74,8 +74,15 @@ public class UnpooledDataSourceFactory implements DataSourceFactory {
       convertedValue = Long.valueOf(value);
     } else if (targetType == Boolean.class || targetType == boolean.class) {
       convertedValue = Boolean.valueOf(value);
+    } else if (targetType.isEnum()) {
+      convertedValue = toEnum(targetType, value);
     }
     return convertedValue;
   }
 
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private static Object toEnum(Class<?> enumType, String value) {
+    return Enum.valueOf((Class<? extends Enum>) enumType, value);
+  }
+
 }
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2025 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -17,15 +17,31 @@ package org.apache.ibatis.executor;
 
 import static org.apache.ibatis.executor.ExecutionPlaceholder.EXECUTION_PLACEHOLDER;
 
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
 
+import org.apache.ibatis.binding.MapperMethod.ParamMap;
 import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cache.entity.EntityCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
 import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.deadline.Deadline;
+import org.apache.ibatis.executor.deadline.DeadlineExceededException;
+import org.apache.ibatis.executor.deadline.StatementCanceller;
+import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
+import org.apache.ibatis.executor.keygen.KeyGenerator;
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.executor.statement.StatementUtil;
 import org.apache.ibatis.logging.Log;
 import org.apache.ibatis.logging.LogFactory;
@@ -34,6 +50,7 @@ import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.mapping.ResultMap;
 import org.apache.ibatis.mapping.StatementType;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.factory.ObjectFactory;
@@ -42,6 +59,8 @@ import org.apache.ibatis.session.LocalCacheScope;
 import org.apache.ibatis.session.ResultHandler;
 import org.apache.ibatis.session.RowBounds;
 import org.apache.ibatis.transaction.Transaction;
+import org.apache.ibatis.transaction.jdbc.JdbcTransaction;
+import org.apache.ibatis.transaction.routing.RoutingTransaction;
 import org.apache.ibatis.type.TypeHandlerRegistry;
 
 /**
@@ -61,6 +80,10 @@ public abstract class BaseExecutor implements Executor {
 
   protected int queryStack;
   private boolean closed;
+  private DeferredCacheKey deferredCacheKey;
+  private final Set<MappedStatement> entityCacheFlushes = new HashSet<>();
+  private boolean uncommittedUpdates;
+  boolean hedgingEnabled = true;
 
   protected BaseExecutor(Configuration configuration, Transaction transaction) {
     this.transaction = transaction;
@@ -114,7 +137,33 @@ public abstract class BaseExecutor implements Executor {
       throw new ExecutorException("Executor was closed.");
     }
     clearLocalCache();
-    return doUpdate(ms, parameter);
+    clearEntityCache(ms);
+    uncommittedUpdates = true;
+    route(ms);
+    try {
+      return doUpdate(ms, parameter);
+    } catch (SQLException e) {
+      checkDeadline(ms, e);
+      throw e;
+    }
+  }
+
+  @Override
+  public List<BatchResult> batch(MappedStatement ms, Iterable<?> parameters, int batchSize) throws SQLException {
+    ErrorContext.instance().resource(ms.getResource()).activity("executing a batch").object(ms.getId());
+    if (closed) {
+      throw new ExecutorException("Executor was closed.");
+    }
+    clearLocalCache();
+    clearEntityCache(ms);
+    uncommittedUpdates = true;
+    route(ms);
+    try {
+      return doBatch(ms, parameters, batchSize);
+    } catch (SQLException e) {
+      checkDeadline(ms, e);
+      throw e;
+    }
   }
 
   @Override
@@ -133,6 +182,9 @@ public abstract class BaseExecutor implements Executor {
   public <E> List<E> query(MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler)
       throws SQLException {
     BoundSql boundSql = ms.getBoundSql(parameter);
+    if (isCacheKeyDeferrable(ms)) {
+      return queryWithDeferredCacheKey(ms, parameter, rowBounds, resultHandler, boundSql);
+    }
     CacheKey key = createCacheKey(ms, parameter, rowBounds, boundSql);
     return query(ms, parameter, rowBounds, resultHandler, key, boundSql);
   }
@@ -155,21 +207,16 @@ public abstract class BaseExecutor implements Executor {
       if (list != null) {
         handleLocallyCachedOutputParameters(ms, key, parameter, boundSql);
       } else {
-        list = queryFromDatabase(ms, parameter, rowBounds, resultHandler, key, boundSql);
+        list = lookupEntity(ms, parameter, rowBounds, resultHandler);
+        if (list == null) {
+          list = queryFromDatabase(ms, parameter, rowBounds, resultHandler, key, boundSql);
+        }
       }
     } finally {
       queryStack--;
     }
     if (queryStack == 0) {
-      for (DeferredLoad deferredLoad : deferredLoads) {
-        deferredLoad.load();
-      }
-      // issue #601
-      deferredLoads.clear();
-      if (configuration.getLocalCacheScope() == LocalCacheScope.STATEMENT) {
-        // issue #482
-        clearLocalCache();
-      }
+      completeTopLevelQuery();
     }
     return list;
   }
@@ -177,7 +224,13 @@ public abstract class BaseExecutor implements Executor {
   @Override
   public <E> Cursor<E> queryCursor(MappedStatement ms, Object parameter, RowBounds rowBounds) throws SQLException {
     BoundSql boundSql = ms.getBoundSql(parameter);
-    return doQueryCursor(ms, parameter, rowBounds, boundSql);
+    route(ms);
+    try {
+      return doQueryCursor(ms, parameter, rowBounds, boundSql);
+    } catch (SQLException e) {
+      checkDeadline(ms, e);
+      throw e;
+    }
   }
 
   @Override
@@ -199,6 +252,13 @@ public abstract class BaseExecutor implements Executor {
     if (closed) {
       throw new ExecutorException("Executor was closed.");
     }
+    if (deferredCacheKey != null) {
+      // a nested query is about to consult the local cache, so the running statement must be visible in it
+      DeferredCacheKey pending = deferredCacheKey;
+      deferredCacheKey = null;
+      pending.key = createCacheKey(pending.ms, pending.parameter, pending.rowBounds, pending.boundSql);
+      localCache.putObject(pending.key, EXECUTION_PLACEHOLDER);
+    }
     CacheKey cacheKey = new CacheKey();
     cacheKey.update(ms.getId());
     cacheKey.update(rowBounds.getOffset());
@@ -218,6 +278,10 @@ public abstract class BaseExecutor implements Executor {
           value = boundSql.getAdditionalParameter(propertyName);
         } else if (parameterObject == null) {
           value = null;
+        } else if (parameterObject instanceof ParamMap && propertyName.indexOf('.') == -1
+            && propertyName.indexOf('[') == -1) {
+          // the arguments of a mapper method are read by name, without a meta object
+          value = ((ParamMap<?>) parameterObject).get(propertyName);
         } else if (typeHandlerRegistry.hasTypeHandler(parameterObject.getClass())) {
           value = parameterObject;
         } else {
@@ -241,6 +305,11 @@ public abstract class BaseExecutor implements Executor {
     return localCache.getObject(key) != null;
   }
 
+  @Override
+  public boolean hasUncommittedUpdates() {
+    return uncommittedUpdates;
+  }
+
   @Override
   public void commit(boolean required) throws SQLException {
     if (closed) {
@@ -251,6 +320,15 @@ public abstract class BaseExecutor implements Executor {
     if (required) {
       transaction.commit();
     }
+    // entities read by other sessions before this commit are stale now
+    EntityCache entityCache = configuration.getEntityCache();
+    if (entityCache != null) {
+      for (MappedStatement ms : entityCacheFlushes) {
+        entityCache.clear(ms);
+      }
+    }
+    entityCacheFlushes.clear();
+    uncommittedUpdates = false;
   }
 
   @Override
@@ -260,8 +338,20 @@ public abstract class BaseExecutor implements Executor {
         clearLocalCache();
         flushStatements(true);
       } finally {
-        if (required) {
-          transaction.rollback();
+        try {
+          if (required) {
+            transaction.rollback();
+          }
+        } finally {
+          // entities are evicted as on commit, whichever way the transaction ends
+          EntityCache entityCache = configuration.getEntityCache();
+          if (entityCache != null) {
+            for (MappedStatement ms : entityCacheFlushes) {
+              entityCache.clear(ms);
+            }
+          }
+          entityCacheFlushes.clear();
+          uncommittedUpdates = false;
         }
       }
     }
@@ -285,8 +375,146 @@ public abstract class BaseExecutor implements Executor {
   protected abstract <E> Cursor<E> doQueryCursor(MappedStatement ms, Object parameter, RowBounds rowBounds,
       BoundSql boundSql) throws SQLException;
 
+  /**
+   * Executes a statement once for each parameter as JDBC batches of at most the given size, on a statement of its own.
+   * A new batch is also started when the SQL of a parameter differs from the SQL of the previous one.
+   *
+   * @since 3.6.0
+   */
+  protected List<BatchResult> doBatch(MappedStatement ms, Iterable<?> parameters, int batchSize) throws SQLException {
+    List<BatchResult> results = new ArrayList<>();
+    BatchResult batchResult = null;
+    MultiRowInsert insert = null;
+    Statement stmt = null;
+    try {
+      for (Object parameter : parameters) {
+        StatementHandler handler = configuration.newStatementHandler(wrapper, ms, parameter, RowBounds.DEFAULT, null,
+            null);
+        BoundSql boundSql = handler.getBoundSql();
+        String sql = boundSql.getSql();
+        if (batchResult != null
+            && (!sql.equals(batchResult.getSql()) || batchResult.getParameterObjects().size() >= batchSize)) {
+          executeBatch(stmt, insert, batchResult);
+          results.add(batchResult);
+          if (!sql.equals(batchResult.getSql())) {
+            closeStatement(stmt);
+            stmt = null;
+          }
+          batchResult = null;
+        }
+        if (batchResult == null) {
+          batchResult = new BatchResult(ms, sql);
+          insert = MultiRowInsert.of(ms, boundSql);
+        }
+        if (insert != null) {
+          insert.addRow(boundSql);
+        } else {
+          if (stmt == null) {
+            stmt = handler.prepare(getConnection(ms.getStatementLog()), transaction.getTimeout());
+          }
+          handler.parameterize(stmt);
+          handler.batch(stmt);
+        }
+        batchResult.addParameterObject(parameter);
+      }
+      if (batchResult != null) {
+        executeBatch(stmt, insert, batchResult);
+        results.add(batchResult);
+      }
+      return results;
+    } catch (BatchUpdateException e) {
+      StringBuilder message = new StringBuilder();
+      message.append(ms.getId()).append(" (batch index #").append(results.size() + 1).append(")").append(" failed.");
+      if (!results.isEmpty()) {
+        message.append(" ").append(results.size())
+            .append(" prior batch(es) completed successfully, but will be rolled back.");
+      }
+      throw new BatchExecutorException(message.toString(), e, results, batchResult);
+    } finally {
+      closeStatement(stmt);
+    }
+  }
+
+  /**
+   * Executes the batch of a statement, and assigns the generated keys to its parameters.
+   *
+   * @since 3.6.0
+   */
+  protected void executeBatch(Statement stmt, BatchResult batchResult) throws SQLException {
+    applyTransactionTimeout(stmt);
+    batchResult.setUpdateCounts(stmt.executeBatch());
+    MappedStatement ms = batchResult.getMappedStatement();
+    List<Object> parameterObjects = batchResult.getParameterObjects();
+    KeyGenerator keyGenerator = ms.getKeyGenerator();
+    if (Jdbc3KeyGenerator.class.equals(keyGenerator.getClass())) {
+      Jdbc3KeyGenerator jdbc3KeyGenerator = (Jdbc3KeyGenerator) keyGenerator;
+      jdbc3KeyGenerator.processBatch(ms, stmt, parameterObjects);
+    } else if (!NoKeyGenerator.class.equals(keyGenerator.getClass())) { // issue #141
+      for (Object parameter : parameterObjects) {
+        keyGenerator.processAfter(this, ms, stmt, parameter);
+      }
+    }
+  }
+
+  void executeBatch(Statement stmt, MultiRowInsert insert, BatchResult batchResult) throws SQLException {
+    if (insert == null) {
+      executeBatch(stmt, batchResult);
+    } else {
+      executeMultiRowInsert(insert, batchResult);
+    }
+  }
+
+  /**
+   * Executes the rows of a batched insert as multi-row inserts. A row counts 1 when its statement inserted all of its
+   * rows, {@link Statement#SUCCESS_NO_INFO} otherwise, and a failure is reported as a {@link BatchUpdateException}
+   * holding the counts of the rows inserted before.
+   */
+  private void executeMultiRowInsert(MultiRowInsert insert, BatchResult batchResult) throws SQLException {
+    MappedStatement ms = batchResult.getMappedStatement();
+    KeyGenerator keyGenerator = ms.getKeyGenerator();
+    List<BoundSql> rows = insert.getRows();
+    int[] updateCounts = new int[rows.size()];
+    int executed = 0;
+    int statementRows = 0;
+    PreparedStatement ps = null;
+    try {
+      while (executed < rows.size()) {
+        int end = Math.min(executed + insert.getRowsPerStatement(), rows.size());
+        if (ps == null || statementRows != end - executed) {
+          closeStatement(ps);
+          statementRows = end - executed;
+          BoundSql boundSql = insert.getBoundSql(statementRows);
+          StatementHandler handler = configuration.newStatementHandler(wrapper, ms, boundSql.getParameterObject(),
+              RowBounds.DEFAULT, null, boundSql);
+          ps = (PreparedStatement) handler.prepare(getConnection(ms.getStatementLog()), transaction.getTimeout());
+        }
+        applyTransactionTimeout(ps);
+        insert.parameterize(ps, rows.subList(executed, end));
+        int count = ps.executeUpdate();
+        Arrays.fill(updateCounts, executed, end, count == statementRows ? 1 : Statement.SUCCESS_NO_INFO);
+        if (Jdbc3KeyGenerator.class.equals(keyGenerator.getClass())) {
+          ((Jdbc3KeyGenerator) keyGenerator).processBatch(ms, ps,
+              new ArrayList<>(batchResult.getParameterObjects().subList(executed, end)));
+        }
+        executed = end;
+      }
+    } catch (BatchUpdateException e) {
+      throw e;
+    } catch (SQLException e) {
+      throw new BatchUpdateException(e.getMessage(), e.getSQLState(), e.getErrorCode(),
+          Arrays.copyOf(updateCounts, executed), e);
+    } finally {
+      closeStatement(ps);
+    }
+    batchResult.setUpdateCounts(updateCounts);
+  }
+
   protected void closeStatement(Statement statement) {
     if (statement != null) {
+      StatementCanceller canceller = StatementCanceller.current();
+      if (canceller != null) {
+        canceller.unregister(statement);
+      }
       try {
         statement.close();
       } catch (SQLException e) {
@@ -310,6 +538,7 @@ public abstract class BaseExecutor implements Executor {
    */
   protected void applyTransactionTimeout(Statement statement) throws SQLException {
     StatementUtil.applyTransactionTimeout(statement, statement.getQueryTimeout(), transaction.getTimeout());
+    StatementUtil.applyDeadline(statement, statement.getQueryTimeout());
   }
 
   private void handleLocallyCachedOutputParameters(MappedStatement ms, CacheKey key, Object parameter,
@@ -330,12 +559,85 @@ public abstract class BaseExecutor implements Executor {
     }
   }
 
+  /**
+   * A top-level query never hits the local cache when its scope is STATEMENT because the cache is cleared after every
+   * statement. Unless a nested query has to detect a circular reference, the cache key would be built for nothing.
+   */
+  private boolean isCacheKeyDeferrable(MappedStatement ms) {
+    return queryStack == 0 && configuration.getLocalCacheScope() == LocalCacheScope.STATEMENT
+        && ms.getStatementType() != StatementType.CALLABLE;
+  }
+
+  private <E> List<E> queryWithDeferredCacheKey(MappedStatement ms, Object parameter, RowBounds rowBounds,
+      ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
+    ErrorContext.instance().resource(ms.getResource()).activity("executing a query").object(ms.getId());
+    if (closed) {
+      throw new ExecutorException("Executor was closed.");
+    }
+    if (ms.isFlushCacheRequired()) {
+      clearLocalCache();
+    }
+    DeferredCacheKey pending = new DeferredCacheKey(ms, parameter, rowBounds, boundSql);
+    List<E> list;
+    try {
+      queryStack++;
+      deferredCacheKey = pending;
+      list = lookupEntity(ms, parameter, rowBounds, resultHandler);
+      if (list == null) {
+        list = executeQuery(ms, parameter, rowBounds, resultHandler, boundSql);
+      }
+    } finally {
+      queryStack--;
+      deferredCacheKey = null;
+      if (pending.key != null) {
+        localCache.removeObject(pending.key);
+      }
+    }
+    if (pending.key != null) {
+      // nested queries referred to this statement, their deferred loads are resolved from the local cache
+      localCache.putObject(pending.key, list);
+    }
+    completeTopLevelQuery();
+    return list;
+  }
+
+  private <E> List<E> lookupEntity(MappedStatement ms, Object parameter, RowBounds rowBounds,
+      ResultHandler resultHandler) {
+    EntityCache entityCache = configuration.getEntityCache();
+    // the entities of other sessions may not hold the values this one updated
+    if (entityCache == null || uncommittedUpdates || !ms.isEntityLookup() || resultHandler != null
+        || rowBounds.getOffset() != RowBounds.NO_ROW_OFFSET) {
+      return null;
+    }
+    return entityCache.lookup(ms, parameter);
+  }
+
+  private void clearEntityCache(MappedStatement ms) {
+    EntityCache entityCache = configuration.getEntityCache();
+    if (entityCache != null) {
+      entityCache.clear(ms);
+      entityCacheFlushes.add(ms);
+    }
+  }
+
+  private void completeTopLevelQuery() {
+    for (DeferredLoad deferredLoad : deferredLoads) {
+      deferredLoad.load();
+    }
+    // issue #601
+    deferredLoads.clear();
+    if (configuration.getLocalCacheScope() == LocalCacheScope.STATEMENT) {
+      // issue #482
+      clearLocalCache();
+    }
+  }
+
   private <E> List<E> queryFromDatabase(MappedStatement ms, Object parameter, RowBounds rowBounds,
       ResultHandler resultHandler, CacheKey key, BoundSql boundSql) throws SQLException {
     List<E> list;
     localCache.putObject(key, EXECUTION_PLACEHOLDER);
     try {
-      list = doQuery(ms, parameter, rowBounds, resultHandler, boundSql);
+      list = executeQuery(ms, parameter, rowBounds, resultHandler, boundSql);
     } finally {
       localCache.removeObject(key);
     }
@@ -346,6 +648,54 @@ public abstract class BaseExecutor implements Executor {
     return list;
   }
 
+  private <E> List<E> executeQuery(MappedStatement ms, Object parameter, RowBounds rowBounds,
+      ResultHandler resultHandler, BoundSql boundSql) throws SQLException {
+    route(ms);
+    try {
+      if (!ms.isHedged()) {
+        return doQuery(ms, parameter, rowBounds, resultHandler, boundSql);
+      }
+      long start = System.nanoTime();
+      long delay = -1;
+      if (hedgingEnabled && queryStack == 1 && resultHandler == null && transaction instanceof JdbcTransaction
+          && !hasNestedQueries(ms)) {
+        delay = configuration.getStatementLatencies().percentile(ms.getId(), configuration.getHedgeDelayPercentile(),
+            TimeUnit.NANOSECONDS);
+      }
+      Transaction readTransaction = delay < 0 ? null : ((JdbcTransaction) transaction).newReadTransaction();
+      List<E> list = readTransaction == null ? doQuery(ms, parameter, rowBounds, resultHandler, boundSql)
+          : new HedgedQuery<E>(configuration, ms, parameter, rowBounds, readTransaction)
+              .execute(() -> doQuery(ms, parameter, rowBounds, resultHandler, boundSql), delay);
+      configuration.getStatementLatencies().record(ms.getId(), System.nanoTime() - start, TimeUnit.NANOSECONDS);
+      return list;
+    } catch (SQLException e) {
+      checkDeadline(ms, e);
+      throw e;
+    }
+  }
+
+  private static boolean hasNestedQueries(MappedStatement ms) {
+    for (ResultMap resultMap : ms.getResultMaps()) {
+      if (resultMap.hasNestedQueries()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void checkDeadline(MappedStatement ms, SQLException e) {
+    Deadline deadline = Deadline.current();
+    if (deadline != null && deadline.isExpired()) {
+      throw new DeadlineExceededException("Statement '" + ms.getId() + "' did not complete before its deadline.", e);
+    }
+  }
+
+  private void route(MappedStatement ms) {
+    if (transaction instanceof RoutingTransaction) {
+      ((RoutingTransaction) transaction).route(ms);
+    }
+  }
+
   protected Connection getConnection(Log statementLog) throws SQLException {
     Connection connection = transaction.getConnection();
     if (statementLog.isDebugEnabled()) {
@@ -359,6 +709,23 @@ public abstract class BaseExecutor implements Executor {
     this.wrapper = wrapper;
   }
 
+  private static class DeferredCacheKey {
+
+    private final MappedStatement ms;
+    private final Object parameter;
+    private final RowBounds rowBounds;
+    private final BoundSql boundSql;
+    private CacheKey key;
+
+    DeferredCacheKey(MappedStatement ms, Object parameter, RowBounds rowBounds, BoundSql boundSql) {
+      this.ms = ms;
+      this.parameter = parameter;
+      this.rowBounds = rowBounds;
+      this.boundSql = boundSql;
+    }
+
+  }
+
   private static class DeferredLoad {
 
     private final MetaObject resultObject;
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -24,9 +24,6 @@ import java.util.Collections;
 import java.util.List;
 
 import org.apache.ibatis.cursor.Cursor;
-import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
-import org.apache.ibatis.executor.keygen.KeyGenerator;
-import org.apache.ibatis.executor.keygen.NoKeyGenerator;
 import org.apache.ibatis.executor.statement.StatementHandler;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
@@ -44,6 +41,9 @@ public class BatchExecutor extends BaseExecutor {
 
   private final List<Statement> statementList = new ArrayList<>();
   private final List<BatchResult> batchResultList = new ArrayList<>();
+  private final List<MultiRowInsert> insertList = new ArrayList<>();
+  // the results of the statements flushed before a batch, returned by the next flush
+  private final List<BatchResult> flushedResults = new ArrayList<>();
   private String currentSql;
   private MappedStatement currentStatement;
 
@@ -61,19 +61,36 @@ public class BatchExecutor extends BaseExecutor {
     final Statement stmt;
     if (sql.equals(currentSql) && ms.equals(currentStatement)) {
       int last = statementList.size() - 1;
+      BatchResult batchResult = batchResultList.get(last);
+      MultiRowInsert insert = insertList.get(last);
+      if (insert != null) {
+        insert.addRow(boundSql);
+        batchResult.addParameterObject(parameterObject);
+        return BATCH_UPDATE_RETURN_VALUE;
+      }
       stmt = statementList.get(last);
       applyTransactionTimeout(stmt);
       handler.parameterize(stmt);// fix Issues 322
-      BatchResult batchResult = batchResultList.get(last);
       batchResult.addParameterObject(parameterObject);
     } else {
-      Connection connection = getConnection(ms.getStatementLog());
-      stmt = handler.prepare(connection, transaction.getTimeout());
-      handler.parameterize(stmt); // fix Issues 322
+      MultiRowInsert insert = MultiRowInsert.of(ms, boundSql);
+      if (insert != null) {
+        // the rows are only bound when the batch is flushed, as multi-row inserts
+        insert.addRow(boundSql);
+        stmt = null;
+      } else {
+        Connection connection = getConnection(ms.getStatementLog());
+        stmt = handler.prepare(connection, transaction.getTimeout());
+        handler.parameterize(stmt); // fix Issues 322
+      }
       currentSql = sql;
       currentStatement = ms;
       statementList.add(stmt);
+      insertList.add(insert);
       batchResultList.add(new BatchResult(ms, sql, parameterObject));
+      if (insert != null) {
+        return BATCH_UPDATE_RETURN_VALUE;
+      }
     }
     handler.batch(stmt);
     return BATCH_UPDATE_RETURN_VALUE;
@@ -111,30 +128,24 @@ public class BatchExecutor extends BaseExecutor {
     return cursor;
   }
 
+  @Override
+  protected List<BatchResult> doBatch(MappedStatement ms, Iterable<?> parameters, int batchSize) throws SQLException {
+    flushedResults.addAll(flushStatements());
+    return super.doBatch(ms, parameters, batchSize);
+  }
+
   @Override
   public List<BatchResult> doFlushStatements(boolean isRollback) throws SQLException {
     try {
-      List<BatchResult> results = new ArrayList<>();
+      List<BatchResult> results = new ArrayList<>(flushedResults);
       if (isRollback) {
         return Collections.emptyList();
       }
       for (int i = 0, n = statementList.size(); i < n; i++) {
         Statement stmt = statementList.get(i);
-        applyTransactionTimeout(stmt);
         BatchResult batchResult = batchResultList.get(i);
         try {
-          batchResult.setUpdateCounts(stmt.executeBatch());
-          MappedStatement ms = batchResult.getMappedStatement();
-          List<Object> parameterObjects = batchResult.getParameterObjects();
-          KeyGenerator keyGenerator = ms.getKeyGenerator();
-          if (Jdbc3KeyGenerator.class.equals(keyGenerator.getClass())) {
-            Jdbc3KeyGenerator jdbc3KeyGenerator = (Jdbc3KeyGenerator) keyGenerator;
-            jdbc3KeyGenerator.processBatch(ms, stmt, parameterObjects);
-          } else if (!NoKeyGenerator.class.equals(keyGenerator.getClass())) { // issue #141
-            for (Object parameter : parameterObjects) {
-              keyGenerator.processAfter(this, ms, stmt, parameter);
-            }
-          }
+          executeBatch(stmt, insertList.get(i), batchResult);
           // Close statement to close cursor #1109
           closeStatement(stmt);
         } catch (BatchUpdateException e) {
@@ -157,6 +168,8 @@ public class BatchExecutor extends BaseExecutor {
       currentSql = null;
       statementList.clear();
       batchResultList.clear();
+      insertList.clear();
+      flushedResults.clear();
     }
   }
 
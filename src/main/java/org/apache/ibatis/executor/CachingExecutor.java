@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -16,16 +16,23 @@
 package org.apache.ibatis.executor;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.apache.ibatis.cache.Cache;
 import org.apache.ibatis.cache.CacheKey;
 import org.apache.ibatis.cache.TransactionalCacheManager;
+import org.apache.ibatis.cache.invalidation.CacheInvalidationService;
+import org.apache.ibatis.cache.negative.NegativeCache;
+import org.apache.ibatis.cache.statistics.CacheStatistics;
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMapping;
 import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.mapping.StatementType;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.session.ResultHandler;
@@ -39,10 +46,24 @@ import org.apache.ibatis.transaction.Transaction;
 public class CachingExecutor implements Executor {
 
   private final Executor delegate;
-  private final TransactionalCacheManager tcm = new TransactionalCacheManager();
+  private final TransactionalCacheManager tcm;
+  private final Set<NegativeCache> flushedNegativeCaches = new HashSet<>();
 
   public CachingExecutor(Executor delegate) {
+    this(delegate, null);
+  }
+
+  /**
+   * @param delegate
+   *          the executor that runs the statements
+   * @param invalidationService
+   *          publishes the caches flushed by committed transactions to the other nodes, may be <code>null</code>
+   *
+   * @since 3.6.0
+   */
+  public CachingExecutor(Executor delegate, CacheInvalidationService invalidationService) {
     this.delegate = delegate;
+    this.tcm = new TransactionalCacheManager(invalidationService);
     delegate.setExecutorWrapper(this);
   }
 
@@ -60,6 +81,7 @@ public class CachingExecutor implements Executor {
       } else {
         tcm.commit();
       }
+      clearFlushedNegativeCaches();
     } finally {
       delegate.close(forceRollback);
     }
@@ -73,7 +95,9 @@ public class CachingExecutor implements Executor {
   @Override
   public int update(MappedStatement ms, Object parameterObject) throws SQLException {
     flushCacheIfRequired(ms);
-    return delegate.update(ms, parameterObject);
+    int updated = delegate.update(ms, parameterObject);
+    flushNegativeCacheIfRequired(ms, parameterObject);
+    return updated;
   }
 
   @Override
@@ -85,6 +109,11 @@ public class CachingExecutor implements Executor {
   @Override
   public <E> List<E> query(MappedStatement ms, Object parameterObject, RowBounds rowBounds, ResultHandler resultHandler)
       throws SQLException {
+    if (!isCacheConsulted(ms, resultHandler) && getNegativeCache(ms, rowBounds, resultHandler) == null) {
+      // let the delegate decide whether its local cache needs a key at all
+      flushCacheIfRequired(ms);
+      return delegate.query(ms, parameterObject, rowBounds, resultHandler);
+    }
     BoundSql boundSql = ms.getBoundSql(parameterObject);
     CacheKey key = createCacheKey(ms, parameterObject, rowBounds, boundSql);
     return query(ms, parameterObject, rowBounds, resultHandler, key, boundSql);
@@ -93,6 +122,26 @@ public class CachingExecutor implements Executor {
   @Override
   public <E> List<E> query(MappedStatement ms, Object parameterObject, RowBounds rowBounds, ResultHandler resultHandler,
       CacheKey key, BoundSql boundSql) throws SQLException {
+    NegativeCache negativeCache = getNegativeCache(ms, rowBounds, resultHandler);
+    if (negativeCache == null) {
+      return queryCache(ms, parameterObject, rowBounds, resultHandler, key, boundSql);
+    }
+    List<Object> lookupKey = negativeCache.hasBloomFilter() ? NegativeCache.lookupKey(ms, boundSql, parameterObject)
+        : null;
+    if (negativeCache.isAbsent(key, lookupKey)) {
+      flushCacheIfRequired(ms);
+      return new ArrayList<>();
+    }
+    List<E> list = queryCache(ms, parameterObject, rowBounds, resultHandler, key, boundSql);
+    // results read after uncommitted writes of the same namespace may be rolled back
+    if (list.isEmpty() && !flushedNegativeCaches.contains(negativeCache)) {
+      negativeCache.putAbsent(key, lookupKey, ms.getNegativeCacheTtl());
+    }
+    return list;
+  }
+
+  private <E> List<E> queryCache(MappedStatement ms, Object parameterObject, RowBounds rowBounds,
+      ResultHandler resultHandler, CacheKey key, BoundSql boundSql) throws SQLException {
     Cache cache = ms.getCache();
     if (cache != null) {
       flushCacheIfRequired(ms);
@@ -101,7 +150,9 @@ public class CachingExecutor implements Executor {
         @SuppressWarnings("unchecked")
         List<E> list = (List<E>) tcm.getObject(cache, key);
         if (list == null) {
+          long start = System.nanoTime();
           list = delegate.query(ms, parameterObject, rowBounds, resultHandler, key, boundSql);
+          recordLoad(ms, cache, start);
           tcm.putObject(cache, key, list); // issue #578 and #116
         }
         return list;
@@ -110,6 +161,18 @@ public class CachingExecutor implements Executor {
     return delegate.query(ms, parameterObject, rowBounds, resultHandler, key, boundSql);
   }
 
+  @Override
+  public List<BatchResult> batch(MappedStatement ms, Iterable<?> parameters, int batchSize) throws SQLException {
+    flushCacheIfRequired(ms);
+    List<BatchResult> results = delegate.batch(ms, parameters, batchSize);
+    for (BatchResult result : results) {
+      for (Object parameterObject : result.getParameterObjects()) {
+        flushNegativeCacheIfRequired(ms, parameterObject);
+      }
+    }
+    return results;
+  }
+
   @Override
   public List<BatchResult> flushStatements() throws SQLException {
     return delegate.flushStatements();
@@ -119,6 +182,7 @@ public class CachingExecutor implements Executor {
   public void commit(boolean required) throws SQLException {
     delegate.commit(required);
     tcm.commit();
+    clearFlushedNegativeCaches();
   }
 
   @Override
@@ -128,6 +192,7 @@ public class CachingExecutor implements Executor {
     } finally {
       if (required) {
         tcm.rollback();
+        clearFlushedNegativeCaches();
       }
     }
   }
@@ -154,6 +219,11 @@ public class CachingExecutor implements Executor {
     return delegate.isCached(ms, key);
   }
 
+  @Override
+  public boolean hasUncommittedUpdates() {
+    return delegate.hasUncommittedUpdates();
+  }
+
   @Override
   public void deferLoad(MappedStatement ms, MetaObject resultObject, String property, CacheKey key,
       Class<?> targetType) {
@@ -165,6 +235,48 @@ public class CachingExecutor implements Executor {
     delegate.clearLocalCache();
   }
 
+  private boolean isCacheConsulted(MappedStatement ms, ResultHandler resultHandler) {
+    return ms.getCache() != null && ms.isUseCache() && resultHandler == null;
+  }
+
+  private void recordLoad(MappedStatement ms, Cache cache, long start) {
+    CacheStatistics statistics = ms.getConfiguration().getCacheStatistics(cache.getId());
+    if (statistics != null) {
+      statistics.recordLoad(System.nanoTime() - start);
+    }
+  }
+
+  private NegativeCache getNegativeCache(MappedStatement ms, RowBounds rowBounds, ResultHandler resultHandler) {
+    if (ms.getNegativeCacheTtl() <= 0 || resultHandler != null || rowBounds != RowBounds.DEFAULT) {
+      return null;
+    }
+    return ms.getConfiguration().getOrCreateNegativeCache(NegativeCache.idOf(ms));
+  }
+
+  private void flushNegativeCacheIfRequired(MappedStatement ms, Object parameterObject) {
+    if (!ms.isFlushCacheRequired()) {
+      return;
+    }
+    NegativeCache negativeCache = ms.getConfiguration().getNegativeCache(NegativeCache.idOf(ms));
+    if (negativeCache == null) {
+      return;
+    }
+    // inserts only create keys, the Bloom filter hides their empty results without dropping the others
+    if (!negativeCache.hasBloomFilter() || ms.getSqlCommandType() != SqlCommandType.INSERT
+        || ms.getKeyProperties() == null || !negativeCache.addPresentKeys(ms, parameterObject)) {
+      negativeCache.clear();
+      flushedNegativeCaches.add(negativeCache);
+    }
+  }
+
+  private void clearFlushedNegativeCaches() {
+    // drop the empty results other sessions read before this transaction ended
+    for (NegativeCache negativeCache : flushedNegativeCaches) {
+      negativeCache.clear();
+    }
+    flushedNegativeCaches.clear();
+  }
+
   private void flushCacheIfRequired(MappedStatement ms) {
     Cache cache = ms.getCache();
     if (cache != null && ms.isFlushCacheRequired()) {
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -16,6 +16,7 @@
 package org.apache.ibatis.executor;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 
 import org.apache.ibatis.cache.CacheKey;
@@ -46,6 +47,37 @@ public interface Executor {
 
   List<BatchResult> flushStatements() throws SQLException;
 
+  /**
+   * Executes an insert, update or delete once for each of the given parameters, as JDBC batches of at most the given
+   * size, whatever the type of the executor. The default implementation executes the updates one by one.
+   * <p>
+   * The parameters of a batch do not go through {@link #update(MappedStatement, Object)}, so an interceptor that has to
+   * see every insert, update or delete, such as an auditing plugin, must intercept this method as well.
+   *
+   * @param ms
+   *          the statement
+   * @param parameters
+   *          the parameters
+   * @param batchSize
+   *          the maximum number of parameters executed by a batch
+   *
+   * @return the results of the batches, with the update count of each parameter
+   *
+   * @throws SQLException
+   *           if a database access error occurs
+   *
+   * @since 3.6.0
+   */
+  default List<BatchResult> batch(MappedStatement ms, Iterable<?> parameters, int batchSize) throws SQLException {
+    List<BatchResult> results = new ArrayList<>();
+    for (Object parameter : parameters) {
+      BatchResult result = new BatchResult(ms, ms.getBoundSql(parameter).getSql(), parameter);
+      result.setUpdateCounts(new int[] { update(ms, parameter) });
+      results.add(result);
+    }
+    return results;
+  }
+
   void commit(boolean required) throws SQLException;
 
   void rollback(boolean required) throws SQLException;
@@ -54,6 +86,19 @@ public interface Executor {
 
   boolean isCached(MappedStatement ms, CacheKey key);
 
+  /**
+   * Tells whether this executor ran inserts, updates or deletes that are neither committed nor rolled back yet. The
+   * rows it reads until then may hold values other sessions must not see, so they are kept out of the shared entity
+   * cache. The default implementation assumes there are.
+   *
+   * @return <code>true</code> if updates were executed since the last commit or rollback
+   *
+   * @since 3.6.0
+   */
+  default boolean hasUncommittedUpdates() {
+    return true;
+  }
+
   void clearLocalCache();
 
   void deferLoad(MappedStatement ms, MetaObject resultObject, String property, CacheKey key, Class<?> targetType);
@@ -0,0 +1,177 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.executor.deadline.Deadline;
+import org.apache.ibatis.executor.deadline.StatementCanceller;
+import org.apache.ibatis.executor.deadline.TimerWheel;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.transaction.Transaction;
+
+/**
+ * A select that, when it has not completed after the given delay, is sent a second time on a read transaction of its
+ * own. The first result is kept and the statements of the other attempt are cancelled.
+ *
+ * @since 3.6.0
+ */
+class HedgedQuery<E> {
+
+  private static final Log log = LogFactory.getLog(HedgedQuery.class);
+
+  private static final AtomicInteger threadCount = new AtomicInteger();
+  private static final ExecutorService hedgeExecutor = Executors.newCachedThreadPool(runnable -> {
+    Thread thread = new Thread(runnable, "mybatis-hedged-query-" + threadCount.incrementAndGet());
+    thread.setDaemon(true);
+    return thread;
+  });
+
+  private final Configuration configuration;
+  private final MappedStatement ms;
+  private final Object parameter;
+  private final RowBounds rowBounds;
+  private final Transaction readTransaction;
+  private final AtomicBoolean completed = new AtomicBoolean();
+  private final CountDownLatch duplicateAnswered = new CountDownLatch(1);
+  private volatile List<E> hedgeResult;
+  private volatile StatementCanceller hedgeCanceller;
+
+  HedgedQuery(Configuration configuration, MappedStatement ms, Object parameter, RowBounds rowBounds,
+      Transaction readTransaction) {
+    this.configuration = configuration;
+    this.ms = ms;
+    this.parameter = parameter;
+    this.rowBounds = rowBounds;
+    this.readTransaction = readTransaction;
+  }
+
+  /**
+   * @param query
+   *          runs the select on the transaction of the session
+   * @param delay
+   *          the nanoseconds to wait for the select before sending its duplicate
+   */
+  List<E> execute(Callable<List<E>> query, long delay) throws SQLException {
+    try (StatementCanceller canceller = StatementCanceller.watch()) {
+      Deadline deadline = Deadline.current();
+      TimerWheel.Timeout timeout = TimerWheel.shared().schedule(() -> startHedge(canceller, deadline), delay,
+          TimeUnit.NANOSECONDS);
+      try {
+        List<E> list = query.call();
+        if (completed.compareAndSet(false, true)) {
+          cancelHedge(timeout);
+          return list;
+        }
+      } catch (Exception e) {
+        if (completed.compareAndSet(false, true)) {
+          cancelHedge(timeout);
+          if (e instanceof SQLException) {
+            throw (SQLException) e;
+          }
+          if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+          }
+          throw new ExecutorException("Error querying database.  Cause: " + e, e);
+        }
+        // cancelled because the duplicate answered first
+      }
+      awaitCancellation();
+      canceller.resume();
+      if (log.isDebugEnabled()) {
+        log.debug("Hedged select '" + ms.getId() + "' was answered by its duplicate.");
+      }
+      return hedgeResult;
+    }
+  }
+
+  private void awaitCancellation() {
+    boolean interrupted = false;
+    while (true) {
+      try {
+        duplicateAnswered.await();
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private void cancelHedge(TimerWheel.Timeout timeout) {
+    if (!timeout.cancel()) {
+      StatementCanceller canceller = hedgeCanceller;
+      if (canceller != null) {
+        canceller.cancelAll();
+      }
+    }
+  }
+
+  private void startHedge(StatementCanceller queryCanceller, Deadline deadline) {
+    try {
+      hedgeExecutor.execute(() -> runHedge(queryCanceller, deadline));
+    } catch (RejectedExecutionException e) {
+      log.warn("Could not send the duplicate of hedged select '" + ms.getId() + "'.  Cause: " + e);
+    }
+  }
+
+  private void runHedge(StatementCanceller queryCanceller, Deadline deadline) {
+    Deadline.Scope scope = deadline == null ? null : deadline.enter();
+    BaseExecutor executor = new SimpleExecutor(configuration, readTransaction);
+    executor.hedgingEnabled = false;
+    try (StatementCanceller canceller = StatementCanceller.watch()) {
+      hedgeCanceller = canceller;
+      if (completed.get()) {
+        return;
+      }
+      List<E> list = executor.query(ms, parameter, rowBounds, Executor.NO_RESULT_HANDLER);
+      hedgeResult = list;
+      if (completed.compareAndSet(false, true)) {
+        try {
+          // also stops the first attempt if it has not prepared its statement yet
+          queryCanceller.cancelAll();
+        } finally {
+          duplicateAnswered.countDown();
+        }
+      }
+    } catch (Exception e) {
+      if (!completed.get()) {
+        log.warn("The duplicate of hedged select '" + ms.getId() + "' failed.  Cause: " + e);
+      }
+    } finally {
+      executor.close(false);
+      if (scope != null) {
+        scope.close();
+      }
+    }
+  }
+
+}
@@ -0,0 +1,257 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.ibatis.executor.keygen.Jdbc3KeyGenerator;
+import org.apache.ibatis.executor.keygen.KeyGenerator;
+import org.apache.ibatis.executor.keygen.NoKeyGenerator;
+import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.StatementType;
+import org.apache.ibatis.reflection.ExceptionUtil;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * The rows of a batched single-row insert, sent as multi-row inserts repeating its <code>VALUES</code> tuple. The
+ * parameter values of a row are read when it is added, and set by a parameter handler of its own, shifted to the place
+ * of the row in the statement.
+ *
+ * @since 3.6.0
+ */
+final class MultiRowInsert {
+
+  private final MappedStatement ms;
+  private final String head;
+  private final String tuple;
+  private final int parametersPerRow;
+  private final int rowsPerStatement;
+  private final List<BoundSql> rows = new ArrayList<>();
+
+  private MultiRowInsert(MappedStatement ms, String head, String tuple, int parametersPerRow, int rowsPerStatement) {
+    this.ms = ms;
+    this.head = head;
+    this.tuple = tuple;
+    this.parametersPerRow = parametersPerRow;
+    this.rowsPerStatement = rowsPerStatement;
+  }
+
+  /**
+   * @return the rewrite of the insert, <code>null</code> if it is executed as a JDBC batch
+   */
+  static MultiRowInsert of(MappedStatement ms, BoundSql boundSql) {
+    Configuration configuration = ms.getConfiguration();
+    if (!configuration.isRewriteBatchedInserts() || ms.getSqlCommandType() != SqlCommandType.INSERT
+        || ms.getStatementType() != StatementType.PREPARED) {
+      return null;
+    }
+    MultiRowInsertDialect dialect = configuration.getMultiRowInsertDialect(configuration.getDatabaseId());
+    KeyGenerator keyGenerator = ms.getKeyGenerator();
+    if (dialect == null || !NoKeyGenerator.class.equals(keyGenerator.getClass())
+        && !(Jdbc3KeyGenerator.class.equals(keyGenerator.getClass()) && dialect.isGeneratedKeysReturned())) {
+      return null;
+    }
+    for (ParameterMapping parameterMapping : boundSql.getParameterMappings()) {
+      if (parameterMapping.getMode() != ParameterMode.IN) {
+        return null;
+      }
+    }
+    String sql = boundSql.getSql();
+    int tupleStart = findValuesTuple(sql);
+    int parametersPerRow = boundSql.getParameterMappings().size();
+    int rowsPerStatement = dialect.getRowsPerStatement(parametersPerRow);
+    if (tupleStart < 0 || rowsPerStatement < 2) {
+      return null;
+    }
+    String tuple = sql.substring(tupleStart).trim();
+    if (tuple.endsWith(";")) {
+      tuple = tuple.substring(0, tuple.length() - 1).trim();
+    }
+    return new MultiRowInsert(ms, sql.substring(0, tupleStart) + " ", tuple, parametersPerRow, rowsPerStatement);
+  }
+
+  /**
+   * @return the index of the <code>VALUES</code> tuple closing an <code>INSERT</code> statement, -1 if the statement
+   *         does not end with a single tuple
+   */
+  static int findValuesTuple(String sql) {
+    int length = sql.length();
+    while (length > 0 && (Character.isWhitespace(sql.charAt(length - 1)) || sql.charAt(length - 1) == ';')) {
+      length--;
+    }
+    int start = 0;
+    while (start < length && Character.isWhitespace(sql.charAt(start))) {
+      start++;
+    }
+    if (!sql.regionMatches(true, start, "insert", 0, 6)) {
+      return -1;
+    }
+    int depth = 0;
+    int tupleStart = -1;
+    char quote = 0;
+    for (int i = start; i < length; i++) {
+      char c = sql.charAt(i);
+      if (quote != 0) {
+        if (c == quote) {
+          quote = 0;
+        }
+      } else if (c == '\'' || c == '"' || c == '`') {
+        quote = c;
+      } else if (c == '(') {
+        if (depth++ == 0 && tupleStart >= 0 && !isBlank(sql, tupleStart, i)) {
+          return -1;
+        }
+      } else if (c == ')') {
+        if (--depth < 0) {
+          return -1;
+        }
+        if (depth == 0 && tupleStart >= 0) {
+          return i == length - 1 ? tupleStart : -1;
+        }
+      } else if (depth == 0 && tupleStart < 0 && isKeyword(sql, i, "values")) {
+        tupleStart = i + 6;
+        i += 5;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean isKeyword(String sql, int index, String keyword) {
+    int end = index + keyword.length();
+    return sql.regionMatches(true, index, keyword, 0, keyword.length())
+        && (index == 0 || !Character.isJavaIdentifierPart(sql.charAt(index - 1)))
+        && (end == sql.length() || !Character.isJavaIdentifierPart(sql.charAt(end)));
+  }
+
+  private static boolean isBlank(String sql, int start, int end) {
+    for (int i = start; i < end; i++) {
+      if (!Character.isWhitespace(sql.charAt(i))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Adds a row, reading its parameter values at once: like the rows of a JDBC batch, it must not change when its
+   * parameter object is modified and passed again before the batch is executed.
+   */
+  void addRow(BoundSql boundSql) {
+    Configuration configuration = ms.getConfiguration();
+    Object parameterObject = boundSql.getParameterObject();
+    List<ParameterMapping> parameterMappings = new ArrayList<>(parametersPerRow);
+    MetaObject metaObject = null;
+    for (ParameterMapping parameterMapping : boundSql.getParameterMappings()) {
+      if (parameterMapping.hasValue()) {
+        parameterMappings.add(parameterMapping);
+        continue;
+      }
+      String property = parameterMapping.getProperty();
+      Object value;
+      if (boundSql.hasAdditionalParameter(property)) {
+        value = boundSql.getAdditionalParameter(property);
+      } else if (parameterObject == null) {
+        value = null;
+      } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+        value = parameterObject;
+      } else {
+        if (metaObject == null) {
+          metaObject = configuration.newMetaObject(parameterObject);
+        }
+        value = metaObject.getValue(property);
+      }
+      parameterMappings.add(new ParameterMapping.Builder(configuration, property, parameterMapping.getTypeHandler())
+          .mode(parameterMapping.getMode()).javaType(parameterMapping.getJavaType())
+          .jdbcType(parameterMapping.getJdbcType()).numericScale(parameterMapping.getNumericScale())
+          .resultMapId(parameterMapping.getResultMapId()).jdbcTypeName(parameterMapping.getJdbcTypeName())
+          .expression(parameterMapping.getExpression()).value(value).build());
+    }
+    rows.add(new BoundSql(configuration, boundSql.getSql(), parameterMappings, parameterObject));
+  }
+
+  List<BoundSql> getRows() {
+    return rows;
+  }
+
+  int getRowsPerStatement() {
+    return rowsPerStatement;
+  }
+
+  /**
+   * @return the SQL inserting the given number of rows
+   */
+  BoundSql getBoundSql(int rowCount) {
+    StringBuilder sql = new StringBuilder(head.length() + (tuple.length() + 2) * rowCount).append(head).append(tuple);
+    for (int i = 1; i < rowCount; i++) {
+      sql.append(", ").append(tuple);
+    }
+    return new BoundSql(ms.getConfiguration(), sql.toString(), Collections.emptyList(),
+        rows.get(0).getParameterObject());
+  }
+
+  /**
+   * Sets the parameters of the given rows, one after the other.
+   */
+  void parameterize(PreparedStatement ps, List<BoundSql> statementRows) throws SQLException {
+    ParameterShift shift = new ParameterShift(ps);
+    PreparedStatement shifted = (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+        new Class<?>[] { PreparedStatement.class }, shift);
+    Configuration configuration = ms.getConfiguration();
+    for (BoundSql row : statementRows) {
+      ParameterHandler parameterHandler = configuration.newParameterHandler(ms, row.getParameterObject(), row);
+      parameterHandler.setParameters(shifted);
+      shift.offset += parametersPerRow;
+    }
+  }
+
+  private static class ParameterShift implements InvocationHandler {
+
+    private final PreparedStatement statement;
+    private int offset;
+
+    ParameterShift(PreparedStatement statement) {
+      this.statement = statement;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] params) throws Throwable {
+      try {
+        if (method.getName().startsWith("set") && params != null && params.length > 1
+            && method.getParameterTypes()[0] == int.class) {
+          params[0] = (Integer) params[0] + offset;
+        }
+        return method.invoke(statement, params);
+      } catch (Throwable t) {
+        throw ExceptionUtil.unwrapThrowable(t);
+      }
+    }
+
+  }
+
+}
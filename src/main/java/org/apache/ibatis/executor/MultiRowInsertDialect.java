@@ -0,0 +1,69 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+/**
+ * The limits of the multi-row inserts a database accepts, used when <code>rewriteBatchedInserts</code> is enabled to
+ * send a batch of single-row inserts as <code>INSERT ... VALUES (...), (...)</code> statements.
+ *
+ * @since 3.6.0
+ *
+ * @see org.apache.ibatis.session.Configuration#registerMultiRowInsertDialect(String, MultiRowInsertDialect)
+ */
+public class MultiRowInsertDialect {
+
+  private final int maxParameters;
+  private final int maxRows;
+  private final boolean generatedKeysReturned;
+
+  /**
+   * @param maxParameters
+   *          the maximum number of parameters of a statement
+   * @param maxRows
+   *          the maximum number of rows of a <code>VALUES</code> clause, 0 if there is no limit
+   * @param generatedKeysReturned
+   *          <code>true</code> if the driver returns the generated keys of every row inserted by a statement
+   */
+  public MultiRowInsertDialect(int maxParameters, int maxRows, boolean generatedKeysReturned) {
+    this.maxParameters = maxParameters;
+    this.maxRows = maxRows;
+    this.generatedKeysReturned = generatedKeysReturned;
+  }
+
+  public int getMaxParameters() {
+    return maxParameters;
+  }
+
+  public int getMaxRows() {
+    return maxRows;
+  }
+
+  public boolean isGeneratedKeysReturned() {
+    return generatedKeysReturned;
+  }
+
+  /**
+   * @param parametersPerRow
+   *          the number of parameters of a row
+   *
+   * @return the number of rows a statement inserts at most
+   */
+  public int getRowsPerStatement(int parametersPerRow) {
+    int rows = parametersPerRow == 0 ? Integer.MAX_VALUE : maxParameters / parametersPerRow;
+    return maxRows > 0 ? Math.min(rows, maxRows) : rows;
+  }
+
+}
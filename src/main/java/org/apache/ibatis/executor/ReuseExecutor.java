@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -39,6 +39,8 @@ import org.apache.ibatis.transaction.Transaction;
 public class ReuseExecutor extends BaseExecutor {
 
   private final Map<String, Statement> statementMap = new HashMap<>();
+  // the transaction connection each statement was prepared on, a routing transaction switches between several
+  private final Map<String, Connection> statementConnections = new HashMap<>();
 
   public ReuseExecutor(Configuration configuration, Transaction transaction) {
     super(configuration, transaction);
@@ -77,6 +79,7 @@ public class ReuseExecutor extends BaseExecutor {
       closeStatement(stmt);
     }
     statementMap.clear();
+    statementConnections.clear();
     return Collections.emptyList();
   }
 
@@ -90,6 +93,10 @@ public class ReuseExecutor extends BaseExecutor {
     } else {
       Connection connection = getConnection(statementLog);
       stmt = handler.prepare(connection, transaction.getTimeout());
+      Statement replaced = statementMap.get(sql);
+      if (replaced != null) {
+        closeStatement(replaced);
+      }
       putStatement(sql, stmt);
     }
     handler.parameterize(stmt);
@@ -99,7 +106,8 @@ public class ReuseExecutor extends BaseExecutor {
   private boolean hasStatementFor(String sql) {
     try {
       Statement statement = statementMap.get(sql);
-      return statement != null && !statement.getConnection().isClosed();
+      return statement != null && !statement.getConnection().isClosed()
+          && statementConnections.get(sql) == transaction.getConnection();
     } catch (SQLException e) {
       return false;
     }
@@ -109,8 +117,9 @@ public class ReuseExecutor extends BaseExecutor {
     return statementMap.get(s);
   }
 
-  private void putStatement(String sql, Statement stmt) {
+  private void putStatement(String sql, Statement stmt) throws SQLException {
     statementMap.put(sql, stmt);
+    statementConnections.put(sql, transaction.getConnection());
   }
 
 }
@@ -0,0 +1,124 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.deadline;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A point in time by which the statements of a call must have completed.
+ * <p>
+ * A deadline applies to the statements executed by the current thread while it is entered. Their query timeout is
+ * lowered to the time left and, as drivers only count query timeouts in whole seconds, the statements still running
+ * when the deadline passes are cancelled by the {@link TimerWheel#shared() shared timer}. Statements executed after the
+ * deadline fail with a {@link DeadlineExceededException}.
+ *
+ * <pre>
+ * try (Deadline.Scope scope = Deadline.after(200, TimeUnit.MILLISECONDS).enter()) {
+ *   List&lt;Order&gt; orders = mapper.selectRecentOrders(customerId);
+ * }
+ * </pre>
+ *
+ * Nested deadlines never extend the one they are entered in.
+ *
+ * @since 3.6.0
+ */
+public final class Deadline {
+
+  private static final ThreadLocal<Deadline> current = new ThreadLocal<>();
+
+  private final long expiresAt;
+
+  private Deadline(long expiresAt) {
+    this.expiresAt = expiresAt;
+  }
+
+  public static Deadline after(long timeout, TimeUnit unit) {
+    return new Deadline(System.nanoTime() + unit.toNanos(timeout));
+  }
+
+  /**
+   * @return the deadline entered by the current thread, <code>null</code> if there is none
+   */
+  public static Deadline current() {
+    return current.get();
+  }
+
+  /**
+   * @return the time left before this deadline, 0 once it passed
+   */
+  public long remaining(TimeUnit unit) {
+    return unit.convert(Math.max(expiresAt - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+  }
+
+  public boolean isExpired() {
+    return expiresAt - System.nanoTime() <= 0;
+  }
+
+  /**
+   * @return the time left in whole seconds, rounded up, as set by {@link java.sql.Statement#setQueryTimeout(int)}
+   */
+  public int remainingSeconds() {
+    long millis = remaining(TimeUnit.MILLISECONDS);
+    return (int) Math.min((millis + 999) / 1000, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Applies this deadline to the statements executed by the current thread until the scope is closed.
+   *
+   * @return the scope to close when the call completes
+   */
+  public Scope enter() {
+    Deadline previous = current.get();
+    Deadline effective = previous != null && previous.expiresAt - expiresAt < 0 ? previous : this;
+    current.set(effective);
+    StatementCanceller canceller = StatementCanceller.watch();
+    TimerWheel.Timeout timeout = TimerWheel.shared().schedule(canceller::cancelAll,
+        effective.remaining(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+    return new Scope(previous, canceller, timeout);
+  }
+
+  /**
+   * The time a {@link Deadline} is applied to the current thread.
+   */
+  public static final class Scope implements AutoCloseable {
+
+    private final Deadline previous;
+    private final StatementCanceller canceller;
+    private final TimerWheel.Timeout timeout;
+
+    private Scope(Deadline previous, StatementCanceller canceller, TimerWheel.Timeout timeout) {
+      this.previous = previous;
+      this.canceller = canceller;
+      this.timeout = timeout;
+    }
+
+    @Override
+    public void close() {
+      if (!timeout.cancel()) {
+        // the statements of an enclosing scope may still run before its own deadline
+        canceller.resume();
+      }
+      canceller.close();
+      if (previous == null) {
+        current.remove();
+      } else {
+        current.set(previous);
+      }
+    }
+
+  }
+
+}
@@ -0,0 +1,44 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.deadline;
+
+import org.apache.ibatis.executor.ExecutorException;
+
+/**
+ * Thrown when a statement is not executed, or is cancelled, because the {@link Deadline} of the call has passed.
+ *
+ * @since 3.6.0
+ */
+public class DeadlineExceededException extends ExecutorException {
+
+  private static final long serialVersionUID = 2964180390529123583L;
+
+  public DeadlineExceededException() {
+  }
+
+  public DeadlineExceededException(String message) {
+    super(message);
+  }
+
+  public DeadlineExceededException(String message, Throwable cause) {
+    super(message, cause);
+  }
+
+  public DeadlineExceededException(Throwable cause) {
+    super(cause);
+  }
+
+}
@@ -0,0 +1,76 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.deadline;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the latest execution times of each statement, from which hedged selects take the delay after which they send
+ * their duplicate.
+ *
+ * @since 3.6.0
+ */
+public class LatencyTracker {
+
+  private static final int WINDOW = 128;
+  private static final int MIN_SAMPLES = 16;
+
+  private final ConcurrentMap<String, Samples> samples = new ConcurrentHashMap<>();
+
+  public void record(String statementId, long duration, TimeUnit unit) {
+    samples.computeIfAbsent(statementId, k -> new Samples()).add(unit.toNanos(duration));
+  }
+
+  /**
+   * @param percentile
+   *          the percentile of the latest execution times, between 0 and 100
+   *
+   * @return the execution time at the percentile, -1 while too few executions were recorded
+   */
+  public long percentile(String statementId, double percentile, TimeUnit unit) {
+    Samples statementSamples = samples.get(statementId);
+    long nanos = statementSamples == null ? -1 : statementSamples.percentile(percentile);
+    return nanos < 0 ? -1 : unit.convert(nanos, TimeUnit.NANOSECONDS);
+  }
+
+  private static class Samples {
+
+    private final long[] durations = new long[WINDOW];
+    private int count;
+    private int next;
+
+    synchronized void add(long nanos) {
+      durations[next] = nanos;
+      next = (next + 1) % WINDOW;
+      count = Math.min(count + 1, WINDOW);
+    }
+
+    synchronized long percentile(double percentile) {
+      if (count < MIN_SAMPLES) {
+        return -1;
+      }
+      long[] sorted = Arrays.copyOf(durations, count);
+      Arrays.sort(sorted);
+      int index = (int) Math.ceil(percentile / 100 * count) - 1;
+      return sorted[Math.min(Math.max(index, 0), count - 1)];
+    }
+
+  }
+
+}
@@ -0,0 +1,133 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.deadline;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+/**
+ * Tracks the statements opened by a thread so that another thread can cancel them, when a {@link Deadline} expires or a
+ * hedged select is answered first by its duplicate.
+ * <p>
+ * Statements are only tracked while the thread is watched, between {@link #watch()} and {@link #close()}:
+ *
+ * <pre>
+ * try (StatementCanceller canceller = StatementCanceller.watch()) {
+ *   // hand the canceller over to the thread that may cancel the statements
+ * }
+ * </pre>
+ *
+ * @since 3.6.0
+ */
+public final class StatementCanceller implements AutoCloseable {
+
+  private static final Log log = LogFactory.getLog(StatementCanceller.class);
+
+  private static final ThreadLocal<StatementCanceller> current = new ThreadLocal<>();
+
+  private final Set<Statement> statements = Collections.newSetFromMap(new IdentityHashMap<>());
+  private int depth;
+  private boolean cancelled;
+
+  private StatementCanceller() {
+  }
+
+  /**
+   * Starts tracking the statements of the current thread, nested calls share the same canceller.
+   *
+   * @return the canceller of the current thread, to close when the statements no longer need to be tracked
+   */
+  public static StatementCanceller watch() {
+    StatementCanceller canceller = current.get();
+    if (canceller == null) {
+      canceller = new StatementCanceller();
+      current.set(canceller);
+    }
+    canceller.depth++;
+    return canceller;
+  }
+
+  /**
+   * @return the canceller of the current thread, <code>null</code> if its statements are not tracked
+   */
+  public static StatementCanceller current() {
+    return current.get();
+  }
+
+  public synchronized void register(Statement statement) {
+    statements.add(statement);
+  }
+
+  public synchronized void unregister(Statement statement) {
+    statements.remove(statement);
+  }
+
+  /**
+   * @return <code>true</code> if the statements of the watched thread were cancelled, it must not execute new ones
+   *         until {@link #resume()}
+   */
+  public synchronized boolean isCancelled() {
+    return cancelled;
+  }
+
+  /**
+   * Lets the watched thread execute statements again, once the statements cancelled are no longer needed.
+   */
+  public synchronized void resume() {
+    cancelled = false;
+  }
+
+  /**
+   * Cancels the statements of the watched thread, the statements failing to cancel are skipped.
+   */
+  public void cancelAll() {
+    List<Statement> running;
+    synchronized (this) {
+      cancelled = true;
+      running = new ArrayList<>(statements);
+    }
+    for (Statement statement : running) {
+      try {
+        if (!statement.isClosed()) {
+          statement.cancel();
+        }
+      } catch (SQLException e) {
+        if (log.isDebugEnabled()) {
+          log.debug("Error cancelling statement " + statement + ".  Cause: " + e);
+        }
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    if (--depth == 0) {
+      current.remove();
+      synchronized (this) {
+        statements.clear();
+      }
+    }
+  }
+
+}
@@ -0,0 +1,185 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.deadline;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+
+/**
+ * Hashed wheel timer running short tasks, such as statement cancellations, on a single daemon thread.
+ * <p>
+ * Scheduling and cancelling are constant time, which matters as nearly every timeout is cancelled long before it
+ * expires. Tasks run within one tick of their delay.
+ *
+ * @since 3.6.0
+ */
+public class TimerWheel {
+
+  private static final Log log = LogFactory.getLog(TimerWheel.class);
+
+  private static final class SharedHolder {
+    private static final TimerWheel INSTANCE = new TimerWheel("mybatis-timer-wheel", 10, TimeUnit.MILLISECONDS, 512);
+  }
+
+  private final long tickNanos;
+  private final List<List<Timeout>> wheel;
+  private final int mask;
+  private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+  private final long startTime;
+  private final Thread worker;
+  private volatile boolean stopped;
+  private long tick;
+
+  /**
+   * @param threadName
+   *          the name of the thread running the tasks
+   * @param tickDuration
+   *          the precision of the timer
+   * @param unit
+   *          the unit of the tick duration
+   * @param ticksPerWheel
+   *          the number of slots of the wheel, rounded up to a power of two
+   */
+  public TimerWheel(String threadName, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+    this.tickNanos = Math.max(unit.toNanos(tickDuration), 1);
+    int size = Integer.highestOneBit(Math.max(ticksPerWheel, 1) - 1) << 1;
+    size = Math.max(size, 1);
+    this.wheel = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      wheel.add(new ArrayList<>());
+    }
+    this.mask = size - 1;
+    this.startTime = System.nanoTime();
+    this.worker = new Thread(this::run, threadName);
+    worker.setDaemon(true);
+    worker.start();
+  }
+
+  /**
+   * @return the timer shared by the statements of all sessions
+   */
+  public static TimerWheel shared() {
+    return SharedHolder.INSTANCE;
+  }
+
+  public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+    if (stopped) {
+      throw new IllegalStateException("The timer was stopped.");
+    }
+    Timeout timeout = new Timeout(task, System.nanoTime() - startTime + Math.max(unit.toNanos(delay), 0));
+    pending.add(timeout);
+    return timeout;
+  }
+
+  public void stop() {
+    stopped = true;
+    worker.interrupt();
+  }
+
+  private void run() {
+    while (!stopped) {
+      long deadline = tickNanos * (tick + 1);
+      long sleep;
+      while ((sleep = deadline - (System.nanoTime() - startTime)) > 0) {
+        LockSupport.parkNanos(this, sleep);
+        if (stopped) {
+          return;
+        }
+      }
+      transferPending();
+      expire(wheel.get((int) (tick & mask)));
+      tick++;
+    }
+  }
+
+  private void transferPending() {
+    Timeout timeout;
+    while ((timeout = pending.poll()) != null) {
+      if (timeout.state.get() != Timeout.PENDING) {
+        continue;
+      }
+      long ticks = Math.max(timeout.deadline / tickNanos, tick);
+      timeout.remainingRounds = (ticks - tick) / wheel.size();
+      wheel.get((int) (ticks & mask)).add(timeout);
+    }
+  }
+
+  private void expire(List<Timeout> bucket) {
+    for (Iterator<Timeout> iterator = bucket.iterator(); iterator.hasNext();) {
+      Timeout timeout = iterator.next();
+      if (timeout.state.get() != Timeout.PENDING) {
+        iterator.remove();
+      } else if (timeout.remainingRounds <= 0) {
+        iterator.remove();
+        timeout.expire();
+      } else {
+        timeout.remainingRounds--;
+      }
+    }
+  }
+
+  /**
+   * A task scheduled on a {@link TimerWheel}.
+   */
+  public static final class Timeout {
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final Runnable task;
+    private final long deadline;
+    private final AtomicInteger state = new AtomicInteger(PENDING);
+    private long remainingRounds;
+
+    Timeout(Runnable task, long deadline) {
+      this.task = task;
+      this.deadline = deadline;
+    }
+
+    /**
+     * @return <code>true</code> if the task will not run, <code>false</code> if it already ran
+     */
+    public boolean cancel() {
+      return state.compareAndSet(PENDING, CANCELLED) || state.get() == CANCELLED;
+    }
+
+    public boolean isExpired() {
+      return state.get() == EXPIRED;
+    }
+
+    private void expire() {
+      if (state.compareAndSet(PENDING, EXPIRED)) {
+        try {
+          task.run();
+        } catch (Throwable t) {
+          log.warn("Timer task " + task + " failed.  Cause: " + t);
+        }
+      }
+    }
+
+  }
+
+}
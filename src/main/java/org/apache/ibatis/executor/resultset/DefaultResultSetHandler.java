@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2025 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -38,6 +38,7 @@ import org.apache.ibatis.annotations.AutomapConstructor;
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.binding.MapperMethod.ParamMap;
 import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cache.entity.EntityCache;
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.cursor.defaults.DefaultCursor;
 import org.apache.ibatis.executor.ErrorContext;
@@ -90,6 +91,7 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   private final TypeHandlerRegistry typeHandlerRegistry;
   private final ObjectFactory objectFactory;
   private final ReflectorFactory reflectorFactory;
+  private final EntityCache entityCache;
 
   // pending creations property tracker
   private final Map<Object, PendingRelation> pendingPccRelations = new IdentityHashMap<>();
@@ -140,6 +142,8 @@ public class DefaultResultSetHandler implements ResultSetHandler {
     this.typeHandlerRegistry = configuration.getTypeHandlerRegistry();
     this.objectFactory = configuration.getObjectFactory();
     this.reflectorFactory = configuration.getReflectorFactory();
+    // rows read after uncommitted updates must not be seen by other sessions
+    this.entityCache = executor == null || executor.hasUncommittedUpdates() ? null : configuration.getEntityCache();
     this.resultHandler = resultHandler;
   }
 
@@ -443,6 +447,14 @@ public class DefaultResultSetHandler implements ResultSetHandler {
 
   private Object getRowValue(ResultSetWrapper rsw, ResultMap resultMap, String columnPrefix, CacheKey parentRowKey)
       throws SQLException {
+    final CacheKey entityKey = parentRowKey == null ? createEntityKey(rsw, resultMap, columnPrefix, false) : null;
+    if (entityKey != null) {
+      // cached entities are shared by all sessions and returned as is, they must not be modified
+      final Object entity = entityCache.getObject(resultMap, entityKey);
+      if (entity != null) {
+        return entity;
+      }
+    }
     final ResultLoaderMap lazyLoader = new ResultLoaderMap();
     Object rowValue = createResultObject(rsw, resultMap, lazyLoader, columnPrefix, parentRowKey);
     if (rowValue != null && !hasTypeHandlerForResultObject(rsw, resultMap.getType())) {
@@ -455,6 +467,9 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       foundValues = lazyLoader.size() > 0 || foundValues;
       rowValue = foundValues || configuration.isReturnInstanceForEmptyRow() ? rowValue : null;
     }
+    if (entityKey != null && rowValue != null) {
+      entityCache.putObject(resultMap, entityKey, rowValue);
+    }
 
     if (parentRowKey != null) {
       // found a simple object/primitive in pending constructor creation that will need linking later
@@ -483,21 +498,28 @@ public class DefaultResultSetHandler implements ResultSetHandler {
       applyNestedResultMappings(rsw, resultMap, metaObject, columnPrefix, combinedKey, false);
       ancestorObjects.remove(resultMapId);
     } else {
-      final ResultLoaderMap lazyLoader = new ResultLoaderMap();
-      rowValue = createResultObject(rsw, resultMap, lazyLoader, columnPrefix, combinedKey);
-      if (rowValue != null && !hasTypeHandlerForResultObject(rsw, resultMap.getType())) {
-        final MetaObject metaObject = configuration.newMetaObject(rowValue);
-        boolean foundValues = this.useConstructorMappings;
-        if (shouldApplyAutomaticMappings(resultMap, true)) {
-          foundValues = applyAutomaticMappings(rsw, resultMap, metaObject, columnPrefix) || foundValues;
+      final CacheKey entityKey = createEntityKey(rsw, resultMap, columnPrefix, true);
+      rowValue = entityKey == null ? null : entityCache.getObject(resultMap, entityKey);
+      if (rowValue == null) {
+        final ResultLoaderMap lazyLoader = new ResultLoaderMap();
+        rowValue = createResultObject(rsw, resultMap, lazyLoader, columnPrefix, combinedKey);
+        if (rowValue != null && !hasTypeHandlerForResultObject(rsw, resultMap.getType())) {
+          final MetaObject metaObject = configuration.newMetaObject(rowValue);
+          boolean foundValues = this.useConstructorMappings;
+          if (shouldApplyAutomaticMappings(resultMap, true)) {
+            foundValues = applyAutomaticMappings(rsw, resultMap, metaObject, columnPrefix) || foundValues;
+          }
+          foundValues = applyPropertyMappings(rsw, resultMap, metaObject, lazyLoader, columnPrefix) || foundValues;
+          putAncestor(rowValue, resultMapId);
+          foundValues = applyNestedResultMappings(rsw, resultMap, metaObject, columnPrefix, combinedKey, true)
+              || foundValues;
+          ancestorObjects.remove(resultMapId);
+          foundValues = lazyLoader.size() > 0 || foundValues;
+          rowValue = foundValues || configuration.isReturnInstanceForEmptyRow() ? rowValue : null;
+        }
+        if (entityKey != null && rowValue != null) {
+          entityCache.putObject(resultMap, entityKey, rowValue);
         }
-        foundValues = applyPropertyMappings(rsw, resultMap, metaObject, lazyLoader, columnPrefix) || foundValues;
-        putAncestor(rowValue, resultMapId);
-        foundValues = applyNestedResultMappings(rsw, resultMap, metaObject, columnPrefix, combinedKey, true)
-            || foundValues;
-        ancestorObjects.remove(resultMapId);
-        foundValues = lazyLoader.size() > 0 || foundValues;
-        rowValue = foundValues || configuration.isReturnInstanceForEmptyRow() ? rowValue : null;
       }
       if (combinedKey != CacheKey.NULL_CACHE_KEY) {
         nestedResultObjects.put(combinedKey, rowValue);
@@ -1458,6 +1480,47 @@ public class DefaultResultSetHandler implements ResultSetHandler {
   // UNIQUE RESULT KEY
   //
 
+  private CacheKey createEntityKey(ResultSetWrapper rsw, ResultMap resultMap, String columnPrefix, boolean isNested)
+      throws SQLException {
+    if (entityCache == null || !entityCache.isCacheable(resultMap)) {
+      return null;
+    }
+    // an entity mapped from a narrower row would be served to the statements reading every column
+    final Set<String> mappedColumnNames = rsw.getMappedColumnNames(resultMap, columnPrefix);
+    if (mappedColumnNames.size() < resultMap.getMappedColumns().size()
+        || shouldApplyAutomaticMappings(resultMap, isNested) && hasUnmappedColumns(rsw, resultMap, columnPrefix)) {
+      return null;
+    }
+    final CacheKey entityKey = entityCache.createKey(resultMap);
+    for (ResultMapping idMapping : entityCache.getIdMappings(resultMap)) {
+      final String column = prependPrefix(idMapping.getColumn(), columnPrefix);
+      if (!mappedColumnNames.contains(column.toUpperCase(Locale.ENGLISH))) {
+        return null;
+      }
+      final Object value = idMapping.getTypeHandler().getResult(rsw.getResultSet(), column);
+      if (value == null) {
+        return null;
+      }
+      entityKey.update(value);
+    }
+    return entityKey;
+  }
+
+  private boolean hasUnmappedColumns(ResultSetWrapper rsw, ResultMap resultMap, String columnPrefix)
+      throws SQLException {
+    final List<String> unmappedColumnNames = rsw.getUnmappedColumnNames(resultMap, columnPrefix);
+    if (columnPrefix == null || columnPrefix.isEmpty()) {
+      return !unmappedColumnNames.isEmpty();
+    }
+    final String upperColumnPrefix = columnPrefix.toUpperCase(Locale.ENGLISH);
+    for (String columnName : unmappedColumnNames) {
+      if (columnName.toUpperCase(Locale.ENGLISH).startsWith(upperColumnPrefix)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private CacheKey createRowKey(ResultMap resultMap, ResultSetWrapper rsw, String columnPrefix) throws SQLException {
     final CacheKey cacheKey = new CacheKey();
     cacheKey.update(resultMap.getId());
@@ -0,0 +1,69 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.sharding;
+
+import java.util.Map;
+
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * Takes the shard key from a property of the parameter object, or from the parameter of that name for mapper methods
+ * with several parameters. Integral keys are distributed by modulo, other keys by hash code.
+ * <p>
+ * A mapper method taking the key as its only, simple typed, parameter must name it with
+ * {@link org.apache.ibatis.annotations.Param} to be routed.
+ *
+ * @since 3.6.0
+ */
+public class PropertyShardingStrategy implements ShardingStrategy {
+
+  private final String property;
+
+  public PropertyShardingStrategy(String property) {
+    this.property = property;
+  }
+
+  @Override
+  public Integer getShard(MappedStatement ms, Object parameter, int shardCount) {
+    Object key = getShardKey(ms.getConfiguration(), parameter);
+    if (key == null) {
+      return null;
+    }
+    if (key instanceof Long || key instanceof Integer || key instanceof Short || key instanceof Byte) {
+      return (int) Math.floorMod(((Number) key).longValue(), (long) shardCount);
+    }
+    return Math.floorMod(key.hashCode(), shardCount);
+  }
+
+  private Object getShardKey(Configuration configuration, Object parameter) {
+    if (parameter == null || configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+      return null;
+    }
+    if (parameter instanceof Map) {
+      Map<?, ?> map = (Map<?, ?>) parameter;
+      return map.containsKey(property) ? map.get(property) : null;
+    }
+    MetaObject metaObject = configuration.newMetaObject(parameter);
+    return metaObject.hasGetter(property) ? metaObject.getValue(property) : null;
+  }
+
+  public String getProperty() {
+    return property;
+  }
+
+}
@@ -0,0 +1,538 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.sharding;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ResultMap;
+import org.apache.ibatis.mapping.ResultMapping;
+import org.apache.ibatis.reflection.MetaClass;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.factory.ObjectFactory;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+
+/**
+ * A select sent to every shard, with what is needed to merge the results of the shards into the result the statement
+ * would have returned on a single database.
+ * <p>
+ * The SQL is inspected for:
+ * <ul>
+ * <li>a select list made only of <code>count</code>, <code>sum</code>, <code>min</code> and <code>max</code> without
+ * <code>group by</code>, whose values are combined into one row</li>
+ * <li>a trailing <code>order by</code> on columns, by which the rows of the shards are merged</li>
+ * <li>a trailing <code>limit</code>, with or without offset, pushed down to the shards as a limit of offset + limit
+ * rows and applied again to the merged rows. The {@link RowBounds} are handled the same way.</li>
+ * </ul>
+ * Anything else is merged by appending the rows of the shards in shard order.
+ *
+ * @since 3.6.0
+ */
+class ShardedQuery {
+
+  private static final Log log = LogFactory.getLog(ShardedQuery.class);
+
+  private static final int FLAGS = Pattern.CASE_INSENSITIVE | Pattern.DOTALL;
+  private static final Pattern LIMIT = Pattern
+      .compile("\\s+limit\\s+(\\d+|\\?)(?:\\s*,\\s*(\\d+|\\?)|\\s+offset\\s+(\\d+|\\?))?\\s*$", FLAGS);
+  private static final Pattern ORDER_BY = Pattern.compile("\\border\\s+by\\s", FLAGS);
+  private static final Pattern ORDER_BY_END = Pattern.compile("\\s(?:limit|offset|fetch|for)\\s", FLAGS);
+  private static final Pattern ORDER_ITEM = Pattern
+      .compile("^([\\w.\"`\\[\\]]+)(?:\\s+(asc|desc))?(?:\\s+nulls\\s+(first|last))?$", FLAGS);
+  private static final Pattern SELECT_LIST = Pattern.compile("^\\s*select\\s+(.+?)\\s+from\\s", FLAGS);
+  private static final Pattern GROUP_BY = Pattern.compile("\\bgroup\\s+by\\b", FLAGS);
+  private static final Pattern AGGREGATE = Pattern
+      .compile("^(count|sum|min|max)\\s*\\((.*)\\)(?:\\s+(?:as\\s+)?([\\w\"`]+))?$", FLAGS);
+
+  private final MappedStatement ms;
+  private final Configuration configuration;
+  private final Object parameter;
+  private BoundSql boundSql;
+  private final RowBounds rowBounds;
+  private final List<OrderItem> orderItems;
+  private final List<Aggregate> aggregates;
+  private long offset;
+  private long limit = Long.MAX_VALUE;
+
+  ShardedQuery(MappedStatement ms, Object parameter, RowBounds rowBounds, BoundSql boundSql) {
+    this.ms = ms;
+    this.configuration = ms.getConfiguration();
+    this.parameter = parameter;
+    this.boundSql = boundSql;
+    this.rowBounds = rowBounds;
+    String sql = boundSql.getSql();
+    this.aggregates = parseAggregates(sql);
+    this.orderItems = aggregates == null ? parseOrderBy(sql) : null;
+    pushDownLimit(sql);
+    if (rowBounds.getOffset() != RowBounds.NO_ROW_OFFSET || rowBounds.getLimit() != RowBounds.NO_ROW_LIMIT) {
+      // the row bounds apply to the rows selected by the SQL
+      offset = saturatedAdd(offset, rowBounds.getOffset());
+      limit = Math.max(0, Math.min(limit - rowBounds.getOffset(), rowBounds.getLimit()));
+    }
+  }
+
+  /**
+   * @return the SQL sent to each shard, which asks for the rows to skip when the statement has an offset
+   */
+  BoundSql getShardBoundSql() {
+    return boundSql;
+  }
+
+  RowBounds getShardRowBounds() {
+    if (rowBounds.getOffset() == RowBounds.NO_ROW_OFFSET && rowBounds.getLimit() == RowBounds.NO_ROW_LIMIT) {
+      return rowBounds;
+    }
+    return new RowBounds(RowBounds.NO_ROW_OFFSET, (int) Math.min(saturatedAdd(offset, limit), RowBounds.NO_ROW_LIMIT));
+  }
+
+  List<Object> merge(List<List<Object>> shardResults) {
+    List<Object> merged = new ArrayList<>();
+    for (List<Object> shardResult : shardResults) {
+      merged.addAll(shardResult);
+    }
+    if (aggregates != null) {
+      List<Object> combined = combineAggregates(merged);
+      if (combined != null) {
+        return combined;
+      }
+    } else if (orderItems != null) {
+      Comparator<Object> comparator = comparator(merged);
+      if (comparator != null) {
+        // the results of each shard are sorted runs, which the sort merges
+        merged.sort(comparator);
+      }
+    }
+    if (offset == 0 && limit >= merged.size()) {
+      return merged;
+    }
+    int from = (int) Math.min(offset, merged.size());
+    int to = (int) Math.min(saturatedAdd(from, limit), merged.size());
+    return new ArrayList<>(merged.subList(from, to));
+  }
+
+  private void pushDownLimit(String sql) {
+    Matcher matcher = LIMIT.matcher(sql);
+    if (!matcher.find()) {
+      return;
+    }
+    boolean mysqlSyntax = matcher.group(2) != null;
+    String limitToken = mysqlSyntax ? matcher.group(2) : matcher.group(1);
+    String offsetToken = mysqlSyntax ? matcher.group(1) : matcher.group(3);
+    int firstPlaceholder = countPlaceholders(sql.substring(0, matcher.start()));
+    List<Integer> placeholders = new ArrayList<>();
+    Long limitValue = resolve(limitToken, firstPlaceholder + placeholderIndex(matcher, mysqlSyntax ? 2 : 1),
+        placeholders);
+    Long offsetValue = offsetToken == null ? Long.valueOf(0)
+        : resolve(offsetToken, firstPlaceholder + placeholderIndex(matcher, mysqlSyntax ? 1 : 3), placeholders);
+    if (limitValue == null || offsetValue == null) {
+      return;
+    }
+    limit = limitValue;
+    offset = offsetValue;
+    if (offset > 0) {
+      List<ParameterMapping> parameterMappings = new ArrayList<>(boundSql.getParameterMappings());
+      placeholders.sort(Comparator.reverseOrder());
+      for (int index : placeholders) {
+        parameterMappings.remove(index);
+      }
+      BoundSql shardBoundSql = new BoundSql(configuration,
+          sql.substring(0, matcher.start()) + " LIMIT " + saturatedAdd(offset, limit), parameterMappings, parameter);
+      for (Map.Entry<String, Object> entry : boundSql.getAdditionalParameters().entrySet()) {
+        shardBoundSql.setAdditionalParameter(entry.getKey(), entry.getValue());
+      }
+      boundSql = shardBoundSql;
+    }
+  }
+
+  private static long saturatedAdd(long a, long b) {
+    try {
+      return Math.addExact(a, b);
+    } catch (ArithmeticException e) {
+      return Long.MAX_VALUE;
+    }
+  }
+
+  private static int placeholderIndex(Matcher matcher, int group) {
+    // placeholders of the limit clause that come before the given group
+    int count = 0;
+    for (int i = 1; i < group; i++) {
+      if ("?".equals(matcher.group(i))) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static int countPlaceholders(String sql) {
+    int count = 0;
+    for (int i = 0; i < sql.length(); i++) {
+      if (sql.charAt(i) == '?') {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private Long resolve(String token, int placeholder, List<Integer> placeholders) {
+    if (!"?".equals(token)) {
+      return Long.valueOf(token);
+    }
+    List<ParameterMapping> parameterMappings = boundSql.getParameterMappings();
+    if (placeholder >= parameterMappings.size()) {
+      return null;
+    }
+    placeholders.add(placeholder);
+    String property = parameterMappings.get(placeholder).getProperty();
+    Object value;
+    if (boundSql.hasAdditionalParameter(property)) {
+      value = boundSql.getAdditionalParameter(property);
+    } else if (parameter == null) {
+      value = null;
+    } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameter.getClass())) {
+      value = parameter;
+    } else {
+      value = configuration.newMetaObject(parameter).getValue(property);
+    }
+    return value instanceof Number ? ((Number) value).longValue() : null;
+  }
+
+  private static List<OrderItem> parseOrderBy(String sql) {
+    Matcher matcher = ORDER_BY.matcher(sql);
+    int start = -1;
+    while (matcher.find()) {
+      start = matcher.end();
+    }
+    if (start < 0) {
+      return null;
+    }
+    String clause = sql.substring(start);
+    Matcher end = ORDER_BY_END.matcher(clause);
+    if (end.find()) {
+      clause = clause.substring(0, end.start());
+    }
+    List<String> items = splitTopLevel(clause);
+    if (items == null) {
+      // the order by belongs to a subquery
+      return null;
+    }
+    List<OrderItem> orderItems = new ArrayList<>();
+    for (String item : items) {
+      Matcher itemMatcher = ORDER_ITEM.matcher(item.trim());
+      if (!itemMatcher.matches()) {
+        return null;
+      }
+      String column = unquote(itemMatcher.group(1));
+      if (column.chars().allMatch(Character::isDigit)) {
+        return null;
+      }
+      boolean descending = "desc".equalsIgnoreCase(itemMatcher.group(2));
+      String nulls = itemMatcher.group(3);
+      boolean nullsFirst = nulls == null ? !descending : "first".equalsIgnoreCase(nulls);
+      orderItems.add(new OrderItem(column, descending, nullsFirst));
+    }
+    return orderItems;
+  }
+
+  private static List<Aggregate> parseAggregates(String sql) {
+    Matcher matcher = SELECT_LIST.matcher(sql);
+    if (!matcher.find() || GROUP_BY.matcher(sql).find()) {
+      return null;
+    }
+    List<String> items = splitTopLevel(matcher.group(1));
+    if (items == null) {
+      return null;
+    }
+    List<Aggregate> aggregates = new ArrayList<>();
+    for (String item : items) {
+      Matcher itemMatcher = AGGREGATE.matcher(item.trim());
+      if (!itemMatcher.matches() || itemMatcher.group(2).trim().toLowerCase(Locale.ENGLISH).startsWith("distinct")) {
+        return null;
+      }
+      String alias = itemMatcher.group(3) == null ? null : unquote(itemMatcher.group(3));
+      aggregates.add(new Aggregate(itemMatcher.group(1).toLowerCase(Locale.ENGLISH), alias));
+    }
+    return aggregates;
+  }
+
+  /**
+   * @return the comma separated items outside parentheses, <code>null</code> if the parentheses are unbalanced
+   */
+  private static List<String> splitTopLevel(String text) {
+    List<String> items = new ArrayList<>();
+    int depth = 0;
+    int start = 0;
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (c == '(') {
+        depth++;
+      } else if (c == ')') {
+        depth--;
+        if (depth < 0) {
+          return null;
+        }
+      } else if (c == ',' && depth == 0) {
+        items.add(text.substring(start, i));
+        start = i + 1;
+      }
+    }
+    if (depth != 0) {
+      return null;
+    }
+    items.add(text.substring(start));
+    return items;
+  }
+
+  private static String unquote(String name) {
+    String column = name.substring(name.lastIndexOf('.') + 1);
+    return column.replaceAll("[\"`\\[\\]]", "");
+  }
+
+  private Comparator<Object> comparator(List<Object> rows) {
+    Object sample = rows.stream().filter(row -> row != null).findFirst().orElse(null);
+    if (sample == null) {
+      return null;
+    }
+    Comparator<Object> comparator = null;
+    for (OrderItem item : orderItems) {
+      ValueExtractor extractor = extractor(sample, item.column);
+      if (extractor == null) {
+        if (log.isDebugEnabled()) {
+          log.debug("Column '" + item.column + "' of statement '" + ms.getId()
+              + "' is not mapped, the results of the shards are not merged in order.");
+        }
+        return null;
+      }
+      Comparator<Object> itemComparator = (a, b) -> compare(extractor.get(a), extractor.get(b), item);
+      comparator = comparator == null ? itemComparator : comparator.thenComparing(itemComparator);
+    }
+    return comparator;
+  }
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private static int compare(Object a, Object b, OrderItem item) {
+    if (a == null || b == null) {
+      if (a == b) {
+        return 0;
+      }
+      return a == null == item.nullsFirst ? -1 : 1;
+    }
+    int result = ((Comparable) a).compareTo(b);
+    return item.descending ? -result : result;
+  }
+
+  private List<Object> combineAggregates(List<Object> rows) {
+    rows.removeIf(row -> row == null);
+    if (rows.size() <= 1) {
+      return rows;
+    }
+    Object first = rows.get(0);
+    if (configuration.getTypeHandlerRegistry().hasTypeHandler(first.getClass())) {
+      if (aggregates.size() != 1) {
+        return null;
+      }
+      Object value = null;
+      for (Object row : rows) {
+        value = aggregates.get(0).combine(value, row);
+      }
+      List<Object> combined = new ArrayList<>();
+      combined.add(value);
+      return combined;
+    }
+    List<ValueExtractor> extractors = new ArrayList<>();
+    for (Aggregate aggregate : aggregates) {
+      String column = aggregate.alias;
+      if (column == null && first instanceof Map && ((Map<?, ?>) first).size() == 1) {
+        column = String.valueOf(((Map<?, ?>) first).keySet().iterator().next());
+      }
+      ValueExtractor extractor = column == null ? null : extractor(first, column);
+      if (extractor == null) {
+        return null;
+      }
+      extractors.add(extractor);
+    }
+    // the rows of the shards are held by their local caches, so the combined values go to a copy
+    Object combinedRow = copyOf(first);
+    if (combinedRow == null) {
+      return null;
+    }
+    MetaObject metaObject = configuration.newMetaObject(combinedRow);
+    for (int i = 0; i < aggregates.size(); i++) {
+      Object value = null;
+      for (Object row : rows) {
+        value = aggregates.get(i).combine(value, extractors.get(i).get(row));
+      }
+      metaObject.setValue(extractors.get(i).name, value);
+    }
+    List<Object> combined = new ArrayList<>();
+    combined.add(combinedRow);
+    return combined;
+  }
+
+  /**
+   * @return a new row with the values of this one, <code>null</code> if its type cannot be instantiated
+   */
+  @SuppressWarnings("unchecked")
+  private Object copyOf(Object row) {
+    ObjectFactory objectFactory = configuration.getObjectFactory();
+    try {
+      if (row instanceof Map) {
+        Map<Object, Object> copy = (Map<Object, Object>) objectFactory.create(row.getClass());
+        copy.putAll((Map<?, ?>) row);
+        return copy;
+      }
+      Object copy = objectFactory.create(row.getClass());
+      MetaObject source = configuration.newMetaObject(row);
+      MetaObject target = configuration.newMetaObject(copy);
+      for (String name : source.getGetterNames()) {
+        if (target.hasSetter(name)) {
+          target.setValue(name, source.getValue(name));
+        }
+      }
+      return copy;
+    } catch (ReflectionException e) {
+      return null;
+    }
+  }
+
+  /**
+   * @return how to read the value of a column from a result row, <code>null</code> if the column is not mapped
+   */
+  private ValueExtractor extractor(Object sample, String column) {
+    if (configuration.getTypeHandlerRegistry().hasTypeHandler(sample.getClass())) {
+      return new ValueExtractor(null, row -> row);
+    }
+    if (sample instanceof Map) {
+      for (Object key : ((Map<?, ?>) sample).keySet()) {
+        if (key instanceof String && ((String) key).equalsIgnoreCase(column)) {
+          return new ValueExtractor((String) key, row -> ((Map<?, ?>) row).get(key));
+        }
+      }
+      return null;
+    }
+    String property = null;
+    for (ResultMap resultMap : ms.getResultMaps()) {
+      for (ResultMapping resultMapping : resultMap.getResultMappings()) {
+        if (column.equalsIgnoreCase(resultMapping.getColumn()) && resultMapping.getNestedQueryId() == null
+            && resultMapping.getNestedResultMapId() == null) {
+          property = resultMapping.getProperty();
+        }
+      }
+    }
+    if (property == null) {
+      property = MetaClass.forClass(sample.getClass(), configuration.getReflectorFactory()).findProperty(column,
+          configuration.isMapUnderscoreToCamelCase());
+    }
+    if (property == null) {
+      return null;
+    }
+    String name = property;
+    return new ValueExtractor(name, row -> configuration.newMetaObject(row).getValue(name));
+  }
+
+  private static class ValueExtractor {
+    private final String name;
+    private final Function<Object, Object> reader;
+
+    ValueExtractor(String name, Function<Object, Object> reader) {
+      this.name = name;
+      this.reader = reader;
+    }
+
+    Object get(Object row) {
+      return row == null ? null : reader.apply(row);
+    }
+  }
+
+  private static class OrderItem {
+    private final String column;
+    private final boolean descending;
+    private final boolean nullsFirst;
+
+    OrderItem(String column, boolean descending, boolean nullsFirst) {
+      this.column = column;
+      this.descending = descending;
+      this.nullsFirst = nullsFirst;
+    }
+  }
+
+  private static class Aggregate {
+    private final String function;
+    private final String alias;
+
+    Aggregate(String function, String alias) {
+      this.function = function;
+      this.alias = alias;
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    Object combine(Object current, Object value) {
+      if (current == null) {
+        return value;
+      }
+      if (value == null) {
+        return current;
+      }
+      switch (function) {
+        case "min":
+          return ((Comparable) value).compareTo(current) < 0 ? value : current;
+        case "max":
+          return ((Comparable) value).compareTo(current) > 0 ? value : current;
+        default:
+          return add((Number) current, (Number) value);
+      }
+    }
+
+    private static Number add(Number a, Number b) {
+      if (a instanceof BigDecimal || b instanceof BigDecimal) {
+        return new BigDecimal(a.toString()).add(new BigDecimal(b.toString()));
+      }
+      if (a instanceof BigInteger || b instanceof BigInteger) {
+        return new BigInteger(a.toString()).add(new BigInteger(b.toString()));
+      }
+      if (a instanceof Double || a instanceof Float || b instanceof Double || b instanceof Float) {
+        double sum = a.doubleValue() + b.doubleValue();
+        return a instanceof Float ? Float.valueOf((float) sum) : Double.valueOf(sum);
+      }
+      long sum = Math.addExact(a.longValue(), b.longValue());
+      if (a instanceof Integer) {
+        return Math.toIntExact(sum);
+      }
+      if (a instanceof Short) {
+        return (short) sum;
+      }
+      if (a instanceof Byte) {
+        return (byte) sum;
+      }
+      return sum;
+    }
+  }
+
+}
@@ -0,0 +1,185 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.sharding;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.ibatis.exceptions.ExceptionFactory;
+import org.apache.ibatis.executor.BatchExecutor;
+import org.apache.ibatis.executor.CachingExecutor;
+import org.apache.ibatis.executor.ErrorContext;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.ReuseExecutor;
+import org.apache.ibatis.executor.SimpleExecutor;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionException;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.TransactionIsolationLevel;
+import org.apache.ibatis.session.defaults.DefaultSqlSession;
+import org.apache.ibatis.transaction.Transaction;
+import org.apache.ibatis.transaction.TransactionFactory;
+import org.apache.ibatis.transaction.managed.ManagedTransactionFactory;
+
+/**
+ * Opens sessions spanning several shards, one {@link Environment} per shard, sharing the mapped statements of one
+ * configuration. The position of an environment in the list is its shard number.
+ *
+ * <pre>
+ * SqlSessionFactory factory = new ShardedSqlSessionFactory(configuration, Arrays.asList(shard0, shard1),
+ *     new PropertyShardingStrategy("userId"));
+ * </pre>
+ *
+ * @since 3.6.0
+ */
+public class ShardedSqlSessionFactory implements SqlSessionFactory {
+
+  private static final AtomicInteger threadCount = new AtomicInteger();
+
+  private final Configuration configuration;
+  private final List<Environment> environments;
+  private final ShardingStrategy strategy;
+  private final ExecutorService queryExecutor;
+
+  public ShardedSqlSessionFactory(Configuration configuration, List<Environment> environments,
+      ShardingStrategy strategy) {
+    this(configuration, environments, strategy, Executors.newCachedThreadPool(runnable -> {
+      Thread thread = new Thread(runnable, "mybatis-shard-query-" + threadCount.incrementAndGet());
+      thread.setDaemon(true);
+      return thread;
+    }));
+  }
+
+  /**
+   * @param queryExecutor
+   *          runs the queries sent to all shards, it needs as many threads as there are shards to query them all at
+   *          once
+   */
+  public ShardedSqlSessionFactory(Configuration configuration, List<Environment> environments,
+      ShardingStrategy strategy, ExecutorService queryExecutor) {
+    if (environments.isEmpty()) {
+      throw new IllegalArgumentException("At least one shard environment is required.");
+    }
+    this.configuration = configuration;
+    this.environments = Collections.unmodifiableList(new ArrayList<>(environments));
+    this.strategy = strategy;
+    this.queryExecutor = queryExecutor;
+  }
+
+  public List<Environment> getEnvironments() {
+    return environments;
+  }
+
+  public ShardingStrategy getStrategy() {
+    return strategy;
+  }
+
+  @Override
+  public SqlSession openSession() {
+    return openSession(configuration.getDefaultExecutorType(), null, false);
+  }
+
+  @Override
+  public SqlSession openSession(boolean autoCommit) {
+    return openSession(configuration.getDefaultExecutorType(), null, autoCommit);
+  }
+
+  @Override
+  public SqlSession openSession(ExecutorType execType) {
+    return openSession(execType, null, false);
+  }
+
+  @Override
+  public SqlSession openSession(TransactionIsolationLevel level) {
+    return openSession(configuration.getDefaultExecutorType(), level, false);
+  }
+
+  @Override
+  public SqlSession openSession(ExecutorType execType, TransactionIsolationLevel level) {
+    return openSession(execType, level, false);
+  }
+
+  @Override
+  public SqlSession openSession(ExecutorType execType, boolean autoCommit) {
+    return openSession(execType, null, autoCommit);
+  }
+
+  @Override
+  public SqlSession openSession(Connection connection) {
+    throw new SqlSessionException("A sharded session cannot be opened on a single connection.");
+  }
+
+  @Override
+  public SqlSession openSession(ExecutorType execType, Connection connection) {
+    throw new SqlSessionException("A sharded session cannot be opened on a single connection.");
+  }
+
+  @Override
+  public Configuration getConfiguration() {
+    return configuration;
+  }
+
+  private SqlSession openSession(ExecutorType execType, TransactionIsolationLevel level, boolean autoCommit) {
+    List<Transaction> transactions = new ArrayList<>(environments.size());
+    try {
+      List<Executor> shards = new ArrayList<>(environments.size());
+      for (Environment environment : environments) {
+        TransactionFactory transactionFactory = environment.getTransactionFactory() == null
+            ? new ManagedTransactionFactory() : environment.getTransactionFactory();
+        Transaction tx = transactionFactory.newTransaction(environment.getDataSource(), level, autoCommit);
+        transactions.add(tx);
+        shards.add(newShardExecutor(tx, execType));
+      }
+      Executor executor = new ShardingExecutor(shards, strategy, queryExecutor);
+      if (configuration.isCacheEnabled()) {
+        executor = new CachingExecutor(executor, configuration.getCacheInvalidationService());
+      }
+      executor = (Executor) configuration.getInterceptorChain().pluginAll(executor);
+      return new DefaultSqlSession(configuration, executor, autoCommit);
+    } catch (Exception e) {
+      for (Transaction tx : transactions) {
+        try {
+          tx.close();
+        } catch (Exception ignore) {
+          // Intentionally ignore. Prefer previous error.
+        }
+      }
+      throw ExceptionFactory.wrapException("Error opening session.  Cause: " + e, e);
+    } finally {
+      ErrorContext.instance().reset();
+    }
+  }
+
+  private Executor newShardExecutor(Transaction tx, ExecutorType execType) {
+    execType = execType == null ? configuration.getDefaultExecutorType() : execType;
+    if (ExecutorType.BATCH == execType) {
+      return new BatchExecutor(configuration, tx);
+    }
+    if (ExecutorType.REUSE == execType) {
+      return new ReuseExecutor(configuration, tx);
+    }
+    return new SimpleExecutor(configuration, tx);
+  }
+
+}
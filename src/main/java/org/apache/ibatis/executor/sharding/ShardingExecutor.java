@@ -0,0 +1,281 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.sharding;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.executor.BatchExecutor;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.executor.deadline.Deadline;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.transaction.Transaction;
+
+/**
+ * Runs each statement on the shards that hold its data. A statement whose parameter carries a shard key runs on the
+ * owning shard only. A select without a key runs on all shards in parallel and the results are merged by
+ * {@link ShardedQuery}; an update or delete without a key runs on all shards and returns the total count. An insert
+ * must carry a key.
+ * <p>
+ * Each shard has its own transaction, committed and rolled back one after the other: a failure while committing may
+ * leave some shards committed. The {@link Deadline} of the calling thread applies to the queries sent to all shards.
+ *
+ * @since 3.6.0
+ */
+public class ShardingExecutor implements Executor {
+
+  private final List<Executor> shards;
+  private final ShardingStrategy strategy;
+  private final ExecutorService queryExecutor;
+  private Executor current;
+  private boolean closed;
+
+  public ShardingExecutor(List<Executor> shards, ShardingStrategy strategy, ExecutorService queryExecutor) {
+    if (shards.isEmpty()) {
+      throw new IllegalArgumentException("At least one shard is required.");
+    }
+    this.shards = Collections.unmodifiableList(new ArrayList<>(shards));
+    this.strategy = strategy;
+    this.queryExecutor = queryExecutor;
+    this.current = this.shards.get(0);
+  }
+
+  public List<Executor> getShards() {
+    return shards;
+  }
+
+  @Override
+  public int update(MappedStatement ms, Object parameter) throws SQLException {
+    Executor shard = route(ms, parameter);
+    if (shard != null) {
+      return shard.update(ms, parameter);
+    }
+    if (ms.getSqlCommandType() == SqlCommandType.INSERT) {
+      throw new ExecutorException("Statement '" + ms.getId() + "' requires a shard key to insert.");
+    }
+    int count = 0;
+    boolean batched = false;
+    for (Executor each : shards) {
+      current = each;
+      int updated = each.update(ms, parameter);
+      if (updated == BatchExecutor.BATCH_UPDATE_RETURN_VALUE) {
+        batched = true;
+      } else {
+        count += updated;
+      }
+    }
+    return batched ? BatchExecutor.BATCH_UPDATE_RETURN_VALUE : count;
+  }
+
+  @Override
+  public <E> List<E> query(MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler)
+      throws SQLException {
+    BoundSql boundSql = ms.getBoundSql(parameter);
+    CacheKey key = createCacheKey(ms, parameter, rowBounds, boundSql);
+    return query(ms, parameter, rowBounds, resultHandler, key, boundSql);
+  }
+
+  @Override
+  public <E> List<E> query(MappedStatement ms, Object parameter, RowBounds rowBounds, ResultHandler resultHandler,
+      CacheKey key, BoundSql boundSql) throws SQLException {
+    Executor shard = route(ms, parameter);
+    if (shard != null) {
+      return shard.query(ms, parameter, rowBounds, resultHandler, key, boundSql);
+    }
+    if (resultHandler != null) {
+      // rows are handed over as they are read, so there is nothing to merge
+      for (Executor each : shards) {
+        current = each;
+        each.query(ms, parameter, rowBounds, resultHandler, key, boundSql);
+      }
+      return Collections.emptyList();
+    }
+    ShardedQuery query = new ShardedQuery(ms, parameter, rowBounds, boundSql);
+    BoundSql shardBoundSql = query.getShardBoundSql();
+    RowBounds shardRowBounds = query.getShardRowBounds();
+    Deadline deadline = Deadline.current();
+    List<Future<List<Object>>> futures = new ArrayList<>(shards.size());
+    try {
+      for (Executor each : shards) {
+        CacheKey shardKey = each.createCacheKey(ms, parameter, shardRowBounds, shardBoundSql);
+        futures.add(queryExecutor.submit(() -> {
+          if (deadline == null) {
+            return each.query(ms, parameter, shardRowBounds, Executor.NO_RESULT_HANDLER, shardKey, shardBoundSql);
+          }
+          try (Deadline.Scope scope = deadline.enter()) {
+            return each.query(ms, parameter, shardRowBounds, Executor.NO_RESULT_HANDLER, shardKey, shardBoundSql);
+          }
+        }));
+      }
+      List<List<Object>> results = new ArrayList<>(shards.size());
+      for (Future<List<Object>> future : futures) {
+        results.add(future.get());
+      }
+      @SuppressWarnings("unchecked")
+      List<E> merged = (List<E>) query.merge(results);
+      return merged;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ExecutorException("Interrupted while querying the shards with '" + ms.getId() + "'.", e);
+    } catch (ExecutionException e) {
+      Throwable cause = e.getCause();
+      if (cause instanceof SQLException) {
+        throw (SQLException) cause;
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException) cause;
+      }
+      throw new ExecutorException("Error querying the shards with '" + ms.getId() + "'.  Cause: " + cause, cause);
+    } finally {
+      for (Future<List<Object>> future : futures) {
+        future.cancel(true);
+      }
+    }
+  }
+
+  @Override
+  public <E> Cursor<E> queryCursor(MappedStatement ms, Object parameter, RowBounds rowBounds) throws SQLException {
+    Executor shard = route(ms, parameter);
+    if (shard == null) {
+      throw new ExecutorException("Statement '" + ms.getId() + "' requires a shard key to open a cursor.");
+    }
+    return shard.queryCursor(ms, parameter, rowBounds);
+  }
+
+  @Override
+  public List<BatchResult> flushStatements() throws SQLException {
+    List<BatchResult> results = new ArrayList<>();
+    for (Executor each : shards) {
+      results.addAll(each.flushStatements());
+    }
+    return results;
+  }
+
+  @Override
+  public void commit(boolean required) throws SQLException {
+    for (Executor each : shards) {
+      each.commit(required);
+    }
+  }
+
+  @Override
+  public void rollback(boolean required) throws SQLException {
+    SQLException failure = null;
+    for (Executor each : shards) {
+      try {
+        each.rollback(required);
+      } catch (SQLException e) {
+        if (failure == null) {
+          failure = e;
+        } else {
+          failure.addSuppressed(e);
+        }
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  @Override
+  public CacheKey createCacheKey(MappedStatement ms, Object parameterObject, RowBounds rowBounds, BoundSql boundSql) {
+    return shards.get(0).createCacheKey(ms, parameterObject, rowBounds, boundSql);
+  }
+
+  @Override
+  public boolean isCached(MappedStatement ms, CacheKey key) {
+    return current.isCached(ms, key);
+  }
+
+  @Override
+  public boolean hasUncommittedUpdates() {
+    for (Executor each : shards) {
+      if (each.hasUncommittedUpdates()) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public void clearLocalCache() {
+    for (Executor each : shards) {
+      each.clearLocalCache();
+    }
+  }
+
+  @Override
+  public void deferLoad(MappedStatement ms, MetaObject resultObject, String property, CacheKey key,
+      Class<?> targetType) {
+    current.deferLoad(ms, resultObject, property, key, targetType);
+  }
+
+  /**
+   * @return the transaction of the shard used last
+   */
+  @Override
+  public Transaction getTransaction() {
+    return current.getTransaction();
+  }
+
+  @Override
+  public void close(boolean forceRollback) {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    for (Executor each : shards) {
+      each.close(forceRollback);
+    }
+  }
+
+  @Override
+  public boolean isClosed() {
+    return closed;
+  }
+
+  @Override
+  public void setExecutorWrapper(Executor executor) {
+    // nested queries of a shard stay on that shard
+  }
+
+  private Executor route(MappedStatement ms, Object parameter) {
+    if (closed) {
+      throw new ExecutorException("Executor was closed.");
+    }
+    Integer shard = strategy.getShard(ms, parameter, shards.size());
+    if (shard == null) {
+      return null;
+    }
+    current = shards.get(shard);
+    return current;
+  }
+
+}
@@ -0,0 +1,43 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.sharding;
+
+import org.apache.ibatis.mapping.MappedStatement;
+
+/**
+ * Decides which shard owns the data a statement reads or writes.
+ *
+ * @since 3.6.0
+ *
+ * @see PropertyShardingStrategy
+ */
+@FunctionalInterface
+public interface ShardingStrategy {
+
+  /**
+   * @param ms
+   *          the statement
+   * @param parameter
+   *          the parameter object of the statement
+   * @param shardCount
+   *          the number of shards
+   *
+   * @return the index of the shard owning the data, from 0 to <code>shardCount - 1</code>, or <code>null</code> if the
+   *         parameter holds no shard key and the statement must run on every shard
+   */
+  Integer getShard(MappedStatement ms, Object parameter, int shardCount);
+
+}
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -22,6 +22,9 @@ import java.sql.Statement;
 import org.apache.ibatis.executor.ErrorContext;
 import org.apache.ibatis.executor.Executor;
 import org.apache.ibatis.executor.ExecutorException;
+import org.apache.ibatis.executor.deadline.Deadline;
+import org.apache.ibatis.executor.deadline.DeadlineExceededException;
+import org.apache.ibatis.executor.deadline.StatementCanceller;
 import org.apache.ibatis.executor.keygen.KeyGenerator;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
 import org.apache.ibatis.executor.resultset.ResultSetHandler;
@@ -50,6 +53,8 @@ public abstract class BaseStatementHandler implements StatementHandler {
 
   protected BoundSql boundSql;
 
+  private final long slowThreshold;
+
   protected BaseStatementHandler(Executor executor, MappedStatement mappedStatement, Object parameterObject,
       RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql) {
     this.configuration = mappedStatement.getConfiguration();
@@ -70,6 +75,7 @@ public abstract class BaseStatementHandler implements StatementHandler {
     this.parameterHandler = configuration.newParameterHandler(mappedStatement, parameterObject, boundSql);
     this.resultSetHandler = configuration.newResultSetHandler(executor, mappedStatement, rowBounds, parameterHandler,
         resultHandler, boundSql);
+    this.slowThreshold = configuration.getSlowStatementLog().getThreshold(mappedStatement);
   }
 
   @Override
@@ -85,9 +91,23 @@ public abstract class BaseStatementHandler implements StatementHandler {
   @Override
   public Statement prepare(Connection connection, Integer transactionTimeout) throws SQLException {
     ErrorContext.instance().sql(boundSql.getSql());
+    Deadline deadline = Deadline.current();
+    if (deadline != null && deadline.isExpired()) {
+      throw new DeadlineExceededException(
+          "The deadline passed before statement '" + mappedStatement.getId() + "' was executed.");
+    }
     Statement statement = null;
     try {
       statement = instantiateStatement(connection);
+      StatementCanceller canceller = StatementCanceller.current();
+      if (canceller != null) {
+        canceller.register(statement);
+        if (canceller.isCancelled()) {
+          // e.g. the duplicate of a hedged select answered before this statement was prepared
+          canceller.unregister(statement);
+          throw new SQLException("Statement '" + mappedStatement.getId() + "' was cancelled before it was executed.");
+        }
+      }
       setStatementTimeout(statement, transactionTimeout);
       setFetchSize(statement);
       return statement;
@@ -113,6 +133,11 @@ public abstract class BaseStatementHandler implements StatementHandler {
       stmt.setQueryTimeout(queryTimeout);
     }
     StatementUtil.applyTransactionTimeout(stmt, queryTimeout, transactionTimeout);
+    if (transactionTimeout != null
+        && (queryTimeout == null || queryTimeout == 0 || transactionTimeout < queryTimeout)) {
+      queryTimeout = transactionTimeout;
+    }
+    StatementUtil.applyDeadline(stmt, queryTimeout);
   }
 
   protected void setFetchSize(Statement stmt) throws SQLException {
@@ -127,9 +152,49 @@ public abstract class BaseStatementHandler implements StatementHandler {
     }
   }
 
+  /**
+   * @return the current time when the slow statement log times this statement, 0 otherwise
+   *
+   * @since 3.6.0
+   */
+  protected long slowStatementTimer() {
+    return slowThreshold < 0 ? 0 : System.nanoTime();
+  }
+
+  /**
+   * Reports this statement to the slow statement log if it took longer than its threshold, whether it succeeded or
+   * failed.
+   *
+   * @param start
+   *          the time the execution started, from {@link #slowStatementTimer()}
+   * @param executed
+   *          the time the execution completed and the mapping started, from {@link #slowStatementTimer()}, 0 if the
+   *          execution failed
+   * @param rows
+   *          the number of rows returned or updated, -1 if it is unknown, the statement having failed
+   *
+   * @since 3.6.0
+   */
+  protected void reportIfSlow(long start, long executed, int rows) {
+    if (slowThreshold < 0) {
+      return;
+    }
+    long end = System.nanoTime();
+    if (executed == 0) {
+      executed = end;
+    }
+    if (end - start >= slowThreshold) {
+      configuration.getSlowStatementLog().report(mappedStatement, boundSql, executed - start, end - executed, rows);
+    }
+  }
+
   protected void closeStatement(Statement statement) {
     try {
       if (statement != null) {
+        StatementCanceller canceller = StatementCanceller.current();
+        if (canceller != null) {
+          canceller.unregister(statement);
+        }
         statement.close();
       }
     } catch (SQLException e) {
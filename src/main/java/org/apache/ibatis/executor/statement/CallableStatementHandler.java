@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -48,12 +48,21 @@ public class CallableStatementHandler extends BaseStatementHandler {
   @Override
   public int update(Statement statement) throws SQLException {
     CallableStatement cs = (CallableStatement) statement;
-    cs.execute();
-    int rows = cs.getUpdateCount();
-    Object parameterObject = boundSql.getParameterObject();
-    KeyGenerator keyGenerator = mappedStatement.getKeyGenerator();
-    keyGenerator.processAfter(executor, mappedStatement, cs, parameterObject);
-    resultSetHandler.handleOutputParameters(cs);
+    long start = slowStatementTimer();
+    long executed = 0;
+    int rows = -1;
+    try {
+      cs.execute();
+      int updateCount = cs.getUpdateCount();
+      executed = slowStatementTimer();
+      Object parameterObject = boundSql.getParameterObject();
+      KeyGenerator keyGenerator = mappedStatement.getKeyGenerator();
+      keyGenerator.processAfter(executor, mappedStatement, cs, parameterObject);
+      resultSetHandler.handleOutputParameters(cs);
+      rows = updateCount;
+    } finally {
+      reportIfSlow(start, executed, rows);
+    }
     return rows;
   }
 
@@ -66,9 +75,18 @@ public class CallableStatementHandler extends BaseStatementHandler {
   @Override
   public <E> List<E> query(Statement statement, ResultHandler resultHandler) throws SQLException {
     CallableStatement cs = (CallableStatement) statement;
-    cs.execute();
-    List<E> resultList = resultSetHandler.handleResultSets(cs);
-    resultSetHandler.handleOutputParameters(cs);
+    long start = slowStatementTimer();
+    long executed = 0;
+    List<E> resultList = null;
+    try {
+      cs.execute();
+      executed = slowStatementTimer();
+      List<E> results = resultSetHandler.handleResultSets(cs);
+      resultSetHandler.handleOutputParameters(cs);
+      resultList = results;
+    } finally {
+      reportIfSlow(start, executed, resultList == null ? -1 : resultList.size());
+    }
     return resultList;
   }
 
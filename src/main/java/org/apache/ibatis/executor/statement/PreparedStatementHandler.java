@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -45,11 +45,20 @@ public class PreparedStatementHandler extends BaseStatementHandler {
   @Override
   public int update(Statement statement) throws SQLException {
     PreparedStatement ps = (PreparedStatement) statement;
-    ps.execute();
-    int rows = ps.getUpdateCount();
-    Object parameterObject = boundSql.getParameterObject();
-    KeyGenerator keyGenerator = mappedStatement.getKeyGenerator();
-    keyGenerator.processAfter(executor, mappedStatement, ps, parameterObject);
+    long start = slowStatementTimer();
+    long executed = 0;
+    int rows = -1;
+    try {
+      ps.execute();
+      int updateCount = ps.getUpdateCount();
+      executed = slowStatementTimer();
+      Object parameterObject = boundSql.getParameterObject();
+      KeyGenerator keyGenerator = mappedStatement.getKeyGenerator();
+      keyGenerator.processAfter(executor, mappedStatement, ps, parameterObject);
+      rows = updateCount;
+    } finally {
+      reportIfSlow(start, executed, rows);
+    }
     return rows;
   }
 
@@ -62,8 +71,17 @@ public class PreparedStatementHandler extends BaseStatementHandler {
   @Override
   public <E> List<E> query(Statement statement, ResultHandler resultHandler) throws SQLException {
     PreparedStatement ps = (PreparedStatement) statement;
-    ps.execute();
-    return resultSetHandler.handleResultSets(ps);
+    long start = slowStatementTimer();
+    long executed = 0;
+    List<E> resultList = null;
+    try {
+      ps.execute();
+      executed = slowStatementTimer();
+      resultList = resultSetHandler.handleResultSets(ps);
+    } finally {
+      reportIfSlow(start, executed, resultList == null ? -1 : resultList.size());
+    }
+    return resultList;
   }
 
   @Override
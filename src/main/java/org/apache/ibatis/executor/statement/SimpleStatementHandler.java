@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -47,18 +47,29 @@ public class SimpleStatementHandler extends BaseStatementHandler {
     String sql = boundSql.getSql();
     Object parameterObject = boundSql.getParameterObject();
     KeyGenerator keyGenerator = mappedStatement.getKeyGenerator();
-    int rows;
-    if (keyGenerator instanceof Jdbc3KeyGenerator) {
-      statement.execute(sql, Statement.RETURN_GENERATED_KEYS);
-      rows = statement.getUpdateCount();
-      keyGenerator.processAfter(executor, mappedStatement, statement, parameterObject);
-    } else if (keyGenerator instanceof SelectKeyGenerator) {
-      statement.execute(sql);
-      rows = statement.getUpdateCount();
-      keyGenerator.processAfter(executor, mappedStatement, statement, parameterObject);
-    } else {
-      statement.execute(sql);
-      rows = statement.getUpdateCount();
+    int rows = -1;
+    long start = slowStatementTimer();
+    long executed = 0;
+    try {
+      int updateCount;
+      if (keyGenerator instanceof Jdbc3KeyGenerator) {
+        statement.execute(sql, Statement.RETURN_GENERATED_KEYS);
+        updateCount = statement.getUpdateCount();
+        executed = slowStatementTimer();
+        keyGenerator.processAfter(executor, mappedStatement, statement, parameterObject);
+      } else if (keyGenerator instanceof SelectKeyGenerator) {
+        statement.execute(sql);
+        updateCount = statement.getUpdateCount();
+        executed = slowStatementTimer();
+        keyGenerator.processAfter(executor, mappedStatement, statement, parameterObject);
+      } else {
+        statement.execute(sql);
+        updateCount = statement.getUpdateCount();
+        executed = slowStatementTimer();
+      }
+      rows = updateCount;
+    } finally {
+      reportIfSlow(start, executed, rows);
     }
     return rows;
   }
@@ -72,8 +83,17 @@ public class SimpleStatementHandler extends BaseStatementHandler {
   @Override
   public <E> List<E> query(Statement statement, ResultHandler resultHandler) throws SQLException {
     String sql = boundSql.getSql();
-    statement.execute(sql);
-    return resultSetHandler.handleResultSets(statement);
+    long start = slowStatementTimer();
+    long executed = 0;
+    List<E> resultList = null;
+    try {
+      statement.execute(sql);
+      executed = slowStatementTimer();
+      resultList = resultSetHandler.handleResultSets(statement);
+    } finally {
+      reportIfSlow(start, executed, resultList == null ? -1 : resultList.size());
+    }
+    return resultList;
   }
 
   @Override
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -18,6 +18,8 @@ package org.apache.ibatis.executor.statement;
 import java.sql.SQLException;
 import java.sql.Statement;
 
+import org.apache.ibatis.executor.deadline.Deadline;
+
 /**
  * Utility for {@link java.sql.Statement}.
  *
@@ -56,4 +58,27 @@ public class StatementUtil {
     }
   }
 
+  /**
+   * Apply the deadline of the current thread.
+   * <p>
+   * Update a query timeout so that the statement does not outlive the {@link Deadline} entered by the current thread.
+   *
+   * @param statement
+   *          a target statement
+   * @param queryTimeout
+   *          the query timeout already applied
+   *
+   * @throws SQLException
+   *           if a database access error occurs, this method is called on a closed <code>Statement</code>
+   *
+   * @since 3.6.0
+   */
+  public static void applyDeadline(Statement statement, Integer queryTimeout) throws SQLException {
+    Deadline deadline = Deadline.current();
+    if (deadline != null) {
+      // a timeout of 0 would mean no limit
+      applyTransactionTimeout(statement, queryTimeout, Math.max(deadline.remainingSeconds(), 1));
+    }
+  }
+
 }
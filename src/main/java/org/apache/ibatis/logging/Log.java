@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2022 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -24,6 +24,15 @@ public interface Log {
 
   boolean isTraceEnabled();
 
+  /**
+   * @return whether the warnings are written, true unless the implementation tells otherwise
+   *
+   * @since 3.6.0
+   */
+  default boolean isWarnEnabled() {
+    return true;
+  }
+
   void error(String s, Throwable e);
 
   void error(String s);
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2022 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -39,6 +39,11 @@ public class JakartaCommonsLoggingImpl implements org.apache.ibatis.logging.Log
     return log.isTraceEnabled();
   }
 
+  @Override
+  public boolean isWarnEnabled() {
+    return log.isWarnEnabled();
+  }
+
   @Override
   public void error(String s, Throwable e) {
     log.error(s, e);
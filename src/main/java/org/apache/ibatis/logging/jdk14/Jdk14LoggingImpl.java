@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2022 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -41,6 +41,11 @@ public class Jdk14LoggingImpl implements Log {
     return log.isLoggable(Level.FINER);
   }
 
+  @Override
+  public boolean isWarnEnabled() {
+    return log.isLoggable(Level.WARNING);
+  }
+
   @Override
   public void error(String s, Throwable e) {
     log.log(Level.SEVERE, s, e);
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -45,6 +45,11 @@ public class Log4jImpl implements Log {
     return log.isTraceEnabled();
   }
 
+  @Override
+  public boolean isWarnEnabled() {
+    return log.isEnabledFor(Level.WARN);
+  }
+
   @Override
   public void error(String s, Throwable e) {
     log.log(FQCN, Level.ERROR, s, e);
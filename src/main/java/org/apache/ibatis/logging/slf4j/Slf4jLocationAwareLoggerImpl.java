@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2022 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -46,6 +46,11 @@ class Slf4jLocationAwareLoggerImpl implements Log {
     return logger.isTraceEnabled();
   }
 
+  @Override
+  public boolean isWarnEnabled() {
+    return logger.isWarnEnabled();
+  }
+
   @Override
   public void error(String s, Throwable e) {
     logger.log(MARKER, FQCN, LocationAwareLogger.ERROR_INT, s, null, e);
@@ -0,0 +1,37 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.logging.slow;
+
+/**
+ * Asks a database for the execution plan of a statement.
+ *
+ * @since 3.6.0
+ *
+ * @see SlowStatementLog#registerExplainDialect(String, ExplainDialect)
+ */
+@FunctionalInterface
+public interface ExplainDialect {
+
+  /**
+   * @param sql
+   *          the SQL of the slow statement, with its <code>?</code> placeholders
+   *
+   * @return the SQL returning the plan of the statement, taking the same parameters, <code>null</code> if the statement
+   *         cannot be explained
+   */
+  String explain(String sql);
+
+}
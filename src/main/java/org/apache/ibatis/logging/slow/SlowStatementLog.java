@@ -0,0 +1,275 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.logging.slow;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.mapping.ParameterMode;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.mapping.StatementType;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.session.Configuration;
+
+/**
+ * Reports, as warnings, the statements that took longer than their threshold: the statement id, its SQL and bound
+ * parameters, the number of rows, and how long the database took to execute it and MyBatis to map its results.
+ * <p>
+ * The parameters are only formatted for the statements reported, and at most <code>slowStatementLogRate</code>
+ * statements are reported per second, the next report telling how many were skipped. When
+ * <code>slowStatementExplain</code> is enabled, the plan of slow selects is asked on a connection of its own, in the
+ * background, using the {@link ExplainDialect} registered for the <code>databaseId</code> of the configuration.
+ *
+ * @since 3.6.0
+ */
+public class SlowStatementLog {
+
+  private static final Log log = LogFactory.getLog(SlowStatementLog.class);
+
+  private static final AtomicInteger threadCount = new AtomicInteger();
+
+  private final Configuration configuration;
+  private final Map<String, ExplainDialect> explainDialects = new ConcurrentHashMap<>();
+  private long windowStart;
+  private int windowCount;
+  private int suppressed;
+  private ExecutorService explainExecutor;
+
+  public SlowStatementLog(Configuration configuration) {
+    this.configuration = configuration;
+    registerExplainDialect("hsqldb", sql -> "EXPLAIN PLAN FOR " + sql);
+    registerExplainDialect("h2", sql -> "EXPLAIN " + sql);
+    registerExplainDialect("mysql", sql -> "EXPLAIN " + sql);
+    registerExplainDialect("mariadb", sql -> "EXPLAIN " + sql);
+    registerExplainDialect("postgresql", sql -> "EXPLAIN " + sql);
+    registerExplainDialect("sqlite", sql -> "EXPLAIN QUERY PLAN " + sql);
+  }
+
+  public void registerExplainDialect(String databaseId, ExplainDialect dialect) {
+    explainDialects.put(databaseId, dialect);
+  }
+
+  public ExplainDialect getExplainDialect(String databaseId) {
+    return databaseId == null ? null : explainDialects.get(databaseId);
+  }
+
+  /**
+   * @return the nanoseconds after which an execution of the statement is reported, -1 if it is never reported
+   */
+  public long getThreshold(MappedStatement ms) {
+    if (!isEnabled()) {
+      return -1;
+    }
+    long threshold = ms.getSlowThreshold() >= 0 ? ms.getSlowThreshold() : configuration.getSlowStatementThreshold();
+    return threshold > 0 ? TimeUnit.MILLISECONDS.toNanos(threshold) : -1;
+  }
+
+  /**
+   * Reports an execution that took longer than the threshold of its statement.
+   *
+   * @param ms
+   *          the statement
+   * @param boundSql
+   *          the SQL executed, with its parameter object
+   * @param executionTime
+   *          the nanoseconds the database took to execute the statement
+   * @param mappingTime
+   *          the nanoseconds taken by mapping the results or reading the generated keys
+   * @param rows
+   *          the number of rows returned or updated, -1 if it is unknown, the statement having failed
+   */
+  public void report(MappedStatement ms, BoundSql boundSql, long executionTime, long mappingTime, int rows) {
+    if (!isEnabled()) {
+      return;
+    }
+    int skipped = acquire();
+    if (skipped < 0) {
+      return;
+    }
+    StringBuilder message = new StringBuilder();
+    message.append("Slow statement '").append(ms.getId()).append("' took ")
+        .append(TimeUnit.NANOSECONDS.toMillis(executionTime + mappingTime)).append(" ms (execution ")
+        .append(TimeUnit.NANOSECONDS.toMillis(executionTime)).append(" ms, mapping ")
+        .append(TimeUnit.NANOSECONDS.toMillis(mappingTime)).append(" ms, ")
+        .append(rows < 0 ? "unknown" : String.valueOf(rows)).append(" rows").append(')');
+    if (skipped > 0) {
+      message.append(", ").append(skipped).append(" more slow statements were not reported");
+    }
+    // the values are read once, on the caller thread, as it may change the parameter object once this returns
+    BoundSql snapshot = snapshot(boundSql);
+    message.append("\n    SQL: ").append(boundSql.getSql().trim());
+    message.append("\n    Parameters: ").append(formatParameters(snapshot));
+    write(message.toString());
+    if (configuration.isSlowStatementExplain()) {
+      explain(ms, snapshot);
+    }
+  }
+
+  /**
+   * @return whether the reports are written, the log of this class being enabled for warnings
+   */
+  protected boolean isEnabled() {
+    return log.isWarnEnabled();
+  }
+
+  /**
+   * Writes a report, as a warning of the log of this class.
+   *
+   * @param message
+   *          the report of a slow statement or its plan
+   */
+  protected void write(String message) {
+    log.warn(message);
+  }
+
+  /**
+   * @return the number of statements skipped since the last report, -1 if this statement must be skipped too
+   */
+  private synchronized int acquire() {
+    int rate = configuration.getSlowStatementLogRate();
+    if (rate > 0) {
+      long now = System.nanoTime();
+      if (now - windowStart >= TimeUnit.SECONDS.toNanos(1)) {
+        windowStart = now;
+        windowCount = 0;
+      }
+      if (windowCount >= rate) {
+        suppressed++;
+        return -1;
+      }
+      windowCount++;
+    }
+    int skipped = suppressed;
+    suppressed = 0;
+    return skipped;
+  }
+
+  private BoundSql snapshot(BoundSql boundSql) {
+    Object parameterObject = boundSql.getParameterObject();
+    List<ParameterMapping> parameterMappings = new ArrayList<>(boundSql.getParameterMappings().size());
+    MetaObject metaObject = null;
+    for (ParameterMapping parameterMapping : boundSql.getParameterMappings()) {
+      if (parameterMapping.hasValue() || parameterMapping.getMode() == ParameterMode.OUT) {
+        parameterMappings.add(parameterMapping);
+        continue;
+      }
+      Object value;
+      String propertyName = parameterMapping.getProperty();
+      if (boundSql.hasAdditionalParameter(propertyName)) {
+        value = boundSql.getAdditionalParameter(propertyName);
+      } else if (parameterObject == null) {
+        value = null;
+      } else if (configuration.getTypeHandlerRegistry().hasTypeHandler(parameterObject.getClass())) {
+        value = parameterObject;
+      } else {
+        if (metaObject == null) {
+          metaObject = configuration.newMetaObject(parameterObject);
+        }
+        value = metaObject.hasGetter(propertyName) ? metaObject.getValue(propertyName) : null;
+      }
+      parameterMappings.add(new ParameterMapping.Builder(configuration, propertyName, parameterMapping.getTypeHandler())
+          .mode(parameterMapping.getMode()).javaType(parameterMapping.getJavaType())
+          .jdbcType(parameterMapping.getJdbcType()).numericScale(parameterMapping.getNumericScale())
+          .resultMapId(parameterMapping.getResultMapId()).jdbcTypeName(parameterMapping.getJdbcTypeName())
+          .expression(parameterMapping.getExpression()).value(value).build());
+    }
+    return new BoundSql(configuration, boundSql.getSql(), parameterMappings, parameterObject);
+  }
+
+  private String formatParameters(BoundSql snapshot) {
+    StringJoiner parameters = new StringJoiner(", ");
+    for (ParameterMapping parameterMapping : snapshot.getParameterMappings()) {
+      if (parameterMapping.getMode() == ParameterMode.OUT) {
+        continue;
+      }
+      Object value = parameterMapping.getValue();
+      parameters.add(value == null ? "null" : value + "(" + value.getClass().getSimpleName() + ")");
+    }
+    return parameters.toString();
+  }
+
+  private void explain(MappedStatement ms, BoundSql boundSql) {
+    if (ms.getSqlCommandType() != SqlCommandType.SELECT || ms.getStatementType() == StatementType.CALLABLE) {
+      return;
+    }
+    ExplainDialect dialect = getExplainDialect(configuration.getDatabaseId());
+    Environment environment = configuration.getEnvironment();
+    String sql = dialect == null ? null : dialect.explain(boundSql.getSql());
+    if (sql == null || environment == null) {
+      return;
+    }
+    // drops the plans asked while the queue is full rather than slowing down the statements
+    getExplainExecutor().execute(() -> write(explain(ms, boundSql, sql, environment.getDataSource())));
+  }
+
+  private String explain(MappedStatement ms, BoundSql boundSql, String sql, DataSource dataSource) {
+    StringBuilder plan = new StringBuilder("Plan of slow statement '").append(ms.getId()).append("':");
+    try (Connection connection = dataSource.getConnection();
+        PreparedStatement statement = connection.prepareStatement(sql)) {
+      // some databases plan the statement without accepting its parameters
+      if (ms.getStatementType() == StatementType.PREPARED && statement.getParameterMetaData().getParameterCount() > 0) {
+        ms.getLang().createParameterHandler(ms, boundSql.getParameterObject(), boundSql).setParameters(statement);
+      }
+      try (ResultSet rs = statement.executeQuery()) {
+        ResultSetMetaData metaData = rs.getMetaData();
+        while (rs.next()) {
+          StringJoiner row = new StringJoiner(" | ", "\n    ", "");
+          for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            row.add(String.valueOf(rs.getObject(i)));
+          }
+          plan.append(row);
+        }
+      }
+    } catch (SQLException | RuntimeException e) {
+      plan.append("\n    not available.  Cause: ").append(e);
+    }
+    return plan.toString();
+  }
+
+  private synchronized ExecutorService getExplainExecutor() {
+    if (explainExecutor == null) {
+      explainExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16),
+          runnable -> {
+            Thread thread = new Thread(runnable, "mybatis-slow-statement-explain-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+          }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+    return explainExecutor;
+  }
+
+}
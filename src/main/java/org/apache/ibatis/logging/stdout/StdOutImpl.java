@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2022 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -36,6 +36,11 @@ public class StdOutImpl implements Log {
     return true;
   }
 
+  @Override
+  public boolean isWarnEnabled() {
+    return true;
+  }
+
   @Override
   public void error(String s, Throwable e) {
     System.err.println(s);
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -31,6 +31,9 @@ import org.apache.ibatis.cache.decorators.ScheduledCache;
 import org.apache.ibatis.cache.decorators.SerializedCache;
 import org.apache.ibatis.cache.decorators.SynchronizedCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.cache.statistics.CacheStatistics;
+import org.apache.ibatis.cache.statistics.EvictionStatisticsCache;
+import org.apache.ibatis.cache.statistics.StatisticsCache;
 import org.apache.ibatis.reflection.MetaObject;
 import org.apache.ibatis.reflection.SystemMetaObject;
 
@@ -46,6 +49,7 @@ public class CacheBuilder {
   private boolean readWrite;
   private Properties properties;
   private boolean blocking;
+  private CacheStatistics statistics;
 
   public CacheBuilder(String id) {
     this.id = id;
@@ -84,6 +88,19 @@ public class CacheBuilder {
     return this;
   }
 
+  /**
+   * @param statistics
+   *          the statistics the built cache keeps up to date, <code>null</code> to keep none
+   *
+   * @return this builder
+   *
+   * @since 3.6.0
+   */
+  public CacheBuilder statistics(CacheStatistics statistics) {
+    this.statistics = statistics;
+    return this;
+  }
+
   public CacheBuilder properties(Properties properties) {
     this.properties = properties;
     return this;
@@ -95,14 +112,23 @@ public class CacheBuilder {
     setCacheProperties(cache);
     // issue #352, do not apply decorators to custom caches
     if (PerpetualCache.class.equals(cache.getClass())) {
+      if (statistics != null) {
+        cache = new EvictionStatisticsCache(cache, statistics);
+      }
       for (Class<? extends Cache> decorator : decorators) {
         cache = newCacheDecoratorInstance(decorator, cache);
         setCacheProperties(cache);
       }
       cache = setStandardDecorators(cache);
     } else if (!LoggingCache.class.isAssignableFrom(cache.getClass())) {
+      if (statistics != null) {
+        cache = new StatisticsCache(cache, statistics);
+      }
       cache = new LoggingCache(cache);
     }
+    if (statistics != null) {
+      statistics.setCache(cache);
+    }
     return cache;
   }
 
@@ -128,6 +154,9 @@ public class CacheBuilder {
       if (readWrite) {
         cache = new SerializedCache(cache);
       }
+      if (statistics != null) {
+        cache = new StatisticsCache(cache, statistics);
+      }
       cache = new LoggingCache(cache);
       cache = new SynchronizedCache(cache);
       if (blocking) {
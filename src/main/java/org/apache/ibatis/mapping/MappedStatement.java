@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2025 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -57,6 +57,12 @@ public final class MappedStatement {
   private LanguageDriver lang;
   private String[] resultSets;
   private boolean dirtySelect;
+  private boolean entityLookup;
+  private long negativeCacheTtl;
+  private boolean hedged;
+  private long slowThreshold = -1;
+  private boolean batch;
+  private int batchSize;
 
   MappedStatement() {
     // constructor disabled
@@ -182,6 +188,36 @@ public final class MappedStatement {
       return this;
     }
 
+    public Builder entityLookup(boolean entityLookup) {
+      mappedStatement.entityLookup = entityLookup;
+      return this;
+    }
+
+    public Builder negativeCacheTtl(long negativeCacheTtl) {
+      mappedStatement.negativeCacheTtl = negativeCacheTtl;
+      return this;
+    }
+
+    public Builder hedged(boolean hedged) {
+      mappedStatement.hedged = hedged;
+      return this;
+    }
+
+    public Builder slowThreshold(long slowThreshold) {
+      mappedStatement.slowThreshold = slowThreshold;
+      return this;
+    }
+
+    public Builder batch(boolean batch) {
+      mappedStatement.batch = batch;
+      return this;
+    }
+
+    public Builder batchSize(int batchSize) {
+      mappedStatement.batchSize = batchSize;
+      return this;
+    }
+
     /**
      * Resul sets.
      *
@@ -304,6 +340,64 @@ public final class MappedStatement {
     return dirtySelect;
   }
 
+  /**
+   * @return <code>true</code> if this select fetches a single entity by its id, so it can be answered from the entity
+   *         cache
+   *
+   * @since 3.6.0
+   */
+  public boolean isEntityLookup() {
+    return entityLookup;
+  }
+
+  /**
+   * @return the milliseconds an empty result of this select is remembered by the negative cache, 0 if it is not
+   *
+   * @since 3.6.0
+   */
+  public long getNegativeCacheTtl() {
+    return negativeCacheTtl;
+  }
+
+  /**
+   * @return <code>true</code> if this select may be sent again on another connection when it is slower than usual
+   *
+   * @since 3.6.0
+   */
+  public boolean isHedged() {
+    return hedged;
+  }
+
+  /**
+   * @return the milliseconds after which an execution of this statement is reported by the slow statement log, a
+   *         negative value if the <code>slowStatementThreshold</code> setting applies
+   *
+   * @since 3.6.0
+   */
+  public long getSlowThreshold() {
+    return slowThreshold;
+  }
+
+  /**
+   * @return <code>true</code> if the mapper methods of this statement execute a collection of parameters as JDBC
+   *         batches
+   *
+   * @since 3.6.0
+   */
+  public boolean isBatch() {
+    return batch;
+  }
+
+  /**
+   * @return the maximum number of parameters executed by a JDBC batch of this statement, 0 if the
+   *         <code>defaultBatchSize</code> setting applies
+   *
+   * @since 3.6.0
+   */
+  public int getBatchSize() {
+    return batchSize;
+  }
+
   /**
    * Gets the resul sets.
    *
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2022 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -18,6 +18,12 @@ package org.apache.ibatis.plugin;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
 
 /**
  * @author Clinton Begin
@@ -25,16 +31,156 @@ import java.util.List;
 public class InterceptorChain {
 
   private final List<Interceptor> interceptors = new ArrayList<>();
+  private final List<InterceptorScope> scopes = new ArrayList<>();
+  private volatile Compiled compiled;
 
   public Object pluginAll(Object target) {
-    for (Interceptor interceptor : interceptors) {
-      target = interceptor.plugin(target);
+    for (Stage stage : compiled().stages) {
+      target = stage.plugin(target);
+    }
+    return target;
+  }
+
+  /**
+   * Applies the interceptors to a handler created for a statement, leaving out the interceptors scoped to other
+   * statements.
+   *
+   * @param target
+   *          the handler
+   * @param ms
+   *          the statement the handler is created for
+   *
+   * @return the handler, wrapped by the interceptors that apply to it
+   *
+   * @since 3.6.0
+   */
+  public Object pluginAll(Object target, MappedStatement ms) {
+    Compiled compiled = compiled();
+    List<Stage> stages = compiled.stages;
+    if (compiled.scoped) {
+      stages = compiled.statementStages.computeIfAbsent(ms, k -> {
+        List<Integer> matching = new ArrayList<>();
+        for (int i = 0; i < interceptors.size(); i++) {
+          if (scopes.get(i) == null || scopes.get(i).matches(ms)) {
+            matching.add(i);
+          }
+        }
+        // the statements intercepted by the same interceptors share their proxies
+        return compiled.subsetStages.computeIfAbsent(matching, this::compile);
+      });
+    }
+    for (Stage stage : stages) {
+      target = stage.plugin(target);
     }
     return target;
   }
 
   public void addInterceptor(Interceptor interceptor) {
+    addInterceptor(interceptor, null, null);
+  }
+
+  /**
+   * Adds an interceptor restricted to some statements, these replacing the ones of its {@link Intercepts} annotation.
+   *
+   * @param interceptor
+   *          the interceptor
+   * @param statements
+   *          the patterns of the ids of the statements to intercept, <code>*</code> matching any characters
+   * @param commandTypes
+   *          the command types of the statements to intercept
+   *
+   * @since 3.6.0
+   */
+  public void addInterceptor(Interceptor interceptor, String[] statements, SqlCommandType[] commandTypes) {
     interceptors.add(interceptor);
+    scopes.add(InterceptorScope.of(interceptor, statements, commandTypes));
+    compiled = null;
+  }
+
+  private Compiled compiled() {
+    Compiled compiled = this.compiled;
+    if (compiled == null) {
+      List<Integer> all = new ArrayList<>();
+      for (int i = 0; i < interceptors.size(); i++) {
+        all.add(i);
+      }
+      compiled = new Compiled(compile(all), scopes.stream().anyMatch(Objects::nonNull));
+      this.compiled = compiled;
+    }
+    return compiled;
+  }
+
+  /**
+   * Groups the consecutive interceptors that wrap their targets with {@link Plugin} into a single proxy, the others
+   * keep their own {@link Interceptor#plugin(Object)}.
+   */
+  private List<Stage> compile(List<Integer> indexes) {
+    List<Stage> stages = new ArrayList<>();
+    List<Interceptor> group = new ArrayList<>();
+    List<InterceptorScope> groupScopes = new ArrayList<>();
+    for (int i : indexes) {
+      Interceptor interceptor = interceptors.get(i);
+      if (usesDefaultPlugin(interceptor)) {
+        group.add(interceptor);
+        groupScopes.add(scopes.get(i));
+        continue;
+      }
+      if (!group.isEmpty()) {
+        stages.add(new DispatchStage(group, groupScopes));
+        group = new ArrayList<>();
+        groupScopes = new ArrayList<>();
+      }
+      stages.add(interceptor::plugin);
+    }
+    if (!group.isEmpty()) {
+      stages.add(new DispatchStage(group, groupScopes));
+    }
+    return stages;
+  }
+
+  private static boolean usesDefaultPlugin(Interceptor interceptor) {
+    try {
+      return interceptor.getClass().getMethod("plugin", Object.class).isDefault();
+    } catch (NoSuchMethodException e) {
+      return false;
+    }
+  }
+
+  private static final class Compiled {
+    private final List<Stage> stages;
+    private final boolean scoped;
+    private final Map<MappedStatement, List<Stage>> statementStages = new ConcurrentHashMap<>();
+    private final Map<List<Integer>, List<Stage>> subsetStages = new ConcurrentHashMap<>();
+
+    Compiled(List<Stage> stages, boolean scoped) {
+      this.stages = stages;
+      this.scoped = scoped;
+    }
+  }
+
+  private interface Stage {
+    Object plugin(Object target);
+  }
+
+  private static final class DispatchStage implements Stage {
+    private final List<Interceptor> interceptors;
+    private final List<InterceptorScope> scopes;
+    private final Map<Class<?>, InterceptorDispatcher.Dispatch> dispatches = new ConcurrentHashMap<>();
+
+    DispatchStage(List<Interceptor> interceptors, List<InterceptorScope> scopes) {
+      this.interceptors = interceptors;
+      this.scopes = scopes;
+    }
+
+    @Override
+    public Object plugin(Object target) {
+      InterceptorDispatcher.Dispatch dispatch = dispatches.get(target.getClass());
+      if (dispatch == null) {
+        dispatch = InterceptorDispatcher.Dispatch.resolve(target.getClass(), interceptors, scopes);
+        dispatches.put(target.getClass(), dispatch);
+      }
+      return dispatch.isEmpty() ? target : InterceptorDispatcher.wrap(target, dispatch);
+    }
   }
 
   public List<Interceptor> getInterceptors() {
@@ -0,0 +1,210 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.plugin;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.reflection.ExceptionUtil;
+
+/**
+ * A single proxy that applies several interceptors to a target, in place of one {@link Plugin} proxy per interceptor.
+ * <p>
+ * The interceptors of each method are resolved once per target class: a method no interceptor declares is called on the
+ * target directly, and {@link Invocation#proceed()} walks the interceptors of the method in the order the nested
+ * proxies would have called them. {@link Invocation#getTarget()} returns, as with nested proxies, an object that calls
+ * the remaining interceptors, or the target itself for the last one.
+ * <p>
+ * The calls made for a {@link MappedStatement}, given as first argument, skip the interceptors scoped to other
+ * statements.
+ *
+ * @since 3.6.0
+ */
+final class InterceptorDispatcher implements InvocationHandler {
+
+  private final Object target;
+  private final Dispatch dispatch;
+  private final int from;
+
+  private InterceptorDispatcher(Object target, Dispatch dispatch, int from) {
+    this.target = target;
+    this.dispatch = dispatch;
+    this.from = from;
+  }
+
+  static Object wrap(Object target, Dispatch dispatch) {
+    return wrap(target, dispatch, 0);
+  }
+
+  private static Object wrap(Object target, Dispatch dispatch, int from) {
+    return Proxy.newProxyInstance(target.getClass().getClassLoader(), dispatch.interfaces,
+        new InterceptorDispatcher(target, dispatch, from));
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    Chain chain = dispatch.chains.get(method);
+    int position = chain == null ? 0 : chain.next(0, from, args);
+    try {
+      if (chain == null || position == chain.indexes.length) {
+        return method.invoke(target, args);
+      }
+      return dispatch.interceptors[chain.indexes[position]]
+          .intercept(new ChainedInvocation(this, method, args, chain, position));
+    } catch (Exception e) {
+      throw ExceptionUtil.unwrapThrowable(e);
+    }
+  }
+
+  /**
+   * The interceptors that apply to the instances of a class, outermost first, and the ones each method goes through.
+   */
+  static final class Dispatch {
+    private final Interceptor[] interceptors;
+    private final Class<?>[] interfaces;
+    private final Map<Method, Chain> chains;
+
+    private Dispatch(Interceptor[] interceptors, Class<?>[] interfaces, Map<Method, Chain> chains) {
+      this.interceptors = interceptors;
+      this.interfaces = interfaces;
+      this.chains = chains;
+    }
+
+    boolean isEmpty() {
+      return interceptors.length == 0;
+    }
+
+    /**
+     * @param type
+     *          the class of the targets
+     * @param interceptors
+     *          the interceptors in the order they are added to the chain, the first one being the innermost
+     * @param scopes
+     *          the scope of each interceptor, <code>null</code> for the ones applying to every statement
+     *
+     * @return the dispatch, without interceptors if none applies to this class
+     */
+    static Dispatch resolve(Class<?> type, List<Interceptor> interceptors, List<InterceptorScope> scopes) {
+      List<Interceptor> applied = new ArrayList<>();
+      List<InterceptorScope> appliedScopes = new ArrayList<>();
+      Set<Class<?>> interfaces = new LinkedHashSet<>();
+      Map<Method, List<Integer>> methods = new HashMap<>();
+      for (int i = interceptors.size() - 1; i >= 0; i--) {
+        Interceptor interceptor = interceptors.get(i);
+        Map<Class<?>, Set<Method>> signatureMap = Plugin.getSignatureMap(interceptor);
+        Class<?>[] matched = Plugin.getAllInterfaces(type, signatureMap);
+        if (matched.length == 0) {
+          continue;
+        }
+        int index = applied.size();
+        applied.add(interceptor);
+        appliedScopes.add(scopes.get(i));
+        for (Class<?> matchedInterface : matched) {
+          interfaces.add(matchedInterface);
+          for (Method method : signatureMap.get(matchedInterface)) {
+            // a proxy only intercepts the methods declared by the signature type itself
+            if (method.getDeclaringClass() == matchedInterface) {
+              methods.computeIfAbsent(method, k -> new ArrayList<>()).add(index);
+            }
+          }
+        }
+      }
+      Map<Method, Chain> chains = new HashMap<>();
+      methods.forEach((method, indexes) -> chains.put(method, new Chain(method, indexes, appliedScopes)));
+      return new Dispatch(applied.toArray(new Interceptor[0]), interfaces.toArray(new Class<?>[0]), chains);
+    }
+  }
+
+  /**
+   * The interceptors of a method. When the method is called for a statement, the interceptors restricted to other
+   * statements are skipped.
+   */
+  private static final class Chain {
+    private final int[] indexes;
+    private final InterceptorScope[] scopes;
+    private final boolean scoped;
+
+    Chain(Method method, List<Integer> indexes, List<InterceptorScope> scopes) {
+      this.indexes = indexes.stream().mapToInt(Integer::intValue).toArray();
+      this.scopes = indexes.stream().map(scopes::get).toArray(InterceptorScope[]::new);
+      Class<?>[] parameterTypes = method.getParameterTypes();
+      this.scoped = parameterTypes.length > 0 && parameterTypes[0] == MappedStatement.class
+          && Arrays.stream(this.scopes).anyMatch(Objects::nonNull);
+    }
+
+    /**
+     * @return the position of the next interceptor to call from <code>position</code>, the length of the chain if none
+     */
+    int next(int position, int from, Object[] args) {
+      MappedStatement ms = scoped ? (MappedStatement) args[0] : null;
+      while (position < indexes.length
+          && (indexes[position] < from || ms != null && scopes[position] != null && !scopes[position].matches(ms))) {
+        position++;
+      }
+      return position;
+    }
+  }
+
+  private static final class ChainedInvocation extends Invocation {
+    private final InterceptorDispatcher dispatcher;
+    private final Chain chain;
+    private final int position;
+
+    ChainedInvocation(InterceptorDispatcher dispatcher, Method method, Object[] args, Chain chain, int position) {
+      super(dispatcher.target, method, args);
+      this.dispatcher = dispatcher;
+      this.chain = chain;
+      this.position = position;
+    }
+
+    @Override
+    public Object getTarget() {
+      int next = chain.indexes[position] + 1;
+      if (next == dispatcher.dispatch.interceptors.length) {
+        return dispatcher.target;
+      }
+      // the inner interceptors, as the nested proxy this interceptor would have been given
+      return wrap(dispatcher.target, dispatcher.dispatch, next);
+    }
+
+    @Override
+    public Object proceed() throws InvocationTargetException, IllegalAccessException {
+      int next = chain.next(position + 1, 0, getArgs());
+      if (next == chain.indexes.length) {
+        return getMethod().invoke(dispatcher.target, getArgs());
+      }
+      try {
+        return dispatcher.dispatch.interceptors[chain.indexes[next]]
+            .intercept(new ChainedInvocation(dispatcher, getMethod(), getArgs(), chain, next));
+      } catch (Throwable t) {
+        // as thrown by the inner proxy when called through reflection
+        throw new InvocationTargetException(ExceptionUtil.unwrapThrowable(t));
+      }
+    }
+  }
+
+}
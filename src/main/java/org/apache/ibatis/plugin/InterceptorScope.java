@@ -0,0 +1,91 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.plugin;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+
+/**
+ * The statements an interceptor is restricted to, by id patterns and command types. Whether a statement matches is
+ * evaluated once per {@link MappedStatement}.
+ *
+ * @since 3.6.0
+ */
+final class InterceptorScope {
+
+  private final Pattern statements;
+  private final Set<SqlCommandType> commandTypes;
+  private final Map<MappedStatement, Boolean> matches = new ConcurrentHashMap<>();
+
+  private InterceptorScope(Pattern statements, Set<SqlCommandType> commandTypes) {
+    this.statements = statements;
+    this.commandTypes = commandTypes;
+  }
+
+  /**
+   * Resolves the scope of an interceptor, the statements and command types given by the configuration replacing the
+   * ones of its {@link Intercepts} annotation.
+   *
+   * @return the scope, <code>null</code> if the interceptor applies to every statement
+   */
+  static InterceptorScope of(Interceptor interceptor, String[] statements, SqlCommandType[] commandTypes) {
+    Intercepts intercepts = interceptor.getClass().getAnnotation(Intercepts.class);
+    if ((statements == null || statements.length == 0) && intercepts != null) {
+      statements = intercepts.statements();
+    }
+    if ((commandTypes == null || commandTypes.length == 0) && intercepts != null) {
+      commandTypes = intercepts.commandTypes();
+    }
+    boolean anyStatement = statements == null || statements.length == 0;
+    boolean anyCommandType = commandTypes == null || commandTypes.length == 0;
+    if (anyStatement && anyCommandType) {
+      return null;
+    }
+    Pattern pattern = anyStatement ? null : Pattern.compile(
+        Arrays.stream(statements).map(String::trim).map(InterceptorScope::toRegex).collect(Collectors.joining("|")));
+    Set<SqlCommandType> types = anyCommandType ? null : EnumSet.copyOf(Arrays.asList(commandTypes));
+    return new InterceptorScope(pattern, types);
+  }
+
+  private static String toRegex(String glob) {
+    StringBuilder regex = new StringBuilder();
+    int start = 0;
+    for (int i = glob.indexOf('*'); i >= 0; i = glob.indexOf('*', start)) {
+      regex.append(Pattern.quote(glob.substring(start, i))).append(".*");
+      start = i + 1;
+    }
+    return regex.append(Pattern.quote(glob.substring(start))).toString();
+  }
+
+  boolean matches(MappedStatement ms) {
+    Boolean match = matches.get(ms);
+    if (match == null) {
+      match = (statements == null || statements.matcher(ms.getId()).matches())
+          && (commandTypes == null || commandTypes.contains(ms.getSqlCommandType()));
+      matches.put(ms, match);
+    }
+    return match;
+  }
+
+}
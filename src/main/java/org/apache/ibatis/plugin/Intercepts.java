@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -21,6 +21,8 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+import org.apache.ibatis.mapping.SqlCommandType;
+
 /**
  * The annotation that specify target methods to intercept.
  * <p>
@@ -51,4 +53,23 @@ public @interface Intercepts {
    * @return method signatures
    */
   Signature[] value();
+
+  /**
+   * Returns the patterns of the ids of the statements to intercept, in which <code>*</code> matches any characters. The
+   * handlers of the other statements are not wrapped, and the executor calls them without this interceptor.
+   *
+   * @return statement id patterns, all statements if empty
+   *
+   * @since 3.6.0
+   */
+  String[] statements() default {};
+
+  /**
+   * Returns the command types of the statements to intercept.
+   *
+   * @return command types, all types if empty
+   *
+   * @since 3.6.0
+   */
+  SqlCommandType[] commandTypes() default {};
 }
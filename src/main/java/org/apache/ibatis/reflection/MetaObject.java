@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -37,6 +37,7 @@ public class MetaObject {
   private final ObjectFactory objectFactory;
   private final ObjectWrapperFactory objectWrapperFactory;
   private final ReflectorFactory reflectorFactory;
+  private Reflector reflector;
 
   private MetaObject(Object object, ObjectFactory objectFactory, ObjectWrapperFactory objectWrapperFactory,
       ReflectorFactory reflectorFactory) {
@@ -111,14 +112,28 @@ public class MetaObject {
   }
 
   public Object getValue(String name) {
+    if (PropertyPath.supports(objectWrapper)) {
+      return getPropertyPath(name).getValue(this);
+    }
     PropertyTokenizer prop = new PropertyTokenizer(name);
     return objectWrapper.get(prop);
   }
 
   public void setValue(String name, Object value) {
+    if (PropertyPath.supports(objectWrapper)) {
+      getPropertyPath(name).setValue(this, value);
+      return;
+    }
     objectWrapper.set(new PropertyTokenizer(name), value);
   }
 
+  private PropertyPath getPropertyPath(String name) {
+    if (reflector == null) {
+      reflector = reflectorFactory.findForClass(originalObject.getClass());
+    }
+    return reflector.getPropertyPath(name);
+  }
+
   public MetaObject metaObjectForProperty(String name) {
     Object value = getValue(name);
     return MetaObject.forObject(value, objectFactory, objectWrapperFactory, reflectorFactory);
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -19,11 +19,16 @@ import java.lang.annotation.Annotation;
 import java.lang.reflect.Method;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.binding.MapperMethod.ParamMap;
@@ -60,6 +65,15 @@ public class ParamNameResolver {
 
   private boolean hasParamAnnotation;
 
+  /**
+   * The keys of the parameter object of a call with multiple parameters, or with a single collection or array, and the
+   * indexes of the arguments they refer to, so that a call only has to wrap its arguments.
+   */
+  private final ParamLayout multipleParamLayout;
+  private final ParamLayout collectionParamLayout;
+  private final ParamLayout listParamLayout;
+  private final ParamLayout arrayParamLayout;
+
   public ParamNameResolver(Configuration config, Method method) {
     this.useActualParamName = config.isUseActualParamName();
     final Class<?>[] paramTypes = method.getParameterTypes();
@@ -94,6 +108,43 @@ public class ParamNameResolver {
       map.put(paramIndex, name);
     }
     names = Collections.unmodifiableSortedMap(map);
+    if (names.isEmpty()) {
+      multipleParamLayout = collectionParamLayout = listParamLayout = arrayParamLayout = null;
+    } else {
+      multipleParamLayout = multipleParamLayout();
+      Integer index = names.firstKey();
+      String actualParamName = useActualParamName ? names.get(index) : null;
+      collectionParamLayout = singleParamLayout(index, actualParamName, "collection");
+      listParamLayout = singleParamLayout(index, actualParamName, "collection", "list");
+      arrayParamLayout = singleParamLayout(index, actualParamName, "array");
+    }
+  }
+
+  private ParamLayout multipleParamLayout() {
+    final Map<String, Integer> keys = new LinkedHashMap<>();
+    int i = 0;
+    for (Map.Entry<Integer, String> entry : names.entrySet()) {
+      keys.put(entry.getValue(), entry.getKey());
+      // add generic param names (param1, param2, ...)
+      final String genericParamName = i < 10 ? GENERIC_NAME_CACHE[i] : GENERIC_NAME_PREFIX + (i + 1);
+      // ensure not to overwrite parameter named with @Param
+      if (!names.containsValue(genericParamName)) {
+        keys.put(genericParamName, entry.getKey());
+      }
+      i++;
+    }
+    return new ParamLayout(keys);
+  }
+
+  private static ParamLayout singleParamLayout(Integer index, String actualParamName, String... defaultNames) {
+    final Map<String, Integer> keys = new LinkedHashMap<>();
+    for (String name : defaultNames) {
+      keys.put(name, index);
+    }
+    if (actualParamName != null) {
+      keys.put(actualParamName, index);
+    }
+    return new ParamLayout(keys);
   }
 
   private String getActualParamName(Method method, int paramIndex) {
@@ -129,22 +180,15 @@ public class ParamNameResolver {
     }
     if (!hasParamAnnotation && paramCount == 1) {
       Object value = args[names.firstKey()];
-      return wrapToMapIfCollection(value, useActualParamName ? names.get(names.firstKey()) : null);
-    } else {
-      final Map<String, Object> param = new ParamMap<>();
-      int i = 0;
-      for (Map.Entry<Integer, String> entry : names.entrySet()) {
-        param.put(entry.getValue(), args[entry.getKey()]);
-        // add generic param names (param1, param2, ...)
-        final String genericParamName = i < 10 ? GENERIC_NAME_CACHE[i] : GENERIC_NAME_PREFIX + (i + 1);
-        // ensure not to overwrite parameter named with @Param
-        if (!names.containsValue(genericParamName)) {
-          param.put(genericParamName, args[entry.getKey()]);
-        }
-        i++;
+      if (value instanceof Collection) {
+        return new ArgumentParamMap(value instanceof List ? listParamLayout : collectionParamLayout, args);
       }
-      return param;
+      if (value != null && value.getClass().isArray()) {
+        return new ArgumentParamMap(arrayParamLayout, args);
+      }
+      return value;
     }
+    return new ArgumentParamMap(multipleParamLayout, args);
   }
 
   /**
@@ -178,4 +222,208 @@ public class ParamNameResolver {
     return object;
   }
 
+  private static final class ParamLayout {
+
+    private final String[] keys;
+    private final int[] indexes;
+
+    ParamLayout(Map<String, Integer> keys) {
+      this.keys = keys.keySet().toArray(new String[0]);
+      this.indexes = keys.values().stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    int indexOf(Object key) {
+      for (int i = 0; i < keys.length; i++) {
+        if (keys[i] == key) {
+          return i;
+        }
+      }
+      for (int i = 0; i < keys.length; i++) {
+        if (keys[i].equals(key)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+  }
+
+  /**
+   * A {@link ParamMap} reading the arguments of a call through the layout of its method, instead of copying them into a
+   * hash table. The entries are only copied, once, when the map is modified or viewed as a collection.
+   */
+  private static final class ArgumentParamMap extends ParamMap<Object> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient ParamLayout layout;
+    private transient Object[] args;
+
+    ArgumentParamMap(ParamLayout layout, Object[] args) {
+      this.layout = layout;
+      this.args = args;
+    }
+
+    private void inflate() {
+      if (args != null) {
+        Object[] values = args;
+        args = null;
+        for (int i = 0; i < layout.keys.length; i++) {
+          super.put(layout.keys[i], values[layout.indexes[i]]);
+        }
+      }
+    }
+
+    @Override
+    public Object get(Object key) {
+      if (args != null) {
+        int i = layout.indexOf(key);
+        if (i >= 0) {
+          return args[layout.indexes[i]];
+        }
+      }
+      inflate();
+      return super.get(key);
+    }
+
+    @Override
+    public Object getOrDefault(Object key, Object defaultValue) {
+      if (args != null) {
+        int i = layout.indexOf(key);
+        return i < 0 ? defaultValue : args[layout.indexes[i]];
+      }
+      return super.getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+      return args != null ? layout.indexOf(key) >= 0 : super.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+      return args != null ? layout.keys.length : super.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+      return size() == 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+      inflate();
+      return super.containsValue(value);
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+      inflate();
+      return super.put(key, value);
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends Object> m) {
+      inflate();
+      super.putAll(m);
+    }
+
+    @Override
+    public Object putIfAbsent(String key, Object value) {
+      inflate();
+      return super.putIfAbsent(key, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+      inflate();
+      return super.remove(key);
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+      inflate();
+      return super.remove(key, value);
+    }
+
+    @Override
+    public boolean replace(String key, Object oldValue, Object newValue) {
+      inflate();
+      return super.replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public Object replace(String key, Object value) {
+      inflate();
+      return super.replace(key, value);
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super String, ? super Object, ? extends Object> function) {
+      inflate();
+      super.replaceAll(function);
+    }
+
+    @Override
+    public Object computeIfAbsent(String key, Function<? super String, ? extends Object> mappingFunction) {
+      inflate();
+      return super.computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public Object computeIfPresent(String key,
+        BiFunction<? super String, ? super Object, ? extends Object> remappingFunction) {
+      inflate();
+      return super.computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public Object compute(String key, BiFunction<? super String, ? super Object, ? extends Object> remappingFunction) {
+      inflate();
+      return super.compute(key, remappingFunction);
+    }
+
+    @Override
+    public Object merge(String key, Object value,
+        BiFunction<? super Object, ? super Object, ? extends Object> remappingFunction) {
+      inflate();
+      return super.merge(key, value, remappingFunction);
+    }
+
+    @Override
+    public void clear() {
+      args = null;
+      super.clear();
+    }
+
+    @Override
+    public Set<String> keySet() {
+      inflate();
+      return super.keySet();
+    }
+
+    @Override
+    public Collection<Object> values() {
+      inflate();
+      return super.values();
+    }
+
+    @Override
+    public Set<Map.Entry<String, Object>> entrySet() {
+      inflate();
+      return super.entrySet();
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super Object> action) {
+      inflate();
+      super.forEach(action);
+    }
+
+    private Object writeReplace() {
+      ParamMap<Object> map = new ParamMap<>();
+      map.putAll(this);
+      return map;
+    }
+  }
+
 }
@@ -0,0 +1,252 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.reflection.invoker.Invoker;
+import org.apache.ibatis.reflection.property.PropertyTokenizer;
+import org.apache.ibatis.reflection.wrapper.BeanWrapper;
+import org.apache.ibatis.reflection.wrapper.MapWrapper;
+import org.apache.ibatis.reflection.wrapper.ObjectWrapper;
+import org.apache.ibatis.reflection.wrapper.ObjectWrapperFactory;
+
+/**
+ * A property path like <code>order.items[0].price</code> tokenized once, which reads and writes the properties of beans
+ * and maps without creating a {@link PropertyTokenizer} and a {@link MetaObject} per segment. Each segment remembers
+ * the invokers of the last class it was used with.
+ * <p>
+ * The segments it cannot handle itself (custom object wrappers, collections, primitive arrays, missing properties or
+ * null values to instantiate) are left to the {@link ObjectWrapper} of the object they apply to, with the rest of the
+ * path, so that the results and exceptions are those of {@link MetaObject}.
+ *
+ * @since 3.6.0
+ */
+final class PropertyPath {
+
+  private static final Object[] NO_ARGUMENTS = {};
+  private static final Object UNRESOLVED = new Object();
+
+  private final Segment[] segments;
+
+  PropertyPath(String path) {
+    List<Segment> list = new ArrayList<>();
+    String fullname = path;
+    while (fullname != null) {
+      PropertyTokenizer prop = new PropertyTokenizer(fullname);
+      list.add(new Segment(prop, fullname));
+      fullname = prop.getChildren();
+    }
+    this.segments = list.toArray(new Segment[0]);
+  }
+
+  /**
+   * @return <code>true</code> if the values of this path can be read and written by a {@link PropertyPath}
+   */
+  static boolean supports(ObjectWrapper objectWrapper) {
+    return objectWrapper.getClass() == BeanWrapper.class || objectWrapper.getClass() == MapWrapper.class;
+  }
+
+  Object getValue(MetaObject metaObject) {
+    Object current = metaObject.getOriginalObject();
+    for (int i = 0; i < segments.length; i++) {
+      Segment segment = segments[i];
+      Object value = i == 0 || isPlain(current, metaObject) ? segment.get(current, metaObject) : UNRESOLVED;
+      if (value == UNRESOLVED) {
+        return wrapperFor(i, current, metaObject).get(new PropertyTokenizer(segment.fullname));
+      }
+      if (value == null) {
+        return null;
+      }
+      current = value;
+    }
+    return current;
+  }
+
+  void setValue(MetaObject metaObject, Object value) {
+    Object current = metaObject.getOriginalObject();
+    int last = segments.length - 1;
+    for (int i = 0; i <= last; i++) {
+      Segment segment = segments[i];
+      boolean plain = i == 0 || isPlain(current, metaObject);
+      if (i == last) {
+        if (!plain || !segment.set(current, value, metaObject)) {
+          wrapperFor(i, current, metaObject).set(new PropertyTokenizer(segment.fullname), value);
+        }
+        return;
+      }
+      Object next = plain ? segment.get(current, metaObject) : UNRESOLVED;
+      if (next == UNRESOLVED || next == null) {
+        // null values are instantiated by the wrapper
+        wrapperFor(i, current, metaObject).set(new PropertyTokenizer(segment.fullname), value);
+        return;
+      }
+      current = next;
+    }
+  }
+
+  private static ObjectWrapper wrapperFor(int segment, Object object, MetaObject metaObject) {
+    if (segment == 0) {
+      return metaObject.getObjectWrapper();
+    }
+    return MetaObject.forObject(object, metaObject.getObjectFactory(), metaObject.getObjectWrapperFactory(),
+        metaObject.getReflectorFactory()).getObjectWrapper();
+  }
+
+  /**
+   * @return <code>true</code> if the {@link MetaObject} of this object would use a {@link BeanWrapper} or a
+   *         {@link MapWrapper}
+   */
+  private static boolean isPlain(Object object, MetaObject metaObject) {
+    if (object instanceof ObjectWrapper) {
+      return false;
+    }
+    ObjectWrapperFactory objectWrapperFactory = metaObject.getObjectWrapperFactory();
+    if (objectWrapperFactory.hasWrapperFor(object)) {
+      return false;
+    }
+    return object instanceof Map || !(object instanceof Collection);
+  }
+
+  private static final class Segment {
+    private final String fullname;
+    private final String name;
+    private final String index;
+    private final int position;
+    private Resolved getter;
+    private Resolved setter;
+
+    Segment(PropertyTokenizer prop, String fullname) {
+      this.fullname = fullname;
+      this.name = prop.getName();
+      this.index = prop.getIndex();
+      int position = -1;
+      if (index != null) {
+        try {
+          position = Integer.parseInt(index);
+        } catch (NumberFormatException e) {
+          // only usable as a map key
+        }
+      }
+      this.position = position;
+    }
+
+    Object get(Object object, MetaObject metaObject) {
+      Object value = getProperty(object, metaObject);
+      if (index == null || value == UNRESOLVED) {
+        return value;
+      }
+      if (value instanceof Map) {
+        return ((Map<?, ?>) value).get(index);
+      }
+      if (position >= 0) {
+        if (value instanceof List) {
+          return ((List<?>) value).get(position);
+        }
+        if (value instanceof Object[]) {
+          return ((Object[]) value)[position];
+        }
+      }
+      return UNRESOLVED;
+    }
+
+    boolean set(Object object, Object value, MetaObject metaObject) {
+      if (index != null) {
+        return false;
+      }
+      if (object instanceof Map) {
+        @SuppressWarnings("unchecked")
+        Map<String, Object> map = (Map<String, Object>) object;
+        map.put(name, value);
+        return true;
+      }
+      Resolved resolved = setter;
+      if (resolved == null || resolved.type != object.getClass()) {
+        resolved = resolve(object.getClass(), metaObject, false);
+        setter = resolved;
+      }
+      if (resolved.invoker == null) {
+        return false;
+      }
+      try {
+        try {
+          resolved.invoker.invoke(object, new Object[] { value });
+        } catch (Throwable t) {
+          throw ExceptionUtil.unwrapThrowable(t);
+        }
+      } catch (Throwable t) {
+        throw new ReflectionException("Could not set property '" + name + "' of '" + object.getClass()
+            + "' with value '" + value + "' Cause: " + t.toString(), t);
+      }
+      return true;
+    }
+
+    private Object getProperty(Object object, MetaObject metaObject) {
+      if (index != null && name.isEmpty()) {
+        return object;
+      }
+      if (object instanceof Map) {
+        return ((Map<?, ?>) object).get(name);
+      }
+      Resolved resolved = getter;
+      if (resolved == null || resolved.type != object.getClass()) {
+        resolved = resolve(object.getClass(), metaObject, true);
+        getter = resolved;
+      }
+      if (resolved.invoker == null) {
+        return UNRESOLVED;
+      }
+      try {
+        try {
+          return resolved.invoker.invoke(object, NO_ARGUMENTS);
+        } catch (Throwable t) {
+          throw ExceptionUtil.unwrapThrowable(t);
+        }
+      } catch (RuntimeException e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new ReflectionException(
+            "Could not get property '" + name + "' from " + object.getClass() + ".  Cause: " + t.toString(), t);
+      }
+    }
+
+    private Resolved resolve(Class<?> type, MetaObject metaObject, boolean getter) {
+      Reflector reflector = metaObject.getReflectorFactory().findForClass(type);
+      Invoker invoker = null;
+      if (getter ? reflector.hasGetter(name) : reflector.hasSetter(name)) {
+        invoker = getter ? reflector.getGetInvoker(name) : reflector.getSetInvoker(name);
+      }
+      return new Resolved(type, invoker);
+    }
+  }
+
+  /**
+   * The invoker of a property in the last class a segment was used with, <code>null</code> if it has none.
+   */
+  private static final class Resolved {
+    private final Class<?> type;
+    private final Invoker invoker;
+
+    Resolved(Class<?> type, Invoker invoker) {
+      this.type = type;
+      this.invoker = invoker;
+    }
+  }
+
+}
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2025 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -36,6 +36,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.ibatis.reflection.invoker.AmbiguousMethodInvoker;
 import org.apache.ibatis.reflection.invoker.GetFieldInvoker;
@@ -53,6 +54,7 @@ import org.apache.ibatis.reflection.property.PropertyNamer;
 public class Reflector {
 
   private static final MethodHandle isRecordMethodHandle = getIsRecordMethodHandle();
+  private static final int MAX_PROPERTY_PATHS = 1024;
   private final Class<?> type;
   private final String[] readablePropertyNames;
   private final String[] writablePropertyNames;
@@ -64,6 +66,8 @@ public class Reflector {
 
   private final Map<String, String> caseInsensitivePropertyMap = new HashMap<>();
 
+  private final Map<String, PropertyPath> propertyPaths = new ConcurrentHashMap<>();
+
   public Reflector(Class<?> clazz) {
     type = clazz;
     addDefaultConstructor(clazz);
@@ -378,6 +382,21 @@ public class Reflector {
     return method;
   }
 
+  /**
+   * Gets the tokenized form of a property path read or written on instances of this class. Paths are cached up to
+   * {@value #MAX_PROPERTY_PATHS}, the others are tokenized on every call.
+   */
+  PropertyPath getPropertyPath(String path) {
+    PropertyPath propertyPath = propertyPaths.get(path);
+    if (propertyPath == null) {
+      propertyPath = new PropertyPath(path);
+      if (propertyPaths.size() < MAX_PROPERTY_PATHS) {
+        propertyPaths.putIfAbsent(path, propertyPath);
+      }
+    }
+    return propertyPath;
+  }
+
   public Invoker getGetInvoker(String propertyName) {
     Invoker method = getMethods.get(propertyName);
     if (method == null) {
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -28,10 +28,10 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.SortedSet;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.apache.ibatis.reflection.ReflectionException;
-import org.apache.ibatis.reflection.Reflector;
 
 /**
  * @author Clinton Begin
@@ -40,6 +40,8 @@ public class DefaultObjectFactory implements ObjectFactory, Serializable {
 
   private static final long serialVersionUID = -8855120656740914948L;
 
+  private transient volatile Map<Class<?>, Map<List<Class<?>>, ObjectInstantiator>> instantiators;
+
   @Override
   public <T> T create(Class<T> type) {
     return create(type, null, null);
@@ -55,29 +57,10 @@ public class DefaultObjectFactory implements ObjectFactory, Serializable {
 
   private <T> T instantiateClass(Class<T> type, List<Class<?>> constructorArgTypes, List<Object> constructorArgs) {
     try {
-      Constructor<T> constructor;
       if (constructorArgTypes == null || constructorArgs == null) {
-        constructor = type.getDeclaredConstructor();
-        try {
-          return constructor.newInstance();
-        } catch (IllegalAccessException e) {
-          if (Reflector.canControlMemberAccessible()) {
-            constructor.setAccessible(true);
-            return constructor.newInstance();
-          }
-          throw e;
-        }
-      }
-      constructor = type.getDeclaredConstructor(constructorArgTypes.toArray(new Class[0]));
-      try {
-        return constructor.newInstance(constructorArgs.toArray(new Object[0]));
-      } catch (IllegalAccessException e) {
-        if (Reflector.canControlMemberAccessible()) {
-          constructor.setAccessible(true);
-          return constructor.newInstance(constructorArgs.toArray(new Object[0]));
-        }
-        throw e;
+        return type.cast(getInstantiator(type, Collections.emptyList()).newInstance(Collections.emptyList()));
       }
+      return type.cast(getInstantiator(type, constructorArgTypes).newInstance(constructorArgs));
     } catch (Exception e) {
       String argTypes = Optional.ofNullable(constructorArgTypes).orElseGet(Collections::emptyList).stream()
           .map(Class::getSimpleName).collect(Collectors.joining(","));
@@ -88,6 +71,25 @@ public class DefaultObjectFactory implements ObjectFactory, Serializable {
     }
   }
 
+  private ObjectInstantiator getInstantiator(Class<?> type, List<Class<?>> constructorArgTypes)
+      throws NoSuchMethodException {
+    Map<Class<?>, Map<List<Class<?>>, ObjectInstantiator>> instantiators = this.instantiators;
+    if (instantiators == null) {
+      // transient, so rebuilt after deserialization; a racing thread only loses what it cached
+      instantiators = new ConcurrentHashMap<>();
+      this.instantiators = instantiators;
+    }
+    Map<List<Class<?>>, ObjectInstantiator> byArgTypes = instantiators.computeIfAbsent(type,
+        k -> new ConcurrentHashMap<>());
+    ObjectInstantiator instantiator = byArgTypes.get(constructorArgTypes);
+    if (instantiator == null) {
+      Constructor<?> constructor = type.getDeclaredConstructor(constructorArgTypes.toArray(new Class[0]));
+      instantiator = ObjectInstantiator.forConstructor(constructor);
+      byArgTypes.putIfAbsent(List.copyOf(constructorArgTypes), instantiator);
+    }
+    return instantiator;
+  }
+
   protected Class<?> resolveInterface(Class<?> type) {
     Class<?> classToCreate;
     if (type == List.class || type == Collection.class || type == Iterable.class) {
@@ -0,0 +1,342 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.factory;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.apache.ibatis.reflection.Reflector;
+
+/**
+ * Creates the instances of a class with one of its constructors, without going through {@link Constructor#newInstance}:
+ * constructors of up to eight arguments are called through a <code>LambdaMetafactory</code> generated {@link Supplier},
+ * {@link Function}, {@link BiFunction} or {@link Function3} to {@link Function8}, the others through a method handle.
+ * <p>
+ * The arguments reflection would have to convert, and the constructors no generated code can be built for, are left to
+ * reflection so that its exceptions are kept.
+ *
+ * @since 3.6.0
+ */
+abstract class ObjectInstantiator {
+
+  protected final Constructor<?> constructor;
+  private final Class<?>[] argTypes;
+  private final boolean[] primitives;
+
+  private ObjectInstantiator(Constructor<?> constructor) {
+    this.constructor = constructor;
+    Class<?>[] parameterTypes = constructor.getParameterTypes();
+    this.argTypes = new Class<?>[parameterTypes.length];
+    this.primitives = new boolean[parameterTypes.length];
+    for (int i = 0; i < parameterTypes.length; i++) {
+      argTypes[i] = MethodType.methodType(parameterTypes[i]).wrap().returnType();
+      primitives[i] = parameterTypes[i].isPrimitive();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  static ObjectInstantiator forConstructor(Constructor<?> constructor) {
+    Class<?> type = constructor.getDeclaringClass();
+    if (Modifier.isAbstract(type.getModifiers()) || type.isEnum()) {
+      return new ReflectiveInstantiator(constructor);
+    }
+    try {
+      MethodHandles.Lookup lookup = privateLookup(type);
+      if (lookup != null) {
+        MethodHandle handle = lookup.unreflectConstructor(constructor);
+        switch (constructor.getParameterCount()) {
+          case 0:
+            return new SupplierInstantiator(constructor, (Supplier<?>) generate(lookup, handle, Supplier.class, "get"));
+          case 1:
+            return new FunctionInstantiator(constructor,
+                (Function<Object, ?>) generate(lookup, handle, Function.class, "apply"));
+          case 2:
+            return new BiFunctionInstantiator(constructor,
+                (BiFunction<Object, Object, ?>) generate(lookup, handle, BiFunction.class, "apply"));
+          case 3:
+            return new ArgumentsInstantiator(constructor,
+                (Arguments) generate(lookup, handle, Function3.class, "apply"));
+          case 4:
+            return new ArgumentsInstantiator(constructor,
+                (Arguments) generate(lookup, handle, Function4.class, "apply"));
+          case 5:
+            return new ArgumentsInstantiator(constructor,
+                (Arguments) generate(lookup, handle, Function5.class, "apply"));
+          case 6:
+            return new ArgumentsInstantiator(constructor,
+                (Arguments) generate(lookup, handle, Function6.class, "apply"));
+          case 7:
+            return new ArgumentsInstantiator(constructor,
+                (Arguments) generate(lookup, handle, Function7.class, "apply"));
+          case 8:
+            return new ArgumentsInstantiator(constructor,
+                (Arguments) generate(lookup, handle, Function8.class, "apply"));
+          default:
+            return new MethodHandleInstantiator(constructor, handle);
+        }
+      }
+      if (Modifier.isPublic(type.getModifiers()) && Modifier.isPublic(constructor.getModifiers())) {
+        return new MethodHandleInstantiator(constructor,
+            MethodHandles.publicLookup().unreflectConstructor(constructor));
+      }
+    } catch (Throwable e) {
+      // left to reflection
+    }
+    return new ReflectiveInstantiator(constructor);
+  }
+
+  private static MethodHandles.Lookup privateLookup(Class<?> type) {
+    if (!Reflector.canControlMemberAccessible()) {
+      return null;
+    }
+    try {
+      return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+    } catch (IllegalAccessException | RuntimeException e) {
+      // e.g. a package that is not open to MyBatis
+      return null;
+    }
+  }
+
+  private static Object generate(MethodHandles.Lookup lookup, MethodHandle handle, Class<?> functionType,
+      String methodName) throws Throwable {
+    MethodType instantiatedType = handle.type().wrap();
+    CallSite site = LambdaMetafactory.metafactory(lookup, methodName, MethodType.methodType(functionType),
+        instantiatedType.erase(), handle, instantiatedType);
+    return site.getTarget().invoke();
+  }
+
+  /**
+   * Creates an instance.
+   *
+   * @param args
+   *          the constructor arguments
+   *
+   * @return the new instance
+   *
+   * @throws Exception
+   *           the exceptions {@link Constructor#newInstance} would throw
+   */
+  Object newInstance(List<Object> args) throws Exception {
+    if (!accepts(args)) {
+      return newReflectiveInstance(args);
+    }
+    try {
+      return create(args);
+    } catch (Throwable t) {
+      throw new InvocationTargetException(t);
+    }
+  }
+
+  abstract Object create(List<Object> args) throws Throwable;
+
+  /**
+   * @return <code>true</code> if these arguments can be passed without the conversions reflection would apply
+   */
+  private boolean accepts(List<Object> args) {
+    if (args.size() != argTypes.length) {
+      return false;
+    }
+    for (int i = 0; i < argTypes.length; i++) {
+      Object arg = args.get(i);
+      if (arg == null ? primitives[i] : !argTypes[i].isInstance(arg)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  protected Object newReflectiveInstance(List<Object> args) throws Exception {
+    Object[] values = args.toArray();
+    try {
+      return constructor.newInstance(values);
+    } catch (IllegalAccessException e) {
+      if (Reflector.canControlMemberAccessible()) {
+        constructor.setAccessible(true);
+        return constructor.newInstance(values);
+      }
+      throw e;
+    }
+  }
+
+  private static final class ReflectiveInstantiator extends ObjectInstantiator {
+    ReflectiveInstantiator(Constructor<?> constructor) {
+      super(constructor);
+    }
+
+    @Override
+    Object newInstance(List<Object> args) throws Exception {
+      return newReflectiveInstance(args);
+    }
+
+    @Override
+    Object create(List<Object> args) throws Exception {
+      return newReflectiveInstance(args);
+    }
+  }
+
+  private static final class SupplierInstantiator extends ObjectInstantiator {
+    private final Supplier<?> supplier;
+
+    SupplierInstantiator(Constructor<?> constructor, Supplier<?> supplier) {
+      super(constructor);
+      this.supplier = supplier;
+    }
+
+    @Override
+    Object create(List<Object> args) {
+      return supplier.get();
+    }
+  }
+
+  private static final class FunctionInstantiator extends ObjectInstantiator {
+    private final Function<Object, ?> function;
+
+    FunctionInstantiator(Constructor<?> constructor, Function<Object, ?> function) {
+      super(constructor);
+      this.function = function;
+    }
+
+    @Override
+    Object create(List<Object> args) {
+      return function.apply(args.get(0));
+    }
+  }
+
+  private static final class BiFunctionInstantiator extends ObjectInstantiator {
+    private final BiFunction<Object, Object, ?> function;
+
+    BiFunctionInstantiator(Constructor<?> constructor, BiFunction<Object, Object, ?> function) {
+      super(constructor);
+      this.function = function;
+    }
+
+    @Override
+    Object create(List<Object> args) {
+      return function.apply(args.get(0), args.get(1));
+    }
+  }
+
+  private static final class ArgumentsInstantiator extends ObjectInstantiator {
+    private final Arguments function;
+
+    ArgumentsInstantiator(Constructor<?> constructor, Arguments function) {
+      super(constructor);
+      this.function = function;
+    }
+
+    @Override
+    Object create(List<Object> args) {
+      return function.applyList(args);
+    }
+  }
+
+  private static final class MethodHandleInstantiator extends ObjectInstantiator {
+    private final MethodHandle handle;
+
+    MethodHandleInstantiator(Constructor<?> constructor, MethodHandle handle) {
+      super(constructor);
+      int arity = constructor.getParameterCount();
+      this.handle = handle.asFixedArity().asSpreader(Object[].class, arity)
+          .asType(MethodType.methodType(Object.class, Object[].class));
+    }
+
+    @Override
+    Object create(List<Object> args) throws Throwable {
+      return (Object) handle.invokeExact(args.toArray());
+    }
+  }
+
+  /*
+   * The interfaces implemented by the generated classes, which are defined in the package of the instantiated class, so
+   * they have to be public.
+   */
+
+  public interface Arguments {
+    Object applyList(List<Object> args);
+  }
+
+  @FunctionalInterface
+  public interface Function3 extends Arguments {
+    Object apply(Object a1, Object a2, Object a3);
+
+    @Override
+    default Object applyList(List<Object> args) {
+      return apply(args.get(0), args.get(1), args.get(2));
+    }
+  }
+
+  @FunctionalInterface
+  public interface Function4 extends Arguments {
+    Object apply(Object a1, Object a2, Object a3, Object a4);
+
+    @Override
+    default Object applyList(List<Object> args) {
+      return apply(args.get(0), args.get(1), args.get(2), args.get(3));
+    }
+  }
+
+  @FunctionalInterface
+  public interface Function5 extends Arguments {
+    Object apply(Object a1, Object a2, Object a3, Object a4, Object a5);
+
+    @Override
+    default Object applyList(List<Object> args) {
+      return apply(args.get(0), args.get(1), args.get(2), args.get(3), args.get(4));
+    }
+  }
+
+  @FunctionalInterface
+  public interface Function6 extends Arguments {
+    Object apply(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6);
+
+    @Override
+    default Object applyList(List<Object> args) {
+      return apply(args.get(0), args.get(1), args.get(2), args.get(3), args.get(4), args.get(5));
+    }
+  }
+
+  @FunctionalInterface
+  public interface Function7 extends Arguments {
+    Object apply(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7);
+
+    @Override
+    default Object applyList(List<Object> args) {
+      return apply(args.get(0), args.get(1), args.get(2), args.get(3), args.get(4), args.get(5), args.get(6));
+    }
+  }
+
+  @FunctionalInterface
+  public interface Function8 extends Arguments {
+    Object apply(Object a1, Object a2, Object a3, Object a4, Object a5, Object a6, Object a7, Object a8);
+
+    @Override
+    default Object applyList(List<Object> args) {
+      return apply(args.get(0), args.get(1), args.get(2), args.get(3), args.get(4), args.get(5), args.get(6),
+          args.get(7));
+    }
+  }
+
+}
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -27,6 +27,7 @@ public class MethodInvoker implements Invoker {
 
   private final Class<?> type;
   private final Method method;
+  private PropertyAccessor accessor;
 
   public MethodInvoker(Method method) {
     this.method = method;
@@ -40,6 +41,14 @@ public class MethodInvoker implements Invoker {
 
   @Override
   public Object invoke(Object target, Object[] args) throws IllegalAccessException, InvocationTargetException {
+    PropertyAccessor accessor = accessor();
+    if (accessor.accepts(target, args)) {
+      try {
+        return accessor.access(target, args);
+      } catch (Throwable t) {
+        throw new InvocationTargetException(t);
+      }
+    }
     try {
       return method.invoke(target, args);
     } catch (IllegalAccessException e) {
@@ -55,4 +64,14 @@ public class MethodInvoker implements Invoker {
   public Class<?> getType() {
     return type;
   }
+
+  PropertyAccessor accessor() {
+    PropertyAccessor accessor = this.accessor;
+    if (accessor == null) {
+      // built on first use, as most properties of a class are never read or written; racing threads build the same one
+      accessor = PropertyAccessor.forMethod(method);
+      this.accessor = accessor;
+    }
+    return accessor;
+  }
 }
@@ -0,0 +1,247 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.Reflector;
+
+/**
+ * Reads or writes a property without going through {@link Method#invoke} or {@link Field#get}: methods are called
+ * through a <code>LambdaMetafactory</code> generated {@link Function} or {@link BiConsumer}, fields through a method
+ * handle adapted to <code>Object</code>.
+ * <p>
+ * An accessor only {@link #accepts} the calls reflection would succeed with, so that the invokers can leave the others,
+ * and the members no accessor can be built for, to reflection and keep its exceptions.
+ *
+ * @since 3.6.0
+ */
+abstract class PropertyAccessor {
+
+  static final PropertyAccessor UNAVAILABLE = new PropertyAccessor(Object.class) {
+    @Override
+    boolean accepts(Object target, Object[] args) {
+      return false;
+    }
+
+    @Override
+    Object access(Object target, Object[] args) {
+      throw new ReflectionException("No accessor is available for this member, the call must be left to reflection.");
+    }
+  };
+
+  private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class, Object.class);
+  private static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+
+  protected final Class<?> declaringClass;
+
+  private PropertyAccessor(Class<?> declaringClass) {
+    this.declaringClass = declaringClass;
+  }
+
+  /**
+   * @return <code>true</code> if this accessor can be used with these arguments, <code>false</code> if the call must be
+   *         left to reflection
+   */
+  abstract boolean accepts(Object target, Object[] args);
+
+  abstract Object access(Object target, Object[] args) throws Throwable;
+
+  @SuppressWarnings("unchecked")
+  static PropertyAccessor forMethod(Method method) {
+    int parameterCount = method.getParameterCount();
+    if (Modifier.isStatic(method.getModifiers()) || parameterCount > 1
+        || parameterCount == 0 && method.getReturnType() == void.class) {
+      return UNAVAILABLE;
+    }
+    try {
+      MethodHandles.Lookup lookup = lookup(method.getDeclaringClass());
+      if (lookup == null) {
+        return UNAVAILABLE;
+      }
+      MethodHandle handle = lookup.unreflect(method);
+      if (parameterCount == 0) {
+        CallSite site = LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Function.class),
+            GETTER_TYPE, handle, handle.type().wrap());
+        return new MethodGetter(method.getDeclaringClass(), (Function<Object, Object>) site.getTarget().invoke());
+      }
+      CallSite site = LambdaMetafactory.metafactory(lookup, "accept", MethodType.methodType(BiConsumer.class),
+          SETTER_TYPE, handle, handle.type().wrap().changeReturnType(void.class));
+      return new MethodSetter(method.getDeclaringClass(), method.getParameterTypes()[0],
+          (BiConsumer<Object, Object>) site.getTarget().invoke());
+    } catch (Throwable e) {
+      // left to reflection
+      return UNAVAILABLE;
+    }
+  }
+
+  static PropertyAccessor forGetField(Field field) {
+    if (Modifier.isStatic(field.getModifiers())) {
+      return UNAVAILABLE;
+    }
+    try {
+      MethodHandles.Lookup lookup = lookup(field.getDeclaringClass());
+      if (lookup == null) {
+        return UNAVAILABLE;
+      }
+      return new FieldGetter(field.getDeclaringClass(), lookup.unreflectGetter(field).asType(GETTER_TYPE));
+    } catch (IllegalAccessException | RuntimeException e) {
+      return UNAVAILABLE;
+    }
+  }
+
+  static PropertyAccessor forSetField(Field field) {
+    // final fields are only writable through an accessible Field
+    if (Modifier.isStatic(field.getModifiers()) || Modifier.isFinal(field.getModifiers())) {
+      return UNAVAILABLE;
+    }
+    try {
+      MethodHandles.Lookup lookup = lookup(field.getDeclaringClass());
+      if (lookup == null) {
+        return UNAVAILABLE;
+      }
+      return new FieldSetter(field.getDeclaringClass(), field.getType(),
+          lookup.unreflectSetter(field).asType(SETTER_TYPE));
+    } catch (IllegalAccessException | RuntimeException e) {
+      return UNAVAILABLE;
+    }
+  }
+
+  private static MethodHandles.Lookup lookup(Class<?> declaringClass) {
+    if (!Reflector.canControlMemberAccessible()) {
+      return null;
+    }
+    try {
+      return MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+    } catch (IllegalAccessException | RuntimeException e) {
+      // e.g. a package that is not open to MyBatis
+      return null;
+    }
+  }
+
+  /**
+   * The values a setter accepts without the widening conversions reflection would apply.
+   */
+  private static final class ValueType {
+    private final Class<?> type;
+    private final boolean primitive;
+
+    ValueType(Class<?> type) {
+      this.type = MethodType.methodType(type).wrap().returnType();
+      this.primitive = type.isPrimitive();
+    }
+
+    boolean accepts(Object[] args) {
+      if (args == null || args.length != 1) {
+        return false;
+      }
+      return args[0] == null ? !primitive : type.isInstance(args[0]);
+    }
+  }
+
+  private static final class MethodGetter extends PropertyAccessor {
+    private final Function<Object, Object> getter;
+
+    MethodGetter(Class<?> declaringClass, Function<Object, Object> getter) {
+      super(declaringClass);
+      this.getter = getter;
+    }
+
+    @Override
+    boolean accepts(Object target, Object[] args) {
+      return declaringClass.isInstance(target) && (args == null || args.length == 0);
+    }
+
+    @Override
+    Object access(Object target, Object[] args) {
+      return getter.apply(target);
+    }
+  }
+
+  private static final class MethodSetter extends PropertyAccessor {
+    private final ValueType valueType;
+    private final BiConsumer<Object, Object> setter;
+
+    MethodSetter(Class<?> declaringClass, Class<?> valueType, BiConsumer<Object, Object> setter) {
+      super(declaringClass);
+      this.valueType = new ValueType(valueType);
+      this.setter = setter;
+    }
+
+    @Override
+    boolean accepts(Object target, Object[] args) {
+      return declaringClass.isInstance(target) && valueType.accepts(args);
+    }
+
+    @Override
+    Object access(Object target, Object[] args) {
+      setter.accept(target, args[0]);
+      return null;
+    }
+  }
+
+  private static final class FieldGetter extends PropertyAccessor {
+    private final MethodHandle getter;
+
+    FieldGetter(Class<?> declaringClass, MethodHandle getter) {
+      super(declaringClass);
+      this.getter = getter;
+    }
+
+    @Override
+    boolean accepts(Object target, Object[] args) {
+      return declaringClass.isInstance(target);
+    }
+
+    @Override
+    Object access(Object target, Object[] args) throws Throwable {
+      return (Object) getter.invokeExact(target);
+    }
+  }
+
+  private static final class FieldSetter extends PropertyAccessor {
+    private final ValueType valueType;
+    private final MethodHandle setter;
+
+    FieldSetter(Class<?> declaringClass, Class<?> valueType, MethodHandle setter) {
+      super(declaringClass);
+      this.valueType = new ValueType(valueType);
+      this.setter = setter;
+    }
+
+    @Override
+    boolean accepts(Object target, Object[] args) {
+      return declaringClass.isInstance(target) && valueType.accepts(args);
+    }
+
+    @Override
+    Object access(Object target, Object[] args) throws Throwable {
+      setter.invokeExact(target, args[0]);
+      return null;
+    }
+  }
+
+}
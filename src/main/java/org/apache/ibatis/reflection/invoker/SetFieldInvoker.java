@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@ package org.apache.ibatis.reflection.invoker;
 
 import java.lang.reflect.Field;
 
+import org.apache.ibatis.reflection.ReflectionException;
 import org.apache.ibatis.reflection.Reflector;
 
 /**
@@ -24,6 +25,7 @@ import org.apache.ibatis.reflection.Reflector;
  */
 public class SetFieldInvoker implements Invoker {
   private final Field field;
+  private PropertyAccessor accessor;
 
   public SetFieldInvoker(Field field) {
     this.field = field;
@@ -31,6 +33,16 @@ public class SetFieldInvoker implements Invoker {
 
   @Override
   public Object invoke(Object target, Object[] args) throws IllegalAccessException {
+    PropertyAccessor accessor = accessor();
+    if (accessor.accepts(target, args)) {
+      try {
+        return accessor.access(target, args);
+      } catch (RuntimeException | Error e) {
+        throw e;
+      } catch (Throwable t) {
+        throw new ReflectionException(t);
+      }
+    }
     try {
       field.set(target, args[0]);
     } catch (IllegalAccessException e) {
@@ -47,4 +59,13 @@ public class SetFieldInvoker implements Invoker {
   public Class<?> getType() {
     return field.getType();
   }
+
+  PropertyAccessor accessor() {
+    PropertyAccessor accessor = this.accessor;
+    if (accessor == null) {
+      accessor = PropertyAccessor.forSetField(field);
+      this.accessor = accessor;
+    }
+    return accessor;
+  }
 }
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2025 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -19,6 +19,7 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.List;
 
+import org.apache.ibatis.binding.MapperMethod.ParamMap;
 import org.apache.ibatis.executor.ErrorContext;
 import org.apache.ibatis.executor.parameter.ParameterHandler;
 import org.apache.ibatis.mapping.BoundSql;
@@ -93,6 +94,10 @@ public class DefaultParameterHandler implements ParameterHandler {
       return boundSql.getAdditionalParameter(propertyName);
     } else if (parameterObject == null) {
       return null;
+    } else if (parameterObject instanceof ParamMap && propertyName.indexOf('.') == -1
+        && propertyName.indexOf('[') == -1) {
+      // the arguments of a mapper method are read by name, without a meta object
+      return ((ParamMap<?>) parameterObject).get(propertyName);
     } else if (typeHandlerRegistry.hasTypeHandler(parameterObject.getClass())) {
       return parameterObject;
     } else {
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2025 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -15,8 +15,10 @@
  */
 package org.apache.ibatis.session;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -40,15 +42,26 @@ import org.apache.ibatis.cache.decorators.FifoCache;
 import org.apache.ibatis.cache.decorators.LruCache;
 import org.apache.ibatis.cache.decorators.SoftCache;
 import org.apache.ibatis.cache.decorators.WeakCache;
+import org.apache.ibatis.cache.entity.EntityCache;
 import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.cache.invalidation.CacheInvalidationBus;
+import org.apache.ibatis.cache.invalidation.CacheInvalidationService;
+import org.apache.ibatis.cache.invalidation.LoopbackCacheInvalidationBus;
+import org.apache.ibatis.cache.invalidation.UdpCacheInvalidationBus;
+import org.apache.ibatis.cache.negative.NegativeCache;
+import org.apache.ibatis.cache.statistics.CacheStatistics;
+import org.apache.ibatis.cache.warmup.WarmupStatement;
 import org.apache.ibatis.datasource.jndi.JndiDataSourceFactory;
 import org.apache.ibatis.datasource.pooled.PooledDataSourceFactory;
+import org.apache.ibatis.datasource.routing.RoutingDataSourceFactory;
 import org.apache.ibatis.datasource.unpooled.UnpooledDataSourceFactory;
 import org.apache.ibatis.executor.BatchExecutor;
 import org.apache.ibatis.executor.CachingExecutor;
 import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.MultiRowInsertDialect;
 import org.apache.ibatis.executor.ReuseExecutor;
 import org.apache.ibatis.executor.SimpleExecutor;
+import org.apache.ibatis.executor.deadline.LatencyTracker;
 import org.apache.ibatis.executor.keygen.KeyGenerator;
 import org.apache.ibatis.executor.loader.ProxyFactory;
 import org.apache.ibatis.executor.loader.cglib.CglibProxyFactory;
@@ -67,6 +80,7 @@ import org.apache.ibatis.logging.log4j.Log4jImpl;
 import org.apache.ibatis.logging.log4j2.Log4j2Impl;
 import org.apache.ibatis.logging.nologging.NoLoggingImpl;
 import org.apache.ibatis.logging.slf4j.Slf4jImpl;
+import org.apache.ibatis.logging.slow.SlowStatementLog;
 import org.apache.ibatis.logging.stdout.StdOutImpl;
 import org.apache.ibatis.mapping.BoundSql;
 import org.apache.ibatis.mapping.Environment;
@@ -74,6 +88,7 @@ import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.mapping.ParameterMap;
 import org.apache.ibatis.mapping.ResultMap;
 import org.apache.ibatis.mapping.ResultSetType;
+import org.apache.ibatis.mapping.SqlCommandType;
 import org.apache.ibatis.mapping.VendorDatabaseIdProvider;
 import org.apache.ibatis.parsing.XNode;
 import org.apache.ibatis.plugin.Interceptor;
@@ -122,6 +137,24 @@ public class Configuration {
   protected Class<? extends Log> logImpl;
   protected Class<? extends VFS> vfsImpl;
   protected Class<?> defaultSqlProviderType;
+  protected CacheInvalidationService cacheInvalidationService;
+  protected EntityCache entityCache;
+  protected int entityCacheSize = 1024;
+  protected Class<? extends Cache> entityCacheEviction = LruCache.class;
+  protected int negativeCacheSize = 1024;
+  protected int negativeCacheBloomFilterSize;
+  protected boolean cacheStatisticsEnabled;
+  protected boolean cacheStatisticsJmxEnabled;
+  protected int cacheWarmupThreads = 4;
+  protected boolean cacheWarmupAsync;
+  protected double hedgeDelayPercentile = 95;
+  protected long slowStatementThreshold;
+  protected int slowStatementLogRate = 10;
+  protected boolean slowStatementExplain;
+  protected SlowStatementLog slowStatementLog = new SlowStatementLog(this);
+  protected boolean generateMapperClasses;
+  protected int defaultBatchSize = 1000;
+  protected boolean rewriteBatchedInserts;
   protected LocalCacheScope localCacheScope = LocalCacheScope.SESSION;
   protected JdbcType jdbcTypeForNull = JdbcType.OTHER;
   protected Set<String> lazyLoadTriggerMethods = new HashSet<>(
@@ -160,9 +193,14 @@ public class Configuration {
           .conflictMessageProducer((savedValue, targetValue) -> ". please check " + savedValue.getResource() + " and "
               + targetValue.getResource());
   protected final Map<String, Cache> caches = new StrictMap<>("Caches collection");
+  protected final Map<String, NegativeCache> negativeCaches = new ConcurrentHashMap<>();
+  protected final LatencyTracker statementLatencies = new LatencyTracker();
+  protected final Map<String, CacheStatistics> cacheStatistics = new ConcurrentHashMap<>();
+  protected final List<WarmupStatement> warmupStatements = new ArrayList<>();
   protected final Map<String, ResultMap> resultMaps = new StrictMap<>("Result Maps collection");
   protected final Map<String, ParameterMap> parameterMaps = new StrictMap<>("Parameter Maps collection");
   protected final Map<String, KeyGenerator> keyGenerators = new StrictMap<>("Key Generators collection");
+  protected final Map<String, MultiRowInsertDialect> multiRowInsertDialects = new ConcurrentHashMap<>();
 
   protected final Set<String> loadedResources = new HashSet<>();
   protected final Map<String, XNode> sqlFragments = new StrictMap<>("XML fragments parsed from previous mappers");
@@ -194,6 +232,7 @@ public class Configuration {
     typeAliasRegistry.registerAlias("JNDI", JndiDataSourceFactory.class);
     typeAliasRegistry.registerAlias("POOLED", PooledDataSourceFactory.class);
     typeAliasRegistry.registerAlias("UNPOOLED", UnpooledDataSourceFactory.class);
+    typeAliasRegistry.registerAlias("ROUTING", RoutingDataSourceFactory.class);
 
     typeAliasRegistry.registerAlias("PERPETUAL", PerpetualCache.class);
     typeAliasRegistry.registerAlias("FIFO", FifoCache.class);
@@ -201,6 +240,9 @@ public class Configuration {
     typeAliasRegistry.registerAlias("SOFT", SoftCache.class);
     typeAliasRegistry.registerAlias("WEAK", WeakCache.class);
 
+    typeAliasRegistry.registerAlias("LOOPBACK", LoopbackCacheInvalidationBus.class);
+    typeAliasRegistry.registerAlias("UDP", UdpCacheInvalidationBus.class);
+
     typeAliasRegistry.registerAlias("DB_VENDOR", VendorDatabaseIdProvider.class);
 
     typeAliasRegistry.registerAlias("XML", XMLLanguageDriver.class);
@@ -219,6 +261,15 @@ public class Configuration {
 
     languageRegistry.setDefaultDriverClass(XMLLanguageDriver.class);
     languageRegistry.register(RawLanguageDriver.class);
+
+    registerMultiRowInsertDialect("hsqldb", new MultiRowInsertDialect(32767, 0, true));
+    registerMultiRowInsertDialect("h2", new MultiRowInsertDialect(32767, 0, true));
+    registerMultiRowInsertDialect("mysql", new MultiRowInsertDialect(65535, 0, true));
+    registerMultiRowInsertDialect("mariadb", new MultiRowInsertDialect(65535, 0, true));
+    registerMultiRowInsertDialect("postgresql", new MultiRowInsertDialect(32767, 0, true));
+    registerMultiRowInsertDialect("sqlserver", new MultiRowInsertDialect(2100, 1000, false));
+    registerMultiRowInsertDialect("sqlite", new MultiRowInsertDialect(999, 500, false));
+    registerMultiRowInsertDialect("db2", new MultiRowInsertDialect(32767, 0, false));
   }
 
   public String getLogPrefix() {
@@ -251,6 +302,303 @@ public class Configuration {
     }
   }
 
+  public CacheInvalidationBus getCacheInvalidationBus() {
+    return cacheInvalidationService == null ? null : cacheInvalidationService.getBus();
+  }
+
+  /**
+   * Sets the transport used to propagate second level cache flushes to the other nodes of a deployment. Setting a new
+   * bus closes the previous one.
+   *
+   * @param cacheInvalidationBus
+   *          the bus to publish to and receive from, or <code>null</code> to keep caches node-local
+   *
+   * @since 3.6.0
+   */
+  public void setCacheInvalidationBus(CacheInvalidationBus cacheInvalidationBus) {
+    if (cacheInvalidationService != null) {
+      cacheInvalidationService.close();
+    }
+    this.cacheInvalidationService = cacheInvalidationBus == null ? null
+        : new CacheInvalidationService(this, cacheInvalidationBus);
+  }
+
+  public CacheInvalidationService getCacheInvalidationService() {
+    return cacheInvalidationService;
+  }
+
+  public boolean isEntityCacheEnabled() {
+    return entityCache != null;
+  }
+
+  /**
+   * Enables the identity map of entities mapped by result maps with id mappings.
+   *
+   * @param entityCacheEnabled
+   *          <code>true</code> to map each entity only once across statements
+   *
+   * @since 3.6.0
+   *
+   * @see EntityCache
+   */
+  public void setEntityCacheEnabled(boolean entityCacheEnabled) {
+    if (!entityCacheEnabled) {
+      this.entityCache = null;
+    } else if (this.entityCache == null) {
+      this.entityCache = new EntityCache(this);
+    }
+  }
+
+  /**
+   * @return the entity cache, or <code>null</code> if it is disabled
+   *
+   * @since 3.6.0
+   */
+  public EntityCache getEntityCache() {
+    return entityCache;
+  }
+
+  public int getEntityCacheSize() {
+    return entityCacheSize;
+  }
+
+  /**
+   * @param entityCacheSize
+   *          the maximum number of entities kept for each result map
+   *
+   * @since 3.6.0
+   */
+  public void setEntityCacheSize(int entityCacheSize) {
+    this.entityCacheSize = entityCacheSize;
+  }
+
+  public Class<? extends Cache> getEntityCacheEviction() {
+    return entityCacheEviction;
+  }
+
+  /**
+   * @param entityCacheEviction
+   *          the eviction decorator applied to the entities of each result map
+   *
+   * @since 3.6.0
+   */
+  public void setEntityCacheEviction(Class<? extends Cache> entityCacheEviction) {
+    this.entityCacheEviction = entityCacheEviction == null ? LruCache.class : entityCacheEviction;
+  }
+
+  public boolean isCacheStatisticsEnabled() {
+    return cacheStatisticsEnabled;
+  }
+
+  /**
+   * @param cacheStatisticsEnabled
+   *          <code>true</code> to keep statistics of the second level caches built afterwards
+   *
+   * @since 3.6.0
+   *
+   * @see #getCacheStatistics(String)
+   */
+  public void setCacheStatisticsEnabled(boolean cacheStatisticsEnabled) {
+    this.cacheStatisticsEnabled = cacheStatisticsEnabled;
+  }
+
+  public boolean isCacheStatisticsJmxEnabled() {
+    return cacheStatisticsJmxEnabled;
+  }
+
+  /**
+   * @param cacheStatisticsJmxEnabled
+   *          <code>true</code> to register the statistics of each cache in the platform MBean server
+   *
+   * @since 3.6.0
+   */
+  public void setCacheStatisticsJmxEnabled(boolean cacheStatisticsJmxEnabled) {
+    this.cacheStatisticsJmxEnabled = cacheStatisticsJmxEnabled;
+  }
+
+  public int getCacheWarmupThreads() {
+    return cacheWarmupThreads;
+  }
+
+  /**
+   * @param cacheWarmupThreads
+   *          the maximum number of warm-up statements run at the same time
+   *
+   * @since 3.6.0
+   */
+  public void setCacheWarmupThreads(int cacheWarmupThreads) {
+    this.cacheWarmupThreads = cacheWarmupThreads;
+  }
+
+  public boolean isCacheWarmupAsync() {
+    return cacheWarmupAsync;
+  }
+
+  /**
+   * @param cacheWarmupAsync
+   *          <code>true</code> to let the session factory be used while the warm-up statements run in the background
+   *
+   * @since 3.6.0
+   */
+  public void setCacheWarmupAsync(boolean cacheWarmupAsync) {
+    this.cacheWarmupAsync = cacheWarmupAsync;
+  }
+
+  public int getNegativeCacheSize() {
+    return negativeCacheSize;
+  }
+
+  /**
+   * @param negativeCacheSize
+   *          the maximum number of empty results remembered for each cache namespace
+   *
+   * @since 3.6.0
+   */
+  public void setNegativeCacheSize(int negativeCacheSize) {
+    this.negativeCacheSize = negativeCacheSize;
+  }
+
+  public int getNegativeCacheBloomFilterSize() {
+    return negativeCacheBloomFilterSize;
+  }
+
+  /**
+   * @param negativeCacheBloomFilterSize
+   *          the expected number of present keys of each cache namespace, 0 to keep no Bloom filter of present keys
+   *
+   * @since 3.6.0
+   *
+   * @see NegativeCache
+   */
+  public void setNegativeCacheBloomFilterSize(int negativeCacheBloomFilterSize) {
+    this.negativeCacheBloomFilterSize = negativeCacheBloomFilterSize;
+  }
+
+  public double getHedgeDelayPercentile() {
+    return hedgeDelayPercentile;
+  }
+
+  /**
+   * @param hedgeDelayPercentile
+   *          the percentile of the latest execution times of a hedged select after which its duplicate is sent
+   *
+   * @since 3.6.0
+   */
+  public void setHedgeDelayPercentile(double hedgeDelayPercentile) {
+    this.hedgeDelayPercentile = hedgeDelayPercentile;
+  }
+
+  /**
+   * @return the latest execution times of the hedged selects
+   *
+   * @since 3.6.0
+   */
+  public LatencyTracker getStatementLatencies() {
+    return statementLatencies;
+  }
+
+  public boolean isGenerateMapperClasses() {
+    return generateMapperClasses;
+  }
+
+  /**
+   * @param generateMapperClasses
+   *          <code>true</code> to implement the mapper interfaces with generated classes calling their statements
+   *          directly, instead of proxies
+   *
+   * @since 3.6.0
+   */
+  public void setGenerateMapperClasses(boolean generateMapperClasses) {
+    this.generateMapperClasses = generateMapperClasses;
+  }
+
+  public int getDefaultBatchSize() {
+    return defaultBatchSize;
+  }
+
+  /**
+   * @param defaultBatchSize
+   *          the maximum number of parameters executed by a JDBC batch of a batch statement that does not declare a
+   *          size of its own
+   *
+   * @since 3.6.0
+   */
+  public void setDefaultBatchSize(int defaultBatchSize) {
+    this.defaultBatchSize = defaultBatchSize;
+  }
+
+  public boolean isRewriteBatchedInserts() {
+    return rewriteBatchedInserts;
+  }
+
+  /**
+   * @param rewriteBatchedInserts
+   *          <code>true</code> to send the batches of a single-row insert as multi-row inserts, when a
+   *          {@link MultiRowInsertDialect} is registered for the <code>databaseId</code>
+   *
+   * @since 3.6.0
+   */
+  public void setRewriteBatchedInserts(boolean rewriteBatchedInserts) {
+    this.rewriteBatchedInserts = rewriteBatchedInserts;
+  }
+
+  public long getSlowStatementThreshold() {
+    return slowStatementThreshold;
+  }
+
+  /**
+   * @param slowStatementThreshold
+   *          the milliseconds after which the executions of statements are reported by the slow statement log, 0 to
+   *          only report the statements declaring a threshold of their own
+   *
+   * @since 3.6.0
+   */
+  public void setSlowStatementThreshold(long slowStatementThreshold) {
+    this.slowStatementThreshold = slowStatementThreshold;
+  }
+
+  public int getSlowStatementLogRate() {
+    return slowStatementLogRate;
+  }
+
+  /**
+   * @param slowStatementLogRate
+   *          the maximum number of slow statements reported per second, 0 to report them all
+   *
+   * @since 3.6.0
+   */
+  public void setSlowStatementLogRate(int slowStatementLogRate) {
+    this.slowStatementLogRate = slowStatementLogRate;
+  }
+
+  public boolean isSlowStatementExplain() {
+    return slowStatementExplain;
+  }
+
+  /**
+   * @param slowStatementExplain
+   *          whether the plan of the slow selects reported is asked to the database
+   *
+   * @since 3.6.0
+   */
+  public void setSlowStatementExplain(boolean slowStatementExplain) {
+    this.slowStatementExplain = slowStatementExplain;
+  }
+
+  public SlowStatementLog getSlowStatementLog() {
+    return slowStatementLog;
+  }
+
+  /**
+   * @param slowStatementLog
+   *          reports the slow statements
+   *
+   * @since 3.6.0
+   */
+  public void setSlowStatementLog(SlowStatementLog slowStatementLog) {
+    this.slowStatementLog = slowStatementLog;
+  }
+
   /**
    * Gets an applying type when omit a type on sql provider annotation(e.g.
    * {@link org.apache.ibatis.annotations.SelectProvider}).
@@ -658,6 +1006,17 @@ public class Configuration {
     return interceptorChain.getInterceptors();
   }
 
+  /**
+   * Gets the interceptor chain, which applies the interceptors to the objects they are scoped to.
+   *
+   * @return the interceptor chain
+   *
+   * @since 3.6.0
+   */
+  public InterceptorChain getInterceptorChain() {
+    return interceptorChain;
+  }
+
   public LanguageDriverRegistry getLanguageRegistry() {
     return languageRegistry;
   }
@@ -711,21 +1070,21 @@ public class Configuration {
       BoundSql boundSql) {
     ParameterHandler parameterHandler = mappedStatement.getLang().createParameterHandler(mappedStatement,
         parameterObject, boundSql);
-    return (ParameterHandler) interceptorChain.pluginAll(parameterHandler);
+    return (ParameterHandler) interceptorChain.pluginAll(parameterHandler, mappedStatement);
   }
 
   public ResultSetHandler newResultSetHandler(Executor executor, MappedStatement mappedStatement, RowBounds rowBounds,
       ParameterHandler parameterHandler, ResultHandler resultHandler, BoundSql boundSql) {
     ResultSetHandler resultSetHandler = new DefaultResultSetHandler(executor, mappedStatement, parameterHandler,
         resultHandler, boundSql, rowBounds);
-    return (ResultSetHandler) interceptorChain.pluginAll(resultSetHandler);
+    return (ResultSetHandler) interceptorChain.pluginAll(resultSetHandler, mappedStatement);
   }
 
   public StatementHandler newStatementHandler(Executor executor, MappedStatement mappedStatement,
       Object parameterObject, RowBounds rowBounds, ResultHandler resultHandler, BoundSql boundSql) {
     StatementHandler statementHandler = new RoutingStatementHandler(executor, mappedStatement, parameterObject,
         rowBounds, resultHandler, boundSql);
-    return (StatementHandler) interceptorChain.pluginAll(statementHandler);
+    return (StatementHandler) interceptorChain.pluginAll(statementHandler, mappedStatement);
   }
 
   public Executor newExecutor(Transaction transaction) {
@@ -743,7 +1102,7 @@ public class Configuration {
       executor = new SimpleExecutor(this, transaction);
     }
     if (cacheEnabled) {
-      executor = new CachingExecutor(executor);
+      executor = new CachingExecutor(executor, cacheInvalidationService);
     }
     return (Executor) interceptorChain.pluginAll(executor);
   }
@@ -788,6 +1147,110 @@ public class Configuration {
     return caches.containsKey(id);
   }
 
+  /**
+   * @param statistics
+   *          the statistics of a second level cache
+   *
+   * @since 3.6.0
+   */
+  public void addCacheStatistics(CacheStatistics statistics) {
+    cacheStatistics.put(statistics.getId(), statistics);
+    if (cacheStatisticsJmxEnabled) {
+      // the caches of two configurations may have the same id
+      statistics.registerMBean(Integer.toHexString(System.identityHashCode(this)));
+    }
+  }
+
+  /**
+   * Removes the statistics of the caches of this configuration from the platform MBean server. To be called once the
+   * configuration is no longer used, so the MBean server does not keep it and its caches.
+   *
+   * @since 3.6.0
+   */
+  public void unregisterCacheStatistics() {
+    for (CacheStatistics statistics : cacheStatistics.values()) {
+      statistics.unregisterMBean();
+    }
+  }
+
+  /**
+   * @param id
+   *          the cache id
+   *
+   * @return the statistics of the cache, or <code>null</code> if it keeps none
+   *
+   * @since 3.6.0
+   */
+  public CacheStatistics getCacheStatistics(String id) {
+    return cacheStatistics.get(id);
+  }
+
+  public Collection<CacheStatistics> getCacheStatistics() {
+    return cacheStatistics.values();
+  }
+
+  /**
+   * @param warmupStatement
+   *          a select to run when the session factory is built
+   *
+   * @since 3.6.0
+   */
+  public void addWarmupStatement(WarmupStatement warmupStatement) {
+    warmupStatements.add(warmupStatement);
+  }
+
+  public List<WarmupStatement> getWarmupStatements() {
+    return Collections.unmodifiableList(warmupStatements);
+  }
+
+  /**
+   * Returns the negative cache of a cache namespace, creating it when a statement first asks for it.
+   *
+   * @param id
+   *          the cache namespace
+   *
+   * @return the negative cache
+   *
+   * @since 3.6.0
+   */
+  public NegativeCache getOrCreateNegativeCache(String id) {
+    return negativeCaches.computeIfAbsent(id,
+        k -> new NegativeCache(k, negativeCacheSize, negativeCacheBloomFilterSize));
+  }
+
+  /**
+   * @param id
+   *          the cache namespace
+   *
+   * @return the negative cache, or <code>null</code> if no statement of the namespace uses one
+   *
+   * @since 3.6.0
+   */
+  public NegativeCache getNegativeCache(String id) {
+    return negativeCaches.get(id);
+  }
+
+  /**
+   * @param databaseId
+   *          the database id
+   * @param dialect
+   *          the limits of the multi-row inserts of the database, <code>null</code> if its batched inserts are never
+   *          rewritten
+   *
+   * @since 3.6.0
+   */
+  public void registerMultiRowInsertDialect(String databaseId, MultiRowInsertDialect dialect) {
+    if (dialect == null) {
+      multiRowInsertDialects.remove(databaseId);
+    } else {
+      multiRowInsertDialects.put(databaseId, dialect);
+    }
+  }
+
+  public MultiRowInsertDialect getMultiRowInsertDialect(String databaseId) {
+    return databaseId == null ? null : multiRowInsertDialects.get(databaseId);
+  }
+
   public void addResultMap(ResultMap rm) {
     resultMaps.put(rm.getId(), rm);
     checkLocallyForDiscriminatedNestedResultMaps(rm);
@@ -931,6 +1394,24 @@ public class Configuration {
     interceptorChain.addInterceptor(interceptor);
   }
 
+  /**
+   * Adds an interceptor restricted to some statements. The handlers of the other statements are not wrapped by this
+   * interceptor, and the executor calls them without it.
+   *
+   * @param interceptor
+   *          the interceptor
+   * @param statements
+   *          the patterns of the ids of the statements to intercept, <code>*</code> matching any characters, replacing
+   *          the ones of its {@link org.apache.ibatis.plugin.Intercepts} annotation when not empty
+   * @param commandTypes
+   *          the command types of the statements to intercept, replacing the ones of its annotation when not empty
+   *
+   * @since 3.6.0
+   */
+  public void addInterceptor(Interceptor interceptor, String[] statements, SqlCommandType[] commandTypes) {
+    interceptorChain.addInterceptor(interceptor, statements, commandTypes);
+  }
+
   public void addMappers(String packageName, Class<?> superType) {
     mapperRegistry.addMappers(packageName, superType);
   }
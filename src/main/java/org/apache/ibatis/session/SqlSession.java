@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -17,11 +17,13 @@ package org.apache.ibatis.session;
 
 import java.io.Closeable;
 import java.sql.Connection;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
 import org.apache.ibatis.cursor.Cursor;
 import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.mapping.MappedStatement;
 
 /**
  * The primary Java interface for working with MyBatis. Through this interface you can execute commands, get mappers and
@@ -280,6 +282,51 @@ public interface SqlSession extends Closeable {
    */
   int update(String statement, Object parameter);
 
+  /**
+   * Execute an insert, update or delete statement once for each of the given parameters, as JDBC batches whatever the
+   * executor type of the session. The size of the batches is the <code>batchSize</code> of the statement, or the
+   * <code>defaultBatchSize</code> setting.
+   *
+   * @param statement
+   *          Unique identifier matching the statement to execute.
+   * @param parameters
+   *          The parameter objects to pass to the statement.
+   *
+   * @return the results of the batches, with the update count of each parameter object
+   *
+   * @since 3.6.0
+   */
+  default List<BatchResult> batch(String statement, Iterable<?> parameters) {
+    return batch(statement, parameters, 0);
+  }
+
+  /**
+   * Execute an insert, update or delete statement once for each of the given parameters, as JDBC batches whatever the
+   * executor type of the session. The default implementation executes the statement once per parameter.
+   *
+   * @param statement
+   *          Unique identifier matching the statement to execute.
+   * @param parameters
+   *          The parameter objects to pass to the statement.
+   * @param batchSize
+   *          The maximum number of parameter objects executed by a batch, 0 to use the <code>batchSize</code> of the
+   *          statement or the <code>defaultBatchSize</code> setting.
+   *
+   * @return the results of the batches, with the update count of each parameter object
+   *
+   * @since 3.6.0
+   */
+  default List<BatchResult> batch(String statement, Iterable<?> parameters, int batchSize) {
+    MappedStatement ms = getConfiguration().getMappedStatement(statement);
+    List<BatchResult> results = new ArrayList<>();
+    for (Object parameter : parameters) {
+      BatchResult result = new BatchResult(ms, ms.getBoundSql(parameter).getSql(), parameter);
+      result.setUpdateCounts(new int[] { update(statement, parameter) });
+      results.add(result);
+    }
+    return results;
+  }
+
   /**
    * Execute a delete statement. The number of rows affected will be returned.
    *
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -244,6 +244,11 @@ public class SqlSessionManager implements SqlSessionFactory, SqlSession {
     return sqlSessionProxy.update(statement, parameter);
   }
 
+  @Override
+  public List<BatchResult> batch(String statement, Iterable<?> parameters, int batchSize) {
+    return sqlSessionProxy.batch(statement, parameters, batchSize);
+  }
+
   @Override
   public int delete(String statement) {
     return sqlSessionProxy.delete(statement);
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2025 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -201,6 +201,26 @@ public class DefaultSqlSession implements SqlSession {
     }
   }
 
+  @Override
+  public List<BatchResult> batch(String statement, Iterable<?> parameters, int batchSize) {
+    try {
+      dirty = true;
+      MappedStatement ms = configuration.getMappedStatement(statement);
+      if (batchSize <= 0) {
+        batchSize = ms.getBatchSize() > 0 ? ms.getBatchSize() : configuration.getDefaultBatchSize();
+      }
+      List<Object> parameterObjects = new ArrayList<>();
+      for (Object parameter : parameters) {
+        parameterObjects.add(wrapCollection(parameter));
+      }
+      return executor.batch(ms, parameterObjects, batchSize);
+    } catch (Exception e) {
+      throw ExceptionFactory.wrapException("Error executing batch.  Cause: " + e, e);
+    } finally {
+      ErrorContext.instance().reset();
+    }
+  }
+
   @Override
   public int delete(String statement) {
     return update(statement, null);
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.apache.ibatis.session.defaults;
 import java.sql.Connection;
 import java.sql.SQLException;
 
+import org.apache.ibatis.cache.warmup.CacheWarmup;
 import org.apache.ibatis.exceptions.ExceptionFactory;
 import org.apache.ibatis.executor.ErrorContext;
 import org.apache.ibatis.executor.Executor;
@@ -37,11 +38,36 @@ import org.apache.ibatis.transaction.managed.ManagedTransactionFactory;
 public class DefaultSqlSessionFactory implements SqlSessionFactory {
 
   private final Configuration configuration;
+  private CacheWarmup cacheWarmup;
 
   public DefaultSqlSessionFactory(Configuration configuration) {
     this.configuration = configuration;
   }
 
+  /**
+   * Runs the warm-up statements of the configuration, waiting for them unless the warm-up is asynchronous.
+   *
+   * @return the warm-up, to follow its progress
+   *
+   * @since 3.6.0
+   */
+  public synchronized CacheWarmup warmUpCaches() {
+    cacheWarmup = new CacheWarmup(this).start();
+    if (!configuration.isCacheWarmupAsync()) {
+      cacheWarmup.await();
+    }
+    return cacheWarmup;
+  }
+
+  /**
+   * @return the last warm-up of this factory, or <code>null</code> if its caches were never warmed up
+   *
+   * @since 3.6.0
+   */
+  public synchronized CacheWarmup getCacheWarmup() {
+    return cacheWarmup;
+  }
+
   @Override
   public SqlSession openSession() {
     return openSessionFromDataSource(configuration.getDefaultExecutorType(), null, false);
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -100,6 +100,25 @@ public class JdbcTransaction implements Transaction {
     }
   }
 
+  /**
+   * Creates a transaction of its own, in auto-commit mode, reading the same data as this one, for selects running
+   * beside it such as the duplicate of a hedged select. Its connection is opened when first needed.
+   *
+   * @return the new transaction, <code>null</code> if this one may hold changes other connections do not see yet
+   *
+   * @throws SQLException
+   *           if the auto-commit mode of the connection cannot be read
+   *
+   * @since 3.6.0
+   */
+  public Transaction newReadTransaction() throws SQLException {
+    boolean autoCommitting = connection != null ? connection.getAutoCommit() : autoCommit;
+    if (dataSource == null || !autoCommitting) {
+      return null;
+    }
+    return new JdbcTransaction(dataSource, level, true, skipSetAutoCommitOnClose);
+  }
+
   protected void setDesiredAutoCommit(boolean desiredAutoCommit) {
     try {
       if (connection.getAutoCommit() != desiredAutoCommit) {
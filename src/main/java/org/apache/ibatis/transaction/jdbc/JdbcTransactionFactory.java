@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -20,12 +20,14 @@ import java.util.Properties;
 
 import javax.sql.DataSource;
 
+import org.apache.ibatis.datasource.routing.RoutingDataSource;
 import org.apache.ibatis.session.TransactionIsolationLevel;
 import org.apache.ibatis.transaction.Transaction;
 import org.apache.ibatis.transaction.TransactionFactory;
+import org.apache.ibatis.transaction.routing.RoutingTransaction;
 
 /**
- * Creates {@link JdbcTransaction} instances.
+ * Creates {@link JdbcTransaction} instances, or {@link RoutingTransaction} instances for a {@link RoutingDataSource}.
  *
  * @author Clinton Begin
  *
@@ -53,6 +55,9 @@ public class JdbcTransactionFactory implements TransactionFactory {
 
   @Override
   public Transaction newTransaction(DataSource ds, TransactionIsolationLevel level, boolean autoCommit) {
+    if (ds instanceof RoutingDataSource) {
+      return new RoutingTransaction((RoutingDataSource) ds, level, autoCommit, skipSetAutoCommitOnClose);
+    }
     return new JdbcTransaction(ds, level, autoCommit, skipSetAutoCommitOnClose);
   }
 }
@@ -0,0 +1,228 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.transaction.routing;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import org.apache.ibatis.datasource.routing.DataSourceRole;
+import org.apache.ibatis.datasource.routing.Replica;
+import org.apache.ibatis.datasource.routing.RoutingDataSource;
+import org.apache.ibatis.datasource.routing.RoutingHints;
+import org.apache.ibatis.executor.keygen.SelectKeyGenerator;
+import org.apache.ibatis.logging.Log;
+import org.apache.ibatis.logging.LogFactory;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.TransactionIsolationLevel;
+import org.apache.ibatis.transaction.Transaction;
+import org.apache.ibatis.transaction.jdbc.JdbcTransaction;
+
+/**
+ * {@link JdbcTransaction} over a {@link RoutingDataSource}, holding one connection to the primary database and at most
+ * one to a replica, each opened when first needed.
+ * <p>
+ * The executor calls {@link #route(MappedStatement)} before each statement and {@link #getConnection()} then returns
+ * the connection for it: selects read from a replica, other statements, dirty selects and select keys use the primary
+ * database. Once a statement has been routed to the primary database as a write, the transaction sticks to it so that
+ * it reads its own writes. If no replica is healthy, reads go to the primary database too.
+ *
+ * @since 3.6.0
+ */
+public class RoutingTransaction extends JdbcTransaction {
+
+  private static final Log log = LogFactory.getLog(RoutingTransaction.class);
+
+  private final RoutingDataSource routingDataSource;
+  private Replica replica;
+  // the replica chosen for reads, read by the threads of hedged reads
+  private volatile Replica selectedReplica;
+  private Connection replicaConnection;
+  private DataSourceRole role = DataSourceRole.PRIMARY;
+  private boolean written;
+
+  public RoutingTransaction(RoutingDataSource ds, TransactionIsolationLevel desiredLevel, boolean desiredAutoCommit,
+      boolean skipSetAutoCommitOnClose) {
+    super(ds, desiredLevel, desiredAutoCommit, skipSetAutoCommitOnClose);
+    this.routingDataSource = ds;
+  }
+
+  /**
+   * Chooses the connection returned by {@link #getConnection()} for the given statement.
+   *
+   * @param ms
+   *          the statement about to be executed
+   */
+  public void route(MappedStatement ms) {
+    boolean read = ms.getSqlCommandType() == SqlCommandType.SELECT && !ms.isDirtySelect()
+        && !ms.getId().endsWith(SelectKeyGenerator.SELECT_KEY_SUFFIX);
+    if (!read) {
+      written = true;
+    }
+    DataSourceRole hint = RoutingHints.current();
+    if (written) {
+      role = DataSourceRole.PRIMARY;
+    } else if (hint != null) {
+      role = hint;
+    } else {
+      role = DataSourceRole.REPLICA;
+    }
+  }
+
+  /**
+   * @return the role of the connection returned by {@link #getConnection()}
+   */
+  public DataSourceRole getRole() {
+    return role;
+  }
+
+  /**
+   * @return <code>true</code> if a write was routed through this transaction, which then only uses the primary database
+   */
+  public boolean isWritten() {
+    return written;
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    if (role == DataSourceRole.REPLICA) {
+      Connection readConnection = getReplicaConnection();
+      if (readConnection != null) {
+        return readConnection;
+      }
+    }
+    return super.getConnection();
+  }
+
+  /**
+   * Reads from a replica, chosen when the connection is opened, while this transaction reads from replicas. The replica
+   * this transaction reads from is only chosen again if no other replica is healthy.
+   */
+  @Override
+  public Transaction newReadTransaction() throws SQLException {
+    if (role == DataSourceRole.REPLICA && !written) {
+      return new ReplicaReadTransaction(level);
+    }
+    return super.newReadTransaction();
+  }
+
+  @Override
+  public void commit() throws SQLException {
+    super.commit();
+    if (replicaConnection != null && !replicaConnection.getAutoCommit()) {
+      replicaConnection.commit();
+    }
+  }
+
+  @Override
+  public void rollback() throws SQLException {
+    super.rollback();
+    if (replicaConnection != null && !replicaConnection.getAutoCommit()) {
+      replicaConnection.rollback();
+    }
+  }
+
+  @Override
+  public void close() throws SQLException {
+    try {
+      super.close();
+    } finally {
+      if (replicaConnection != null) {
+        try {
+          if (!skipSetAutoCommitOnClose && !replicaConnection.getAutoCommit()) {
+            replicaConnection.setAutoCommit(true);
+          }
+        } catch (SQLException e) {
+          if (log.isDebugEnabled()) {
+            log.debug("Error resetting autocommit to true before closing the connection.  Cause: " + e);
+          }
+        }
+        try {
+          replicaConnection.close();
+        } finally {
+          replica.release();
+          replicaConnection = null;
+        }
+      }
+    }
+  }
+
+  private Connection getReplicaConnection() throws SQLException {
+    if (replicaConnection == null) {
+      Replica selected = routingDataSource.selectReplica();
+      if (selected == null) {
+        return null;
+      }
+      selectedReplica = selected;
+      try {
+        replicaConnection = selected.getConnection();
+      } catch (SQLException e) {
+        log.warn(selected + " is not available, reading from the primary database. Cause: " + e);
+        return null;
+      }
+      replica = selected;
+      if (log.isDebugEnabled()) {
+        log.debug("Opened JDBC Connection to " + replica);
+      }
+      if (level != null) {
+        replicaConnection.setTransactionIsolation(level.getLevel());
+      }
+      if (replicaConnection.getAutoCommit() != autoCommit) {
+        replicaConnection.setAutoCommit(autoCommit);
+      }
+    }
+    return replicaConnection;
+  }
+
+  private class ReplicaReadTransaction extends JdbcTransaction {
+
+    private Replica replica;
+
+    ReplicaReadTransaction(TransactionIsolationLevel level) {
+      super(routingDataSource, level, true);
+    }
+
+    @Override
+    protected void openConnection() throws SQLException {
+      // the first attempt has chosen its replica by the time a hedged read needs a connection
+      Replica selected = routingDataSource.selectReplica(selectedReplica);
+      if (selected == null) {
+        super.openConnection();
+        return;
+      }
+      connection = selected.getConnection();
+      replica = selected;
+      if (level != null) {
+        connection.setTransactionIsolation(level.getLevel());
+      }
+      setDesiredAutoCommit(true);
+    }
+
+    @Override
+    public void close() throws SQLException {
+      try {
+        super.close();
+      } finally {
+        if (replica != null) {
+          replica.release();
+          replica = null;
+        }
+      }
+    }
+
+  }
+
+}
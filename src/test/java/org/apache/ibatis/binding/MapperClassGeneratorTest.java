@@ -0,0 +1,136 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.binding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.domain.blog.Author;
+import org.apache.ibatis.domain.blog.Blog;
+import org.apache.ibatis.domain.blog.Post;
+import org.apache.ibatis.domain.blog.Section;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class MapperClassGeneratorTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setup() throws Exception {
+    DataSource dataSource = BaseDataTest.createBlogDataSource();
+    BaseDataTest.runScript(dataSource, BaseDataTest.BLOG_DDL);
+    BaseDataTest.runScript(dataSource, BaseDataTest.BLOG_DATA);
+    Environment environment = new Environment("Production", new JdbcTransactionFactory(), dataSource);
+    Configuration configuration = new Configuration(environment);
+    configuration.setGenerateMapperClasses(true);
+    configuration.setUseActualParamName(false);
+    configuration.getTypeAliasRegistry().registerAlias(Blog.class);
+    configuration.getTypeAliasRegistry().registerAlias(Post.class);
+    configuration.getTypeAliasRegistry().registerAlias(Author.class);
+    configuration.addMapper(BoundBlogMapper.class);
+    configuration.addMapper(BoundAuthorMapper.class);
+    configuration.addMapper(CountMapper.class);
+    configuration.addMapper(PartlyBoundMapper.class);
+    sqlSessionFactory = new SqlSessionFactoryBuilder().build(configuration);
+  }
+
+  @Test
+  void shouldSelectThroughGeneratedClass() throws Exception {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      BoundBlogMapper mapper = session.getMapper(BoundBlogMapper.class);
+      assertFalse(Proxy.isProxyClass(mapper.getClass()));
+      assertEquals(BoundBlogMapper.class.getName() + "$$MapperImpl", mapper.getClass().getName());
+      assertEquals(1, mapper.selectBlog(1).getId());
+      assertTrue(mapper.selectRandom() > 0);
+      assertEquals(1, mapper.selectPostsById(1).size());
+      List<Object> blogs = new ArrayList<>();
+      mapper.collectRangeBlogs(context -> blogs.add(context.getResultObject()), new RowBounds(1, 1));
+      assertEquals(1, blogs.size());
+      try (Cursor<Blog> cursor = mapper.openRangeBlogs(new RowBounds(0, 2))) {
+        assertEquals(1, cursor.iterator().next().getId());
+      }
+    }
+  }
+
+  @Test
+  void shouldInsertThroughGeneratedClass() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      BoundAuthorMapper mapper = session.getMapper(BoundAuthorMapper.class);
+      assertFalse(Proxy.isProxyClass(mapper.getClass()));
+      Author author = new Author(-1, "cbegin", "******", "cbegin@nowhere.com", "N/A", Section.NEWS);
+      assertEquals(1, mapper.insertAuthor(author));
+      assertEquals("cbegin", mapper.selectAuthor(author.getId()).getUsername());
+      session.rollback();
+    }
+  }
+
+  @Test
+  void shouldShareGeneratedClassAndCallDefaultMethods() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      CountMapper mapper = session.getMapper(CountMapper.class);
+      assertSame(mapper.getClass(), session.getMapper(CountMapper.class).getClass());
+      assertEquals(2, mapper.countBlogs());
+      assertEquals(4, mapper.countBlogsTwice());
+    }
+  }
+
+  @Test
+  void shouldKeepProxyForMapperWithUnboundMethod() {
+    try (SqlSession session = sqlSessionFactory.openSession()) {
+      PartlyBoundMapper mapper = session.getMapper(PartlyBoundMapper.class);
+      assertTrue(Proxy.isProxyClass(mapper.getClass()));
+      assertEquals(2, mapper.countBlogs());
+      assertThrows(BindingException.class, mapper::unbound);
+    }
+  }
+
+  interface CountMapper {
+    @Select("select count(*) from blog")
+    int countBlogs();
+
+    default int countBlogsTwice() {
+      return countBlogs() * 2;
+    }
+  }
+
+  interface PartlyBoundMapper {
+    @Select("select count(*) from blog")
+    int countBlogs();
+
+    int unbound();
+  }
+
+}
@@ -0,0 +1,161 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.invalidation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.function.BooleanSupplier;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.CacheKey;
+import org.apache.ibatis.cache.TransactionalCacheManager;
+import org.apache.ibatis.cache.decorators.SynchronizedCache;
+import org.apache.ibatis.cache.impl.PerpetualCache;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class CacheInvalidationServiceTest {
+
+  private final Configuration node1 = newNode();
+  private final Configuration node2 = newNode();
+
+  @AfterEach
+  void closeBuses() {
+    node1.setCacheInvalidationBus(null);
+    node2.setCacheInvalidationBus(null);
+  }
+
+  @Test
+  void shouldClearRemoteCacheOnCommit() throws Exception {
+    node1.setCacheInvalidationBus(new LoopbackCacheInvalidationBus("commit"));
+    node2.setCacheInvalidationBus(new LoopbackCacheInvalidationBus("commit"));
+    Cache localCache = node1.getCache("blog");
+    Cache remoteCache = node2.getCache("blog");
+    remoteCache.putObject("key", "stale");
+
+    TransactionalCacheManager tcm = new TransactionalCacheManager(node1.getCacheInvalidationService());
+    tcm.clear(localCache);
+    assertNotNull(remoteCache.getObject("key"));
+    tcm.commit();
+
+    awaitUntil(() -> remoteCache.getSize() == 0);
+    assertNotNull(node2.getCache("author").getObject("key"));
+  }
+
+  @Test
+  void shouldNotPublishWhenNothingWasFlushed() throws Exception {
+    node1.setCacheInvalidationBus(new LoopbackCacheInvalidationBus("noflush"));
+    node2.setCacheInvalidationBus(new LoopbackCacheInvalidationBus("noflush"));
+    Cache remoteCache = node2.getCache("blog");
+    remoteCache.putObject("key", "value");
+
+    TransactionalCacheManager tcm = new TransactionalCacheManager(node1.getCacheInvalidationService());
+    tcm.putObject(node1.getCache("blog"), cacheKey(9), "value");
+    tcm.commit();
+    node1.getCacheInvalidationService().publish(Collections.singletonList(CacheInvalidation.ofKey("author", "marker")));
+
+    awaitUntil(() -> node2.getCache("author").getObject("marker") == null);
+    assertEquals("value", remoteCache.getObject("key"));
+  }
+
+  @Test
+  void shouldRemoveOnlyInvalidatedKeys() throws Exception {
+    node1.setCacheInvalidationBus(new LoopbackCacheInvalidationBus("keys"));
+    node2.setCacheInvalidationBus(new LoopbackCacheInvalidationBus("keys"));
+    Cache remoteCache = node2.getCache("blog");
+    remoteCache.putObject(cacheKey(1), "one");
+    remoteCache.putObject(cacheKey(2), "two");
+    remoteCache.putObject(cacheKey(3), "three");
+
+    node1.getCacheInvalidationService().publish(
+        Arrays.asList(CacheInvalidation.ofKey("blog", cacheKey(1)), CacheInvalidation.ofKey("blog", cacheKey(2))));
+
+    awaitUntil(() -> remoteCache.getSize() == 1);
+    assertEquals("three", remoteCache.getObject(cacheKey(3)));
+  }
+
+  @Test
+  void shouldIgnoreOwnInvalidations() throws Exception {
+    LoopbackCacheInvalidationBus bus = new LoopbackCacheInvalidationBus("own");
+    node1.setCacheInvalidationBus(bus);
+    Cache cache = node1.getCache("blog");
+    cache.putObject("key", "value");
+
+    CacheInvalidationService service = node1.getCacheInvalidationService();
+    service.receive(service.getNodeId(), Collections.singletonList(CacheInvalidation.ofCache("blog")));
+    service.receive("other", Collections.singletonList(CacheInvalidation.ofKey("author", "marker")));
+
+    awaitUntil(() -> node1.getCache("author").getObject("marker") == null);
+    assertEquals("value", cache.getObject("key"));
+  }
+
+  @Test
+  void shouldPropagateOverUdp() throws Exception {
+    int port1 = freePort();
+    int port2 = freePort();
+    InetAddress localhost = InetAddress.getLoopbackAddress();
+    node1.setCacheInvalidationBus(new UdpCacheInvalidationBus(port1, new InetSocketAddress(localhost, port2)));
+    node2.setCacheInvalidationBus(new UdpCacheInvalidationBus(port2, new InetSocketAddress(localhost, port1)));
+    Cache remoteCache = node2.getCache("blog");
+    remoteCache.putObject(cacheKey(1), "one");
+    remoteCache.putObject(cacheKey(2), "two");
+
+    node1.getCacheInvalidationService()
+        .publish(Collections.singletonList(CacheInvalidation.ofKey("blog", cacheKey(1))));
+
+    awaitUntil(() -> remoteCache.getSize() == 1);
+    assertNull(remoteCache.getObject(cacheKey(1)));
+    assertEquals("two", remoteCache.getObject(cacheKey(2)));
+  }
+
+  private static Configuration newNode() {
+    Configuration configuration = new Configuration();
+    configuration.addCache(new SynchronizedCache(new PerpetualCache("blog")));
+    Cache author = new SynchronizedCache(new PerpetualCache("author"));
+    author.putObject("key", "value");
+    author.putObject("marker", "value");
+    configuration.addCache(author);
+    return configuration;
+  }
+
+  private static CacheKey cacheKey(int id) {
+    return new CacheKey(new Object[] { "selectBlog", id });
+  }
+
+  private static int freePort() throws Exception {
+    try (DatagramSocket socket = new DatagramSocket(0)) {
+      return socket.getLocalPort();
+    }
+  }
+
+  private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + 5000;
+    while (!condition.getAsBoolean() && System.currentTimeMillis() < deadline) {
+      Thread.sleep(10);
+    }
+    assertTrue(condition.getAsBoolean());
+  }
+
+}
@@ -0,0 +1,155 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.cache.statistics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Map;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.ibatis.cache.Cache;
+import org.apache.ibatis.cache.decorators.FifoCache;
+import org.apache.ibatis.mapping.CacheBuilder;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+class CacheStatisticsTest {
+
+  @Test
+  void shouldCountHitsMissesAndPuts() {
+    CacheStatistics statistics = new CacheStatistics("stats");
+    Cache cache = new CacheBuilder("stats").readWrite(true).statistics(statistics).build();
+    for (int i = 0; i < 10; i++) {
+      cache.putObject(i, "value" + i);
+    }
+    for (int i = 0; i < 20; i++) {
+      cache.getObject(i);
+    }
+    assertEquals(10, statistics.getPuts());
+    assertEquals(10, statistics.getHits());
+    assertEquals(10, statistics.getMisses());
+    assertEquals(0.5, statistics.getHitRatio());
+    assertEquals(10, statistics.getSize());
+  }
+
+  @Test
+  void shouldTellEvictionsFromRemovals() {
+    CacheStatistics statistics = new CacheStatistics("stats");
+    Cache cache = new CacheBuilder("stats").addDecorator(FifoCache.class).size(5).statistics(statistics).build();
+    for (int i = 0; i < 8; i++) {
+      cache.putObject(i, i);
+    }
+    cache.removeObject(7);
+    assertEquals(3, statistics.getEvictions());
+    cache.clear();
+    assertEquals(0, statistics.getExpirations());
+  }
+
+  @Test
+  void shouldCountExpirations() throws Exception {
+    CacheStatistics statistics = new CacheStatistics("stats");
+    Cache cache = new CacheBuilder("stats").clearInterval(10L).statistics(statistics).build();
+    cache.putObject(1, 1);
+    cache.putObject(2, 2);
+    Thread.sleep(50);
+    cache.getObject(1);
+    assertEquals(2, statistics.getExpirations());
+    assertEquals(0, statistics.getEvictions());
+  }
+
+  @Test
+  void shouldSampleHottestKeys() {
+    CacheStatistics statistics = new CacheStatistics("stats");
+    Cache cache = new CacheBuilder("stats").statistics(statistics).build();
+    for (int i = 0; i < 100 * CacheStatistics.SAMPLE_RATE; i++) {
+      cache.getObject("hot");
+      cache.getObject("cold" + i);
+    }
+    List<Map.Entry<Object, Long>> hottest = statistics.getHottestKeys(1);
+    assertEquals("hot", hottest.get(0).getKey());
+  }
+
+  @Test
+  void shouldEstimateBytesAndLoads() {
+    CacheStatistics statistics = new CacheStatistics("stats");
+    Cache cache = new CacheBuilder("stats").size(10000).statistics(statistics).build();
+    for (int i = 0; i < 100 * CacheStatistics.SAMPLE_RATE; i++) {
+      cache.putObject(i, new byte[100]);
+    }
+    assertEquals(100L * cache.getSize(), statistics.getEstimatedBytes());
+    statistics.recordLoad(2_000_000);
+    statistics.recordLoad(4_000_000);
+    assertEquals(2, statistics.getLoads());
+    assertEquals(3.0, statistics.getAverageLoadMillis());
+    assertEquals(4.0, statistics.getMaxLoadMillis());
+  }
+
+  @Test
+  void shouldExposeStatisticsThroughJmx() throws Exception {
+    CacheStatistics statistics = new CacheStatistics("jmx.stats");
+    Cache cache = new CacheBuilder("jmx.stats").statistics(statistics).build();
+    cache.putObject(1, 1);
+    assertTrue(statistics.registerMBean("first"));
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = statistics.getObjectName();
+    try {
+      assertEquals(1L, server.getAttribute(name, "Puts"));
+      assertEquals(1, server.getAttribute(name, "Size"));
+      // a name already taken is left to its MBean
+      CacheStatistics clash = new CacheStatistics("jmx.stats");
+      assertFalse(clash.registerMBean("first"));
+      assertNull(clash.getObjectName());
+      assertEquals(1L, server.getAttribute(name, "Puts"));
+    } finally {
+      statistics.unregisterMBean();
+    }
+    assertFalse(server.isRegistered(name));
+    assertNull(statistics.getObjectName());
+    assertTrue(statistics.getHottestKeys().length <= 1);
+  }
+
+  @Test
+  void shouldRegisterCachesOfEachConfiguration() {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    Configuration first = new Configuration();
+    Configuration second = new Configuration();
+    first.setCacheStatisticsJmxEnabled(true);
+    second.setCacheStatisticsJmxEnabled(true);
+    CacheStatistics firstStatistics = new CacheStatistics("shared.namespace");
+    CacheStatistics secondStatistics = new CacheStatistics("shared.namespace");
+    first.addCacheStatistics(firstStatistics);
+    second.addCacheStatistics(secondStatistics);
+    try {
+      assertTrue(server.isRegistered(firstStatistics.getObjectName()));
+      assertTrue(server.isRegistered(secondStatistics.getObjectName()));
+      assertNotEquals(firstStatistics.getObjectName(), secondStatistics.getObjectName());
+    } finally {
+      first.unregisterCacheStatistics();
+      second.unregisterCacheStatistics();
+    }
+    assertNull(firstStatistics.getObjectName());
+    assertNull(secondStatistics.getObjectName());
+  }
+
+}
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -18,15 +18,23 @@ package org.apache.ibatis.datasource.pooled;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Properties;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -158,4 +166,492 @@ class PooledDataSourceTest {
     assertEquals(0, poolState.getActiveConnectionCount());
     assertEquals(0, poolState.getIdleConnectionCount());
   }
+
+  @Test
+  void shouldExposeLiveMetrics() throws Exception {
+    PoolMetrics metrics = dataSource.getPoolMetrics();
+    Connection first = dataSource.getConnection();
+    Connection second = dataSource.getConnection();
+    assertEquals(2, metrics.getActiveConnections());
+    assertEquals(0, metrics.getIdleConnections());
+    assertEquals(2, metrics.getRequests());
+    assertEquals(2, metrics.getCreatedConnections());
+    assertEquals(2, metrics.getWaitTime().getCount());
+    first.close();
+    second.close();
+    assertEquals(0, metrics.getActiveConnections());
+    assertEquals(2, metrics.getIdleConnections());
+    assertEquals(2, metrics.getCheckoutTime().getCount());
+    dataSource.forceCloseAll();
+    assertEquals(0, metrics.getIdleConnections());
+    assertEquals(2, metrics.getClosedConnections());
+  }
+
+  @Test
+  void shouldNotifyExhaustionListeners() throws Exception {
+    dataSource.setPoolMaximumActiveConnections(1);
+    PoolMetrics metrics = dataSource.getPoolMetrics();
+    CountDownLatch exhausted = new CountDownLatch(1);
+    CountDownLatch acquired = new CountDownLatch(1);
+    dataSource.addExhaustionListener((ds, m) -> exhausted.countDown());
+
+    Connection connection = dataSource.getConnection();
+    new Thread(() -> {
+      try (Connection other = dataSource.getConnection()) {
+        acquired.countDown();
+      } catch (SQLException e) {
+        throw new RuntimeException(e);
+      }
+    }).start();
+
+    assertTrue(exhausted.await(1000, TimeUnit.MILLISECONDS));
+    assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+    assertEquals(1, metrics.getPendingRequests());
+    connection.close();
+    assertTrue(acquired.await(1000, TimeUnit.MILLISECONDS));
+    assertEquals(1, metrics.getExhaustions());
+    assertTrue(metrics.getWaitTime().getPercentileMillis(100) >= 200);
+  }
+
+  @Test
+  void shouldKeepMinimumIdleConnectionsInBackground() throws Exception {
+    dataSource.setPoolMinimumIdleConnections(3);
+    dataSource.setPoolHousekeepingInterval(20);
+    try {
+      long deadline = System.currentTimeMillis() + 5000;
+      while (dataSource.getPoolState().getIdleConnectionCount() < 3 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      assertEquals(3, dataSource.getPoolState().getIdleConnectionCount());
+      assertEquals(3, dataSource.getPoolMetrics().getCreatedConnections());
+    } finally {
+      dataSource.setPoolHousekeepingInterval(0);
+    }
+  }
+
+  @Test
+  void shouldKeepHousekeepingOtherPoolsWhileOneIsValidating() throws Exception {
+    CountDownLatch validating = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    PooledDataSource stalled = new PooledDataSource(slowValidationDataSource(validating, release));
+    stalled.getConnection().close();
+    stalled.getPoolState().idleConnections.forEach(c -> c.setLastUsedTimestamp(0));
+    stalled.setPoolHousekeepingInterval(20);
+    try {
+      assertTrue(validating.await(5000, TimeUnit.MILLISECONDS));
+      dataSource.setPoolMinimumIdleConnections(2);
+      dataSource.setPoolHousekeepingInterval(20);
+      long deadline = System.currentTimeMillis() + 5000;
+      while (dataSource.getPoolState().getIdleConnectionCount() < 2 && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      assertEquals(2, dataSource.getPoolState().getIdleConnectionCount());
+    } finally {
+      release.countDown();
+      dataSource.close();
+      stalled.close();
+    }
+  }
+
+  @Test
+  void shouldStopHousekeepingOnClose() throws Exception {
+    dataSource.setPoolMinimumIdleConnections(2);
+    dataSource.setPoolHousekeepingInterval(20);
+    dataSource.close();
+    Thread.sleep(200);
+    assertEquals(0, dataSource.getPoolHousekeepingInterval());
+    assertEquals(0, dataSource.getPoolState().getIdleConnectionCount());
+  }
+
+  @Test
+  void shouldEvictConnectionsIdleForTooLong() throws Exception {
+    dataSource.setPoolMaximumIdleTime(50);
+    dataSource.setPoolMinimumIdleConnections(1);
+    List<Connection> connections = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      connections.add(dataSource.getConnection());
+    }
+    for (Connection connection : connections) {
+      connection.close();
+    }
+    assertEquals(3, dataSource.getPoolState().getIdleConnectionCount());
+    Thread.sleep(100);
+    dataSource.houseKeep();
+    assertEquals(1, dataSource.getPoolState().getIdleConnectionCount());
+    assertEquals(2, dataSource.getPoolMetrics().getEvictedConnections());
+  }
+
+  @Test
+  void shouldRetireConnectionsPastTheirLifetime() throws Exception {
+    dataSource.setPoolMaximumLifetime(50);
+    Connection connection = dataSource.getConnection();
+    Connection realConnection = PooledDataSource.unwrapConnection(connection);
+    Thread.sleep(100);
+    connection.close();
+    assertEquals(0, dataSource.getPoolState().getIdleConnectionCount());
+    assertEquals(1, dataSource.getPoolMetrics().getRetiredConnections());
+    assertTrue(realConnection.isClosed());
+
+    connection = dataSource.getConnection();
+    connection.close();
+    assertEquals(1, dataSource.getPoolState().getIdleConnectionCount());
+    Thread.sleep(100);
+    dataSource.houseKeep();
+    assertEquals(0, dataSource.getPoolState().getIdleConnectionCount());
+    assertEquals(2, dataSource.getPoolMetrics().getRetiredConnections());
+  }
+
+  @Test
+  void shouldDiscardIdleConnectionsFailingValidation() throws Exception {
+    dataSource.setPoolHousekeepingInterval(60000);
+    try {
+      Connection first = dataSource.getConnection();
+      Connection second = dataSource.getConnection();
+      first.close();
+      second.close();
+      dataSource.getPoolState().idleConnections.forEach(c -> c.setLastUsedTimestamp(0));
+      dataSource.getPoolState().idleConnections.get(0).getRealConnection().close();
+      dataSource.houseKeep();
+      assertEquals(1, dataSource.getPoolState().getIdleConnectionCount());
+      assertEquals(1, dataSource.getPoolMetrics().getValidationFailures());
+      PooledConnection validated = dataSource.getPoolState().idleConnections.get(0);
+      assertTrue(validated.getLastValidatedTimestamp() > 0);
+    } finally {
+      dataSource.setPoolHousekeepingInterval(0);
+    }
+  }
+
+  @Test
+  void shouldLeaveSlotsToCheckoutsWhileValidatingIdleConnections() throws Exception {
+    CountDownLatch validating = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    PooledDataSource validated = new PooledDataSource(slowValidationDataSource(validating, release));
+    validated.setPoolMaximumActiveConnections(2);
+    validated.setPoolMaximumIdleConnections(2);
+    validated.setPoolHousekeepingInterval(60000);
+    try {
+      Connection first = validated.getConnection();
+      Connection second = validated.getConnection();
+      first.close();
+      second.close();
+      validated.getPoolState().idleConnections.forEach(c -> c.setLastUsedTimestamp(0));
+      Thread housekeeping = new Thread(validated::houseKeep);
+      housekeeping.start();
+      assertTrue(validating.await(1000, TimeUnit.MILLISECONDS));
+      // only one of the two idle connections is being validated
+      Connection checkedOut = validated.getConnection();
+      CountDownLatch acquired = new CountDownLatch(1);
+      new Thread(() -> {
+        try (Connection other = validated.getConnection()) {
+          acquired.countDown();
+        } catch (SQLException e) {
+          throw new RuntimeException(e);
+        }
+      }).start();
+      assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+      release.countDown();
+      assertTrue(acquired.await(1000, TimeUnit.MILLISECONDS));
+      housekeeping.join();
+      checkedOut.close();
+    } finally {
+      release.countDown();
+      validated.setPoolHousekeepingInterval(0);
+      validated.forceCloseAll();
+    }
+  }
+
+  @Test
+  void shouldWaitWhileTheOnlySlotIsValidated() throws Exception {
+    CountDownLatch validating = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    PooledDataSource validated = new PooledDataSource(slowValidationDataSource(validating, release));
+    validated.setPoolMaximumActiveConnections(1);
+    validated.setPoolMaximumIdleConnections(1);
+    validated.setPoolHousekeepingInterval(60000);
+    try {
+      validated.getConnection().close();
+      validated.getPoolState().idleConnections.forEach(c -> c.setLastUsedTimestamp(0));
+      Thread housekeeping = new Thread(validated::houseKeep);
+      housekeeping.start();
+      assertTrue(validating.await(1000, TimeUnit.MILLISECONDS));
+      CountDownLatch acquired = new CountDownLatch(1);
+      new Thread(() -> {
+        try (Connection connection = validated.getConnection()) {
+          acquired.countDown();
+        } catch (SQLException e) {
+          throw new RuntimeException(e);
+        }
+      }).start();
+      assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+      release.countDown();
+      assertTrue(acquired.await(1000, TimeUnit.MILLISECONDS));
+      housekeeping.join();
+    } finally {
+      release.countDown();
+      validated.setPoolHousekeepingInterval(0);
+      validated.forceCloseAll();
+    }
+  }
+
+  @Test
+  void shouldOpenConnectionsOutsideThePoolLock() throws Exception {
+    CountDownLatch opening = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicBoolean slow = new AtomicBoolean();
+    PooledDataSource pooled = new PooledDataSource(
+        new UnpooledDataSource("org.hsqldb.jdbcDriver", "jdbc:hsqldb:mem:slowopening", "sa", "") {
+          @Override
+          public Connection getConnection(String username, String password) throws SQLException {
+            if (slow.get()) {
+              opening.countDown();
+              try {
+                release.await();
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            }
+            return super.getConnection(username, password);
+          }
+        });
+    pooled.setPoolMaximumActiveConnections(2);
+    try {
+      Connection first = pooled.getConnection();
+      slow.set(true);
+      CountDownLatch acquired = new CountDownLatch(1);
+      new Thread(() -> {
+        try {
+          pooled.getConnection().close();
+          acquired.countDown();
+        } catch (SQLException e) {
+          throw new RuntimeException(e);
+        }
+      }).start();
+      assertTrue(opening.await(1000, TimeUnit.MILLISECONDS));
+      // the pool can be used while the second connection is opened
+      CountDownLatch reused = new CountDownLatch(1);
+      new Thread(() -> {
+        try {
+          first.close();
+          pooled.getConnection().close();
+          reused.countDown();
+        } catch (SQLException e) {
+          throw new RuntimeException(e);
+        }
+      }).start();
+      assertTrue(reused.await(1000, TimeUnit.MILLISECONDS));
+      release.countDown();
+      assertTrue(acquired.await(1000, TimeUnit.MILLISECONDS));
+      assertEquals(2, pooled.getPoolState().getIdleConnectionCount());
+    } finally {
+      release.countDown();
+      pooled.forceCloseAll();
+    }
+  }
+
+  @Test
+  void shouldReleaseTheSlotWhenOpeningFails() throws Exception {
+    AtomicBoolean failing = new AtomicBoolean(true);
+    PooledDataSource pooled = new PooledDataSource(
+        new UnpooledDataSource("org.hsqldb.jdbcDriver", "jdbc:hsqldb:mem:failedopening", "sa", "") {
+          @Override
+          public Connection getConnection(String username, String password) throws SQLException {
+            if (failing.get()) {
+              throw new SQLException("unavailable");
+            }
+            return super.getConnection(username, password);
+          }
+        });
+    pooled.setPoolMaximumActiveConnections(1);
+    pooled.setPoolTimeToWait(100);
+    try {
+      assertThrows(SQLException.class, pooled::getConnection);
+      failing.set(false);
+      pooled.getConnection().close();
+      assertEquals(1, pooled.getPoolState().getIdleConnectionCount());
+    } finally {
+      pooled.forceCloseAll();
+    }
+  }
+
+  private static UnpooledDataSource slowValidationDataSource(CountDownLatch validating, CountDownLatch release) {
+    return new UnpooledDataSource("org.hsqldb.jdbcDriver", "jdbc:hsqldb:mem:slowvalidation", "sa", "") {
+      @Override
+      public Connection getConnection(String username, String password) throws SQLException {
+        Connection connection = super.getConnection(username, password);
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+            new Class<?>[] { Connection.class }, (proxy, method, args) -> {
+              if ("isValid".equals(method.getName())) {
+                validating.countDown();
+                release.await();
+              }
+              try {
+                return method.invoke(connection, args);
+              } catch (InvocationTargetException e) {
+                throw e.getCause();
+              }
+            });
+      }
+    };
+  }
+
+  @Test
+  void shouldPrefillIdleConnectionsRunningInitSql() throws Exception {
+    PooledDataSource prefilled = new PooledDataSource("org.hsqldb.jdbcDriver", "jdbc:hsqldb:mem:prefill", "sa", "");
+    try (Connection connection = prefilled.getConnection(); Statement statement = connection.createStatement()) {
+      statement.execute("create table init_log (id int)");
+    }
+    prefilled.forceCloseAll();
+    prefilled.setPoolConnectionInitSql("insert into init_log values (1)");
+    prefilled.setPoolInitialSize(4);
+    prefilled.prefill();
+    assertEquals(4, prefilled.getPoolState().getIdleConnectionCount());
+    assertEquals(5, prefilled.getPoolMetrics().getCreatedConnections());
+    try (Connection connection = prefilled.getConnection(); Statement statement = connection.createStatement();
+        ResultSet rs = statement.executeQuery("select count(*) from init_log")) {
+      rs.next();
+      assertEquals(4, rs.getInt(1));
+    }
+    assertEquals(5, prefilled.getPoolMetrics().getCreatedConnections());
+    prefilled.forceCloseAll();
+  }
+
+  @Test
+  void shouldPrefillWhenInitialSizeIsConfigured() {
+    PooledDataSourceFactory factory = new PooledDataSourceFactory();
+    Properties properties = new Properties();
+    properties.setProperty("driver", "org.hsqldb.jdbcDriver");
+    properties.setProperty("url", "jdbc:hsqldb:mem:multipledrivers");
+    properties.setProperty("username", "sa");
+    properties.setProperty("poolInitialSize", "3");
+    properties.setProperty("poolReusePolicy", "LIFO");
+    factory.setProperties(properties);
+    PooledDataSource pooled = (PooledDataSource) factory.getDataSource();
+    assertEquals(PoolReusePolicy.LIFO, pooled.getPoolReusePolicy());
+    assertEquals(3, pooled.getPoolState().getIdleConnectionCount());
+    pooled.forceCloseAll();
+  }
+
+  @Test
+  void shouldPoolConnectionsPerCredentials() throws Exception {
+    PooledDataSource partitioned = new PooledDataSource("org.hsqldb.jdbcDriver", "jdbc:hsqldb:mem:partitions", "sa",
+        "");
+    try (Connection connection = partitioned.getConnection(); Statement statement = connection.createStatement()) {
+      statement.execute("create user tenant password 'secret' admin");
+    }
+    Connection tenant = partitioned.getConnection("TENANT", "secret");
+    Connection tenantRealConnection = PooledDataSource.unwrapConnection(tenant);
+    assertEquals("TENANT", tenant.getMetaData().getUserName());
+    tenant.close();
+    assertEquals(2, partitioned.getPoolState().getIdleConnectionCount());
+
+    try (Connection connection = partitioned.getConnection()) {
+      assertEquals("SA", connection.getMetaData().getUserName());
+    }
+    try (Connection connection = partitioned.getConnection("TENANT", "secret")) {
+      assertEquals(tenantRealConnection, PooledDataSource.unwrapConnection(connection));
+    }
+    assertEquals(2, partitioned.getPoolMetrics().getCreatedConnections());
+    assertEquals(0, partitioned.getPoolMetrics().getClosedConnections());
+    partitioned.forceCloseAll();
+  }
+
+  @Test
+  void shouldEvictIdleConnectionOfOtherCredentialsWhenIdleListIsFull() throws Exception {
+    PooledDataSource partitioned = new PooledDataSource("org.hsqldb.jdbcDriver", "jdbc:hsqldb:mem:partitioneviction",
+        "sa", "");
+    partitioned.setPoolMaximumIdleConnections(1);
+    try (Connection connection = partitioned.getConnection(); Statement statement = connection.createStatement()) {
+      statement.execute("create user tenant password 'secret' admin");
+    }
+    Connection tenant = partitioned.getConnection("TENANT", "secret");
+    Connection tenantRealConnection = PooledDataSource.unwrapConnection(tenant);
+    tenant.close();
+    assertEquals(1, partitioned.getPoolState().getIdleConnectionCount());
+    assertEquals(1, partitioned.getPoolMetrics().getClosedConnections());
+    assertEquals(1, partitioned.getPoolMetrics().getEvictedConnections());
+
+    try (Connection connection = partitioned.getConnection("TENANT", "secret")) {
+      assertEquals(tenantRealConnection, PooledDataSource.unwrapConnection(connection));
+    }
+    assertEquals(2, partitioned.getPoolMetrics().getCreatedConnections());
+    partitioned.forceCloseAll();
+  }
+
+  @Test
+  void shouldLimitActiveConnectionsPerPartition() throws Exception {
+    PooledDataSource partitioned = new PooledDataSource("org.hsqldb.jdbcDriver", "jdbc:hsqldb:mem:partitionlimit", "sa",
+        "");
+    try (Connection connection = partitioned.getConnection(); Statement statement = connection.createStatement()) {
+      statement.execute("create user tenant password 'secret' admin");
+    }
+    partitioned.setPoolMaximumActiveConnectionsPerPartition(1);
+    Connection tenant = partitioned.getConnection("TENANT", "secret");
+    CountDownLatch acquired = new CountDownLatch(1);
+    new Thread(() -> {
+      try (Connection other = partitioned.getConnection("TENANT", "secret")) {
+        acquired.countDown();
+      } catch (SQLException e) {
+        throw new RuntimeException(e);
+      }
+    }).start();
+
+    assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+    try (Connection connection = partitioned.getConnection()) {
+      assertEquals("SA", connection.getMetaData().getUserName());
+    }
+    assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+    tenant.close();
+    assertTrue(acquired.await(1000, TimeUnit.MILLISECONDS));
+    partitioned.forceCloseAll();
+  }
+
+  @Test
+  void shouldReuseIdleConnectionsInPolicyOrder() throws Exception {
+    List<Connection> realConnections = new ArrayList<>();
+    List<Connection> connections = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      Connection connection = dataSource.getConnection();
+      connections.add(connection);
+      realConnections.add(PooledDataSource.unwrapConnection(connection));
+    }
+    for (Connection connection : connections) {
+      connection.close();
+    }
+    try (Connection connection = dataSource.getConnection()) {
+      assertEquals(realConnections.get(0), PooledDataSource.unwrapConnection(connection));
+    }
+    dataSource.setPoolReusePolicy(PoolReusePolicy.LIFO);
+    try (Connection connection = dataSource.getConnection()) {
+      assertEquals(realConnections.get(0), PooledDataSource.unwrapConnection(connection));
+    }
+    try (Connection connection = dataSource.getConnection()) {
+      assertEquals(realConnections.get(0), PooledDataSource.unwrapConnection(connection));
+    }
+  }
+
+  @Test
+  void shouldReuseTheLastConnectionOfTheThread() throws Exception {
+    dataSource.setPoolReusePolicy(PoolReusePolicy.THREAD_AFFINITY);
+    Connection mine = dataSource.getConnection();
+    Connection realConnection = PooledDataSource.unwrapConnection(mine);
+    mine.close();
+    Thread other = new Thread(() -> {
+      try {
+        // takes the connection returned by this thread and returns another one last
+        Connection first = dataSource.getConnection();
+        dataSource.getConnection().close();
+        first.close();
+        dataSource.getConnection().close();
+      } catch (SQLException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    other.start();
+    other.join();
+    assertEquals(2, dataSource.getPoolState().getIdleConnectionCount());
+    try (Connection connection = dataSource.getConnection()) {
+      assertEquals(realConnection, PooledDataSource.unwrapConnection(connection));
+    }
+  }
+
 }
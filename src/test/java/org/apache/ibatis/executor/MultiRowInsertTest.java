@@ -0,0 +1,51 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class MultiRowInsertTest {
+
+  @Test
+  void shouldFindTupleClosingInsert() {
+    String sql = "insert into users (id, name) values (?, lower(?))";
+    assertEquals(sql.indexOf("values") + 6, MultiRowInsert.findValuesTuple(sql));
+    sql = " INSERT INTO users VALUES(?, 'a)b') ;\n";
+    assertEquals(sql.indexOf("VALUES") + 6, MultiRowInsert.findValuesTuple(sql));
+  }
+
+  @Test
+  void shouldNotRewriteOtherStatements() {
+    assertEquals(-1, MultiRowInsert.findValuesTuple("update users set name = ? where id = ?"));
+    assertEquals(-1, MultiRowInsert.findValuesTuple("insert into users (id, name) select id, name from people"));
+    assertEquals(-1, MultiRowInsert.findValuesTuple("insert into users (id) values (?), (?)"));
+    assertEquals(-1, MultiRowInsert.findValuesTuple("insert into users (id) values (?) returning id"));
+    assertEquals(-1,
+        MultiRowInsert.findValuesTuple("insert into users (id) values (?) on duplicate key update id = ?"));
+    assertEquals(-1, MultiRowInsert.findValuesTuple("insert into old_values (id) select id from users"));
+  }
+
+  @Test
+  void shouldLimitRowsPerStatement() {
+    assertEquals(333, new MultiRowInsertDialect(999, 500, false).getRowsPerStatement(3));
+    assertEquals(500, new MultiRowInsertDialect(999, 500, false).getRowsPerStatement(1));
+    assertEquals(500, new MultiRowInsertDialect(999, 500, false).getRowsPerStatement(0));
+    assertEquals(10922, new MultiRowInsertDialect(32767, 0, true).getRowsPerStatement(3));
+  }
+
+}
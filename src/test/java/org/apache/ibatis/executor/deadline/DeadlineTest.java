@@ -0,0 +1,96 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.executor.deadline;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.sql.Statement;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class DeadlineTest {
+
+  @Test
+  void shouldCancelStatementsWhenDeadlinePasses() throws Exception {
+    Statement running = mock(Statement.class);
+    Statement closed = mock(Statement.class);
+    try (Deadline.Scope scope = Deadline.after(50, TimeUnit.MILLISECONDS).enter()) {
+      StatementCanceller.current().register(running);
+      StatementCanceller.current().register(closed);
+      StatementCanceller.current().unregister(closed);
+      verify(running, timeout(5000)).cancel();
+      assertTrue(Deadline.current().isExpired());
+    }
+    verify(closed, never()).cancel();
+    assertNull(Deadline.current());
+    assertNull(StatementCanceller.current());
+  }
+
+  @Test
+  void shouldNotCancelStatementsAfterScopeIsClosed() throws Exception {
+    Statement statement = mock(Statement.class);
+    try (Deadline.Scope scope = Deadline.after(50, TimeUnit.MILLISECONDS).enter()) {
+      StatementCanceller.current().register(statement);
+    }
+    Thread.sleep(200);
+    verify(statement, never()).cancel();
+  }
+
+  @Test
+  void shouldNotExtendEnclosingDeadline() {
+    Deadline outer = Deadline.after(1, TimeUnit.MINUTES);
+    try (Deadline.Scope outerScope = outer.enter()) {
+      try (Deadline.Scope innerScope = Deadline.after(1, TimeUnit.HOURS).enter()) {
+        assertSame(outer, Deadline.current());
+      }
+      Deadline inner = Deadline.after(10, TimeUnit.MILLISECONDS);
+      try (Deadline.Scope innerScope = inner.enter()) {
+        assertSame(inner, Deadline.current());
+      }
+      assertSame(outer, Deadline.current());
+    }
+  }
+
+  @Test
+  void shouldRunTimerTasksInOrderUnlessCancelled() throws Exception {
+    TimerWheel wheel = new TimerWheel("test-timer-wheel", 1, TimeUnit.MILLISECONDS, 8);
+    try {
+      CountDownLatch latch = new CountDownLatch(1);
+      TimerWheel.Timeout cancelled = wheel.schedule(() -> {
+        throw new AssertionError("cancelled task ran");
+      }, 20, TimeUnit.MILLISECONDS);
+      // longer than a turn of the wheel
+      TimerWheel.Timeout expired = wheel.schedule(latch::countDown, 30, TimeUnit.MILLISECONDS);
+      assertTrue(cancelled.cancel());
+      assertTrue(latch.await(5, TimeUnit.SECONDS));
+      assertTrue(expired.isExpired());
+      assertFalse(expired.cancel());
+      assertFalse(cancelled.isExpired());
+    } finally {
+      wheel.stop();
+    }
+  }
+
+}
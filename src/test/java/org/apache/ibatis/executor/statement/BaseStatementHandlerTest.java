@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2023 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -23,8 +23,10 @@ import static org.mockito.Mockito.verifyNoInteractions;
 
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
 
 import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.executor.deadline.Deadline;
 import org.apache.ibatis.mapping.MappedStatement;
 import org.apache.ibatis.session.Configuration;
 import org.junit.jupiter.api.AfterEach;
@@ -155,4 +157,18 @@ class BaseStatementHandlerTest {
     verify(statement).setQueryTimeout(10);
   }
 
+  @Test
+  void specifyQueryTimeoutAndDeadlineMinIsDeadline() throws SQLException {
+    mappedStatementBuilder.timeout(10);
+
+    BaseStatementHandler handler = new SimpleStatementHandler(null, mappedStatementBuilder.build(), null, null, null,
+        null);
+    try (Deadline.Scope scope = Deadline.after(1500, TimeUnit.MILLISECONDS).enter()) {
+      handler.setStatementTimeout(statement, null);
+    }
+
+    verify(statement).setQueryTimeout(10);
+    verify(statement).setQueryTimeout(2); // apply the time left before the deadline, rounded up
+  }
+
 }
@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2022 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 package org.apache.ibatis.logging;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.Reader;
 
@@ -84,6 +86,7 @@ class LogFactoryTest {
     Log log = LogFactory.getLog(Object.class);
     logSomething(log);
     assertEquals(log.getClass().getName(), StdOutImpl.class.getName());
+    assertTrue(log.isWarnEnabled());
   }
 
   @Test
@@ -92,6 +95,7 @@ class LogFactoryTest {
     Log log = LogFactory.getLog(Object.class);
     logSomething(log);
     assertEquals(log.getClass().getName(), NoLoggingImpl.class.getName());
+    assertFalse(log.isWarnEnabled());
   }
 
   @Test
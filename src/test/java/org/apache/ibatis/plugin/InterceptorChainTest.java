@@ -0,0 +1,284 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.plugin;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.StringReader;
+import java.lang.reflect.Proxy;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.builder.StaticSqlSource;
+import org.apache.ibatis.builder.xml.XMLConfigBuilder;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.parameter.ParameterHandler;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.SqlCommandType;
+import org.apache.ibatis.session.Configuration;
+import org.junit.jupiter.api.Test;
+
+class InterceptorChainTest {
+
+  @Test
+  void shouldCallInterceptorsInReverseOrderThroughOneProxy() throws Exception {
+    List<String> calls = new ArrayList<>();
+    InterceptorChain chain = new InterceptorChain();
+    chain.addInterceptor(new SetParametersInterceptor("first", calls));
+    chain.addInterceptor(new GetParameterObjectInterceptor());
+    chain.addInterceptor(new SetParametersInterceptor("second", calls));
+    ParameterHandler handler = (ParameterHandler) chain.pluginAll(new RecordingParameterHandler(calls));
+
+    assertTrue(Proxy.getInvocationHandler(handler) instanceof InterceptorDispatcher);
+    handler.setParameters(null);
+    assertEquals(List.of("second", "first", "target"), calls);
+    assertEquals("intercepted", handler.getParameterObject());
+  }
+
+  @Test
+  void shouldGiveEachInterceptorTheRemainingChainAsTarget() throws Exception {
+    List<String> calls = new ArrayList<>();
+    RecordingParameterHandler target = new RecordingParameterHandler(calls);
+    InterceptorChain chain = new InterceptorChain();
+    SetParametersInterceptor inner = new SetParametersInterceptor("inner", calls);
+    chain.addInterceptor(inner);
+    chain.addInterceptor(new DirectCallInterceptor(calls));
+    ParameterHandler handler = (ParameterHandler) chain.pluginAll(target);
+
+    handler.setParameters(null);
+    assertEquals(List.of("direct", "inner", "target"), calls);
+    assertSame(target, inner.lastTarget);
+  }
+
+  @Test
+  void shouldProceedMoreThanOnce() throws Exception {
+    List<String> calls = new ArrayList<>();
+    InterceptorChain chain = new InterceptorChain();
+    chain.addInterceptor(new SetParametersInterceptor("inner", calls));
+    chain.addInterceptor(new RetryInterceptor());
+    ParameterHandler handler = (ParameterHandler) chain.pluginAll(new RecordingParameterHandler(calls));
+
+    handler.setParameters(null);
+    assertEquals(List.of("inner", "target", "inner", "target"), calls);
+  }
+
+  @Test
+  void shouldThrowTheExceptionOfTheTarget() {
+    InterceptorChain chain = new InterceptorChain();
+    chain.addInterceptor(new SetParametersInterceptor("first", new ArrayList<>()));
+    chain.addInterceptor(new SetParametersInterceptor("second", new ArrayList<>()));
+    ParameterHandler handler = (ParameterHandler) chain.pluginAll(new FailingParameterHandler());
+
+    SQLException e = assertThrows(SQLException.class, () -> handler.setParameters(null));
+    assertEquals("failed", e.getMessage());
+  }
+
+  @Test
+  void shouldOnlyWrapHandlersOfMatchingStatements() throws Exception {
+    List<String> calls = new ArrayList<>();
+    InterceptorChain chain = new InterceptorChain();
+    chain.addInterceptor(new SetParametersInterceptor("all", calls));
+    chain.addInterceptor(new SetParametersInterceptor("users", calls), new String[] { "org.example.UserMapper.*" },
+        new SqlCommandType[] { SqlCommandType.SELECT });
+    chain.addInterceptor(new ScopedInterceptor(calls));
+
+    ((ParameterHandler) chain.pluginAll(new RecordingParameterHandler(calls),
+        statement("org.example.UserMapper.select", SqlCommandType.SELECT))).setParameters(null);
+    assertEquals(List.of("scoped", "users", "all", "target"), calls);
+
+    calls.clear();
+    ((ParameterHandler) chain.pluginAll(new RecordingParameterHandler(calls),
+        statement("org.example.UserMapper.insert", SqlCommandType.INSERT))).setParameters(null);
+    assertEquals(List.of("scoped", "all", "target"), calls);
+
+    calls.clear();
+    ParameterHandler unscoped = new RecordingParameterHandler(calls);
+    ParameterHandler handler = (ParameterHandler) chain.pluginAll(unscoped,
+        statement("org.example.OrderMapper.insertOrder", SqlCommandType.INSERT));
+    handler.setParameters(null);
+    assertEquals(List.of("all", "target"), calls);
+  }
+
+  @Test
+  void shouldSkipInterceptorsOfOtherStatementsOnExecutorCalls() throws Exception {
+    List<String> calls = new ArrayList<>();
+    InterceptorChain chain = new InterceptorChain();
+    chain.addInterceptor(new UpdateInterceptor("all", calls));
+    chain.addInterceptor(new UpdateInterceptor("orders", calls), new String[] { "*.insertOrder" }, null);
+    Executor executor = (Executor) chain.pluginAll(Proxy.newProxyInstance(getClass().getClassLoader(),
+        new Class<?>[] { Executor.class }, (proxy, method, args) -> {
+          calls.add("target");
+          return 1;
+        }));
+
+    executor.update(statement("org.example.OrderMapper.insertOrder", SqlCommandType.INSERT), null);
+    assertEquals(List.of("orders", "all", "target"), calls);
+    calls.clear();
+    executor.update(statement("org.example.UserMapper.insert", SqlCommandType.INSERT), null);
+    assertEquals(List.of("all", "target"), calls);
+  }
+
+  @Test
+  void shouldReadScopesFromTheConfiguration() throws Exception {
+    String config = "<?xml version=\"1.0\" encoding=\"UTF-8\" ?>\n"
+        + "<!DOCTYPE configuration PUBLIC \"-//mybatis.org//DTD Config 3.0//EN\" \"https://mybatis.org/dtd/mybatis-3-config.dtd\">\n"
+        + "<configuration><plugins>" + "<plugin interceptor=\"" + ScopedInterceptor.class.getName()
+        + "\" statements=\"*.selectUser\"" + " commandTypes=\"SELECT, UPDATE\"/>" + "</plugins></configuration>";
+    Configuration configuration = new XMLConfigBuilder(new StringReader(config)).parse();
+    ParameterHandler handler = configuration.newParameterHandler(
+        statement(configuration, "org.example.UserMapper.selectUser", SqlCommandType.SELECT), null, null);
+    assertTrue(Proxy.isProxyClass(handler.getClass()));
+    handler = configuration.newParameterHandler(
+        statement(configuration, "org.example.UserMapper.selectAll", SqlCommandType.SELECT), null, null);
+    assertTrue(!Proxy.isProxyClass(handler.getClass()));
+    handler = configuration.newParameterHandler(
+        statement(configuration, "org.example.UserMapper.selectUser", SqlCommandType.DELETE), null, null);
+    assertTrue(!Proxy.isProxyClass(handler.getClass()));
+  }
+
+  private static MappedStatement statement(String id, SqlCommandType commandType) {
+    return statement(new Configuration(), id, commandType);
+  }
+
+  private static MappedStatement statement(Configuration configuration, String id, SqlCommandType commandType) {
+    return new MappedStatement.Builder(configuration, id, new StaticSqlSource(configuration, "select 1"), commandType)
+        .build();
+  }
+
+  private static class RecordingParameterHandler implements ParameterHandler {
+    private final List<String> calls;
+
+    RecordingParameterHandler(List<String> calls) {
+      this.calls = calls;
+    }
+
+    @Override
+    public Object getParameterObject() {
+      return "target";
+    }
+
+    @Override
+    public void setParameters(PreparedStatement ps) {
+      calls.add("target");
+    }
+  }
+
+  private static class FailingParameterHandler implements ParameterHandler {
+    @Override
+    public Object getParameterObject() {
+      return null;
+    }
+
+    @Override
+    public void setParameters(PreparedStatement ps) throws SQLException {
+      throw new SQLException("failed");
+    }
+  }
+
+  @Intercepts(@Signature(type = ParameterHandler.class, method = "setParameters", args = PreparedStatement.class))
+  private static class SetParametersInterceptor implements Interceptor {
+    private final String name;
+    private final List<String> calls;
+    private Object lastTarget;
+
+    SetParametersInterceptor(String name, List<String> calls) {
+      this.name = name;
+      this.calls = calls;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      calls.add(name);
+      lastTarget = invocation.getTarget();
+      return invocation.proceed();
+    }
+  }
+
+  @Intercepts(value = @Signature(type = ParameterHandler.class, method = "setParameters", args = PreparedStatement.class), statements = "org.example.UserMapper.*")
+  public static class ScopedInterceptor implements Interceptor {
+    private final List<String> calls;
+
+    public ScopedInterceptor() {
+      this(new ArrayList<>());
+    }
+
+    ScopedInterceptor(List<String> calls) {
+      this.calls = calls;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      calls.add("scoped");
+      return invocation.proceed();
+    }
+  }
+
+  @Intercepts(@Signature(type = Executor.class, method = "update", args = { MappedStatement.class, Object.class }))
+  private static class UpdateInterceptor implements Interceptor {
+    private final String name;
+    private final List<String> calls;
+
+    UpdateInterceptor(String name, List<String> calls) {
+      this.name = name;
+      this.calls = calls;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      calls.add(name);
+      return invocation.proceed();
+    }
+  }
+
+  @Intercepts(@Signature(type = ParameterHandler.class, method = "getParameterObject", args = {}))
+  private static class GetParameterObjectInterceptor implements Interceptor {
+    @Override
+    public Object intercept(Invocation invocation) {
+      return "intercepted";
+    }
+  }
+
+  @Intercepts(@Signature(type = ParameterHandler.class, method = "setParameters", args = PreparedStatement.class))
+  private static class DirectCallInterceptor implements Interceptor {
+    private final List<String> calls;
+
+    DirectCallInterceptor(List<String> calls) {
+      this.calls = calls;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      calls.add("direct");
+      ((ParameterHandler) invocation.getTarget()).setParameters(null);
+      return null;
+    }
+  }
+
+  @Intercepts(@Signature(type = ParameterHandler.class, method = "setParameters", args = PreparedStatement.class))
+  private static class RetryInterceptor implements Interceptor {
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      invocation.proceed();
+      return invocation.proceed();
+    }
+  }
+
+}
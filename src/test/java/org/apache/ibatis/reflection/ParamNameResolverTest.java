@@ -0,0 +1,138 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.binding.BindingException;
+import org.apache.ibatis.binding.MapperMethod.ParamMap;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.RowBounds;
+import org.junit.jupiter.api.Test;
+
+class ParamNameResolverTest {
+
+  @Test
+  void shouldReadArgumentsByNameAndGenericName() throws Exception {
+    Map<?, ?> params = namedParams("select", 1, RowBounds.DEFAULT, "two", 3L);
+    assertTrue(params instanceof ParamMap);
+    assertEquals(6, params.size());
+    assertEquals(1, params.get("id"));
+    assertEquals("two", params.get("name"));
+    assertEquals(3L, params.get("version"));
+    assertEquals(1, params.get("param1"));
+    assertEquals("two", params.get("param2"));
+    assertEquals(3L, params.get("param3"));
+    assertTrue(params.containsKey("param3"));
+    assertFalse(params.containsKey("param4"));
+    BindingException e = assertThrows(BindingException.class, () -> params.get("param4"));
+    assertTrue(e.getMessage().startsWith("Parameter 'param4' not found. Available parameters are "), e.getMessage());
+  }
+
+  @Test
+  void shouldNotOverwriteParamNamedLikeGenericName() throws Exception {
+    Map<?, ?> params = namedParams("selectByGenericName", "a", "b");
+    assertEquals(Set.of("param2", "param1", "other"), params.keySet());
+    assertEquals("a", params.get("param2"));
+    assertEquals("a", params.get("param1"));
+    assertEquals("b", params.get("other"));
+  }
+
+  @Test
+  void shouldBehaveAsHashMapOnceModified() throws Exception {
+    @SuppressWarnings("unchecked")
+    Map<String, Object> params = (Map<String, Object>) namedParams("select", 1, RowBounds.DEFAULT, "two", 3L);
+    params.put("tenant", "t1");
+    params.put("id", 2);
+    assertEquals(7, params.size());
+    assertEquals(2, params.get("id"));
+    assertEquals(1, params.get("param1"));
+    assertEquals("t1", params.get("tenant"));
+    ParamMap<Object> expected = new ParamMap<>();
+    expected.putAll(params);
+    assertEquals(expected, params);
+    assertEquals(expected.hashCode(), params.hashCode());
+  }
+
+  @Test
+  void shouldWrapSingleCollectionOrArray() throws Exception {
+    List<Integer> ids = List.of(1, 2);
+    Map<?, ?> list = namedParams("selectByIds", ids);
+    assertEquals(Set.of("collection", "list", "ids"), list.keySet());
+    assertSame(ids, list.get("list"));
+    int[] array = { 1, 2 };
+    Map<?, ?> arrayParams = namedParams("selectByArray", (Object) array);
+    assertEquals(Set.of("array", "ids"), arrayParams.keySet());
+    assertSame(array, arrayParams.get("ids"));
+    assertEquals("one", resolver("selectByName").getNamedParams(new Object[] { "one" }));
+    assertNull(resolver("selectByName").getNamedParams(null));
+  }
+
+  @Test
+  void shouldSerializeAsParamMap() throws Exception {
+    Map<?, ?> params = namedParams("select", 1, RowBounds.DEFAULT, "two", 3L);
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(params);
+    }
+    try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      Object copy = in.readObject();
+      assertSame(ParamMap.class, copy.getClass());
+      assertEquals(params, copy);
+    }
+  }
+
+  private static Map<?, ?> namedParams(String methodName, Object... args) throws Exception {
+    return (Map<?, ?>) resolver(methodName).getNamedParams(args);
+  }
+
+  private static ParamNameResolver resolver(String methodName) throws Exception {
+    for (Method method : Mapper.class.getMethods()) {
+      if (method.getName().equals(methodName)) {
+        return new ParamNameResolver(new Configuration(), method);
+      }
+    }
+    throw new IllegalArgumentException(methodName);
+  }
+
+  interface Mapper {
+    Object select(@Param("id") int id, RowBounds rowBounds, @Param("name") String name, @Param("version") long version);
+
+    Object selectByGenericName(@Param("param2") String first, @Param("other") String second);
+
+    Object selectByIds(List<Integer> ids);
+
+    Object selectByArray(int[] ids);
+
+    Object selectByName(String name);
+  }
+
+}
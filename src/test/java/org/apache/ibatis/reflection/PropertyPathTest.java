@@ -0,0 +1,152 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class PropertyPathTest {
+
+  @Test
+  void shouldReadAndWriteIndexedAndMapSegments() {
+    Map<String, Object> totals = new HashMap<>();
+    Order order = new Order();
+    order.items.add(new Item("a", 1));
+    order.items.add(new Item("b", 2));
+    order.attributes.put("totals", totals);
+    Map<String, Object> params = new HashMap<>();
+    params.put("order", order);
+    MetaObject meta = SystemMetaObject.forObject(params);
+
+    assertEquals(2, meta.getValue("order.items[1].price"));
+    assertEquals("a", meta.getValue("order.itemArray[0].name"));
+    meta.setValue("order.items[0].price", 5);
+    assertEquals(5, order.items.get(0).getPrice());
+    meta.setValue("order.attributes.totals.sum", 7);
+    assertEquals(7, meta.getValue("order.attributes[totals].sum"));
+    assertEquals(7, totals.get("sum"));
+  }
+
+  @Test
+  void shouldFollowTheClassOfEachValue() {
+    Order order = new Order();
+    MetaObject meta = SystemMetaObject.forObject(order);
+    order.first = new Item("item", 1);
+    assertEquals("item", meta.getValue("first.name"));
+    order.first = new SpecialItem("special", 2);
+    assertEquals("special", meta.getValue("first.name"));
+    assertEquals("extra", meta.getValue("first.extra"));
+    order.first = new Item("item", 3);
+    assertThrows(ReflectionException.class, () -> meta.getValue("first.extra"));
+  }
+
+  @Test
+  void shouldInstantiateNullValuesOnWrite() {
+    Order order = new Order();
+    MetaObject meta = SystemMetaObject.forObject(order);
+    assertNull(meta.getValue("first.name"));
+    meta.setValue("first.name", "created");
+    assertEquals("created", order.first.getName());
+    assertSame(order.first, meta.getValue("first"));
+  }
+
+  @Test
+  void shouldReportTheErrorsOfMetaObject() {
+    Order order = new Order();
+    MetaObject meta = SystemMetaObject.forObject(order);
+    assertThrows(ReflectionException.class, () -> meta.getValue("missing"));
+    assertThrows(ReflectionException.class, () -> meta.setValue("missing", 1));
+    assertThrows(UnsupportedOperationException.class, () -> meta.getValue("items.size"));
+    order.items = null;
+    ReflectionException e = assertThrows(ReflectionException.class, () -> meta.getValue("items[0].name"));
+    assertEquals("Cannot get the value 'items[0]' because the property 'items' is null.", e.getMessage());
+  }
+
+  static class Order {
+    private List<Item> items = new ArrayList<>();
+    private final Map<String, Object> attributes = new HashMap<>();
+    private Item first;
+
+    public List<Item> getItems() {
+      return items;
+    }
+
+    public Item[] getItemArray() {
+      return items.toArray(new Item[0]);
+    }
+
+    public Map<String, Object> getAttributes() {
+      return attributes;
+    }
+
+    public Item getFirst() {
+      return first;
+    }
+
+    public void setFirst(Item first) {
+      this.first = first;
+    }
+  }
+
+  static class Item {
+    private String name;
+    private int price;
+
+    public Item() {
+    }
+
+    Item(String name, int price) {
+      this.name = name;
+      this.price = price;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public int getPrice() {
+      return price;
+    }
+
+    public void setPrice(int price) {
+      this.price = price;
+    }
+  }
+
+  static class SpecialItem extends Item {
+    SpecialItem(String name, int price) {
+      super(name, price);
+    }
+
+    public String getExtra() {
+      return "extra";
+    }
+  }
+
+}
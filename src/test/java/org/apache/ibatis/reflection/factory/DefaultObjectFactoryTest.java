@@ -1,5 +1,5 @@
 /*
- *    Copyright 2009-2024 the original author or authors.
+ *    Copyright 2009-2026 the original author or authors.
  *
  *    Licensed under the Apache License, Version 2.0 (the "License");
  *    you may not use this file except in compliance with the License.
@@ -15,9 +15,11 @@
  */
 package org.apache.ibatis.reflection.factory;
 
+import java.lang.reflect.InvocationTargetException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -60,6 +62,50 @@ class DefaultObjectFactoryTest {
     }
   }
 
+  @Test
+  void createClassWithGeneratedInstantiators() {
+    DefaultObjectFactory defaultObjectFactory = new DefaultObjectFactory();
+    for (int i = 0; i < 2; i++) {
+      Point point = defaultObjectFactory.create(Point.class, Arrays.asList(int.class, int.class, String.class),
+          Arrays.asList(1, 2, "p"));
+      Assertions.assertEquals(new Point(1, 2, "p"), point);
+      Pair pair = defaultObjectFactory.create(Pair.class, Arrays.asList(long.class, Object.class),
+          Arrays.asList(3L, "b"));
+      Assertions.assertEquals(3L, pair.left);
+      Assertions.assertEquals("b", pair.right);
+      Assertions.assertNotNull(defaultObjectFactory.create(Pair.class));
+      Wide wide = defaultObjectFactory.create(Wide.class, Collections.nCopies(8, int.class),
+          Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8));
+      Assertions.assertEquals(new Wide(1, 2, 3, 4, 5, 6, 7, 8), wide);
+      Assertions.assertEquals("ArgumentsInstantiator",
+          ObjectInstantiator.forConstructor(Wide.class.getDeclaredConstructors()[0]).getClass().getSimpleName());
+      Wider wider = defaultObjectFactory.create(Wider.class, Collections.nCopies(9, String.class),
+          Arrays.asList("1", "2", "3", "4", "5", "6", "7", "8", "9"));
+      Assertions.assertEquals(new Wider("1", "2", "3", "4", "5", "6", "7", "8", "9"), wider);
+    }
+  }
+
+  @Test
+  void createClassWithConvertedArguments() {
+    DefaultObjectFactory defaultObjectFactory = new DefaultObjectFactory();
+    // widened by reflection
+    Pair pair = defaultObjectFactory.create(Pair.class, Arrays.asList(long.class, Object.class),
+        Arrays.asList(3, null));
+    Assertions.assertEquals(3L, pair.left);
+    ReflectionException e = Assertions.assertThrows(ReflectionException.class, () -> defaultObjectFactory
+        .create(Pair.class, Arrays.asList(long.class, Object.class), Arrays.asList(null, "b")));
+    Assertions.assertTrue(e.getCause() instanceof IllegalArgumentException);
+  }
+
+  @Test
+  void createClassWrapsConstructorExceptions() {
+    DefaultObjectFactory defaultObjectFactory = new DefaultObjectFactory();
+    ReflectionException e = Assertions.assertThrows(ReflectionException.class, () -> defaultObjectFactory
+        .create(Pair.class, Arrays.asList(long.class, Object.class), Arrays.asList(-1L, "b")));
+    Assertions.assertTrue(e.getCause() instanceof InvocationTargetException);
+    Assertions.assertEquals("negative", ((InvocationTargetException) e.getCause()).getTargetException().getMessage());
+  }
+
   @Test
   void createHashMap() {
     DefaultObjectFactory defaultObjectFactory = new DefaultObjectFactory();
@@ -93,4 +139,30 @@ class DefaultObjectFactoryTest {
     Set set = defaultObjectFactory.create(Set.class);
     Assertions.assertTrue(set instanceof HashSet, " set should be HashSet");
   }
+
+  record Point(int x, int y, String name) {
+  }
+
+  record Wide(int a1, int a2, int a3, int a4, int a5, int a6, int a7, int a8) {
+  }
+
+  record Wider(String a1, String a2, String a3, String a4, String a5, String a6, String a7, String a8, String a9) {
+  }
+
+  private static class Pair {
+    private final long left;
+    private final Object right;
+
+    private Pair() {
+      this(0, null);
+    }
+
+    private Pair(long left, Object right) {
+      if (left < 0) {
+        throw new IllegalArgumentException("negative");
+      }
+      this.left = left;
+      this.right = right;
+    }
+  }
 }
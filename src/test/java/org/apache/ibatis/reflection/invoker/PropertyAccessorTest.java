@@ -0,0 +1,118 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.reflection.invoker;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.lang.reflect.InvocationTargetException;
+
+import org.apache.ibatis.reflection.ReflectionException;
+import org.apache.ibatis.reflection.Reflector;
+import org.junit.jupiter.api.Test;
+
+class PropertyAccessorTest {
+
+  private static final Object[] NO_ARGUMENTS = {};
+
+  @Test
+  void shouldGenerateAccessorsForPrivateMembers() throws Exception {
+    Reflector reflector = new Reflector(Bean.class);
+    Bean bean = new Bean();
+    reflector.getSetInvoker("id").invoke(bean, new Object[] { 7 });
+    reflector.getSetInvoker("name").invoke(bean, new Object[] { "seven" });
+    reflector.getSetInvoker("field").invoke(bean, new Object[] { 3.5d });
+    assertEquals(7, reflector.getGetInvoker("id").invoke(bean, NO_ARGUMENTS));
+    assertEquals("seven", reflector.getGetInvoker("name").invoke(bean, NO_ARGUMENTS));
+    assertEquals(3.5d, reflector.getGetInvoker("field").invoke(bean, NO_ARGUMENTS));
+    assertNotSame(PropertyAccessor.UNAVAILABLE, ((MethodInvoker) reflector.getGetInvoker("id")).accessor());
+    assertNotSame(PropertyAccessor.UNAVAILABLE, ((SetFieldInvoker) reflector.getSetInvoker("field")).accessor());
+  }
+
+  @Test
+  void shouldLeaveConversionsToReflection() throws Exception {
+    Reflector reflector = new Reflector(Bean.class);
+    Bean bean = new Bean();
+    // widened by reflection
+    reflector.getSetInvoker("total").invoke(bean, new Object[] { 5 });
+    assertEquals(5L, reflector.getGetInvoker("total").invoke(bean, NO_ARGUMENTS));
+    assertThrows(IllegalArgumentException.class,
+        () -> reflector.getSetInvoker("id").invoke(bean, new Object[] { null }));
+    assertThrows(IllegalArgumentException.class,
+        () -> reflector.getSetInvoker("name").invoke(bean, new Object[] { 1 }));
+    reflector.getSetInvoker("name").invoke(bean, new Object[] { null });
+    assertNull(reflector.getGetInvoker("name").invoke(bean, NO_ARGUMENTS));
+  }
+
+  @Test
+  void shouldWriteFinalFieldsWithReflection() throws Exception {
+    Reflector reflector = new Reflector(Bean.class);
+    Bean bean = new Bean();
+    reflector.getSetInvoker("code").invoke(bean, new Object[] { "B" });
+    assertEquals("B", reflector.getGetInvoker("code").invoke(bean, NO_ARGUMENTS));
+    assertSame(PropertyAccessor.UNAVAILABLE, ((SetFieldInvoker) reflector.getSetInvoker("code")).accessor());
+    assertThrows(ReflectionException.class, () -> PropertyAccessor.UNAVAILABLE.access(bean, new Object[] { "C" }));
+  }
+
+  @Test
+  void shouldWrapExceptionsOfTheAccessors() {
+    Reflector reflector = new Reflector(Bean.class);
+    InvocationTargetException e = assertThrows(InvocationTargetException.class,
+        () -> reflector.getGetInvoker("broken").invoke(new Bean(), NO_ARGUMENTS));
+    assertEquals("broken", e.getTargetException().getMessage());
+  }
+
+  private static class Bean {
+    private int id;
+    private String name;
+    private long total;
+    private double field;
+    private final String code = "A";
+
+    private int getId() {
+      return id;
+    }
+
+    private void setId(int id) {
+      this.id = id;
+    }
+
+    public String getName() {
+      return name;
+    }
+
+    public Bean setName(String name) {
+      this.name = name;
+      return this;
+    }
+
+    public long getTotal() {
+      return total;
+    }
+
+    public void setTotal(long total) {
+      this.total = total;
+    }
+
+    public String getBroken() {
+      throw new IllegalStateException("broken");
+    }
+  }
+
+}
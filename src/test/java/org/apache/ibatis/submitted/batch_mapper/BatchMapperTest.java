@@ -0,0 +1,134 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.batch_mapper;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class BatchMapperTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/batch_mapper/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/batch_mapper/CreateDB.sql");
+  }
+
+  @ParameterizedTest
+  @EnumSource(ExecutorType.class)
+  void shouldInsertInBatchesWithGeneratedKeys(ExecutorType executorType) {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(executorType)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<User> users = users(5);
+      assertArrayEquals(new int[] { 1, 1, 1, 1, 1 }, mapper.insertAll(users));
+      for (int i = 0; i < users.size(); i++) {
+        assertEquals(i + 1, users.get(i).getId());
+      }
+      assertEquals(5, mapper.count());
+      assertEquals("User5", mapper.select(5).getName());
+    }
+  }
+
+  @Test
+  void shouldReturnBatchResultsOfXmlStatement() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<BatchResult> results = mapper.insertUsers(users(5).toArray(new User[0]));
+      assertEquals(3, results.size());
+      assertEquals(2, results.get(0).getParameterObjects().size());
+      assertEquals(1, results.get(2).getParameterObjects().size());
+      assertArrayEquals(new int[] { 1 }, results.get(2).getUpdateCounts());
+      assertEquals(5, ((User) results.get(2).getParameterObject()).getId());
+    }
+  }
+
+  @Test
+  void shouldUseDefaultBatchSizeAndSplitOnSqlChange() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<User> users = users(4);
+      mapper.insertNames(users);
+      for (int i = 0; i < users.size(); i++) {
+        User user = new User(i == 2 ? "Renamed" : null);
+        user.setId(i + 1);
+        user.setStatus("active");
+        users.set(i, user);
+      }
+      List<BatchResult> results = sqlSession.batch("org.apache.ibatis.submitted.batch_mapper.Mapper.updateStatuses",
+          users);
+      assertEquals(3, results.size());
+      assertEquals(2, results.get(0).getParameterObjects().size());
+      assertTrue(results.get(1).getSql().contains("name = ?"));
+      assertEquals(4, mapper.updateStatuses(users));
+      assertEquals("Renamed", mapper.select(3).getName());
+      assertEquals("active", mapper.select(4).getStatus());
+      assertTrue(mapper.deleteAll(users));
+      assertEquals(0, mapper.count());
+      assertFalse(mapper.deleteAll(users));
+    }
+  }
+
+  @Test
+  void shouldFlushPendingStatementsOfBatchSession() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.insert(new User("Pending"));
+      List<User> users = users(2);
+      mapper.insertAll(users);
+      assertEquals(2, users.get(0).getId());
+      List<BatchResult> pending = sqlSession.flushStatements();
+      assertEquals(1, pending.size());
+      assertEquals("Pending", ((User) pending.get(0).getParameterObjects().get(0)).getName());
+      assertArrayEquals(new int[] { 1 }, pending.get(0).getUpdateCounts());
+      assertTrue(sqlSession.flushStatements().isEmpty());
+      assertNotNull(mapper.select(1));
+      sqlSession.rollback();
+      assertEquals(0, mapper.count());
+    }
+  }
+
+  private static List<User> users(int count) {
+    List<User> users = new ArrayList<>();
+    for (int i = 1; i <= count; i++) {
+      users.add(new User("User" + i));
+    }
+    return users;
+  }
+
+}
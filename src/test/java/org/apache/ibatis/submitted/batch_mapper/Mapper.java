@@ -0,0 +1,55 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.batch_mapper;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.Batch;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.executor.BatchResult;
+
+public interface Mapper {
+
+  @Batch(size = 2)
+  @Insert("insert into users (name) values (#{name})")
+  @Options(useGeneratedKeys = true, keyProperty = "id")
+  int[] insertAll(List<User> users);
+
+  List<BatchResult> insertUsers(User... users);
+
+  @Batch
+  @Insert("insert into users (name) values (#{name})")
+  void insertNames(List<User> users);
+
+  int updateStatuses(List<User> users);
+
+  @Batch
+  @Delete("delete from users where id = #{id}")
+  boolean deleteAll(Iterable<User> users);
+
+  @Insert("insert into users (name) values (#{name})")
+  int insert(User user);
+
+  @Select("select count(*) from users")
+  int count();
+
+  @Select("select * from users where id = #{id}")
+  User select(int id);
+
+}
@@ -0,0 +1,166 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.batch_mapper;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.Reader;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.executor.BatchResult;
+import org.apache.ibatis.executor.MultiRowInsertDialect;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MultiRowInsertTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+  private final List<String> preparedSql = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/batch_mapper/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/batch_mapper/CreateDB.sql");
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    configuration.setRewriteBatchedInserts(true);
+    configuration.setDatabaseId("hsqldb");
+    configuration.registerMultiRowInsertDialect("hsqldb", new MultiRowInsertDialect(2, 0, true));
+    configuration.addInterceptor(new PrepareRecorder());
+  }
+
+  @Test
+  void shouldRewriteBatchOfMapperMethod() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<User> users = users(5);
+      assertArrayEquals(new int[] { 1, 1, 1, 1, 1 }, mapper.insertAll(users));
+      for (int i = 0; i < users.size(); i++) {
+        assertEquals(i + 1, users.get(i).getId());
+      }
+      assertEquals("User4", mapper.select(4).getName());
+      // batches of 2, 2 and 1 rows
+      assertEquals(2, countInserts("values (?), (?)"));
+      assertEquals(1, countInserts("values (?)"));
+    }
+  }
+
+  @Test
+  void shouldRewriteStatementsOfBatchSession() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<User> users = users(3);
+      for (User user : users) {
+        mapper.insert(user);
+      }
+      List<BatchResult> results = sqlSession.flushStatements();
+      assertEquals(1, results.size());
+      assertArrayEquals(new int[] { 1, 1, 1 }, results.get(0).getUpdateCounts());
+      assertEquals(1, countInserts("values (?), (?)"));
+      assertEquals(1, countInserts("values (?)"));
+      assertEquals(3, mapper.count());
+    }
+  }
+
+  @Test
+  void shouldBindRowsWhenTheyAreAdded() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(ExecutorType.BATCH)) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      User user = new User();
+      for (int i = 1; i <= 3; i++) {
+        user.setName("User" + i);
+        mapper.insert(user);
+      }
+      sqlSession.flushStatements();
+      assertEquals(1, countInserts("values (?), (?)"));
+      for (int i = 1; i <= 3; i++) {
+        assertEquals("User" + i, mapper.select(i).getName());
+      }
+    }
+  }
+
+  @Test
+  void shouldNotRewriteWithoutDialect() {
+    sqlSessionFactory.getConfiguration().setDatabaseId("oracle");
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      List<User> users = users(3);
+      mapper.insertAll(users);
+      assertEquals(3, users.get(2).getId());
+      assertEquals(0, countInserts("values (?), (?)"));
+      assertEquals(1, countInserts("values (?)"));
+    }
+  }
+
+  @Test
+  void shouldNotRewriteWhenKeysAreNotReturned() {
+    sqlSessionFactory.getConfiguration().registerMultiRowInsertDialect("hsqldb",
+        new MultiRowInsertDialect(2, 0, false));
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.insertAll(users(3));
+      mapper.insertNames(users(3));
+      assertEquals(1, countInserts("values (?), (?)"));
+      assertEquals(6, mapper.count());
+    }
+  }
+
+  private int countInserts(String suffix) {
+    int count = 0;
+    for (String sql : preparedSql) {
+      String normalized = sql.replaceAll("\\s+", " ").trim();
+      if (normalized.startsWith("insert") && normalized.endsWith(suffix)) {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  private static List<User> users(int count) {
+    List<User> users = new ArrayList<>();
+    for (int i = 1; i <= count; i++) {
+      users.add(new User("User" + i));
+    }
+    return users;
+  }
+
+  @Intercepts(@Signature(type = StatementHandler.class, method = "prepare", args = { Connection.class, Integer.class }))
+  private class PrepareRecorder implements Interceptor {
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      preparedSql.add(((StatementHandler) invocation.getTarget()).getBoundSql().getSql());
+      return invocation.proceed();
+    }
+  }
+
+}
@@ -0,0 +1,113 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.cache_warmup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.builder.BuilderException;
+import org.apache.ibatis.cache.warmup.CacheWarmup;
+import org.apache.ibatis.cache.warmup.WarmupStatement;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.session.defaults.DefaultSqlSessionFactory;
+import org.junit.jupiter.api.Test;
+
+class CacheWarmupTest {
+
+  private static DefaultSqlSessionFactory build(String config, String url) throws Exception {
+    // the data must exist before the factory is built, so it is loaded through a separate data source
+    DataSource dataSource = new UnpooledDataSource("org.hsqldb.jdbcDriver", url, "sa", "");
+    BaseDataTest.runScript(dataSource, "org/apache/ibatis/submitted/cache_warmup/CreateDB.sql");
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/cache_warmup/" + config)) {
+      return (DefaultSqlSessionFactory) new SqlSessionFactoryBuilder().build(reader);
+    }
+  }
+
+  private static void assertServedFromCache(SqlSessionFactory sqlSessionFactory) throws Exception {
+    try (Connection conn = sqlSessionFactory.getConfiguration().getEnvironment().getDataSource().getConnection();
+        Statement stmt = conn.createStatement()) {
+      stmt.executeUpdate("delete from users");
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int id = 1; id <= 3; id++) {
+        assertNotNull(mapper.getUser(id));
+      }
+      assertEquals(3, mapper.getUsers().size());
+      assertEquals(3, mapper.countUsers());
+    }
+  }
+
+  @Test
+  void shouldWarmUpCachesWhenFactoryIsBuilt() throws Exception {
+    DefaultSqlSessionFactory sqlSessionFactory = build("mybatis-config.xml", "jdbc:hsqldb:mem:cache_warmup");
+    CacheWarmup warmup = sqlSessionFactory.getCacheWarmup();
+    assertTrue(warmup.isDone());
+    assertEquals(5, warmup.getSubmitted());
+    assertEquals(5, warmup.getCompleted());
+    assertEquals(0, warmup.getFailed());
+    assertTrue(warmup.getStatementMillis().containsKey(Mapper.class.getName() + ".getUser"));
+    assertServedFromCache(sqlSessionFactory);
+  }
+
+  @Test
+  void shouldWarmUpCachesInBackground() throws Exception {
+    DefaultSqlSessionFactory sqlSessionFactory = build("mybatis-config-async.xml",
+        "jdbc:hsqldb:mem:cache_warmup_async");
+    CacheWarmup warmup = sqlSessionFactory.getCacheWarmup();
+    assertTrue(warmup.await(10, TimeUnit.SECONDS));
+    assertEquals(5, warmup.getCompleted());
+    assertServedFromCache(sqlSessionFactory);
+  }
+
+  @Test
+  void shouldRunMoreSelectsThanAPhaserCanTrack() throws Exception {
+    DefaultSqlSessionFactory sqlSessionFactory = build("mybatis-config.xml", "jdbc:hsqldb:mem:cache_warmup");
+    String namespace = Mapper.class.getName();
+    sqlSessionFactory.getConfiguration()
+        .addWarmupStatement(new WarmupStatement(namespace + ".getUsers", namespace + ".getSequence"));
+    CacheWarmup warmup = new CacheWarmup(sqlSessionFactory).start();
+    assertTrue(warmup.await(60, TimeUnit.SECONDS));
+    assertEquals(70005, warmup.getSubmitted());
+    assertEquals(70005, warmup.getCompleted());
+    assertEquals(0, warmup.getFailed());
+  }
+
+  @Test
+  void shouldFailOnUnknownWarmupStatement() throws Exception {
+    Configuration configuration = build("mybatis-config.xml", "jdbc:hsqldb:mem:cache_warmup").getConfiguration();
+    configuration.addWarmupStatement(new WarmupStatement("unknown", null));
+    SqlSessionFactoryBuilder builder = new SqlSessionFactoryBuilder();
+    BuilderException e = assertThrows(BuilderException.class, () -> builder.build(configuration));
+    assertEquals("Cache warm-up statement 'unknown' not found", e.getMessage());
+  }
+
+}
@@ -0,0 +1,38 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.cache_warmup;
+
+import java.util.List;
+
+import org.apache.ibatis.annotations.CacheNamespaceRef;
+import org.apache.ibatis.annotations.CacheWarmup;
+import org.apache.ibatis.annotations.Select;
+
+// shares the cache declared in Mapper.xml with the annotated statements
+@CacheNamespaceRef(Mapper.class)
+public interface Mapper {
+
+  User getUser(Integer id);
+
+  List<Integer> getUserIds();
+
+  List<User> getUsers();
+
+  @CacheWarmup
+  @Select("select count(*) from users")
+  int countUsers();
+
+}
@@ -0,0 +1,114 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.cursor_simple;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Reader;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class CursorStreamTest {
+
+  private static SqlSessionFactory sqlSessionFactory;
+
+  @BeforeAll
+  static void setUp() throws Exception {
+    try (
+        Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/cursor_simple/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    sqlSessionFactory.getConfiguration().addMapper(StreamMapper.class);
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/cursor_simple/CreateDB.sql");
+  }
+
+  @Test
+  void shouldStreamUsers() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      StreamMapper mapper = sqlSession.getMapper(StreamMapper.class);
+      try (Stream<User> users = mapper.streamAllUsers(new RowBounds(1, 3))) {
+        assertEquals(List.of("User2", "User3", "User4"), users.map(User::getName).collect(Collectors.toList()));
+      }
+    }
+  }
+
+  @Test
+  void shouldCloseCursorWithStream() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Cursor<User> cursor = sqlSession.getMapper(StreamMapper.class).getAllUsers();
+      try (Stream<User> users = cursor.stream()) {
+        assertEquals("User1", users.findFirst().get().getName());
+        assertTrue(cursor.isOpen());
+      }
+      assertFalse(cursor.isOpen());
+      assertFalse(cursor.isConsumed());
+    }
+  }
+
+  @Test
+  void shouldSplitIntoBatches() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Cursor<User> cursor = sqlSession.getMapper(StreamMapper.class).getManyUsers();
+      Spliterator<User> spliterator = cursor.spliterator();
+      assertTrue(spliterator.hasCharacteristics(Spliterator.ORDERED));
+      assertFalse(cursor.isOpen());
+      Spliterator<User> batch = spliterator.trySplit();
+      assertTrue(batch.hasCharacteristics(Spliterator.SIZED | Spliterator.ORDERED));
+      assertEquals(625, batch.getExactSizeIfKnown());
+      assertNull(spliterator.trySplit());
+      assertTrue(cursor.isConsumed());
+      AtomicInteger remaining = new AtomicInteger();
+      spliterator.forEachRemaining(user -> remaining.incrementAndGet());
+      assertEquals(0, remaining.get());
+    }
+  }
+
+  @Test
+  void shouldProcessBatchesInParallel() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      StreamMapper mapper = sqlSession.getMapper(StreamMapper.class);
+      int expected;
+      try (Stream<User> users = mapper.streamManyUsers()) {
+        expected = users.mapToInt(User::getId).sum();
+      }
+      try (Stream<User> users = mapper.streamManyUsers()) {
+        List<Integer> ids = users.parallel().map(User::getId).collect(Collectors.toList());
+        assertEquals(625, ids.size());
+        assertEquals(expected, ids.stream().mapToInt(Integer::intValue).sum());
+        assertEquals(1111, ids.get(0));
+        assertEquals(5555, ids.get(624));
+      }
+    }
+  }
+
+}
@@ -0,0 +1,40 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.cursor_simple;
+
+import java.util.stream.Stream;
+
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.session.RowBounds;
+
+public interface StreamMapper {
+
+  @Select("select * from users order by id")
+  Stream<User> streamAllUsers(RowBounds rowBounds);
+
+  @Select("select * from users order by id")
+  Cursor<User> getAllUsers();
+
+  @Select({ "select u1.id * 1000 + u2.id * 100 + u3.id * 10 + u4.id id, u1.name name",
+      "from users u1, users u2, users u3, users u4 order by id" })
+  Stream<User> streamManyUsers();
+
+  @Select({ "select u1.id * 1000 + u2.id * 100 + u3.id * 10 + u4.id id, u1.name name",
+      "from users u1, users u2, users u3, users u4 order by id" })
+  Cursor<User> getManyUsers();
+
+}
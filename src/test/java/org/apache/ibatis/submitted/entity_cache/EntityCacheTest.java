@@ -0,0 +1,145 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.entity_cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.List;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.cache.entity.EntityCache;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class EntityCacheTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/entity_cache/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/entity_cache/CreateDB.sql");
+  }
+
+  @Test
+  void shouldShareEntitiesAcrossStatementsAndSessions() {
+    List<Person> people;
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      people = sqlSession.getMapper(PersonMapper.class).selectAll();
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Person person = sqlSession.getMapper(PersonMapper.class).selectById(2);
+      assertSame(people.get(1), person);
+    }
+  }
+
+  @Test
+  void shouldAnswerLookupsWithoutQueryingTheDatabase() throws Exception {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      PersonMapper mapper = sqlSession.getMapper(PersonMapper.class);
+      mapper.selectById(1);
+      try (Connection conn = sqlSession.getConnection(); Statement stmt = conn.createStatement()) {
+        stmt.executeUpdate("delete from person where id = 1");
+      }
+      assertEquals("John", mapper.selectById(1).getName());
+    }
+  }
+
+  @Test
+  void shouldEvictEntitiesOnUpdate() {
+    Person person;
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      person = sqlSession.getMapper(PersonMapper.class).selectById(1);
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(PersonMapper.class).updateName(1, "Johnny");
+      sqlSession.commit();
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Person updated = sqlSession.getMapper(PersonMapper.class).selectById(1);
+      assertNotSame(person, updated);
+      assertEquals("Johnny", updated.getName());
+    }
+  }
+
+  @Test
+  void shouldEvictUncommittedEntitiesOnRollback() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      PersonMapper mapper = sqlSession.getMapper(PersonMapper.class);
+      mapper.updateName(1, "Johnny");
+      assertEquals("Johnny", mapper.selectById(1).getName());
+      sqlSession.rollback();
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertEquals("John", sqlSession.getMapper(PersonMapper.class).selectById(1).getName());
+    }
+  }
+
+  @Test
+  void shouldNotCacheEntitiesOfNarrowerRows() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Person> people = sqlSession.getMapper(PersonMapper.class).selectIds();
+      assertNull(people.get(0).getName());
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      PersonMapper mapper = sqlSession.getMapper(PersonMapper.class);
+      assertEquals("John", mapper.selectAll().get(0).getName());
+      assertEquals("Jane", mapper.selectById(2).getName());
+    }
+  }
+
+  @Test
+  void shouldNotCacheEntitiesReadAfterUncommittedUpdates() {
+    MappedStatement selectById = sqlSessionFactory.getConfiguration()
+        .getMappedStatement("org.apache.ibatis.submitted.entity_cache.PersonMapper.selectById");
+    EntityCache entityCache = sqlSessionFactory.getConfiguration().getEntityCache();
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      PersonMapper mapper = sqlSession.getMapper(PersonMapper.class);
+      mapper.updateName(1, "Johnny");
+      assertEquals("Johnny", mapper.selectById(1).getName());
+      assertNull(entityCache.lookup(selectById, 1));
+      sqlSession.commit();
+      assertEquals("Johnny", mapper.selectById(1).getName());
+      assertNotNull(entityCache.lookup(selectById, 1));
+    }
+  }
+
+  @Test
+  void shouldShareEntitiesOfNestedResultMaps() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      List<Pet> pets = sqlSession.getMapper(PetMapper.class).selectAllWithOwner();
+      assertEquals(3, pets.size());
+      assertSame(pets.get(0).getOwner(), pets.get(1).getOwner());
+      assertSame(pets.get(2).getOwner(), sqlSession.getMapper(PersonMapper.class).selectById(2));
+    }
+  }
+
+}
@@ -0,0 +1,169 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.hedged_select;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Reader;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.executor.deadline.Deadline;
+import org.apache.ibatis.executor.deadline.DeadlineExceededException;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HedgedSelectTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+  private final AtomicInteger slowConnections = new AtomicInteger();
+  private final AtomicInteger cancelledStatements = new AtomicInteger();
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (
+        Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/hedged_select/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    Environment environment = sqlSessionFactory.getConfiguration().getEnvironment();
+    BaseDataTest.runScript(environment.getDataSource(), "org/apache/ibatis/submitted/hedged_select/CreateDB.sql");
+    DataSource slowDataSource = new UnpooledDataSource("org.hsqldb.jdbcDriver", "jdbc:hsqldb:mem:hedged_select", "sa",
+        "") {
+      @Override
+      public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        return slowConnections.getAndDecrement() > 0 ? slow(connection) : connection;
+      }
+    };
+    sqlSessionFactory.getConfiguration()
+        .setEnvironment(new Environment(environment.getId(), environment.getTransactionFactory(), slowDataSource));
+  }
+
+  @Test
+  void shouldAnswerSlowSelectWithDuplicate() {
+    for (int i = 0; i < 20; i++) {
+      try (SqlSession sqlSession = sqlSessionFactory.openSession(true)) {
+        assertEquals("User1", sqlSession.getMapper(Mapper.class).getNameHedged(1));
+      }
+    }
+    slowConnections.set(1);
+    long start = System.nanoTime();
+    try (SqlSession sqlSession = sqlSessionFactory.openSession(true)) {
+      assertEquals("User1", sqlSession.getMapper(Mapper.class).getNameHedged(1));
+    }
+    // the slow statement is either cancelled or not executed at all
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(5));
+  }
+
+  @Test
+  void shouldNotHedgeInsideTransaction() {
+    for (int i = 0; i < 20; i++) {
+      try (SqlSession sqlSession = sqlSessionFactory.openSession(true)) {
+        sqlSession.getMapper(Mapper.class).getNameHedged(1);
+      }
+    }
+    slowConnections.set(1);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession();
+        Deadline.Scope scope = Deadline.after(300, TimeUnit.MILLISECONDS).enter()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      PersistenceException e = assertThrows(PersistenceException.class, () -> mapper.getNameHedged(1));
+      assertInstanceOf(DeadlineExceededException.class, e.getCause());
+    }
+  }
+
+  @Test
+  void shouldCancelStatementAtDeadline() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(Mapper.class).getName(1);
+    }
+    slowConnections.set(1);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession();
+        Deadline.Scope scope = Deadline.after(100, TimeUnit.MILLISECONDS).enter()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      PersistenceException e = assertThrows(PersistenceException.class, () -> mapper.getName(1));
+      assertInstanceOf(DeadlineExceededException.class, e.getCause());
+    }
+    assertEquals(1, cancelledStatements.get());
+  }
+
+  @Test
+  void shouldNotExecuteAfterDeadline() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession();
+        Deadline.Scope scope = Deadline.after(0, TimeUnit.MILLISECONDS).enter()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      PersistenceException e = assertThrows(PersistenceException.class, () -> mapper.getName(1));
+      assertInstanceOf(DeadlineExceededException.class, e.getCause());
+    }
+  }
+
+  /**
+   * Statements of the returned connection block until they are cancelled.
+   */
+  private Connection slow(Connection connection) {
+    return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Connection.class },
+        (proxy, method, args) -> {
+          Object result = invoke(connection, method, args);
+          if (!"prepareStatement".equals(method.getName())) {
+            return result;
+          }
+          PreparedStatement statement = (PreparedStatement) result;
+          CountDownLatch cancelled = new CountDownLatch(1);
+          return Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { PreparedStatement.class },
+              (stmtProxy, stmtMethod, stmtArgs) -> {
+                if ("cancel".equals(stmtMethod.getName())) {
+                  cancelledStatements.incrementAndGet();
+                  cancelled.countDown();
+                  return null;
+                }
+                if ("execute".equals(stmtMethod.getName())) {
+                  if (cancelled.await(10, TimeUnit.SECONDS)) {
+                    throw new SQLException("Statement cancelled");
+                  }
+                }
+                return invoke(statement, stmtMethod, stmtArgs);
+              });
+        });
+  }
+
+  private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+}
@@ -0,0 +1,122 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.negative_cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.Test;
+
+class NegativeCacheTest {
+
+  private static SqlSessionFactory build(String config) throws Exception {
+    SqlSessionFactory sqlSessionFactory;
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/negative_cache/" + config)) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/negative_cache/CreateDB.sql");
+    return sqlSessionFactory;
+  }
+
+  private static void insertBehindMyBatis(SqlSessionFactory sqlSessionFactory, int id) throws SQLException {
+    try (Connection conn = sqlSessionFactory.getConfiguration().getEnvironment().getDataSource().getConnection();
+        Statement stmt = conn.createStatement()) {
+      stmt.executeUpdate("insert into users (id, name) values (" + id + ", 'User" + id + "')");
+    }
+  }
+
+  @Test
+  void shouldRememberEmptyResults() throws Exception {
+    SqlSessionFactory sqlSessionFactory = build("mybatis-config.xml");
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertNotNull(mapper.getUser(1));
+      assertNull(mapper.getUser(2));
+    }
+    insertBehindMyBatis(sqlSessionFactory, 2);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertNull(sqlSession.getMapper(Mapper.class).getUser(2));
+    }
+    assertEquals(1, sqlSessionFactory.getConfiguration().getNegativeCache(Mapper.class.getName()).getSize());
+  }
+
+  @Test
+  void shouldForgetEmptyResultsWhenNamespaceIsFlushed() throws Exception {
+    SqlSessionFactory sqlSessionFactory = build("mybatis-config.xml");
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertNull(mapper.getUser(2));
+      assertNull(mapper.getUser(3));
+    }
+    insertBehindMyBatis(sqlSessionFactory, 3);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(Mapper.class).insertUser(new User(2, "User2"));
+      sqlSession.commit();
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertNotNull(mapper.getUser(2));
+      assertNotNull(mapper.getUser(3));
+    }
+  }
+
+  @Test
+  void shouldExpireEmptyResults() throws Exception {
+    SqlSessionFactory sqlSessionFactory = build("mybatis-config.xml");
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertNull(sqlSession.getMapper(Mapper.class).getUserBriefly(2));
+    }
+    insertBehindMyBatis(sqlSessionFactory, 2);
+    Thread.sleep(100);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertNotNull(sqlSession.getMapper(Mapper.class).getUserBriefly(2));
+    }
+  }
+
+  @Test
+  void shouldOnlyForgetInsertedKeysWithBloomFilter() throws Exception {
+    SqlSessionFactory sqlSessionFactory = build("mybatis-config-bloom.xml");
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertNull(mapper.getUser(2));
+      assertNull(mapper.getUser(3));
+    }
+    insertBehindMyBatis(sqlSessionFactory, 3);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(Mapper.class).insertUser(new User(2, "User2"));
+      sqlSession.commit();
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertNotNull(mapper.getUser(2));
+      // still answered by the negative cache, the row was not inserted through the namespace
+      assertNull(mapper.getUser(3));
+    }
+  }
+
+}
@@ -0,0 +1,188 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.read_write_routing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Collections;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.datasource.routing.DataSourceRole;
+import org.apache.ibatis.datasource.routing.Replica;
+import org.apache.ibatis.datasource.routing.RoutingDataSource;
+import org.apache.ibatis.datasource.routing.RoutingHints;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.LocalCacheScope;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.Transaction;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.apache.ibatis.transaction.routing.RoutingTransaction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReadWriteRoutingTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+  private RoutingDataSource dataSource;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/read_write_routing/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    dataSource = (RoutingDataSource) sqlSessionFactory.getConfiguration().getEnvironment().getDataSource();
+    createDatabase(dataSource.getPrimary(), "primary");
+    for (Replica replica : dataSource.getReplicas()) {
+      createDatabase(replica.getDataSource(), replica.getName());
+    }
+  }
+
+  private static void createDatabase(DataSource dataSource, String name) throws Exception {
+    BaseDataTest.runScript(dataSource, "org/apache/ibatis/submitted/read_write_routing/CreateDB.sql");
+    try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement()) {
+      stmt.executeUpdate("insert into sources (id, name) values (1, '" + name + "')");
+    }
+  }
+
+  @Test
+  void shouldReadFromReplicasInTurn() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertEquals("r1", sqlSession.getMapper(Mapper.class).whoAmI());
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertEquals("r2", sqlSession.getMapper(Mapper.class).whoAmI());
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertEquals("r1", sqlSession.getMapper(Mapper.class).whoAmI());
+    }
+    for (Replica replica : dataSource.getReplicas()) {
+      assertEquals(0, replica.getActiveConnections());
+    }
+  }
+
+  @Test
+  void shouldStickToPrimaryOnceWritten() throws SQLException {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertEquals("r1", mapper.whoAmI());
+      mapper.insert(2);
+      assertEquals("primary", mapper.whoAmI());
+      sqlSession.commit();
+    }
+    try (Connection conn = dataSource.getPrimary().getConnection(); Statement stmt = conn.createStatement();
+        ResultSet rs = stmt.executeQuery("select count(*) from sources")) {
+      rs.next();
+      assertEquals(2, rs.getInt(1));
+    }
+  }
+
+  @Test
+  void shouldRouteSelectsWithStatementLocalCacheScope() {
+    sqlSessionFactory.getConfiguration().setLocalCacheScope(LocalCacheScope.STATEMENT);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertEquals("r1", mapper.whoAmI());
+      mapper.insert(2);
+      assertEquals("primary", mapper.whoAmI());
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertEquals("r2", sqlSession.getMapper(Mapper.class).whoAmI());
+    }
+  }
+
+  @Test
+  void shouldFollowRoutingHints() {
+    RoutingHints.force(DataSourceRole.PRIMARY);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertEquals("primary", sqlSession.getMapper(Mapper.class).whoAmI());
+    } finally {
+      RoutingHints.clear();
+    }
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertEquals("r1", sqlSession.getMapper(Mapper.class).whoAmI());
+    }
+  }
+
+  @Test
+  void shouldSendHedgedReadsToAnotherReplica() throws SQLException {
+    dataSource.setReplicaSelector(replicas -> replicas.get(0));
+    RoutingTransaction transaction = new RoutingTransaction(dataSource, null, false, false);
+    try {
+      transaction.route(sqlSessionFactory.getConfiguration()
+          .getMappedStatement("org.apache.ibatis.submitted.read_write_routing.Mapper.whoAmI"));
+      assertEquals("r1", whoAmI(transaction.getConnection()));
+      Transaction hedge = transaction.newReadTransaction();
+      try {
+        assertEquals("r2", whoAmI(hedge.getConnection()));
+      } finally {
+        hedge.close();
+      }
+    } finally {
+      transaction.close();
+    }
+    // the only replica is chosen again
+    Replica replica = dataSource.getReplicas().get(0);
+    assertEquals(replica,
+        new RoutingDataSource(dataSource.getPrimary(), Collections.singletonList(replica)).selectReplica(replica));
+  }
+
+  private static String whoAmI(Connection connection) throws SQLException {
+    try (Statement stmt = connection.createStatement();
+        ResultSet rs = stmt.executeQuery("select name from sources where id = 1")) {
+      rs.next();
+      return rs.getString(1);
+    }
+  }
+
+  @Test
+  void shouldReadFromPrimaryWithoutHealthyReplica() throws Exception {
+    UnpooledDataSource broken = new UnpooledDataSource("org.hsqldb.jdbcDriver", "jdbc:unknown:routing", "sa", "");
+    Replica healthy = dataSource.getReplicas().get(0);
+    Replica unhealthy = new Replica("broken", broken);
+    RoutingDataSource routing = new RoutingDataSource(dataSource.getPrimary(), Arrays.asList(unhealthy, healthy));
+    routing.checkHealth();
+    assertFalse(unhealthy.isHealthy());
+    assertTrue(healthy.isHealthy());
+    assertEquals(healthy, routing.selectReplica());
+
+    RoutingDataSource onlyBroken = new RoutingDataSource(dataSource.getPrimary(),
+        Collections.singletonList(new Replica("broken", broken)));
+    Configuration configuration = new Configuration(new Environment("test", new JdbcTransactionFactory(), onlyBroken));
+    configuration.addMapper(Mapper.class);
+    SqlSessionFactory factory = new SqlSessionFactoryBuilder().build(configuration);
+    try (SqlSession sqlSession = factory.openSession()) {
+      assertEquals("primary", sqlSession.getMapper(Mapper.class).whoAmI());
+    }
+    assertFalse(onlyBroken.getReplicas().get(0).isHealthy());
+  }
+
+}
@@ -0,0 +1,200 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.sharding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.datasource.unpooled.UnpooledDataSource;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.executor.Executor;
+import org.apache.ibatis.executor.sharding.PropertyShardingStrategy;
+import org.apache.ibatis.executor.sharding.ShardedSqlSessionFactory;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.ResultHandler;
+import org.apache.ibatis.session.RowBounds;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.apache.ibatis.transaction.jdbc.JdbcTransactionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ShardingTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+  private List<Environment> environments;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    Configuration configuration;
+    try (Reader reader = Resources.getResourceAsReader("org/apache/ibatis/submitted/sharding/mybatis-config.xml")) {
+      configuration = new SqlSessionFactoryBuilder().build(reader).getConfiguration();
+    }
+    Environment shard1 = new Environment("shard1", new JdbcTransactionFactory(),
+        new UnpooledDataSource("org.hsqldb.jdbcDriver", "jdbc:hsqldb:mem:sharding1", "sa", ""));
+    environments = Arrays.asList(configuration.getEnvironment(), shard1);
+    for (Environment environment : environments) {
+      BaseDataTest.runScript(environment.getDataSource(), "org/apache/ibatis/submitted/sharding/CreateDB.sql");
+    }
+    sqlSessionFactory = new ShardedSqlSessionFactory(configuration, environments, new PropertyShardingStrategy("id"));
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      String[] names = { "alice", "bob", "carol", "dave", "erin", "frank" };
+      for (int i = 0; i < names.length; i++) {
+        mapper.insertUser(new User(i + 1, names[i]));
+      }
+      sqlSession.commit();
+    }
+  }
+
+  @Test
+  void shouldWriteToOwningShard() throws Exception {
+    assertEquals(Arrays.asList(2, 4, 6), idsOf(environments.get(0).getDataSource()));
+    assertEquals(Arrays.asList(1, 3, 5), idsOf(environments.get(1).getDataSource()));
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertEquals("carol", mapper.getUser(3).getName());
+      assertEquals("dave", mapper.getUser(4).getName());
+      assertEquals(1, mapper.renameUser(new User(5, "eve")));
+      sqlSession.commit();
+      assertEquals("eve", mapper.getUser(5).getName());
+    }
+  }
+
+  @Test
+  void shouldMergeOrderedResultsWithLimit() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertEquals(Arrays.asList("frank", "erin", "dave", "carol", "bob", "alice"),
+          namesOf(mapper.getUsersByName(10, 0)));
+      assertEquals(Arrays.asList("erin", "dave", "carol"), namesOf(mapper.getUsersByName(3, 1)));
+      assertEquals(Arrays.asList("alice"), namesOf(mapper.getUsersByName(3, 5)));
+    }
+  }
+
+  @Test
+  void shouldApplyRowBoundsWithinSqlLimit() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Map<String, Object> parameter = new HashMap<>();
+      parameter.put("limit", 4);
+      parameter.put("offset", 1);
+      String statement = Mapper.class.getName() + ".getUsersByName";
+      assertEquals(Arrays.asList("carol", "bob"),
+          namesOf(sqlSession.selectList(statement, parameter, new RowBounds(2, 100))));
+      assertEquals(Arrays.asList("dave"), namesOf(sqlSession.selectList(statement, parameter, new RowBounds(1, 1))));
+      assertEquals(Arrays.asList(), namesOf(sqlSession.selectList(statement, parameter, new RowBounds(5, 100))));
+    }
+  }
+
+  @Test
+  void shouldCombineAggregates() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertEquals(6L, mapper.countUsers());
+      Map<String, Object> stats = mapper.getStats();
+      assertEquals(6L, ((Number) stats.get("TOTAL")).longValue());
+      assertEquals(6, ((Number) stats.get("MAX_ID")).intValue());
+      assertEquals("alice", stats.get("MIN_NAME"));
+    }
+  }
+
+  @Test
+  void shouldNotCombineAggregatesIntoCachedRows() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 0; i < 3; i++) {
+        assertEquals(6L, mapper.countUsers());
+        Map<String, Object> stats = mapper.getStats();
+        assertEquals(6L, ((Number) stats.get("TOTAL")).longValue());
+        assertEquals(6, ((Number) stats.get("MAX_ID")).intValue());
+      }
+    }
+  }
+
+  @Test
+  void shouldBroadcastWritesWithoutShardKey() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertThrows(PersistenceException.class, () -> sqlSession.insert("insertUser", new User(null, "nobody")));
+      assertEquals(6, mapper.deleteUsers());
+      sqlSession.commit();
+      assertEquals(0L, mapper.countUsers());
+    }
+  }
+
+  @Test
+  void shouldApplyScopedInterceptors() {
+    CountingInterceptor interceptor = new CountingInterceptor();
+    sqlSessionFactory.getConfiguration().addInterceptor(interceptor);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      mapper.getUser(1);
+      assertEquals(6L, mapper.countUsers());
+    }
+    assertEquals(1, interceptor.count.get());
+  }
+
+  @Intercepts(value = @Signature(type = Executor.class, method = "query", args = { MappedStatement.class, Object.class,
+      RowBounds.class, ResultHandler.class }), statements = "org.apache.ibatis.submitted.sharding.Mapper.countUsers")
+  private static class CountingInterceptor implements Interceptor {
+    private final AtomicInteger count = new AtomicInteger();
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+      count.incrementAndGet();
+      return invocation.proceed();
+    }
+  }
+
+  private static List<String> namesOf(List<User> users) {
+    return users.stream().map(User::getName).collect(Collectors.toList());
+  }
+
+  private static List<Integer> idsOf(DataSource dataSource) throws Exception {
+    try (Connection conn = dataSource.getConnection(); Statement stmt = conn.createStatement();
+        ResultSet rs = stmt.executeQuery("select id from users order by id")) {
+      List<Integer> ids = new ArrayList<>();
+      while (rs.next()) {
+        ids.add(rs.getInt(1));
+      }
+      return ids;
+    }
+  }
+
+}
@@ -0,0 +1,156 @@
+/*
+ *    Copyright 2009-2026 the original author or authors.
+ *
+ *    Licensed under the Apache License, Version 2.0 (the "License");
+ *    you may not use this file except in compliance with the License.
+ *    You may obtain a copy of the License at
+ *
+ *       https://www.apache.org/licenses/LICENSE-2.0
+ *
+ *    Unless required by applicable law or agreed to in writing, software
+ *    distributed under the License is distributed on an "AS IS" BASIS,
+ *    WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *    See the License for the specific language governing permissions and
+ *    limitations under the License.
+ */
+package org.apache.ibatis.submitted.slow_statement_log;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.Reader;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.ibatis.BaseDataTest;
+import org.apache.ibatis.exceptions.PersistenceException;
+import org.apache.ibatis.io.Resources;
+import org.apache.ibatis.logging.slow.SlowStatementLog;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSession;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SlowStatementLogTest {
+
+  private SqlSessionFactory sqlSessionFactory;
+  private final BlockingQueue<String> messages = new LinkedBlockingQueue<>();
+
+  @BeforeEach
+  void setUp() throws Exception {
+    try (Reader reader = Resources
+        .getResourceAsReader("org/apache/ibatis/submitted/slow_statement_log/mybatis-config.xml")) {
+      sqlSessionFactory = new SqlSessionFactoryBuilder().build(reader);
+    }
+    BaseDataTest.runScript(sqlSessionFactory.getConfiguration().getEnvironment().getDataSource(),
+        "org/apache/ibatis/submitted/slow_statement_log/CreateDB.sql");
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    configuration.setSlowStatementLog(new SlowStatementLog(configuration) {
+      @Override
+      protected boolean isEnabled() {
+        return true;
+      }
+
+      @Override
+      protected void write(String message) {
+        messages.add(message);
+      }
+    });
+  }
+
+  @Test
+  void shouldNotReportWhenWarningsAreDisabled() {
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    configuration.setSlowStatementLog(new SlowStatementLog(configuration) {
+      @Override
+      protected boolean isEnabled() {
+        return false;
+      }
+
+      @Override
+      protected void write(String message) {
+        messages.add(message);
+      }
+    });
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertEquals("User1", sqlSession.getMapper(Mapper.class).getUser(1).getName());
+    }
+    assertTrue(messages.isEmpty());
+  }
+
+  @Test
+  void shouldReportSlowStatement() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      assertEquals("User1", sqlSession.getMapper(Mapper.class).getUser(1).getName());
+      assertEquals("User2", sqlSession.getMapper(Mapper.class).getUserUnreported(2).getName());
+    }
+    assertEquals(1, messages.size());
+    String message = messages.poll();
+    assertTrue(
+        message.startsWith("Slow statement 'org.apache.ibatis.submitted.slow_statement_log.Mapper.getUser' took "),
+        message);
+    Matcher phases = Pattern.compile("execution (\\d+) ms, mapping (\\d+) ms, 1 rows").matcher(message);
+    assertTrue(phases.find(), message);
+    assertTrue(Integer.parseInt(phases.group(2)) >= 20, message);
+    assertTrue(message.contains("SQL: select id, name from users where id = ?"), message);
+    assertTrue(message.contains("Parameters: 1(Integer)"), message);
+  }
+
+  @Test
+  void shouldReportSlowStatementThatFailed() {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      assertThrows(PersistenceException.class, () -> mapper.getBrokenUser(1));
+    }
+    assertEquals(1, messages.size());
+    String message = messages.poll();
+    assertTrue(message.startsWith(
+        "Slow statement 'org.apache.ibatis.submitted.slow_statement_log.Mapper.getBrokenUser' took "), message);
+    assertTrue(message.contains(" ms, unknown rows)"), message);
+  }
+
+  @Test
+  void shouldLimitReportsPerSecond() throws Exception {
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      Mapper mapper = sqlSession.getMapper(Mapper.class);
+      for (int i = 0; i < 5; i++) {
+        mapper.getUser(1);
+        sqlSession.clearCache();
+      }
+      assertEquals(2, messages.size());
+      messages.clear();
+      Thread.sleep(1000);
+      mapper.getUser(1);
+    }
+    assertEquals(1, messages.size());
+    assertTrue(messages.poll().contains("3 more slow statements were not reported"));
+  }
+
+  @Test
+  void shouldExplainSlowSelect() throws Exception {
+    Configuration configuration = sqlSessionFactory.getConfiguration();
+    configuration.setDatabaseId("hsqldb");
+    configuration.setSlowStatementExplain(true);
+    try (SqlSession sqlSession = sqlSessionFactory.openSession()) {
+      sqlSession.getMapper(Mapper.class).getUser(1);
+    }
+    assertNotNull(messages.poll(5, TimeUnit.SECONDS));
+    String plan = messages.poll(5, TimeUnit.SECONDS);
+    assertNotNull(plan);
+    assertTrue(
+        plan.startsWith("Plan of slow statement 'org.apache.ibatis.submitted.slow_statement_log.Mapper.getUser':"),
+        plan);
+    assertFalse(plan.contains("not available"), plan);
+    assertNull(messages.poll());
+  }
+
+}